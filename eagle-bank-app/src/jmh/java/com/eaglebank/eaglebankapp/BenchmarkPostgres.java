@@ -0,0 +1,87 @@
+package com.eaglebank.eaglebankapp;
+
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * The Postgres 16 a benchmark runs against: a fresh Testcontainers
+ * container, so Docker is needed, unless {@code eaglebank.bench.jdbc-url}
+ * (with {@code .username} and {@code .password}) names a server to use
+ * instead, in which case each trial gets a database of its own there that
+ * is dropped again on close.
+ */
+final class BenchmarkPostgres implements AutoCloseable {
+    private static final String SERVER = "eaglebank.bench.jdbc-url";
+
+    private final PostgreSQLContainer<?> container;
+    private final String adminUrl;
+    private final String database;
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+
+    private BenchmarkPostgres(PostgreSQLContainer<?> container, String adminUrl, String database,
+                              String jdbcUrl, String username, String password) {
+        this.container = container;
+        this.adminUrl = adminUrl;
+        this.database = database;
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+    }
+
+    static BenchmarkPostgres start() throws SQLException {
+        String server = System.getProperty(SERVER);
+        if (server == null) {
+            PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+            return new BenchmarkPostgres(container, null, null,
+                    container.getJdbcUrl(), container.getUsername(), container.getPassword());
+        }
+        String username = System.getProperty("eaglebank.bench.username", "postgres");
+        String password = System.getProperty("eaglebank.bench.password", "");
+        String database = "bench_" + UUID.randomUUID().toString().replace("-", "");
+        try (Connection admin = DriverManager.getConnection(server, username, password);
+             Statement ddl = admin.createStatement()) {
+            ddl.execute("create database " + database);
+        }
+        URI uri = URI.create(server.substring("jdbc:".length()));
+        String jdbcUrl = "jdbc:postgresql://" + uri.getAuthority() + "/" + database
+                + (uri.getQuery() == null ? "" : "?" + uri.getQuery());
+        return new BenchmarkPostgres(null, server, database, jdbcUrl, username, password);
+    }
+
+    String jdbcUrl() {
+        return jdbcUrl;
+    }
+
+    String username() {
+        return username;
+    }
+
+    String password() {
+        return password;
+    }
+
+    Connection connect() throws SQLException {
+        return DriverManager.getConnection(jdbcUrl, username, password);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (container != null) {
+            container.stop();
+            return;
+        }
+        try (Connection admin = DriverManager.getConnection(adminUrl, username, password);
+             Statement ddl = admin.createStatement()) {
+            ddl.execute("drop database if exists " + database + " with (force)");
+        }
+    }
+}
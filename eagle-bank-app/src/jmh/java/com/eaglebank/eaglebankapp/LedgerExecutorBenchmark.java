@@ -0,0 +1,76 @@
+package com.eaglebank.eaglebankapp;
+
+import com.eaglebank.eaglebankdomain.account.*;
+import com.eaglebank.eaglebankdomain.transaction.Amount;
+import com.eaglebank.eaglebankdomain.transaction.Transaction;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import com.eaglebank.eaglebanklogic.transaction.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.SQLException;
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 64 clients depositing into one account through TransactionService and the
+ * JPA adapters, on Postgres 16 with a pool of 5 connections: each deposit
+ * checks ownership, runs the conditional balance UPDATE and inserts the
+ * transaction, then commits. With {@code inline} every client takes the
+ * account row lock itself and waits for the one holding it, connection in
+ * hand; with {@code sharded} deposits queue in memory for the account's
+ * shard and commit one after another on its thread. Postgres comes from
+ * {@link BenchmarkPostgres}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(64)
+public class LedgerExecutorBenchmark {
+
+    @Param({"inline", "sharded"})
+    public String executor;
+
+    private final Amount amount = new Amount(100, 2);
+    private final Currency gbp = Currency.getInstance("GBP");
+    private BenchmarkPostgres postgres;
+    private ConfigurableApplicationContext app;
+    private TransactionService transactions;
+    private AccountId accountId;
+    private UserId ownerId;
+
+    @Setup(Level.Trial)
+    public void start() throws SQLException {
+        postgres = BenchmarkPostgres.start();
+        app = new SpringApplicationBuilder(EagleBankAppApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.jdbcUrl(),
+                        "spring.datasource.username=" + postgres.username(),
+                        "spring.datasource.password=" + postgres.password(),
+                        "spring.datasource.driverClassName=org.postgresql.Driver",
+                        "spring.datasource.hikari.maximum-pool-size=5",
+                        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                        "spring.jpa.properties.hibernate.hbm2ddl.extra_physical_table_types=PARTITIONED TABLE",
+                        "spring.jpa.show-sql=false",
+                        "eaglebank.ledger.executor=" + executor)
+                .run();
+        transactions = app.getBean(TransactionService.class);
+        Account account = app.getBean(AccountRepository.class)
+                .save(Account.create(UserId.newId(), new AccountName("Hot"), AccountType.BUSINESS));
+        accountId = account.getId();
+        ownerId = account.getOwnerId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws SQLException {
+        app.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public Transaction deposit() {
+        return transactions.deposit(accountId, ownerId, amount, gbp);
+    }
+}
@@ -0,0 +1,100 @@
+package com.eaglebank.eaglebankapp;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The morning login storm: 200 clients logging in over HTTP as any of
+ * 100,000 users, against the whole application on Postgres 16 with a pool
+ * of 5 connections. Every login reads the user's id and password hash
+ * through the upper(email) index. Passwords are hashed at BCrypt's minimum
+ * cost so the lookup, not the hash, dominates. Rate limits are off, as
+ * every client logs in from the same address. Logins answered with
+ * anything but 2xx, such as 503 from a full hashing queue, are counted and
+ * printed at the end of each iteration. Postgres comes from
+ * {@link BenchmarkPostgres}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(200)
+public class LoginStormBenchmark {
+    private static final int USERS = 100_000;
+    private static final String PASSWORD = "password123";
+
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private BenchmarkPostgres postgres;
+    private ConfigurableApplicationContext app;
+    private HttpClient client;
+    private URI login;
+
+    @Setup(Level.Trial)
+    public void start() throws SQLException {
+        postgres = BenchmarkPostgres.start();
+        app = new SpringApplicationBuilder(EagleBankAppApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.jdbcUrl(),
+                        "spring.datasource.username=" + postgres.username(),
+                        "spring.datasource.password=" + postgres.password(),
+                        "spring.datasource.driverClassName=org.postgresql.Driver",
+                        "spring.datasource.hikari.maximum-pool-size=5",
+                        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                        "spring.jpa.properties.hibernate.hbm2ddl.extra_physical_table_types=PARTITIONED TABLE",
+                        "spring.jpa.show-sql=false",
+                        "eaglebank.password-hashing.min-strength=4",
+                        "eaglebank.password-hashing.target-latency=PT0S",
+                        "eaglebank.rate-limits.enabled=false")
+                .run();
+        String hash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        new JdbcTemplate(app.getBean(DataSource.class)).update("insert into users (id, first_name, last_name, "
+                + "date_of_birth, email, password_hash, phone_number, address_line1, address_town, address_county, "
+                + "address_postcode) select gen_random_uuid(), 'Storm', 'User', date '1990-01-01', "
+                + "'storm' || n || '@example.com', ?, '+447700900000', '1 High Street', 'Town', 'County', 'AB1 2CD' "
+                + "from generate_series(1, " + USERS + ") n", hash);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        login = URI.create("http://localhost:" + app.getEnvironment().getProperty("local.server.port") + "/v1/auth/login");
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        System.out.printf("%nlogins: %d served, %d rejected%n", served.get(), rejected.get());
+        served.set(0);
+        rejected.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws SQLException {
+        app.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public int login() throws IOException, InterruptedException {
+        String email = "storm" + (ThreadLocalRandom.current().nextInt(USERS) + 1) + "@example.com";
+        HttpRequest request = HttpRequest.newBuilder(login)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"email":"%s","password":"%s"}
+                        """.formatted(email, PASSWORD)))
+                .build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        (status / 100 == 2 ? served : rejected).incrementAndGet();
+        return status;
+    }
+}
@@ -0,0 +1,149 @@
+package com.eaglebank.eaglebankapp;
+
+import com.eaglebank.eaglebankdomain.account.*;
+import com.eaglebank.eaglebankdomain.transaction.Amount;
+import com.eaglebank.eaglebankdomain.transaction.Transaction;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import com.eaglebank.eaglebanklogic.transaction.TransactionService;
+import com.eaglebank.eaglebankrepository.journal.JournalStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Durable deposits through TransactionService from 16 clients that each
+ * post to an account of their own, with {@code eaglebank.ledger.store} set
+ * to {@code jpa} or {@code journal}. Both run on the same Postgres 16 from
+ * {@link BenchmarkPostgres}, which must have {@code fsync} and
+ * {@code synchronous_commit} on, with a pool of 16 connections. With
+ * {@code jpa} each deposit updates the balance and inserts the
+ * transaction, and its commit waits for the WAL flush; with
+ * {@code journal} it appends one frame to a journal in a temporary
+ * directory and waits for the flush that covers it, while the database
+ * transaction around it writes nothing. The {@code flushes} counter
+ * reports the WAL syncs or journal flushes the commits needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class PostingDurabilityBenchmark {
+
+    @Param({"jpa", "journal"})
+    public String store;
+
+    private final AtomicInteger clients = new AtomicInteger();
+    private final Amount amount = new Amount(100, 2);
+    private final Currency gbp = Currency.getInstance("GBP");
+    private BenchmarkPostgres postgres;
+    private Path directory;
+    private ConfigurableApplicationContext app;
+    private TransactionService transactions;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Client {
+        public long flushes;
+        AccountId accountId;
+        UserId ownerId;
+        boolean reporter;
+        long flushesAtStart;
+
+        @Setup(Level.Trial)
+        public void open(PostingDurabilityBenchmark benchmark) {
+            reporter = benchmark.clients.getAndIncrement() == 0;
+            Account account = benchmark.app.getBean(AccountRepository.class)
+                    .save(Account.create(UserId.newId(), new AccountName("Client"), AccountType.CHECKING));
+            accountId = account.getId();
+            ownerId = account.getOwnerId();
+        }
+
+        @Setup(Level.Iteration)
+        public void mark(PostingDurabilityBenchmark benchmark) throws SQLException {
+            flushes = 0;
+            if (reporter) {
+                flushesAtStart = benchmark.flushes();
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void count(PostingDurabilityBenchmark benchmark) throws SQLException {
+            // The count is shared, so one client reports it for everyone.
+            if (reporter) {
+                flushes = benchmark.flushes() - flushesAtStart;
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void start() throws SQLException, IOException {
+        postgres = BenchmarkPostgres.start();
+        try (Connection connection = postgres.connect(); Statement query = connection.createStatement()) {
+            for (String setting : new String[]{"fsync", "synchronous_commit"}) {
+                try (ResultSet value = query.executeQuery("show " + setting)) {
+                    value.next();
+                    if (!"on".equals(value.getString(1))) {
+                        throw new IllegalStateException(setting + " is " + value.getString(1) + ", not on");
+                    }
+                }
+            }
+        }
+        directory = Files.createTempDirectory("journal");
+        app = new SpringApplicationBuilder(EagleBankAppApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.jdbcUrl(),
+                        "spring.datasource.username=" + postgres.username(),
+                        "spring.datasource.password=" + postgres.password(),
+                        "spring.datasource.driverClassName=org.postgresql.Driver",
+                        "spring.datasource.hikari.maximum-pool-size=16",
+                        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                        "spring.jpa.properties.hibernate.hbm2ddl.extra_physical_table_types=PARTITIONED TABLE",
+                        "spring.jpa.show-sql=false",
+                        "eaglebank.ledger.store=" + store,
+                        "eaglebank.ledger.journal.directory=" + directory)
+                .run();
+        transactions = app.getBean(TransactionService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws SQLException, IOException {
+        app.close();
+        postgres.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    long flushes() throws SQLException {
+        if ("journal".equals(store)) {
+            return app.getBean(JournalStore.class).flushes();
+        }
+        try (Connection connection = postgres.connect();
+             Statement query = connection.createStatement();
+             ResultSet syncs = query.executeQuery("select wal_sync from pg_stat_wal")) {
+            syncs.next();
+            return syncs.getLong(1);
+        }
+    }
+
+    @Benchmark
+    public Transaction deposit(Client client) {
+        return transactions.deposit(client.accountId, client.ownerId, amount, gbp);
+    }
+}
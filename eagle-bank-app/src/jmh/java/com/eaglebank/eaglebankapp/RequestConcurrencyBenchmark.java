@@ -0,0 +1,130 @@
+package com.eaglebank.eaglebankapp;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 2,000 clients fetching an account over HTTP from the whole application,
+ * backed by Postgres 16 with a pool of 5 connections and one database
+ * permit per connection. With {@code PLATFORM} requests are served on
+ * Tomcat's 200 platform threads and the rest queue in front of them; with
+ * {@code VIRTUAL} every request gets a virtual thread and waits for a
+ * permit instead. Sample time reports the latency percentiles; the number
+ * of requests answered with anything but 2xx (503 once no permit comes in
+ * time) is printed at the end of each iteration. Rate limits are off, as
+ * every client shares one token. Postgres comes from
+ * {@link BenchmarkPostgres}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(2000)
+public class RequestConcurrencyBenchmark {
+    private static final Pattern FIELD = Pattern.compile("\"(id|token)\"\\s*:\\s*\"([^\"]+)\"");
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public String threads;
+
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private BenchmarkPostgres postgres;
+    private ConfigurableApplicationContext app;
+    private HttpClient client;
+    private HttpRequest fetchAccount;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException, InterruptedException, SQLException {
+        postgres = BenchmarkPostgres.start();
+        app = new SpringApplicationBuilder(EagleBankAppApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.jdbcUrl(),
+                        "spring.datasource.username=" + postgres.username(),
+                        "spring.datasource.password=" + postgres.password(),
+                        "spring.datasource.driverClassName=org.postgresql.Driver",
+                        "spring.datasource.hikari.maximum-pool-size=5",
+                        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                        "spring.jpa.properties.hibernate.hbm2ddl.extra_physical_table_types=PARTITIONED TABLE",
+                        "spring.threads.virtual.enabled=" + "VIRTUAL".equals(threads),
+                        "eaglebank.db-permits.enabled=true",
+                        "eaglebank.account-cache.enabled=false",
+                        "eaglebank.rate-limits.enabled=false")
+                .run();
+        String base = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        String email = "load-" + UUID.randomUUID() + "@example.com";
+        post(base + "/v1/users", null, """
+                {"firstName":"Load","lastName":"Test","dob":"1990-01-01","email":"%s",
+                 "password":"password123","phoneNumber":"+447700900000","addressLine1":"1 High Street",
+                 "addressTown":"Town","addressCounty":"County","addressPostcode":"AB1 2CD"}
+                """.formatted(email));
+        String token = field(post(base + "/v1/auth/login", null, """
+                {"email":"%s","password":"password123"}
+                """.formatted(email)), "token");
+        String accountId = field(post(base + "/v1/accounts", token, """
+                {"name":"Load","type":"CHECKING","currency":"GBP"}
+                """), "id");
+        fetchAccount = HttpRequest.newBuilder(URI.create(base + "/v1/accounts/" + accountId))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        System.out.printf("%n%s threads: %d served, %d rejected%n", threads, served.get(), rejected.get());
+        served.set(0);
+        rejected.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws SQLException {
+        app.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public int fetchAccount() throws IOException, InterruptedException {
+        int status = client.send(fetchAccount, HttpResponse.BodyHandlers.discarding()).statusCode();
+        (status / 100 == 2 ? served : rejected).incrementAndGet();
+        return status;
+    }
+
+    private String post(String uri, String token, String json) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(uri + " answered " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static String field(String json, String name) {
+        Matcher matcher = FIELD.matcher(json);
+        while (matcher.find()) {
+            if (matcher.group(1).equals(name)) {
+                return matcher.group(2);
+            }
+        }
+        throw new IllegalStateException("No " + name + " in " + json);
+    }
+}
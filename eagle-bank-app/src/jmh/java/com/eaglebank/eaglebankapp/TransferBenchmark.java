@@ -0,0 +1,177 @@
+package com.eaglebank.eaglebankapp;
+
+import com.eaglebank.eaglebankdomain.account.*;
+import com.eaglebank.eaglebankdomain.transaction.Amount;
+import com.eaglebank.eaglebankdomain.transaction.TransactionRepository;
+import com.eaglebank.eaglebankdomain.transaction.Transfer;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import com.eaglebank.eaglebanklogic.ledger.LedgerExecutor;
+import com.eaglebank.eaglebanklogic.transaction.IdempotencyService;
+import com.eaglebank.eaglebanklogic.transaction.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clients transferring back and forth between the same two accounts, half in
+ * each direction, through TransactionService and the JPA adapters on
+ * Postgres 16. With {@code SORTED} the service runs as shipped: both rows
+ * are locked by the one {@code select ... for update ... order by a.id}.
+ * With {@code REQUESTED} the same query is issued once per account, in the
+ * order the caller names them, so opposite transfers can each hold one row
+ * and wait for the other until Postgres aborts one side as a deadlock
+ * (after {@code deadlock_timeout}, one second by default). Each call is
+ * one attempt, so an aborted transfer is not retried inside it; the
+ * {@code transfers} and {@code deadlocks} counters give the rate of
+ * attempts that committed and that Postgres aborted. Postgres comes from
+ * {@link BenchmarkPostgres}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class TransferBenchmark {
+
+    @Param({"SORTED", "REQUESTED"})
+    public String lockOrder;
+
+    private final AtomicInteger clients = new AtomicInteger();
+    private final Amount amount = new Amount(1, 2);
+    private final Currency gbp = Currency.getInstance("GBP");
+    private BenchmarkPostgres postgres;
+    private ConfigurableApplicationContext app;
+    private TransactionService service;
+    private TransactionOperations transaction;
+    private AccountId first;
+    private AccountId second;
+    private UserId ownerId;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Client {
+        public long transfers;
+        public long deadlocks;
+        boolean forward;
+
+        @Setup
+        public void setUp(TransferBenchmark benchmark) {
+            forward = benchmark.clients.getAndIncrement() % 2 == 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void start() throws SQLException {
+        postgres = BenchmarkPostgres.start();
+        app = new SpringApplicationBuilder(EagleBankAppApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.jdbcUrl(),
+                        "spring.datasource.username=" + postgres.username(),
+                        "spring.datasource.password=" + postgres.password(),
+                        "spring.datasource.driverClassName=org.postgresql.Driver",
+                        "spring.datasource.hikari.maximum-pool-size=16",
+                        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                        "spring.jpa.properties.hibernate.hbm2ddl.extra_physical_table_types=PARTITIONED TABLE",
+                        "spring.jpa.show-sql=false")
+                .run();
+        AccountRepository accounts = app.getBean(AccountRepository.class);
+        ownerId = UserId.newId();
+        first = open(accounts, "First");
+        second = open(accounts, "Second");
+        if ("SORTED".equals(lockOrder)) {
+            service = app.getBean(TransactionService.class);
+            transaction = TransactionOperations.withoutTransaction();
+        } else {
+            service = new TransactionService(
+                    app.getBean(TransactionRepository.class),
+                    new RequestedOrderAccounts(accounts),
+                    app.getBean(LedgerExecutor.class),
+                    app.getBean(IdempotencyService.class));
+            transaction = app.getBean(TransactionOperations.class);
+        }
+    }
+
+    private AccountId open(AccountRepository accounts, String name) {
+        Account account = Account.create(ownerId, new AccountName(name), AccountType.CHECKING);
+        return accounts.save(account.withBalance(new Balance(1_000_000_000L, 2))).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws SQLException {
+        app.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public Transfer transfer(Client client) {
+        AccountId from = client.forward ? first : second;
+        AccountId to = client.forward ? second : first;
+        try {
+            Transfer transfer = transaction.execute(status -> service.transfer(from, to, ownerId, amount, gbp));
+            client.transfers++;
+            return transfer;
+        } catch (PessimisticLockingFailureException e) {
+            client.deadlocks++;
+            return null;
+        }
+    }
+
+    /** Locks each requested account with its own query, in the order given. */
+    private static final class RequestedOrderAccounts implements AccountRepository {
+        private final AccountRepository delegate;
+
+        RequestedOrderAccounts(AccountRepository delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public List<Account> findAllByIdForUpdate(Collection<AccountId> ids) {
+            List<Account> locked = new ArrayList<>();
+            for (AccountId id : ids) {
+                locked.addAll(delegate.findAllByIdForUpdate(List.of(id)));
+            }
+            return locked;
+        }
+
+        @Override
+        public Account save(Account account) {
+            return delegate.save(account);
+        }
+
+        @Override
+        public List<Account> saveAll(List<Account> accounts) {
+            return delegate.saveAll(accounts);
+        }
+
+        @Override
+        public Optional<Account> findById(AccountId id) {
+            return delegate.findById(id);
+        }
+
+        @Override
+        public List<Account> findByOwner(UserId ownerId) {
+            return delegate.findByOwner(ownerId);
+        }
+
+        @Override
+        public void delete(Account account) {
+            delegate.delete(account);
+        }
+
+        @Override
+        public boolean applyDelta(AccountId id, long deltaMinorUnits, int exponent) {
+            return delegate.applyDelta(id, deltaMinorUnits, exponent);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.eaglebank.eaglebankapp.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The rate limit filter's decision for one request, from 8 threads at
+ * once: match the path to a group, find the caller's bucket and take a
+ * token. {@code callers} is how many distinct users share the load; with
+ * one they all contend on the same bucket. The limits are set high enough
+ * that nothing is refused, since refusals end the request early and are
+ * cheaper still. At 50k requests a second each has 20µs between arrivals
+ * on a single core, so the result should be compared with that.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(8)
+public class RateLimiterBenchmark {
+    private static final long UNLIMITED = 1_000_000_000;
+    private static final String[] PATHS = {
+            "/v1/accounts/0190f7c2-6a8e-7b1c-9d4e-2f3a4b5c6d7e/transactions",
+            "/v1/accounts/0190f7c2-6a8e-7b1c-9d4e-2f3a4b5c6d7e",
+            "/v1/users/0190f7c2-6a8e-7b1c-9d4e-2f3a4b5c6d70",
+    };
+
+    @Param({"1", "10000"})
+    public int callers;
+
+    private RateLimiter limiter;
+    private String[] callerIds;
+
+    @Setup
+    public void setUp() {
+        limiter = new RateLimiter(List.of(
+                new RateLimiter.Group("login", List.of("/v1/auth/login", "/v1/users"), UNLIMITED, UNLIMITED),
+                new RateLimiter.Group("transactions", List.of("/v1/accounts/{accountId}/transactions/**"), UNLIMITED, UNLIMITED),
+                new RateLimiter.Group("default", List.of("/v1/**"), UNLIMITED, UNLIMITED)
+        ), Duration.ofMinutes(10), 100_000);
+        callerIds = new String[callers];
+        for (int i = 0; i < callers; i++) {
+            callerIds[i] = "user:" + i;
+        }
+    }
+
+    @Benchmark
+    public long decide() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return limiter.tryAcquire(callerIds[random.nextInt(callers)], PATHS[random.nextInt(PATHS.length)]);
+    }
+}
@@ -0,0 +1,65 @@
+package com.eaglebank.eaglebankapp.security;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the JWT filter spends on each request to resolve the caller from a
+ * token it has seen before. {@link #rebuiltParser} is the old path, which
+ * built a parser and checked the HMAC every time; {@link #sharedParser}
+ * keeps one parser but still checks the signature; {@link #cachedToken} is
+ * {@link JwtTokenProvider#getUserId} answering from its cache, which costs
+ * one SHA-256 of the token and a lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenVerificationBenchmark {
+
+    private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    private JwtParser parser;
+    private String token;
+    private JwtTokenProvider provider;
+    private String providerToken;
+
+    @Setup
+    public void setUp() {
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
+        token = Jwts.builder()
+                .setSubject("2f1c6a3e-8a4b-4f4e-9a57-0d2b6c1e7f90")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 3600_000))
+                .signWith(key)
+                .compact();
+        provider = new JwtTokenProvider(SigningKeys.generated());
+        providerToken = provider.createToken("2f1c6a3e-8a4b-4f4e-9a57-0d2b6c1e7f90");
+        provider.getUserId(providerToken);
+    }
+
+    @Benchmark
+    public String rebuiltParser() {
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String sharedParser() {
+        return parser.parseClaimsJws(token).getBody().getSubject();
+    }
+
+    @Benchmark
+    public String cachedToken() {
+        return provider.getUserId(providerToken);
+    }
+}
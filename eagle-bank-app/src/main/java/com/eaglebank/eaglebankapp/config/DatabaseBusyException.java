@@ -0,0 +1,13 @@
+package com.eaglebank.eaglebankapp.config;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * No database permit came free in time. Reaches the client as 503 so it can
+ * back off and retry.
+ */
+public class DatabaseBusyException extends SQLTransientConnectionException {
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+}
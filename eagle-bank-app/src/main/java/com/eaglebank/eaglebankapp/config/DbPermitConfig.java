@@ -0,0 +1,32 @@
+package com.eaglebank.eaglebankapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "eaglebank.db-permits.enabled", havingValue = "true")
+public class DbPermitConfig {
+
+    // Static so the data source is wrapped however early it is created.
+    @Bean
+    public static BeanPostProcessor permitLimitedDataSourcePostProcessor(
+            @Value("${eaglebank.db-permits.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${eaglebank.db-permits.acquire-timeout:PT0.5S}") Duration acquireTimeout
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof PermitLimitedDataSource)) {
+                    return new PermitLimitedDataSource(dataSource, permits, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
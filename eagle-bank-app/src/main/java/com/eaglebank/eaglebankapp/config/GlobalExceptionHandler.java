@@ -1,6 +1,9 @@
 package com.eaglebank.eaglebankapp.config;
 
+import com.eaglebank.eaglebankapp.security.PasswordHashingBusyException;
 import com.eaglebank.eaglebankdomain.exception.*;
+import com.eaglebank.eaglebanklogic.ledger.LedgerBusyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -38,6 +41,13 @@ public class GlobalExceptionHandler {
                 .build();
     }
 
+    @ExceptionHandler(DuplicateRequestException.class)
+    public ResponseEntity<Map<String, String>> handleDuplicateRequest(DuplicateRequestException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
     @ExceptionHandler(ForbiddenException.class)
     public ResponseEntity<String> handleForbidden(ForbiddenException ex) {
         return ResponseEntity
@@ -45,6 +55,47 @@ public class GlobalExceptionHandler {
                 .body(ex.getMessage());
     }
 
+    // Usually arrives wrapped by the transaction manager; handlers also
+    // match on the cause.
+    @ExceptionHandler(DatabaseBusyException.class)
+    public ResponseEntity<Map<String, String>> handleDatabaseBusy(DatabaseBusyException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Map<String, String>> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(ConcurrentUpdateException.class)
+    public ResponseEntity<Map<String, String>> handleConcurrentUpdate(ConcurrentUpdateException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(LedgerBusyException.class)
+    public ResponseEntity<Map<String, String>> handleLedgerBusy(LedgerBusyException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(StorageFullException.class)
+    public ResponseEntity<Map<String, String>> handleStorageFull(StorageFullException ex) {
+        return ResponseEntity
+                .status(HttpStatus.INSUFFICIENT_STORAGE)
+                .body(Map.of("error", ex.getMessage()));
+    }
+
     @ExceptionHandler(InvalidUserDataException.class)
     public ResponseEntity<Map<String, String>> handleInvalidData(InvalidUserDataException ex) {
         return ResponseEntity
@@ -0,0 +1,42 @@
+package com.eaglebank.eaglebankapp.config;
+
+import com.eaglebank.eaglebankapp.security.BCryptStrength;
+import com.eaglebank.eaglebankapp.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+@Configuration
+public class PasswordHashingConfig {
+
+    @Bean
+    public BoundedPasswordEncoder passwordEncoder(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${eaglebank.password-hashing.target-latency:PT0.25S}") Duration targetLatency,
+            @Value("${eaglebank.password-hashing.min-strength:10}") int minStrength,
+            @Value("${eaglebank.password-hashing.threads:#{T(java.lang.Math).max(1, T(java.lang.Runtime).getRuntime().availableProcessors() / 2)}}") int threads,
+            @Value("${eaglebank.password-hashing.queue-capacity:64}") int queueCapacity
+    ) {
+        int strength = BCryptStrength.calibrate(targetLatency, minStrength);
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(strength), threads, queueCapacity);
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("eaglebank.password.hashing.queued", encoder, BoundedPasswordEncoder::queued)
+                    .register(registry);
+            Gauge.builder("eaglebank.password.hashing.active", encoder, BoundedPasswordEncoder::active)
+                    .register(registry);
+            FunctionCounter.builder("eaglebank.password.hashing.rejected", encoder, BoundedPasswordEncoder::rejected)
+                    .register(registry);
+            Gauge.builder("eaglebank.password.hashing.strength", () -> strength)
+                    .register(registry);
+        });
+        return encoder;
+    }
+}
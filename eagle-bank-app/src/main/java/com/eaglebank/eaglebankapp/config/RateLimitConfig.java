@@ -0,0 +1,24 @@
+package com.eaglebank.eaglebankapp.config;
+
+import com.eaglebank.eaglebankapp.security.RateLimitFilter;
+import com.eaglebank.eaglebankapp.security.RateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "eaglebank.rate-limits.enabled", havingValue = "true")
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties properties) {
+        List<RateLimiter.Group> groups = properties.groups() == null ? List.of() : properties.groups();
+        List<String> trustedProxies = properties.trustedProxies() == null ? List.of() : properties.trustedProxies();
+        return new RateLimitFilter(new RateLimiter(groups, properties.idleTimeout(), properties.maximumBuckets()),
+                trustedProxies);
+    }
+}
@@ -0,0 +1,17 @@
+package com.eaglebank.eaglebankapp.config;
+
+import com.eaglebank.eaglebankapp.security.RateLimiter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties("eaglebank.rate-limits")
+public record RateLimitProperties(
+        @DefaultValue("PT10M") Duration idleTimeout,
+        @DefaultValue("100000") long maximumBuckets,
+        List<String> trustedProxies,
+        List<RateLimiter.Group> groups
+) {
+}
@@ -0,0 +1,22 @@
+package com.eaglebank.eaglebankapp.config;
+
+import com.eaglebank.eaglebankapp.security.SigningKeys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@EnableScheduling
+public class SigningKeyConfig {
+
+    @Bean
+    public SigningKeys signingKeys(@Value("${eaglebank.jwt.key-ring:}") String keyRing) throws IOException {
+        // Without a shared ring each instance signs with a key of its own,
+        // which only suits a single replica whose tokens may end on restart.
+        return keyRing.isBlank() ? SigningKeys.generated() : SigningKeys.load(Path.of(keyRing));
+    }
+}
@@ -131,7 +131,7 @@ public class AccountController {
                 a.getId().value().toString(),
                 a.getName().value(),
                 a.getOwnerId().value().toString(),
-                a.getBalance().value(),
+                a.getBalance().toBigDecimal(),
                 a.getAccountNumber().value(),
                 a.getSortCode().value(),
                 a.getType(),
@@ -0,0 +1,97 @@
+package com.eaglebank.eaglebankapp.controller;
+
+import com.eaglebank.eaglebankapp.controller.TransactionController.TransactionResponse;
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.transaction.*;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import com.eaglebank.eaglebanklogic.transaction.TransactionService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import org.springframework.security.core.Authentication;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/v1/transactions/batch")
+@Validated
+public class TransactionBatchController {
+    private final TransactionService service;
+
+    public TransactionBatchController(TransactionService service) {
+        this.service = service;
+    }
+
+    public record BatchItemRequest(
+            @NotNull UUID accountId,
+            @NotNull TransactionType type,
+            @NotNull @DecimalMin("0.00") BigDecimal amount,
+            @NotNull @Pattern(regexp = "[A-Z]{3}", message = "Currency must be a valid 3-letter ISO code") String currency
+    ) {}
+
+    public record BatchRequest(
+            @NotEmpty @Size(max = TransactionService.MAX_BATCH_SIZE) List<@Valid @NotNull BatchItemRequest> items
+    ) {}
+
+    public record BatchItemResponse(
+            int index,
+            String status,
+            TransactionResponse transaction,
+            String error
+    ) {}
+
+    public record BatchResponse(
+            int posted,
+            int rejected,
+            List<BatchItemResponse> results
+    ) {}
+
+    @Operation(summary = "Post many deposits and withdrawals across the caller's accounts in one request")
+    @PostMapping
+    public BatchResponse postBatch(
+            @Valid @RequestBody BatchRequest req,
+            Authentication auth
+    ) {
+        UserId user = UserId.of(UUID.fromString(auth.getName()));
+        List<BatchItem> items = req.items().stream()
+                .map(this::toItem)
+                .toList();
+
+        List<BatchItemResponse> results = service.postBatch(user, items).stream()
+                .map(this::toResponse)
+                .toList();
+        int posted = (int) results.stream().filter(r -> r.transaction() != null).count();
+        return new BatchResponse(posted, results.size() - posted, results);
+    }
+
+    private BatchItem toItem(BatchItemRequest req) {
+        Currency currency = TransactionController.parseCurrency(req.currency());
+        return new BatchItem(
+                AccountId.of(req.accountId()),
+                req.type(),
+                Amount.of(req.amount(), currency),
+                currency
+        );
+    }
+
+    private BatchItemResponse toResponse(BatchItemResult result) {
+        if (result.isPosted()) {
+            return new BatchItemResponse(
+                    result.index(),
+                    "POSTED",
+                    TransactionController.toResponse(result.transaction()),
+                    null
+            );
+        }
+        return new BatchItemResponse(result.index(), "REJECTED", null, result.error());
+    }
+}
@@ -2,20 +2,29 @@ package com.eaglebank.eaglebankapp.controller;
 
 import com.eaglebank.eaglebankdomain.transaction.*;
 import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
 import com.eaglebank.eaglebankdomain.user.UserId;
+import com.eaglebank.eaglebanklogic.transaction.IdempotencyService;
 import com.eaglebank.eaglebanklogic.transaction.TransactionService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.Currency;
@@ -24,10 +33,19 @@ import java.util.Currency;
 @RequestMapping("/v1/accounts/{accountId}/transactions")
 @Validated
 public class TransactionController {
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
     private final TransactionService service;
+    private final IdempotencyService idempotency;
+    private final ObjectMapper objectMapper;
 
-    public TransactionController(TransactionService service) {
+    public TransactionController(TransactionService service,
+                                 IdempotencyService idempotency,
+                                 ObjectMapper objectMapper) {
         this.service = service;
+        this.idempotency = idempotency;
+        this.objectMapper = objectMapper;
     }
 
     public record CreateTransactionRequest(
@@ -44,42 +62,105 @@ public class TransactionController {
             String timestamp
     ) {}
 
+    public record TransactionPageResponse(
+            List<TransactionResponse> transactions,
+            String nextCursor
+    ) {}
+
     @Operation(summary = "Create a new transaction (deposit or withdrawal)")
     @PostMapping
     public ResponseEntity<TransactionResponse> createTransaction(
             @PathVariable String accountId,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody CreateTransactionRequest req,
             Authentication auth
     ) {
         UserId user = UserId.of(UUID.fromString(auth.getName()));
         AccountId acctId = AccountId.of(UUID.fromString(accountId));
+        if (req.type() != TransactionType.DEPOSIT && req.type() != TransactionType.WITHDRAWAL) {
+            throw new InvalidUserDataException("Transfers must be made through /v1/transfers");
+        }
+        Currency currency = parseCurrency(req.currency());
+        Amount amount = Amount.of(req.amount(), currency);
+        IdempotencyKey key = idempotencyKey == null ? null : new IdempotencyKey(user, idempotencyKey);
         Transaction txn;
-        
-        Currency currency = Currency.getInstance(req.currency());
+
+        // A retry of a request that already committed is answered from the
+        // idempotency store alone.
+        Optional<Transaction> prior = key == null
+                ? Optional.empty()
+                : idempotency.replay(key, acctId, req.type(), amount);
+        if (prior.isPresent()) {
+            TransactionResponse original = toResponse(prior.get());
+            return created(accountId, original)
+                    .header(IDEMPOTENT_REPLAYED_HEADER, "true")
+                    .body(original);
+        }
         
         if (req.type() == TransactionType.DEPOSIT) {
-            txn = service.deposit(acctId, user, new Amount(req.amount()));
+            txn = service.deposit(acctId, user, amount, currency, key);
         } else {
-            txn = service.withdraw(acctId, user, new Amount(req.amount()));
+            txn = service.withdraw(acctId, user, amount, currency, key);
         }
         
         TransactionResponse resp = toResponse(txn);
+        return created(accountId, resp).body(resp);
+    }
+
+    private ResponseEntity.BodyBuilder created(String accountId, TransactionResponse resp) {
         return ResponseEntity.created(URI.create(
                 "/v1/accounts/" + accountId + "/transactions/" + resp.id()
-        )).body(resp);
+        ));
     }
 
-    @Operation(summary = "List all transactions for an account")
+    @Operation(summary = "List an account's transactions, newest first, one page at a time")
     @GetMapping
-    public List<TransactionResponse> listTransactions(
+    public TransactionPageResponse listTransactions(
             @PathVariable String accountId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_PAGE_SIZE) int limit,
             Authentication auth
     ) {
         UserId user = UserId.of(UUID.fromString(auth.getName()));
         AccountId acctId = AccountId.of(UUID.fromString(accountId));
-        return service.listTransactions(acctId, user).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        TransactionCursor after = cursor == null ? null : TransactionCursor.decode(cursor);
+        TransactionPage page = service.listTransactions(acctId, user, after, limit);
+        return new TransactionPageResponse(
+                page.transactions().stream()
+                        .map(TransactionController::toResponse)
+                        .collect(Collectors.toList()),
+                page.hasMore() ? page.nextCursor().encode() : null
+        );
+    }
+
+    @Operation(summary = "Stream the account's full transaction history as NDJSON, oldest first")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportTransactions(
+            @PathVariable String accountId,
+            Authentication auth,
+            HttpServletResponse response
+    ) throws IOException {
+        UserId user = UserId.of(UUID.fromString(auth.getName()));
+        AccountId acctId = AccountId.of(UUID.fromString(accountId));
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+
+        // Rows go straight to the servlet stream as they are read; once its
+        // buffer fills, writes block on the client and so does the cursor.
+        // The generator is only closed on success so that an ownership
+        // failure still reaches the exception handler uncommitted.
+        JsonGenerator gen = objectMapper.getFactory().createGenerator(response.getOutputStream());
+        gen.setRootValueSeparator(null);
+        service.exportTransactions(acctId, user, txn -> writeLine(gen, toResponse(txn)));
+        gen.close();
+    }
+
+    private void writeLine(JsonGenerator gen, TransactionResponse row) {
+        try {
+            gen.writeObject(row);
+            gen.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @Operation(summary = "Fetch a specific transaction by ID")
@@ -99,11 +180,19 @@ public class TransactionController {
         return toResponse(txn);
     }
 
-    private TransactionResponse toResponse(Transaction t) {
+    static Currency parseCurrency(String code) {
+        try {
+            return Currency.getInstance(code);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidUserDataException("Unknown currency: " + code);
+        }
+    }
+
+    static TransactionResponse toResponse(Transaction t) {
         return new TransactionResponse(
                 t.getId().value().toString(),
                 t.getType(),
-                t.getAmount().value(),
+                t.getAmount().toBigDecimal(),
                 t.getCurrency().getCurrencyCode(),
                 t.getTimestamp().toString()
         );
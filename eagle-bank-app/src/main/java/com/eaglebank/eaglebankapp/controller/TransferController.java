@@ -0,0 +1,70 @@
+package com.eaglebank.eaglebankapp.controller;
+
+import com.eaglebank.eaglebankapp.controller.TransactionController.TransactionResponse;
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.transaction.Amount;
+import com.eaglebank.eaglebankdomain.transaction.Transfer;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import com.eaglebank.eaglebanklogic.transaction.TransactionService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.Currency;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/v1/transfers")
+@Validated
+public class TransferController {
+    private final TransactionService service;
+
+    public TransferController(TransactionService service) {
+        this.service = service;
+    }
+
+    public record CreateTransferRequest(
+            @NotNull UUID fromAccountId,
+            @NotNull UUID toAccountId,
+            @NotNull @DecimalMin(value = "0.00", inclusive = false) BigDecimal amount,
+            @NotNull String currency
+    ) {}
+
+    public record TransferResponse(
+            TransactionResponse debit,
+            TransactionResponse credit
+    ) {}
+
+    @Operation(summary = "Move money between two of the caller's accounts in one step")
+    @PostMapping
+    public ResponseEntity<TransferResponse> createTransfer(
+            @Valid @RequestBody CreateTransferRequest req,
+            Authentication auth
+    ) {
+        UserId user = UserId.of(UUID.fromString(auth.getName()));
+        Currency currency = TransactionController.parseCurrency(req.currency());
+        Amount amount = Amount.of(req.amount(), currency);
+        Transfer transfer = service.transfer(
+                AccountId.of(req.fromAccountId()),
+                AccountId.of(req.toAccountId()),
+                user,
+                amount,
+                currency
+        );
+
+        TransferResponse resp = new TransferResponse(
+                TransactionController.toResponse(transfer.debit()),
+                TransactionController.toResponse(transfer.credit())
+        );
+        return ResponseEntity.created(URI.create(
+                "/v1/accounts/" + req.fromAccountId() + "/transactions/" + resp.debit().id()
+        )).body(resp);
+    }
+}
@@ -22,11 +22,16 @@ public class AuthService {
 
     public String login(String emailRaw, String rawPassword) {
         var email = new EmailAddress(emailRaw);
-        var user  = userService.findByEmail(email)
+        var credentials = userService.findCredentials(email)
                 .orElseThrow(() -> new BadCredentialsException("Invalid login"));
-        if (!encoder.matches(rawPassword, user.getPasswordHash().value())) {
+        if (!encoder.matches(rawPassword, credentials.passwordHash().value())) {
             throw new BadCredentialsException("Invalid login");
         }
-        return jwt.createToken(user.getId().value().toString());
+        try {
+            userService.upgradePasswordHash(credentials, rawPassword);
+        } catch (PasswordHashingBusyException e) {
+            // The login stands; the hash is upgraded on a quieter login.
+        }
+        return jwt.createToken(credentials.userId().value().toString());
     }
 }
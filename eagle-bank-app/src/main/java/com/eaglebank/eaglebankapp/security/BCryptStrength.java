@@ -0,0 +1,41 @@
+package com.eaglebank.eaglebankapp.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Picks the BCrypt cost for this machine: the highest one whose hash still
+ * takes no longer than a target. Each step of cost doubles the work, so one
+ * hash timed at the minimum is enough to work out the rest.
+ */
+public final class BCryptStrength {
+    private static final int MAX_STRENGTH = 31;
+    private static final String SAMPLE_PASSWORD = "calibration-only";
+
+    private BCryptStrength() {
+    }
+
+    public static int calibrate(Duration target, int minimumStrength) {
+        return calibrate(target, minimumStrength, strength -> {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+            // The first hash pays for class loading and JIT warm-up.
+            encoder.encode(SAMPLE_PASSWORD);
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            return System.nanoTime() - start;
+        });
+    }
+
+    static int calibrate(Duration target, int minimumStrength, IntToLongFunction nanosToHash) {
+        long nanos = nanosToHash.applyAsLong(minimumStrength);
+        long targetNanos = target.toNanos();
+        int strength = minimumStrength;
+        while (strength < MAX_STRENGTH && nanos * 2 <= targetNanos) {
+            nanos *= 2;
+            strength++;
+        }
+        return strength;
+    }
+}
@@ -1,39 +1,129 @@
 package com.eaglebank.eaglebankapp.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 @Component
 public class JwtTokenProvider {
+    private static final long TOKEN_LIFETIME_MILLIS = 3600_000;
+    private static final long DEFAULT_CACHE_SIZE = 100_000;
 
-    private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    private final SigningKeys keys;
+    private final LongSupplier clock;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verified;
+
+    @Autowired
+    public JwtTokenProvider(SigningKeys keys) {
+        this(keys, System::currentTimeMillis, DEFAULT_CACHE_SIZE);
+    }
+
+    JwtTokenProvider(SigningKeys keys, LongSupplier clock, long cacheSize) {
+        this.keys = keys;
+        this.clock = clock;
+        // Parsers are immutable and thread-safe, so one serves every request;
+        // the key is looked up in the ring by the token's kid each time.
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = keys.find(header.getKeyId());
+                        if (key == null) {
+                            throw new JwtException("Unknown signing key " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .setClock(() -> new Date(clock.getAsLong()))
+                .build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.getAsLong()))
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String hash, VerifiedToken token, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, token.expiresAtMillis() - clock.getAsLong()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String hash, VerifiedToken token, long currentTime, long currentDuration) {
+                        return expireAfterCreate(hash, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String hash, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
 
     public String createToken(String userId) {
+        long now = clock.getAsLong();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keys.activeId())
                 .setSubject(userId)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + 3600_000))
-                .signWith(key)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + TOKEN_LIFETIME_MILLIS))
+                .signWith(keys.activeKey())
                 .compact();
     }
 
+    /**
+     * Verifies the token and returns its subject. Clients send the same
+     * token for its whole lifetime, so a token that verified is remembered
+     * by its SHA-256 hash until it expires and is not verified again.
+     * Tokens that fail are not remembered, and a remembered token stops
+     * being accepted once its key is removed from the ring.
+     */
     public String getUserId(String token) {
+        String hash = hash(token);
+        VerifiedToken known = verified.getIfPresent(hash);
+        if (known != null && keys.find(known.keyId()) != null) {
+            return known.userId();
+        }
+        var jws = parser.parseClaimsJws(token);
+        Claims claims = jws.getBody();
+        if (claims.getExpiration() != null) {
+            verified.put(hash, new VerifiedToken(
+                    claims.getSubject(), jws.getHeader().getKeyId(), claims.getExpiration().getTime()));
+        }
+        return claims.getSubject();
+    }
+
+    long cachedTokens() {
+        verified.cleanUp();
+        return verified.estimatedSize();
+    }
+
+    private static String hash(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
-        } catch (Exception e) {
-            System.err.println("JWT Token validation failed: " + e.getMessage());
-            throw e;
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to provide SHA-256.
+            throw new IllegalStateException(e);
         }
     }
 
+    private record VerifiedToken(String userId, String keyId, long expiresAtMillis) {
+    }
 }
@@ -0,0 +1,8 @@
+package com.eaglebank.eaglebankapp.security;
+
+/** Thrown when every password hashing thread is busy and its queue is full. */
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,95 @@
+package com.eaglebank.eaglebankapp.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Answers {@code 429} once a caller has used up its requests for an
+ * endpoint group. Runs after the JWT filter so a signed-in caller is
+ * counted by user id; anyone else, such as a client logging in, is counted
+ * by address.
+ *
+ * <p>The address is the peer's, unless the peer is one of the trusted
+ * proxies. Then {@code X-Forwarded-For} is read from the right, skipping
+ * trusted proxies, and the first other address is the client's. Entries
+ * further left were written by whoever sent the request and are never
+ * used, so a client cannot pick its own bucket.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    // Only literal addresses are matched; anything else could make the
+    // matcher resolve a host name.
+    private static final Pattern IP_LITERAL = Pattern.compile("[0-9A-Fa-f:.]+");
+
+    private final RateLimiter limiter;
+    private final List<IpAddressMatcher> trustedProxies;
+
+    /**
+     * @param trustedProxies addresses or CIDR ranges of the proxies in front
+     *                       of the service; empty when clients connect
+     *                       directly
+     */
+    public RateLimitFilter(RateLimiter limiter, List<String> trustedProxies) {
+        this.limiter = limiter;
+        this.trustedProxies = trustedProxies.stream().map(IpAddressMatcher::new).toList();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+        long waitNanos = limiter.tryAcquire(caller(req), req.getRequestURI().substring(req.getContextPath().length()));
+        if (waitNanos > 0) {
+            long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            res.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            res.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.getWriter().write("{\"error\":\"Too many requests\"}");
+            return;
+        }
+        chain.doFilter(req, res);
+    }
+
+    private String caller(HttpServletRequest req) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+            return "user:" + auth.getName();
+        }
+        return "address:" + clientAddress(req);
+    }
+
+    private String clientAddress(HttpServletRequest req) {
+        String address = req.getRemoteAddr();
+        String forwarded = req.getHeader("X-Forwarded-For");
+        if (forwarded == null || !isTrusted(address)) {
+            return address;
+        }
+        String[] hops = forwarded.split(",");
+        for (int i = hops.length - 1; i >= 0 && isTrusted(address); i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                break;
+            }
+            address = hop;
+        }
+        return address;
+    }
+
+    private boolean isTrusted(String address) {
+        return IP_LITERAL.matcher(address).matches()
+                && trustedProxies.stream().anyMatch(proxy -> proxy.matches(address));
+    }
+}
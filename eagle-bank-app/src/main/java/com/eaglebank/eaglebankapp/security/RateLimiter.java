@@ -0,0 +1,94 @@
+package com.eaglebank.eaglebankapp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * One {@link TokenBucket} per caller and endpoint group. Each request path is
+ * matched against the groups in order and counted against the first that
+ * matches; paths no group matches are not limited. Buckets left idle for
+ * {@code idleTimeout} are dropped, which costs nothing since an idle bucket
+ * is full anyway, and at most {@code maximumBuckets} are kept.
+ */
+public class RateLimiter {
+    private final List<CompiledGroup> groups;
+    private final LongSupplier nanoClock;
+    private final Cache<BucketKey, TokenBucket> buckets;
+
+    public RateLimiter(List<Group> groups, Duration idleTimeout, long maximumBuckets) {
+        this(groups, idleTimeout, maximumBuckets, System::nanoTime);
+    }
+
+    RateLimiter(List<Group> groups, Duration idleTimeout, long maximumBuckets, LongSupplier nanoClock) {
+        this.groups = groups.stream().map(CompiledGroup::of).toList();
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(idleTimeout)
+                .maximumSize(maximumBuckets)
+                .ticker(nanoClock::getAsLong)
+                .build();
+    }
+
+    /**
+     * Counts a request by this caller to this path.
+     *
+     * @return 0 if it is allowed, otherwise how many nanoseconds until the
+     *         caller may try again
+     */
+    public long tryAcquire(String caller, String path) {
+        CompiledGroup group = groupFor(path);
+        if (group == null) {
+            return 0;
+        }
+        long now = nanoClock.getAsLong();
+        TokenBucket bucket = buckets.get(new BucketKey(caller, group.name()),
+                key -> new TokenBucket(group.capacity(), group.tokensPerSecond(), now));
+        return bucket.tryTake(now);
+    }
+
+    long bucketCount() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+
+    private CompiledGroup groupFor(String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (CompiledGroup group : groups) {
+            for (PathPattern pattern : group.paths()) {
+                if (pattern.matches(container)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param paths           path patterns, such as
+     *                        {@code /v1/accounts/{id}/transactions/**}
+     * @param capacity        requests allowed in a burst
+     * @param tokensPerSecond sustained requests per second
+     */
+    public record Group(String name, List<String> paths, long capacity, double tokensPerSecond) {
+    }
+
+    private record CompiledGroup(String name, List<PathPattern> paths, long capacity, double tokensPerSecond) {
+        static CompiledGroup of(Group group) {
+            return new CompiledGroup(
+                    group.name(),
+                    group.paths().stream().map(PathPatternParser.defaultInstance::parse).toList(),
+                    group.capacity(),
+                    group.tokensPerSecond());
+        }
+    }
+
+    private record BucketKey(String caller, String group) {
+    }
+}
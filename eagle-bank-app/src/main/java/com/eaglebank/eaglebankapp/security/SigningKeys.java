@@ -0,0 +1,118 @@
+package com.eaglebank.eaglebankapp.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The HMAC keys tokens are signed with, each under a key id that goes in
+ * the token's {@code kid} header. Every replica loads the same ring from a
+ * shared file, so a token issued by one is accepted by all of them and
+ * survives restarts. The file is a properties file:
+ *
+ * <pre>
+ * active=2026-10
+ * key.2026-09=&lt;base64 secret of at least 32 bytes&gt;
+ * key.2026-10=&lt;base64 secret of at least 32 bytes&gt;
+ * </pre>
+ *
+ * <p>New tokens are signed with the {@code active} key; any key in the ring
+ * verifies. To rotate, add the new key, wait for every replica to
+ * {@link #reload} it, then make it active, and remove the old key once the
+ * tokens it signed have expired.
+ */
+public class SigningKeys {
+    private static final String ACTIVE = "active";
+    private static final String KEY_PREFIX = "key.";
+    private static final String GENERATED_ID = "generated";
+
+    private final Path file;
+    private volatile Ring ring;
+    private volatile FileTime loadedModified;
+
+    private SigningKeys(Path file, Ring ring, FileTime loadedModified) {
+        this.file = file;
+        this.ring = ring;
+        this.loadedModified = loadedModified;
+    }
+
+    /** A ring of one random key, for a single instance whose tokens may die with it. */
+    public static SigningKeys generated() {
+        SecretKey key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        return new SigningKeys(null, new Ring(GENERATED_ID, Map.of(GENERATED_ID, key)), null);
+    }
+
+    public static SigningKeys load(Path file) throws IOException {
+        FileTime modified = Files.getLastModifiedTime(file);
+        return new SigningKeys(file, read(file), modified);
+    }
+
+    public String activeId() {
+        return ring.activeId();
+    }
+
+    public SecretKey activeKey() {
+        Ring current = ring;
+        return current.keys().get(current.activeId());
+    }
+
+    /** The key with this id, or {@code null} if the ring has none. */
+    public SecretKey find(String keyId) {
+        return keyId == null ? null : ring.keys().get(keyId);
+    }
+
+    /**
+     * Rereads the file if it has changed. A file that no longer parses is
+     * reported and the keys already loaded stay in use.
+     */
+    @Scheduled(fixedDelayString = "${eaglebank.jwt.reload-interval:PT1M}")
+    public void reload() {
+        if (file == null) {
+            return;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            if (!modified.equals(loadedModified)) {
+                ring = read(file);
+                loadedModified = modified;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not reload signing keys from " + file, e);
+        }
+    }
+
+    private static Ring read(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        Map<String, SecretKey> keys = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(KEY_PREFIX)) {
+                byte[] secret = Base64.getDecoder().decode(properties.getProperty(name).trim());
+                // Rejects anything shorter than the 256 bits HS256 needs.
+                keys.put(name.substring(KEY_PREFIX.length()), Keys.hmacShaKeyFor(secret));
+            }
+        }
+        String activeId = properties.getProperty(ACTIVE, "").trim();
+        if (!keys.containsKey(activeId)) {
+            throw new IllegalStateException("Active signing key '" + activeId + "' is not in " + file);
+        }
+        return new Ring(activeId, Map.copyOf(keys));
+    }
+
+    private record Ring(String activeId, Map<String, SecretKey> keys) {
+    }
+}
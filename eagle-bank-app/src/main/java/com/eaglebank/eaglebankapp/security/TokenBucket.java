@@ -0,0 +1,46 @@
+package com.eaglebank.eaglebankapp.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket of {@code capacity} tokens refilled at a steady rate, kept
+ * lock-free as a single timestamp: the time at which the bucket would be
+ * full again. Taking a token pushes that time one refill interval further
+ * out, and is refused while it would land more than a full bucket's worth
+ * of intervals ahead of now.
+ */
+public class TokenBucket {
+    private final long refillNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(long capacity, double tokensPerSecond, long nowNanos) {
+        if (capacity < 1 || !(tokensPerSecond > 0)) {
+            throw new IllegalArgumentException("Capacity and refill rate must be positive");
+        }
+        this.refillNanos = Math.max(1, Math.round(1_000_000_000 / tokensPerSecond));
+        this.burstNanos = Math.multiplyExact(capacity, refillNanos);
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a token if one is left.
+     *
+     * @return 0 if a token was taken, otherwise how many nanoseconds until
+     *         the next one is due
+     */
+    public long tryTake(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            // An idle bucket does not fill beyond capacity.
+            long next = Math.max(current, nowNanos) + refillNanos;
+            long ahead = next - nowNanos;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
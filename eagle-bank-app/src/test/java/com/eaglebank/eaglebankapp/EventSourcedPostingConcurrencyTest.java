@@ -0,0 +1,75 @@
+package com.eaglebank.eaglebankapp;
+
+import com.eaglebank.eaglebankdomain.account.*;
+import com.eaglebank.eaglebankdomain.transaction.Amount;
+import com.eaglebank.eaglebankdomain.transaction.TransactionRepository;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import com.eaglebank.eaglebanklogic.ledger.ShardedLedgerExecutor;
+import com.eaglebank.eaglebanklogic.transaction.IdempotencyService;
+import com.eaglebank.eaglebanklogic.transaction.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two sharded executors stand in for two instances posting to one account,
+ * so deposits really do race for the same ledger sequence number.
+ */
+@SpringBootTest(properties = {
+        "eaglebank.ledger.balances=event-sourced",
+        "eaglebank.ledger.executor=sharded"
+})
+class EventSourcedPostingConcurrencyTest {
+
+    private static final Currency GBP = Currency.getInstance("GBP");
+    private static final int DEPOSITS = 400;
+
+    @Autowired
+    private AccountRepository accounts;
+    @Autowired
+    private TransactionRepository transactions;
+    @Autowired
+    private TransactionService service;
+    @Autowired
+    private IdempotencyService idempotency;
+    @Autowired
+    private TransactionOperations transactionOperations;
+
+    @Test
+    void shouldLandEveryConcurrentDeposit() throws Exception {
+        UserId ownerId = UserId.newId();
+        AccountId accountId = accounts.save(Account.create(ownerId, new AccountName("Hot"), AccountType.BUSINESS)).getId();
+        ExecutorService clients = Executors.newFixedThreadPool(16);
+        try (ShardedLedgerExecutor otherInstance = new ShardedLedgerExecutor(transactionOperations, 4, 1_000)) {
+            TransactionService other = new TransactionService(transactions, accounts, otherInstance, idempotency);
+            List<Future<?>> posts = new ArrayList<>();
+            for (int i = 0; i < DEPOSITS; i++) {
+                TransactionService instance = i % 2 == 0 ? service : other;
+                posts.add(clients.submit(() -> instance.deposit(accountId, ownerId, new Amount(1, 2), GBP)));
+            }
+            for (Future<?> post : posts) {
+                post.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        assertThat(accounts.findById(accountId).orElseThrow().getBalance()).isEqualTo(new Balance(DEPOSITS, 2));
+        long posted = transactionOperations.execute(status -> {
+            try (var history = transactions.streamByAccount(accountId)) {
+                return history.count();
+            }
+        });
+        assertThat(posted).isEqualTo(DEPOSITS);
+    }
+}
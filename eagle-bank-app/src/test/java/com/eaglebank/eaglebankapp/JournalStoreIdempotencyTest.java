@@ -0,0 +1,59 @@
+package com.eaglebank.eaglebankapp;
+
+import com.eaglebank.eaglebankdomain.account.*;
+import com.eaglebank.eaglebankdomain.transaction.Amount;
+import com.eaglebank.eaglebankdomain.transaction.IdempotencyKey;
+import com.eaglebank.eaglebankdomain.transaction.IdempotencyRepository;
+import com.eaglebank.eaglebankdomain.transaction.Transaction;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import com.eaglebank.eaglebanklogic.transaction.TransactionService;
+import com.eaglebank.eaglebankrepository.journal.JournalIdempotencyRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.util.Currency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * With the journal store a posting's idempotency key goes into the
+ * journal frame with it rather than into the database.
+ */
+@SpringBootTest(properties = "eaglebank.ledger.store=journal")
+class JournalStoreIdempotencyTest {
+
+    @TempDir
+    static Path dir;
+
+    @DynamicPropertySource
+    static void journalDirectory(DynamicPropertyRegistry registry) {
+        registry.add("eaglebank.ledger.journal.directory", () -> dir.resolve("journal").toString());
+    }
+
+    @Autowired
+    private AccountRepository accounts;
+    @Autowired
+    private TransactionService service;
+    @Autowired
+    private IdempotencyRepository idempotency;
+
+    @Test
+    void shouldReplayDepositFromTheJournal() {
+        UserId ownerId = UserId.newId();
+        AccountId accountId = accounts.save(Account.create(ownerId, new AccountName("Journal"), AccountType.CHECKING)).getId();
+        IdempotencyKey key = new IdempotencyKey(ownerId, "req-1");
+        Currency gbp = Currency.getInstance("GBP");
+
+        Transaction first = service.deposit(accountId, ownerId, new Amount(500, 2), gbp, key);
+        Transaction second = service.deposit(accountId, ownerId, new Amount(500, 2), gbp, key);
+
+        assertThat(idempotency).isInstanceOf(JournalIdempotencyRepository.class);
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(accounts.findById(accountId).orElseThrow().getBalance()).isEqualTo(new Balance(500, 2));
+    }
+}
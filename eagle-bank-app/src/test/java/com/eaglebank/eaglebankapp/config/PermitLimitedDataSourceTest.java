@@ -0,0 +1,117 @@
+package com.eaglebank.eaglebankapp.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class PermitLimitedDataSourceTest {
+
+    private DataSource pool;
+    private Connection connection;
+    private PermitLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(connection);
+        dataSource = new PermitLimitedDataSource(pool, 2, Duration.ofMillis(20));
+    }
+
+    @Test
+    void shouldRejectNonPositivePermitCount() {
+        assertThatThrownBy(() -> new PermitLimitedDataSource(pool, 0, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldFailFastOnceAllPermitsAreOut() throws SQLException {
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(DatabaseBusyException.class)
+                .hasMessage("No database connection available");
+        verify(pool, times(2)).getConnection();
+
+        first.close();
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+
+    @Test
+    void shouldReturnPermitOnlyOnceWhenClosedTwice() throws SQLException {
+        Connection held = dataSource.getConnection();
+
+        held.close();
+        held.close();
+
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void shouldReturnPermitWhenPoolFails() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLException("pool down"));
+        when(pool.getConnection("user", "secret")).thenThrow(new IllegalStateException("closed"));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool down");
+        assertThatThrownBy(() -> dataSource.getConnection("user", "secret")).hasMessage("closed");
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldLimitConnectionsForOtherCredentials() throws SQLException {
+        when(pool.getConnection("user", "secret")).thenReturn(connection);
+
+        dataSource.getConnection("user", "secret").close();
+
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldForwardOtherCallsAndTheirFailures() throws SQLException {
+        when(connection.getAutoCommit()).thenReturn(true);
+        doThrow(new SQLException("read only")).when(connection).setReadOnly(true);
+        doThrow(new SQLException("already gone")).when(connection).close();
+        Connection held = dataSource.getConnection();
+
+        assertThat(held.getAutoCommit()).isTrue();
+        assertThatThrownBy(() -> held.setReadOnly(true)).hasMessage("read only");
+        assertThatThrownBy(held::close).hasMessage("already gone");
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldGiveUpWhenInterrupted() {
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(dataSource::getConnection).isInstanceOf(DatabaseBusyException.class);
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldWrapDataSourceBeansOnce() {
+        BeanPostProcessor processor = DbPermitConfig.permitLimitedDataSourcePostProcessor(5, Duration.ofSeconds(1));
+        Object other = new Object();
+
+        Object wrapped = processor.postProcessAfterInitialization(pool, "dataSource");
+
+        assertThat(wrapped).isInstanceOf(PermitLimitedDataSource.class);
+        assertThat(((PermitLimitedDataSource) wrapped).availablePermits()).isEqualTo(5);
+        assertThat(processor.postProcessAfterInitialization(wrapped, "dataSource")).isSameAs(wrapped);
+        assertThat(processor.postProcessAfterInitialization(other, "other")).isSameAs(other);
+    }
+}
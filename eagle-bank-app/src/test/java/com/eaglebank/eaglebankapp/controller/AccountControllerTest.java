@@ -69,7 +69,7 @@ class AccountControllerTest {
                 AccountId.of(ACCT_ID),
                 UserId.of(USER_ID),
                 name,
-                new Balance(BigDecimal.ZERO),
+                Balance.of(BigDecimal.ZERO, Currency.getInstance("GBP")),
                 new AccountNumber("12345678"),
                 new SortCode("123456"),
                 AccountType.SAVINGS,
@@ -126,7 +126,7 @@ class AccountControllerTest {
                 AccountId.of(UUID.randomUUID()),
                 UserId.of(USER_ID),
                 new AccountName("A"),
-                new Balance(BigDecimal.TEN),
+                Balance.of(BigDecimal.TEN, Currency.getInstance("GBP")),
                 new AccountNumber("12345678"),
                 new SortCode("123456"),
                 AccountType.CHECKING,
@@ -138,7 +138,7 @@ class AccountControllerTest {
                 AccountId.of(UUID.randomUUID()),
                 UserId.of(USER_ID),
                 new AccountName("B"),
-                new Balance(BigDecimal.valueOf(5)),
+                Balance.of(BigDecimal.valueOf(5), Currency.getInstance("GBP")),
                 new AccountNumber("87654321"),
                 new SortCode("123456"),
                 AccountType.SAVINGS,
@@ -166,7 +166,7 @@ class AccountControllerTest {
                 AccountId.of(ACCT_ID),
                 UserId.of(USER_ID),
                 new AccountName("X"),
-                new Balance(BigDecimal.valueOf(99)),
+                Balance.of(BigDecimal.valueOf(99), Currency.getInstance("GBP")),
                 new AccountNumber("12345678"),
                 new SortCode("123456"),
                 AccountType.CHECKING,
@@ -225,7 +225,7 @@ class AccountControllerTest {
                 AccountId.of(ACCT_ID),
                 UserId.of(USER_ID),
                 new AccountName("NewName"),
-                new Balance(BigDecimal.ZERO),
+                Balance.of(BigDecimal.ZERO, Currency.getInstance("GBP")),
                 new AccountNumber("12345678"),
                 new SortCode("123456"),
                 AccountType.CHECKING,
@@ -0,0 +1,135 @@
+package com.eaglebank.eaglebankapp.controller;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.transaction.*;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import com.eaglebank.eaglebanklogic.transaction.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.BDDMockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+class TransactionBatchControllerTest {
+
+    private static final String BATCH = "/v1/transactions/batch";
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID ACCT_ID = UUID.randomUUID();
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TransactionBatchController controller;
+    @org.mockito.Mock
+    private TransactionService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(controller, "service", service);
+    }
+
+    private UsernamePasswordAuthenticationToken auth() {
+        return new UsernamePasswordAuthenticationToken(USER_ID.toString(), null);
+    }
+
+    @Test
+    @DisplayName("POST /v1/transactions/batch – per-item results")
+    void postBatchReportsEachItem() throws Exception {
+        Transaction deposit = Transaction.create(
+                AccountId.of(ACCT_ID),
+                TransactionType.DEPOSIT,
+                Amount.of(new BigDecimal("12.50"), Currency.getInstance("GBP")),
+                Currency.getInstance("GBP")
+        );
+        List<BatchItem> expected = List.of(
+                new BatchItem(AccountId.of(ACCT_ID), TransactionType.DEPOSIT,
+                        Amount.of(new BigDecimal("12.50"), Currency.getInstance("GBP")), Currency.getInstance("GBP")),
+                new BatchItem(AccountId.of(ACCT_ID), TransactionType.WITHDRAWAL,
+                        Amount.of(new BigDecimal("99"), Currency.getInstance("GBP")), Currency.getInstance("GBP"))
+        );
+        given(service.postBatch(eq(UserId.of(USER_ID)), eq(expected))).willReturn(List.of(
+                BatchItemResult.posted(0, deposit),
+                BatchItemResult.rejected(1, "Insufficient funds")
+        ));
+
+        mvc.perform(post(BATCH)
+                        .principal(auth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "items": [
+                                    {"accountId":"%s","type":"DEPOSIT","amount":12.50,"currency":"GBP"},
+                                    {"accountId":"%s","type":"WITHDRAWAL","amount":99,"currency":"GBP"}
+                                  ]
+                                }
+                                """.formatted(ACCT_ID, ACCT_ID))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posted").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results", hasSize(2)))
+                .andExpect(jsonPath("$.results[0].status").value("POSTED"))
+                .andExpect(jsonPath("$.results[0].transaction.id").value(deposit.getId().value().toString()))
+                .andExpect(jsonPath("$.results[1].index").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.results[1].error").value("Insufficient funds"));
+    }
+
+    @Test
+    @DisplayName("POST /v1/transactions/batch – empty batch → 400")
+    void emptyBatchIsRejected() throws Exception {
+        mvc.perform(post(BATCH)
+                        .principal(auth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[]}")
+                )
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    @DisplayName("POST /v1/transactions/batch – invalid item → 400")
+    void invalidItemRejectsBatch() throws Exception {
+        mvc.perform(post(BATCH)
+                        .principal(auth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"items":[{"accountId":"%s","type":"DEPOSIT","amount":-1,"currency":"GBP"}]}
+                                """.formatted(ACCT_ID))
+                )
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    @DisplayName("POST /v1/transactions/batch – unknown currency → 422")
+    void unknownCurrencyRejectsBatch() throws Exception {
+        mvc.perform(post(BATCH)
+                        .principal(auth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"items":[{"accountId":"%s","type":"DEPOSIT","amount":1,"currency":"ZZZ"}]}
+                                """.formatted(ACCT_ID))
+                )
+                .andExpect(status().isUnprocessableEntity());
+        verifyNoInteractions(service);
+    }
+}
@@ -1,12 +1,19 @@
 package com.eaglebank.eaglebankapp.controller;
 
+import com.eaglebank.eaglebankapp.config.DatabaseBusyException;
 import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.exception.DuplicateRequestException;
 import com.eaglebank.eaglebankdomain.exception.ForbiddenException;
 import com.eaglebank.eaglebankdomain.exception.ResourceNotFoundException;
 import com.eaglebank.eaglebankdomain.transaction.Amount;
+import com.eaglebank.eaglebankdomain.transaction.IdempotencyKey;
 import com.eaglebank.eaglebankdomain.transaction.Transaction;
+import com.eaglebank.eaglebankdomain.transaction.TransactionCursor;
 import com.eaglebank.eaglebankdomain.transaction.TransactionId;
+import com.eaglebank.eaglebankdomain.transaction.TransactionPage;
 import com.eaglebank.eaglebankdomain.transaction.TransactionType;
+import com.eaglebank.eaglebanklogic.ledger.LedgerBusyException;
+import com.eaglebank.eaglebanklogic.transaction.IdempotencyService;
 import com.eaglebank.eaglebanklogic.transaction.TransactionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,13 +26,17 @@ import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Currency;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.BDDMockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -49,11 +60,14 @@ class TransactionControllerTest {
     private TransactionController controller;
     @org.mockito.Mock
     private TransactionService service;
+    @org.mockito.Mock
+    private IdempotencyService idempotency;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
         ReflectionTestUtils.setField(controller, "service", service);
+        ReflectionTestUtils.setField(controller, "idempotency", idempotency);
     }
 
     private UsernamePasswordAuthenticationToken auth() {
@@ -67,14 +81,16 @@ class TransactionControllerTest {
                 TransactionId.of(TXN_ID),
                 AccountId.of(ACCT_ID),
                 TransactionType.DEPOSIT,
-                new Amount(BigDecimal.valueOf(50)),
+                Amount.of(BigDecimal.valueOf(50), Currency.getInstance("GBP")),
                 Instant.now(),
                 Currency.getInstance("GBP")
         );
         given(service.deposit(
                 eq(AccountId.of(ACCT_ID)),
                 eq(com.eaglebank.eaglebankdomain.user.UserId.of(USER_ID)),
-                eq(new Amount(BigDecimal.valueOf(50)))
+                eq(Amount.of(BigDecimal.valueOf(50), Currency.getInstance("GBP"))),
+                eq(Currency.getInstance("GBP")),
+                isNull()
         )).willReturn(txn);
 
         mvc.perform(post(BASE + "/" + ACCT_ID_STR + "/transactions")
@@ -104,14 +120,16 @@ class TransactionControllerTest {
                 TransactionId.of(TXN_ID),
                 AccountId.of(ACCT_ID),
                 TransactionType.WITHDRAWAL,
-                new Amount(BigDecimal.valueOf(20)),
+                Amount.of(BigDecimal.valueOf(20), Currency.getInstance("GBP")),
                 Instant.now(),
                 Currency.getInstance("GBP")
         );
         given(service.withdraw(
                 eq(AccountId.of(ACCT_ID)),
                 eq(com.eaglebank.eaglebankdomain.user.UserId.of(USER_ID)),
-                eq(new Amount(BigDecimal.valueOf(20)))
+                eq(Amount.of(BigDecimal.valueOf(20), Currency.getInstance("GBP"))),
+                eq(Currency.getInstance("GBP")),
+                isNull()
         )).willReturn(txn);
 
         mvc.perform(post(BASE + "/" + ACCT_ID_STR + "/transactions")
@@ -141,11 +159,35 @@ class TransactionControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("POST /…/transactions – more decimal places than the currency allows → 422")
+    void createTransactionTooPrecise() throws Exception {
+        mvc.perform(post(BASE + "/" + ACCT_ID_STR + "/transactions")
+                        .principal(auth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"DEPOSIT\",\"amount\":1.005,\"currency\":\"GBP\"}")
+                )
+                .andExpect(status().isUnprocessableEntity());
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    @DisplayName("POST /…/transactions – transfer leg type → 422")
+    void createTransactionRejectsTransferType() throws Exception {
+        mvc.perform(post(BASE + "/" + ACCT_ID_STR + "/transactions")
+                        .principal(auth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"TRANSFER_IN\",\"amount\":5,\"currency\":\"GBP\"}")
+                )
+                .andExpect(status().isUnprocessableEntity());
+        verifyNoInteractions(service);
+    }
+
     @Test
     @DisplayName("POST /…/transactions – account not found → 404")
     void createTransactionAccountNotFound() throws Exception {
         willThrow(new ResourceNotFoundException("no acct"))
-                .given(service).deposit(any(), any(), any());
+                .given(service).deposit(any(), any(), any(), any(), any());
         mvc.perform(post(BASE + "/" + ACCT_ID_STR + "/transactions")
                         .principal(auth())
                         .contentType(MediaType.APPLICATION_JSON)
@@ -164,7 +206,7 @@ class TransactionControllerTest {
     @DisplayName("POST /…/transactions – forbidden (wrong user) → 403")
     void createTransactionForbidden() throws Exception {
         willThrow(new ForbiddenException("nope"))
-                .given(service).withdraw(any(), any(), any());
+                .given(service).withdraw(any(), any(), any(), any(), any());
         mvc.perform(post(BASE + "/" + ACCT_ID_STR + "/transactions")
                         .principal(auth())
                         .contentType(MediaType.APPLICATION_JSON)
@@ -183,7 +225,7 @@ class TransactionControllerTest {
     @DisplayName("POST /…/transactions – insufficient funds → 422")
     void withdrawalInsufficientFunds() throws Exception {
         willThrow(new com.eaglebank.eaglebankdomain.exception.InvalidUserDataException("Insufficient"))
-                .given(service).withdraw(any(), any(), any());
+                .given(service).withdraw(any(), any(), any(), any(), any());
         mvc.perform(post(BASE + "/" + ACCT_ID_STR + "/transactions")
                         .principal(auth())
                         .contentType(MediaType.APPLICATION_JSON)
@@ -198,6 +240,150 @@ class TransactionControllerTest {
                 .andExpect(status().isUnprocessableEntity());
     }
 
+    @Test
+    @DisplayName("POST /…/transactions – no database connection free → 503")
+    void createTransactionDatabaseBusy() throws Exception {
+        willThrow(new CannotCreateTransactionException("Could not open JPA EntityManager for transaction",
+                new DatabaseBusyException("No database connection available")))
+                .given(service).deposit(any(), any(), any(), any(), any());
+        mvc.perform(post(BASE + "/" + ACCT_ID_STR + "/transactions")
+                        .principal(auth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "type":"DEPOSIT",
+                                  "amount":10,
+                                  "currency":"GBP"
+                                }
+                                """)
+                )
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error").value("No database connection available"));
+    }
+
+    @Test
+    @DisplayName("POST /…/transactions – ledger shard queue full → 503")
+    void createTransactionLedgerBusy() throws Exception {
+        willThrow(new LedgerBusyException("Ledger is busy, please retry"))
+                .given(service).deposit(any(), any(), any(), any(), any());
+        mvc.perform(post(BASE + "/" + ACCT_ID_STR + "/transactions")
+                        .principal(auth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "type":"DEPOSIT",
+                                  "amount":10,
+                                  "currency":"GBP"
+                                }
+                                """)
+                )
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error").value("Ledger is busy, please retry"));
+    }
+
+    @Test
+    @DisplayName("POST /…/transactions with Idempotency-Key – key passed to service")
+    void depositWithIdempotencyKey() throws Exception {
+        IdempotencyKey key = new IdempotencyKey(com.eaglebank.eaglebankdomain.user.UserId.of(USER_ID), "retry-1");
+        Transaction txn = Transaction.rehydrate(
+                TransactionId.of(TXN_ID),
+                AccountId.of(ACCT_ID),
+                TransactionType.DEPOSIT,
+                Amount.of(BigDecimal.valueOf(50), Currency.getInstance("GBP")),
+                Instant.now(),
+                Currency.getInstance("GBP")
+        );
+        given(idempotency.replay(any(), any(), any(), any())).willReturn(Optional.empty());
+        given(service.deposit(
+                eq(AccountId.of(ACCT_ID)),
+                eq(com.eaglebank.eaglebankdomain.user.UserId.of(USER_ID)),
+                eq(Amount.of(BigDecimal.valueOf(50), Currency.getInstance("GBP"))),
+                eq(Currency.getInstance("GBP")),
+                eq(key)
+        )).willReturn(txn);
+
+        mvc.perform(post(BASE + "/" + ACCT_ID_STR + "/transactions")
+                        .principal(auth())
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "type":"DEPOSIT",
+                                  "amount":50,
+                                  "currency":"GBP"
+                                }
+                                """)
+                )
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andExpect(jsonPath("$.id").value(TXN_ID_STR));
+    }
+
+    @Test
+    @DisplayName("POST /…/transactions replayed key – original response, service untouched")
+    void replayedIdempotencyKey() throws Exception {
+        Transaction original = Transaction.rehydrate(
+                TransactionId.of(TXN_ID),
+                AccountId.of(ACCT_ID),
+                TransactionType.WITHDRAWAL,
+                Amount.of(BigDecimal.valueOf(20), Currency.getInstance("GBP")),
+                Instant.now(),
+                Currency.getInstance("GBP")
+        );
+        given(idempotency.replay(
+                eq(new IdempotencyKey(com.eaglebank.eaglebankdomain.user.UserId.of(USER_ID), "retry-2")),
+                eq(AccountId.of(ACCT_ID)),
+                eq(TransactionType.WITHDRAWAL),
+                eq(Amount.of(BigDecimal.valueOf(20), Currency.getInstance("GBP")))
+        )).willReturn(Optional.of(original));
+
+        mvc.perform(post(BASE + "/" + ACCT_ID_STR + "/transactions")
+                        .principal(auth())
+                        .header("Idempotency-Key", "retry-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "type":"WITHDRAWAL",
+                                  "amount":20,
+                                  "currency":"GBP"
+                                }
+                                """)
+                )
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(header().string("Location",
+                        BASE + "/" + ACCT_ID_STR + "/transactions/" + TXN_ID_STR))
+                .andExpect(jsonPath("$.id").value(TXN_ID_STR))
+                .andExpect(jsonPath("$.amount").value(20));
+
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    @DisplayName("POST /…/transactions concurrent request holds key → 409")
+    void idempotencyKeyInProgress() throws Exception {
+        given(idempotency.replay(any(), any(), any(), any())).willReturn(Optional.empty());
+        willThrow(new DuplicateRequestException("in progress"))
+                .given(service).deposit(any(), any(), any(), any(), any());
+
+        mvc.perform(post(BASE + "/" + ACCT_ID_STR + "/transactions")
+                        .principal(auth())
+                        .header("Idempotency-Key", "retry-3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                  "type":"DEPOSIT",
+                                  "amount":5,
+                                  "currency":"GBP"
+                                }
+                                """)
+                )
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("in progress"));
+    }
+
     @Test
     @DisplayName("GET  /v1/accounts/{accountId}/transactions – success")
     void listTransactionsSuccess() throws Exception {
@@ -205,7 +391,7 @@ class TransactionControllerTest {
                 TransactionId.of(UUID.randomUUID()),
                 AccountId.of(ACCT_ID),
                 TransactionType.DEPOSIT,
-                new Amount(BigDecimal.TEN),
+                Amount.of(BigDecimal.TEN, Currency.getInstance("GBP")),
                 Instant.now(),
                 Currency.getInstance("GBP")
         );
@@ -213,29 +399,72 @@ class TransactionControllerTest {
                 TransactionId.of(UUID.randomUUID()),
                 AccountId.of(ACCT_ID),
                 TransactionType.WITHDRAWAL,
-                new Amount(BigDecimal.valueOf(3)),
+                Amount.of(BigDecimal.valueOf(3), Currency.getInstance("GBP")),
                 Instant.now(),
                 Currency.getInstance("GBP")
         );
         given(service.listTransactions(
                 eq(AccountId.of(ACCT_ID)),
-                eq(com.eaglebank.eaglebankdomain.user.UserId.of(USER_ID))
-        )).willReturn(List.of(t1, t2));
+                eq(com.eaglebank.eaglebankdomain.user.UserId.of(USER_ID)),
+                isNull(),
+                eq(TransactionService.DEFAULT_PAGE_SIZE)
+        )).willReturn(new TransactionPage(List.of(t1, t2), null));
 
         mvc.perform(get(BASE + "/" + ACCT_ID_STR + "/transactions")
                         .principal(auth())
                 )
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].type").value("DEPOSIT"))
-                .andExpect(jsonPath("$[1].amount").value(3));
+                .andExpect(jsonPath("$.transactions", hasSize(2)))
+                .andExpect(jsonPath("$.transactions[0].type").value("DEPOSIT"))
+                .andExpect(jsonPath("$.transactions[1].amount").value(3))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET  /…/transactions?cursor=&limit= – cursor and limit passed through, next cursor returned")
+    void listTransactionsWithCursor() throws Exception {
+        Transaction t1 = Transaction.rehydrate(
+                TransactionId.of(UUID.randomUUID()),
+                AccountId.of(ACCT_ID),
+                TransactionType.DEPOSIT,
+                Amount.of(BigDecimal.ONE, Currency.getInstance("GBP")),
+                Instant.now(),
+                Currency.getInstance("GBP")
+        );
+        TransactionCursor after = TransactionCursor.after(t1);
+        TransactionCursor next = new TransactionCursor(Instant.EPOCH, TransactionId.of(TXN_ID));
+        given(service.listTransactions(
+                eq(AccountId.of(ACCT_ID)),
+                eq(com.eaglebank.eaglebankdomain.user.UserId.of(USER_ID)),
+                eq(after),
+                eq(1)
+        )).willReturn(new TransactionPage(List.of(t1), next));
+
+        mvc.perform(get(BASE + "/" + ACCT_ID_STR + "/transactions")
+                        .param("cursor", after.encode())
+                        .param("limit", "1")
+                        .principal(auth())
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").value(next.encode()));
+    }
+
+    @Test
+    @DisplayName("GET  /…/transactions – malformed cursor → 422")
+    void listTransactionsInvalidCursor() throws Exception {
+        mvc.perform(get(BASE + "/" + ACCT_ID_STR + "/transactions")
+                        .param("cursor", "not-a-cursor!")
+                        .principal(auth())
+                )
+                .andExpect(status().isUnprocessableEntity());
     }
 
     @Test
     @DisplayName("GET  /…/transactions – forbidden → 403")
     void listTransactionsForbidden() throws Exception {
         willThrow(new ForbiddenException("nope"))
-                .given(service).listTransactions(any(), any());
+                .given(service).listTransactions(any(), any(), any(), anyInt());
         mvc.perform(get(BASE + "/" + ACCT_ID_STR + "/transactions")
                         .principal(auth())
                 )
@@ -246,13 +475,68 @@ class TransactionControllerTest {
     @DisplayName("GET  /…/transactions – account missing → 404")
     void listTransactionsAccountNotFound() throws Exception {
         willThrow(new ResourceNotFoundException("no acct"))
-                .given(service).listTransactions(any(), any());
+                .given(service).listTransactions(any(), any(), any(), anyInt());
         mvc.perform(get(BASE + "/" + ACCT_ID_STR + "/transactions")
                         .principal(auth())
                 )
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("GET  /…/transactions/export – one JSON object per line")
+    void exportTransactionsSuccess() throws Exception {
+        Transaction t1 = Transaction.rehydrate(
+                TransactionId.of(UUID.randomUUID()),
+                AccountId.of(ACCT_ID),
+                TransactionType.DEPOSIT,
+                Amount.of(BigDecimal.TEN, Currency.getInstance("GBP")),
+                Instant.now(),
+                Currency.getInstance("GBP")
+        );
+        Transaction t2 = Transaction.rehydrate(
+                TransactionId.of(UUID.randomUUID()),
+                AccountId.of(ACCT_ID),
+                TransactionType.WITHDRAWAL,
+                Amount.of(BigDecimal.valueOf(3), Currency.getInstance("GBP")),
+                Instant.now(),
+                Currency.getInstance("GBP")
+        );
+        willAnswer(inv -> {
+            Consumer<Transaction> sink = inv.getArgument(2);
+            sink.accept(t1);
+            sink.accept(t2);
+            return null;
+        }).given(service).exportTransactions(
+                eq(AccountId.of(ACCT_ID)),
+                eq(com.eaglebank.eaglebankdomain.user.UserId.of(USER_ID)),
+                any()
+        );
+
+        String body = mvc.perform(get(BASE + "/" + ACCT_ID_STR + "/transactions/export")
+                        .principal(auth())
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains(t1.getId().value().toString(), "\"DEPOSIT\"");
+        assertThat(lines[1]).contains(t2.getId().value().toString(), "\"WITHDRAWAL\"");
+        assertThat(body).endsWith("\n");
+    }
+
+    @Test
+    @DisplayName("GET  /…/transactions/export – forbidden → 403")
+    void exportTransactionsForbidden() throws Exception {
+        willThrow(new ForbiddenException("nope"))
+                .given(service).exportTransactions(any(), any(), any());
+        mvc.perform(get(BASE + "/" + ACCT_ID_STR + "/transactions/export")
+                        .principal(auth())
+                )
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @DisplayName("GET  /v1/accounts/{accountId}/transactions/{txnId} – success")
     void fetchTransactionSuccess() throws Exception {
@@ -260,7 +544,7 @@ class TransactionControllerTest {
                 TransactionId.of(TXN_ID),
                 AccountId.of(ACCT_ID),
                 TransactionType.DEPOSIT,
-                new Amount(BigDecimal.ONE),
+                Amount.of(BigDecimal.ONE, Currency.getInstance("GBP")),
                 Instant.now(),
                 Currency.getInstance("GBP")
         );
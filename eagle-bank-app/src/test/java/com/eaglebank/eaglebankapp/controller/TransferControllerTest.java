@@ -0,0 +1,130 @@
+package com.eaglebank.eaglebankapp.controller;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.exception.ForbiddenException;
+import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
+import com.eaglebank.eaglebankdomain.transaction.*;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import com.eaglebank.eaglebanklogic.transaction.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.UUID;
+
+import static org.mockito.BDDMockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+class TransferControllerTest {
+
+    private static final String TRANSFERS = "/v1/transfers";
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID FROM_ID = UUID.randomUUID();
+    private static final UUID TO_ID = UUID.randomUUID();
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TransferController controller;
+    @org.mockito.Mock
+    private TransactionService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(controller, "service", service);
+    }
+
+    private UsernamePasswordAuthenticationToken auth() {
+        return new UsernamePasswordAuthenticationToken(USER_ID.toString(), null);
+    }
+
+    private String body(String amount) {
+        return """
+                {"fromAccountId":"%s","toAccountId":"%s","amount":%s,"currency":"GBP"}
+                """.formatted(FROM_ID, TO_ID, amount);
+    }
+
+    @Test
+    @DisplayName("POST /v1/transfers – success → 201 with both legs")
+    void transferSuccess() throws Exception {
+        Currency gbp = Currency.getInstance("GBP");
+        Amount amount = Amount.of(new BigDecimal("25.00"), gbp);
+        Transfer transfer = new Transfer(
+                Transaction.create(AccountId.of(FROM_ID), TransactionType.TRANSFER_OUT, amount, gbp),
+                Transaction.create(AccountId.of(TO_ID), TransactionType.TRANSFER_IN, amount, gbp)
+        );
+        given(service.transfer(
+                eq(AccountId.of(FROM_ID)),
+                eq(AccountId.of(TO_ID)),
+                eq(UserId.of(USER_ID)),
+                eq(amount),
+                eq(gbp)
+        )).willReturn(transfer);
+
+        String debitId = transfer.debit().getId().value().toString();
+        mvc.perform(post(TRANSFERS)
+                        .principal(auth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("25"))
+                )
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "/v1/accounts/" + FROM_ID + "/transactions/" + debitId))
+                .andExpect(jsonPath("$.debit.id").value(debitId))
+                .andExpect(jsonPath("$.debit.type").value("TRANSFER_OUT"))
+                .andExpect(jsonPath("$.credit.type").value("TRANSFER_IN"))
+                .andExpect(jsonPath("$.credit.amount").value(25));
+    }
+
+    @Test
+    @DisplayName("POST /v1/transfers – zero amount → 400")
+    void zeroAmountIsRejected() throws Exception {
+        mvc.perform(post(TRANSFERS)
+                        .principal(auth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("0"))
+                )
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    @DisplayName("POST /v1/transfers – insufficient funds → 422")
+    void insufficientFunds() throws Exception {
+        willThrow(new InvalidUserDataException("Insufficient funds"))
+                .given(service).transfer(any(), any(), any(), any(), any());
+
+        mvc.perform(post(TRANSFERS)
+                        .principal(auth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("25"))
+                )
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @DisplayName("POST /v1/transfers – another user's account → 403")
+    void forbidden() throws Exception {
+        willThrow(new ForbiddenException("nope"))
+                .given(service).transfer(any(), any(), any(), any(), any());
+
+        mvc.perform(post(TRANSFERS)
+                        .principal(auth())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body("25"))
+                )
+                .andExpect(status().isForbidden());
+    }
+}
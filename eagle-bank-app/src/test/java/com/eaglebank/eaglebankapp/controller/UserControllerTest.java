@@ -1,5 +1,6 @@
 package com.eaglebank.eaglebankapp.controller;
 
+import com.eaglebank.eaglebankapp.security.PasswordHashingBusyException;
 import com.eaglebank.eaglebankdomain.exception.ResourceNotFoundException;
 import com.eaglebank.eaglebankdomain.exception.UserHasAccountsException;
 import com.eaglebank.eaglebankdomain.exception.UserNotFoundException;
@@ -25,6 +26,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doThrow;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -109,6 +111,35 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.addressPostcode").value(u.getAddress().postcode()));
     }
 
+    @Test
+    @DisplayName("POST /v1/users - password hashing saturated → 503")
+    void createUserHashingBusy() throws Exception {
+        given(userService.createUser(any(), any(), any(), any(), any(), any(), anyString()))
+                .willThrow(new PasswordHashingBusyException("Too many password checks in progress, try again shortly"));
+
+        String payload = """
+                {
+                    "firstName": "Alice",
+                    "lastName": "Smith",
+                    "dob": "1990-01-01",
+                    "email": "alice@example.com",
+                    "password": "secret123",
+                    "phoneNumber": "+447911123456",
+                    "addressLine1": "123 High Street",
+                    "addressTown": "London",
+                    "addressCounty": "Greater London",
+                    "addressPostcode": "SW1A 1AA"
+                }""";
+
+        mvc.perform(post(BASE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload)
+                )
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error").value("Too many password checks in progress, try again shortly"));
+    }
+
     @Test
     @DisplayName("GET /v1/users/{id} - authorized")
     void fetchUserSuccess() throws Exception {
@@ -71,7 +71,7 @@ class AuthServiceTest {
         // Use reflection to set the ID since it's normally generated
         setUserId(user, userId);
 
-        when(userService.findByEmail(new EmailAddress(email))).thenReturn(Optional.of(user));
+        when(userService.findCredentials(new EmailAddress(email))).thenReturn(Optional.of(UserCredentials.of(user)));
         when(encoder.matches(password, hashedPassword)).thenReturn(true);
         when(jwt.createToken(userId.toString())).thenReturn(expectedToken);
 
@@ -80,11 +80,50 @@ class AuthServiceTest {
 
         // Assert
         assertEquals(expectedToken, token);
-        verify(userService).findByEmail(new EmailAddress(email));
+        verify(userService).findCredentials(new EmailAddress(email));
         verify(encoder).matches(password, hashedPassword);
         verify(jwt).createToken(userId.toString());
     }
 
+    @Test
+    void shouldUpgradePasswordHashAfterSuccessfulLogin() {
+        User user = User.create(
+                new FirstName("John"),
+                new LastName("Doe"),
+                new DateOfBirth(LocalDate.now().minusYears(25)),
+                new EmailAddress("user@example.com"),
+                phone,
+                address,
+                new PasswordHash("hashed_password")
+        );
+        when(userService.findCredentials(new EmailAddress("user@example.com"))).thenReturn(Optional.of(UserCredentials.of(user)));
+        when(encoder.matches("password123", "hashed_password")).thenReturn(true);
+        when(jwt.createToken(user.getId().value().toString())).thenReturn("jwt.token.here");
+
+        assertEquals("jwt.token.here", authService.login("user@example.com", "password123"));
+
+        verify(userService).upgradePasswordHash(UserCredentials.of(user), "password123");
+    }
+
+    @Test
+    void shouldLoginEvenWhenRehashIsTurnedAway() {
+        User user = User.create(
+                new FirstName("John"),
+                new LastName("Doe"),
+                new DateOfBirth(LocalDate.now().minusYears(25)),
+                new EmailAddress("user@example.com"),
+                phone,
+                address,
+                new PasswordHash("hashed_password")
+        );
+        when(userService.findCredentials(new EmailAddress("user@example.com"))).thenReturn(Optional.of(UserCredentials.of(user)));
+        when(encoder.matches("password123", "hashed_password")).thenReturn(true);
+        doThrow(new PasswordHashingBusyException("busy")).when(userService).upgradePasswordHash(UserCredentials.of(user), "password123");
+        when(jwt.createToken(user.getId().value().toString())).thenReturn("jwt.token.here");
+
+        assertEquals("jwt.token.here", authService.login("user@example.com", "password123"));
+    }
+
     @Test
     void shouldThrowBadCredentialsWhenPasswordDoesNotMatch() {
         // Arrange
@@ -102,7 +141,7 @@ class AuthServiceTest {
                 new PasswordHash(hashedPassword)
         );
 
-        when(userService.findByEmail(new EmailAddress(email))).thenReturn(Optional.of(user));
+        when(userService.findCredentials(new EmailAddress(email))).thenReturn(Optional.of(UserCredentials.of(user)));
         when(encoder.matches(password, hashedPassword)).thenReturn(false);
 
         // Act & Assert
@@ -111,8 +150,9 @@ class AuthServiceTest {
         );
         assertEquals("Invalid login", exception.getMessage());
 
-        verify(userService).findByEmail(new EmailAddress(email));
+        verify(userService).findCredentials(new EmailAddress(email));
         verify(encoder).matches(password, hashedPassword);
+        verify(userService, never()).upgradePasswordHash(any(), any());
         verifyNoInteractions(jwt);
     }
 
@@ -122,7 +162,7 @@ class AuthServiceTest {
         String email = "nonexistent@example.com";
         String password = "password123";
 
-        when(userService.findByEmail(new EmailAddress(email))).thenReturn(Optional.empty());
+        when(userService.findCredentials(new EmailAddress(email))).thenReturn(Optional.empty());
 
         // Act & Assert
         BadCredentialsException exception = assertThrows(BadCredentialsException.class,
@@ -130,7 +170,7 @@ class AuthServiceTest {
         );
         assertEquals("Invalid login", exception.getMessage());
 
-        verify(userService).findByEmail(new EmailAddress(email));
+        verify(userService).findCredentials(new EmailAddress(email));
         verifyNoInteractions(encoder);
         verifyNoInteractions(jwt);
     }
@@ -0,0 +1,32 @@
+package com.eaglebank.eaglebankapp.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BCryptStrengthTest {
+
+    @Test
+    void shouldRaiseCostWhileHashStaysWithinTarget() {
+        // 40ms at cost 10: 80ms at 11, 160ms at 12, 320ms at 13.
+        int strength = BCryptStrength.calibrate(Duration.ofMillis(250), 10, cost -> 40_000_000L);
+
+        assertThat(strength).isEqualTo(12);
+    }
+
+    @Test
+    void shouldKeepMinimumOnSlowMachine() {
+        int strength = BCryptStrength.calibrate(Duration.ofMillis(250), 10, cost -> 400_000_000L);
+
+        assertThat(strength).isEqualTo(10);
+    }
+
+    @Test
+    void shouldNotExceedBCryptMaximum() {
+        int strength = BCryptStrength.calibrate(Duration.ofDays(365), 30, cost -> 1L);
+
+        assertThat(strength).isEqualTo(31);
+    }
+}
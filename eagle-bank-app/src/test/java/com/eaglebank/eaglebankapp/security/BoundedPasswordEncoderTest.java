@@ -0,0 +1,86 @@
+package com.eaglebank.eaglebankapp.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class BoundedPasswordEncoderTest {
+
+    private PasswordEncoder delegate;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(PasswordEncoder.class);
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.close();
+    }
+
+    @Test
+    void shouldRejectNonPositiveThreadCount() {
+        assertThatThrownBy(() -> new BoundedPasswordEncoder(delegate, 0, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldHashOnItsOwnThreads() {
+        when(delegate.encode("secret")).thenAnswer(invocation -> Thread.currentThread().getName());
+        when(delegate.matches("secret", "hash")).thenReturn(true);
+        when(delegate.upgradeEncoding("hash")).thenReturn(true);
+
+        assertThat(encoder.encode("secret")).startsWith("password-hashing-");
+        assertThat(encoder.matches("secret", "hash")).isTrue();
+        assertThat(encoder.upgradeEncoding("hash")).isTrue();
+    }
+
+    @Test
+    void shouldPassDelegateFailuresThrough() {
+        when(delegate.encode("secret")).thenThrow(new IllegalArgumentException("too long"));
+
+        assertThatThrownBy(() -> encoder.encode("secret"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("too long");
+    }
+
+    @Test
+    void shouldTurnAwayHashesOnceQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.encode("slow")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("slow"));
+        awaitTrue(() -> encoder.active() == 1);
+        CompletableFuture<String> waiting = CompletableFuture.supplyAsync(() -> encoder.encode("slow"));
+        awaitTrue(() -> encoder.queued() == 1);
+
+        assertThatThrownBy(() -> encoder.encode("slow")).isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(encoder.rejected()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("waited too long").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -1,9 +1,20 @@
 package com.eaglebank.eaglebankapp.security;
 
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -12,9 +23,12 @@ class JwtTokenProviderTest {
 
     private JwtTokenProvider tokenProvider;
 
+    @TempDir
+    Path directory;
+
     @BeforeEach
     void setUp() {
-        tokenProvider = new JwtTokenProvider();
+        tokenProvider = new JwtTokenProvider(SigningKeys.generated());
     }
 
     @Test
@@ -53,4 +67,86 @@ class JwtTokenProviderTest {
         assertThat(token).contains(".");  // JWT format contains at least two dots
         assertThat(token.split("\\.")).hasSize(3);  // Header, payload, and signature
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldAnswerRepeatedTokenFromCache() {
+        String token = tokenProvider.createToken("user-1");
+
+        assertThat(tokenProvider.getUserId(token)).isEqualTo("user-1");
+        assertThat(tokenProvider.getUserId(token)).isEqualTo("user-1");
+
+        assertThat(tokenProvider.cachedTokens()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheRejectedTokens() {
+        String token = tokenProvider.createToken("user-1");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> tokenProvider.getUserId(tampered)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> tokenProvider.getUserId(tampered)).isInstanceOf(JwtException.class);
+
+        assertThat(tokenProvider.cachedTokens()).isZero();
+    }
+
+    @Test
+    void shouldRejectCachedTokenOnceExpired() {
+        AtomicLong now = new AtomicLong(1_700_000_000_000L);
+        JwtTokenProvider provider = new JwtTokenProvider(SigningKeys.generated(), now::get, 10);
+        String token = provider.createToken("user-1");
+        assertThat(provider.getUserId(token)).isEqualTo("user-1");
+
+        now.addAndGet(3_599_000);
+        assertThat(provider.getUserId(token)).isEqualTo("user-1");
+
+        now.addAndGet(2_000);
+        assertThatThrownBy(() -> provider.getUserId(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(provider.cachedTokens()).isZero();
+    }
+
+    @Test
+    void shouldBoundCache() {
+        JwtTokenProvider provider = new JwtTokenProvider(SigningKeys.generated(), System::currentTimeMillis, 2);
+        for (int i = 0; i < 10; i++) {
+            provider.getUserId(provider.createToken("user-" + i));
+        }
+
+        assertThat(provider.cachedTokens()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void shouldAcceptTokenFromAnotherReplicaSharingTheRing() throws IOException {
+        Path ring = directory.resolve("keys.properties");
+        Files.writeString(ring, "active=2026-10\nkey.2026-10=" + SigningKeysTest.secret(32) + "\n");
+        JwtTokenProvider issuer = new JwtTokenProvider(SigningKeys.load(ring));
+        JwtTokenProvider verifier = new JwtTokenProvider(SigningKeys.load(ring));
+
+        String token = issuer.createToken("user-1");
+
+        assertThat(header(token)).contains("\"kid\":\"2026-10\"");
+        assertThat(verifier.getUserId(token)).isEqualTo("user-1");
+        assertThatThrownBy(() -> tokenProvider.getUserId(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void shouldRejectCachedTokenOnceItsKeyLeavesTheRing() throws IOException {
+        Path ring = directory.resolve("keys.properties");
+        Files.writeString(ring, "active=2026-09\nkey.2026-09=" + SigningKeysTest.secret(32) + "\n");
+        Files.setLastModifiedTime(ring, FileTime.from(Instant.parse("2026-09-01T00:00:00Z")));
+        SigningKeys keys = SigningKeys.load(ring);
+        JwtTokenProvider provider = new JwtTokenProvider(keys);
+        String token = provider.createToken("user-1");
+        assertThat(provider.getUserId(token)).isEqualTo("user-1");
+
+        Files.writeString(ring, "active=2026-10\nkey.2026-10=" + SigningKeysTest.secret(40) + "\n");
+        Files.setLastModifiedTime(ring, FileTime.from(Instant.parse("2026-10-01T00:00:00Z")));
+        keys.reload();
+
+        assertThatThrownBy(() -> provider.getUserId(token)).isInstanceOf(JwtException.class);
+        assertThat(provider.getUserId(provider.createToken("user-2"))).isEqualTo("user-2");
+    }
+
+    private static String header(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8);
+    }
+}
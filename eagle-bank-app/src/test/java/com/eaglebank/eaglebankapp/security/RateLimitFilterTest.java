@@ -0,0 +1,96 @@
+package com.eaglebank.eaglebankapp.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(new RateLimiter(List.of(
+            new RateLimiter.Group("transactions", List.of("/v1/accounts/{id}/transactions/**"), 1, 0.5)
+    ), Duration.ofMinutes(10), 1000), List.of("10.0.0.0/24", "192.168.1.7"));
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletResponse call(String path) throws Exception {
+        return call(path, "172.16.0.1", null);
+    }
+
+    private MockHttpServletResponse call(String path, String peer, String forwardedFor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(peer);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    void shouldAnswer429WithRetryAfterOnceBucketIsEmpty() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user-1", null, List.of()));
+
+        assertThat(call("/v1/accounts/1/transactions").getStatus()).isEqualTo(200);
+        MockHttpServletResponse limited = call("/v1/accounts/1/transactions");
+
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(limited.getContentAsString()).contains("Too many requests");
+    }
+
+    @Test
+    void shouldCountAnonymousCallersByAddress() throws Exception {
+        assertThat(call("/v1/accounts/1/transactions").getStatus()).isEqualTo(200);
+        assertThat(call("/v1/accounts/1/transactions").getStatus()).isEqualTo(429);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user-1", null, List.of()));
+        assertThat(call("/v1/accounts/1/transactions").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldCountForwardedClientBehindTrustedProxies() throws Exception {
+        String path = "/v1/accounts/1/transactions";
+        assertThat(call(path, "10.0.0.5", "203.0.113.9, 192.168.1.7").getStatus()).isEqualTo(200);
+        assertThat(call(path, "10.0.0.6", "203.0.113.9").getStatus()).isEqualTo(429);
+
+        // Another client through the same proxy has a bucket of its own.
+        assertThat(call(path, "10.0.0.5", "203.0.113.10").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldIgnoreAddressesTheClientWroteItself() throws Exception {
+        String path = "/v1/accounts/1/transactions";
+        assertThat(call(path, "10.0.0.5", "198.51.100.1, 203.0.113.9").getStatus()).isEqualTo(200);
+        // A different spoofed entry on the left does not buy a new bucket.
+        assertThat(call(path, "10.0.0.5", "198.51.100.2, 203.0.113.9").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void shouldIgnoreForwardedForFromUntrustedPeer() throws Exception {
+        String path = "/v1/accounts/1/transactions";
+        assertThat(call(path, "172.16.0.9", "198.51.100.1").getStatus()).isEqualTo(200);
+        assertThat(call(path, "172.16.0.9", "198.51.100.2").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void shouldPassUnlimitedPathsThrough() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertThat(call("/v1/users/1").getStatus()).isEqualTo(200);
+        }
+    }
+}
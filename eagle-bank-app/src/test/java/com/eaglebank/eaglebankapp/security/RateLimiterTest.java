@@ -0,0 +1,73 @@
+package com.eaglebank.eaglebankapp.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private RateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new RateLimiter(List.of(
+                new RateLimiter.Group("transactions", List.of("/v1/accounts/{id}/transactions/**"), 2, 1),
+                new RateLimiter.Group("default", List.of("/v1/**"), 5, 5)
+        ), Duration.ofMinutes(10), 1000, now::get);
+    }
+
+    @Test
+    void shouldLimitEachCallerSeparately() {
+        assertThat(limiter.tryAcquire("user:a", "/v1/accounts/1/transactions")).isZero();
+        assertThat(limiter.tryAcquire("user:a", "/v1/accounts/1/transactions/2")).isZero();
+        assertThat(limiter.tryAcquire("user:a", "/v1/accounts/1/transactions")).isPositive();
+
+        assertThat(limiter.tryAcquire("user:b", "/v1/accounts/1/transactions")).isZero();
+    }
+
+    @Test
+    void shouldCountGroupsSeparately() {
+        limiter.tryAcquire("user:a", "/v1/accounts/1/transactions");
+        limiter.tryAcquire("user:a", "/v1/accounts/1/transactions");
+
+        assertThat(limiter.tryAcquire("user:a", "/v1/accounts/1")).isZero();
+        assertThat(limiter.bucketCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotLimitUnmatchedPaths() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire("user:a", "/swagger-ui/index.html")).isZero();
+        }
+        assertThat(limiter.bucketCount()).isZero();
+    }
+
+    @Test
+    void shouldEvictIdleBuckets() {
+        limiter.tryAcquire("user:a", "/v1/accounts/1");
+        limiter.tryAcquire("user:b", "/v1/accounts/1");
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(11));
+
+        assertThat(limiter.bucketCount()).isZero();
+    }
+
+    @Test
+    void shouldBoundBucketCount() {
+        RateLimiter small = new RateLimiter(List.of(
+                new RateLimiter.Group("default", List.of("/v1/**"), 5, 5)
+        ), Duration.ofMinutes(10), 2, now::get);
+        for (int i = 0; i < 20; i++) {
+            small.tryAcquire("user:" + i, "/v1/accounts");
+        }
+
+        assertThat(small.bucketCount()).isLessThanOrEqualTo(2);
+    }
+}
@@ -0,0 +1,100 @@
+package com.eaglebank.eaglebankapp.security;
+
+import io.jsonwebtoken.security.WeakKeyException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SigningKeysTest {
+
+    @TempDir
+    Path directory;
+
+    static String secret(int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i * 7 + length);
+        }
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    private Path write(String content, Instant modified) throws IOException {
+        Path file = directory.resolve("keys.properties");
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.from(modified));
+        return file;
+    }
+
+    @Test
+    void shouldLoadEveryKeyAndTheActiveOne() throws IOException {
+        SigningKeys keys = SigningKeys.load(write("""
+                active=2026-10
+                key.2026-09=%s
+                key.2026-10=%s
+                """.formatted(secret(32), secret(48)), Instant.parse("2026-10-01T00:00:00Z")));
+
+        assertThat(keys.activeId()).isEqualTo("2026-10");
+        assertThat(keys.activeKey()).isSameAs(keys.find("2026-10"));
+        assertThat(keys.find("2026-09")).isNotNull();
+        assertThat(keys.find("2026-08")).isNull();
+        assertThat(keys.find(null)).isNull();
+    }
+
+    @Test
+    void shouldRejectMissingActiveKey() throws IOException {
+        Path file = write("active=2026-11\nkey.2026-10=" + secret(32) + "\n", Instant.parse("2026-10-01T00:00:00Z"));
+
+        assertThatThrownBy(() -> SigningKeys.load(file))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("2026-11");
+    }
+
+    @Test
+    void shouldRejectShortKey() throws IOException {
+        Path file = write("active=short\nkey.short=" + secret(16) + "\n", Instant.parse("2026-10-01T00:00:00Z"));
+
+        assertThatThrownBy(() -> SigningKeys.load(file)).isInstanceOf(WeakKeyException.class);
+    }
+
+    @Test
+    void shouldPickUpRotatedKeyOnReload() throws IOException {
+        SigningKeys keys = SigningKeys.load(write("active=2026-09\nkey.2026-09=" + secret(32) + "\n",
+                Instant.parse("2026-09-01T00:00:00Z")));
+
+        write("active=2026-10\nkey.2026-09=" + secret(32) + "\nkey.2026-10=" + secret(40) + "\n",
+                Instant.parse("2026-10-01T00:00:00Z"));
+        keys.reload();
+
+        assertThat(keys.activeId()).isEqualTo("2026-10");
+        assertThat(keys.find("2026-09")).isNotNull();
+    }
+
+    @Test
+    void shouldKeepLoadedKeysWhenReloadFails() throws IOException {
+        SigningKeys keys = SigningKeys.load(write("active=2026-09\nkey.2026-09=" + secret(32) + "\n",
+                Instant.parse("2026-09-01T00:00:00Z")));
+
+        write("active=2026-10\n", Instant.parse("2026-10-01T00:00:00Z"));
+
+        assertThatThrownBy(keys::reload).isInstanceOf(IllegalStateException.class);
+        assertThat(keys.activeId()).isEqualTo("2026-09");
+    }
+
+    @Test
+    void shouldGenerateSingleKeyWithoutFile() {
+        SigningKeys keys = SigningKeys.generated();
+
+        assertThat(keys.find(keys.activeId())).isSameAs(keys.activeKey());
+        keys.reload();
+        assertThat(keys.find(keys.activeId())).isSameAs(keys.activeKey());
+    }
+}
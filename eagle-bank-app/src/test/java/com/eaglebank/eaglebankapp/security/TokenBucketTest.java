@@ -0,0 +1,73 @@
+package com.eaglebank.eaglebankapp.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void shouldRejectNonPositiveLimits() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldAllowBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        assertThat(bucket.tryTake(0)).isZero();
+        assertThat(bucket.tryTake(0)).isZero();
+        assertThat(bucket.tryTake(0)).isZero();
+        assertThat(bucket.tryTake(0)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void shouldRefillAtSteadyRate() {
+        TokenBucket bucket = new TokenBucket(2, 2, 0);
+        bucket.tryTake(0);
+        bucket.tryTake(0);
+
+        assertThat(bucket.tryTake(SECOND / 4)).isEqualTo(SECOND / 4);
+        assertThat(bucket.tryTake(SECOND / 2)).isZero();
+        assertThat(bucket.tryTake(SECOND / 2)).isPositive();
+    }
+
+    @Test
+    void shouldNotFillBeyondCapacityWhileIdle() {
+        TokenBucket bucket = new TokenBucket(2, 10, 0);
+
+        long later = 60 * SECOND;
+        assertThat(bucket.tryTake(later)).isZero();
+        assertThat(bucket.tryTake(later)).isZero();
+        assertThat(bucket.tryTake(later)).isPositive();
+    }
+
+    @Test
+    void shouldHandOutExactlyCapacityUnderContention() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1000, 1, 0);
+        AtomicInteger taken = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            pool.execute(() -> {
+                for (int n = 0; n < 500; n++) {
+                    if (bucket.tryTake(0) == 0) {
+                        taken.incrementAndGet();
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(taken.get()).isEqualTo(1000);
+    }
+}
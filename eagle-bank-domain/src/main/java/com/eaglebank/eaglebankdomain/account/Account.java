@@ -50,15 +50,16 @@ public final class Account {
                                  AccountName name,
                                  AccountType type) {
         Instant now = Instant.now();
+        Currency currency = Currency.getInstance("GBP");  // Default currency
         return new Account(
                 AccountId.newId(),
                 ownerId,
                 name,
-                new Balance(java.math.BigDecimal.ZERO),
+                Balance.zero(currency),
                 generateAccountNumber(),
                 new SortCode(BANK_SORT_CODE),
                 type,
-                Currency.getInstance("GBP"),  // Default currency
+                currency,
                 now,
                 now
         );
@@ -81,8 +82,21 @@ public final class Account {
     }
 
     public Account withBalance(Balance newBalance) {
-        return new Account(id, ownerId, name, newBalance, accountNumber, sortCode, 
-                         type, currency, createdTimestamp, Instant.now());
+        return withBalance(newBalance, Instant.now());
+    }
+
+    public Account withBalance(Balance newBalance, Instant updatedAt) {
+        return new Account(id, ownerId, name, newBalance, accountNumber, sortCode,
+                         type, currency, createdTimestamp, updatedAt);
+    }
+
+    /**
+     * Returns this account with a balance worked out from somewhere other
+     * than its row, such as ledger entries or balance slots. The row has not
+     * changed, so neither has its update time.
+     */
+    public Account withDerivedBalance(Balance derived) {
+        return withBalance(derived, updatedTimestamp);
     }
 
     public Account withName(AccountName accountName) {
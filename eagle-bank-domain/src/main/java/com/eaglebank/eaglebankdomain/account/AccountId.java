@@ -1,11 +1,13 @@
 package com.eaglebank.eaglebankdomain.account;
 
+import com.eaglebank.eaglebankdomain.id.UuidV7;
+
 import java.util.Objects;
 import java.util.UUID;
 
 public record AccountId(UUID value) {
     public static AccountId newId() {
-        return new AccountId(UUID.randomUUID());
+        return new AccountId(UuidV7.next());
     }
 
     public static AccountId of(UUID id) {
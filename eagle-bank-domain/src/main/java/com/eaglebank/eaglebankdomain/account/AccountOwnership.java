@@ -0,0 +1,32 @@
+package com.eaglebank.eaglebankdomain.account;
+
+import com.eaglebank.eaglebankdomain.money.MinorUnits;
+import com.eaglebank.eaglebankdomain.user.UserId;
+
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * Who owns an account and what currency it is kept in: all an authorization
+ * check needs, and neither ever changes once the account is opened.
+ */
+public record AccountOwnership(AccountId accountId, UserId ownerId, Currency currency) {
+    public AccountOwnership {
+        Objects.requireNonNull(accountId);
+        Objects.requireNonNull(ownerId);
+        Objects.requireNonNull(currency);
+    }
+
+    public static AccountOwnership of(Account account) {
+        return new AccountOwnership(account.getId(), account.getOwnerId(), account.getCurrency());
+    }
+
+    public boolean isOwnedBy(UserId userId) {
+        return ownerId.equals(userId);
+    }
+
+    /** The exponent the account's balance and amounts are kept at. */
+    public int exponent() {
+        return MinorUnits.exponentOf(currency);
+    }
+}
@@ -2,6 +2,7 @@ package com.eaglebank.eaglebankdomain.account;
 
 import com.eaglebank.eaglebankdomain.user.UserId;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,4 +11,41 @@ public interface AccountRepository {
     Optional<Account> findById(AccountId id);
     List<Account> findByOwner(UserId ownerId);
     void delete(Account account);
+
+    /**
+     * The owner and currency of an account, for checking a caller may use
+     * it. Stores that can answer without loading the whole account should.
+     */
+    default Optional<AccountOwnership> findOwnership(AccountId id) {
+        return findById(id).map(AccountOwnership::of);
+    }
+
+    /**
+     * As {@link #findOwnership}, but answered by the store rather than any
+     * cache in front of it, for reads that hand back the account's data and
+     * must stop once the account is deleted, wherever that happened.
+     */
+    default Optional<AccountOwnership> findStoredOwnership(AccountId id) {
+        return findOwnership(id);
+    }
+
+    /**
+     * Atomically adds a signed delta, in minor units at {@code exponent}, to
+     * the stored balance, refusing any change that would take it below zero.
+     * The new balance is not read back; callers that need it load the account.
+     *
+     * @return whether the change was made; false if the account does not
+     *         exist or has insufficient funds
+     */
+    boolean applyDelta(AccountId id, long deltaMinorUnits, int exponent);
+
+    /**
+     * Loads and write-locks the given accounts until the surrounding
+     * transaction ends. Rows are locked in ascending id order so that
+     * writers touching several accounts cannot deadlock each other.
+     * Unknown ids are skipped.
+     */
+    List<Account> findAllByIdForUpdate(Collection<AccountId> ids);
+
+    List<Account> saveAll(List<Account> accounts);
 }
@@ -1,16 +1,64 @@
 package com.eaglebank.eaglebankdomain.account;
 
 import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
+import com.eaglebank.eaglebankdomain.money.MinorUnits;
+import com.eaglebank.eaglebankdomain.transaction.Amount;
 
 import java.math.BigDecimal;
+import java.util.Currency;
 import java.util.Objects;
 
-public record Balance(BigDecimal value) {
+/**
+ * A non-negative account balance as a count of minor units at the account
+ * currency's exponent. Arithmetic is done on {@code long}s and fails rather
+ * than wrapping on overflow.
+ */
+public record Balance(long minorUnits, int exponent) {
     public Balance {
+        if (minorUnits < 0) {
+            throw new InvalidUserDataException("Balance cannot be negative");
+        }
+        MinorUnits.checkExponent(exponent);
+    }
+
+    public static Balance zero(Currency currency) {
+        return new Balance(0, MinorUnits.exponentOf(currency));
+    }
+
+    public static Balance of(BigDecimal value, Currency currency) {
+        return of(value, MinorUnits.exponentOf(currency));
+    }
+
+    public static Balance of(BigDecimal value, int exponent) {
         Objects.requireNonNull(value, "Balance cannot be null");
         if (value.signum() < 0) {
             throw new InvalidUserDataException("Balance cannot be negative");
         }
-        value = value.setScale(2, java.math.RoundingMode.UNNECESSARY);
+        return new Balance(MinorUnits.fromDecimal(value, exponent), exponent);
+    }
+
+    public Balance plus(Amount amount) {
+        MinorUnits.requireSameExponent(exponent, amount.exponent());
+        return new Balance(MinorUnits.add(minorUnits, amount.minorUnits()), exponent);
+    }
+
+    public boolean covers(Amount amount) {
+        MinorUnits.requireSameExponent(exponent, amount.exponent());
+        return minorUnits >= amount.minorUnits();
+    }
+
+    /**
+     * @throws InvalidUserDataException if the balance does not
+     *         {@linkplain #covers(Amount) cover} {@code amount}
+     */
+    public Balance minus(Amount amount) {
+        if (!covers(amount)) {
+            throw new InvalidUserDataException("Insufficient funds");
+        }
+        return new Balance(minorUnits - amount.minorUnits(), exponent);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return MinorUnits.toDecimal(minorUnits, exponent);
     }
-}
\ No newline at end of file
+}
@@ -1,15 +1,18 @@
 package com.eaglebank.eaglebankdomain.account;
 
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 
 public record SortCode(String value) {
+    private static final Pattern SORT_CODE_PATTERN = Pattern.compile("\\d{6}");
+
     public SortCode(String value) {
         this.value = Objects.requireNonNull(value, "Sort code cannot be null");
         if (value.trim().isEmpty()) {
             throw new IllegalArgumentException("Sort code cannot be empty");
         }
-        if (!value.matches("\\d{6}")) {
+        if (!SORT_CODE_PATTERN.matcher(value).matches()) {
             throw new IllegalArgumentException("Sort code must be exactly 6 digits");
         }
     }
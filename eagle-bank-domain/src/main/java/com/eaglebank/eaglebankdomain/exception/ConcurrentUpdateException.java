@@ -0,0 +1,11 @@
+package com.eaglebank.eaglebankdomain.exception;
+
+/**
+ * Another writer changed the same record first. Nothing was written, and
+ * running the whole operation again in a new transaction may succeed.
+ */
+public class ConcurrentUpdateException extends RuntimeException {
+    public ConcurrentUpdateException(String message) {
+        super(message);
+    }
+}
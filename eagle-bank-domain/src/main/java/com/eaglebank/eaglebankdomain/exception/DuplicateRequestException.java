@@ -0,0 +1,7 @@
+package com.eaglebank.eaglebankdomain.exception;
+
+public class DuplicateRequestException extends RuntimeException {
+    public DuplicateRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.eaglebank.eaglebankdomain.exception;
+
+public class StorageFullException extends RuntimeException {
+    public StorageFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,77 @@
+package com.eaglebank.eaglebankdomain.money;
+
+import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * Conversions and checked arithmetic for money held as a {@code long} count
+ * of a currency's minor units (pence for GBP) and the currency's exponent,
+ * the number of decimal places one major unit is split into.
+ * {@link BigDecimal} is only meant to appear when crossing the JSON and JPA
+ * edges.
+ */
+public final class MinorUnits {
+    /** Largest exponent ISO 4217 assigns to any currency. */
+    public static final int MAX_EXPONENT = 4;
+
+    private MinorUnits() {
+    }
+
+    public static int exponentOf(Currency currency) {
+        int exponent = currency.getDefaultFractionDigits();
+        if (exponent < 0) {
+            throw new InvalidUserDataException("Currency has no minor unit: " + currency.getCurrencyCode());
+        }
+        return exponent;
+    }
+
+    public static int checkExponent(int exponent) {
+        if (exponent < 0 || exponent > MAX_EXPONENT) {
+            throw new IllegalArgumentException("Exponent must be between 0 and " + MAX_EXPONENT);
+        }
+        return exponent;
+    }
+
+    /**
+     * @throws InvalidUserDataException if {@code value} has more decimal
+     *         places than {@code exponent} or does not fit in a {@code long}
+     */
+    public static long fromDecimal(BigDecimal value, int exponent) {
+        if (value.scale() > exponent && value.stripTrailingZeros().scale() > exponent) {
+            throw new InvalidUserDataException("Amount cannot have more than " + exponent + " decimal places");
+        }
+        try {
+            return value.movePointRight(exponent).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new InvalidUserDataException("Amount is out of range");
+        }
+    }
+
+    public static BigDecimal toDecimal(long minorUnits, int exponent) {
+        return BigDecimal.valueOf(minorUnits, exponent);
+    }
+
+    public static long add(long a, long b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new InvalidUserDataException("Amount is out of range");
+        }
+    }
+
+    public static long subtract(long a, long b) {
+        try {
+            return Math.subtractExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new InvalidUserDataException("Amount is out of range");
+        }
+    }
+
+    public static void requireSameExponent(int a, int b) {
+        if (a != b) {
+            throw new IllegalArgumentException("Cannot combine amounts with exponents " + a + " and " + b);
+        }
+    }
+}
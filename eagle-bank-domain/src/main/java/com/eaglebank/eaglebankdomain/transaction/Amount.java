@@ -1,12 +1,33 @@
 package com.eaglebank.eaglebankdomain.transaction;
 
 import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
+import com.eaglebank.eaglebankdomain.money.MinorUnits;
 
 import java.math.BigDecimal;
+import java.util.Currency;
 
-public record Amount(BigDecimal value) {
+/**
+ * A non-negative sum of money as a count of minor units at the given
+ * exponent, so 12.50 GBP is {@code Amount(1250, 2)}.
+ */
+public record Amount(long minorUnits, int exponent) {
     public Amount {
-        if (value == null || value.signum()<0)
+        if (minorUnits < 0)
             throw new InvalidUserDataException("Amount must be non-negative");
+        MinorUnits.checkExponent(exponent);
     }
-}
\ No newline at end of file
+
+    public static Amount of(BigDecimal value, Currency currency) {
+        return of(value, MinorUnits.exponentOf(currency));
+    }
+
+    public static Amount of(BigDecimal value, int exponent) {
+        if (value == null || value.signum() < 0)
+            throw new InvalidUserDataException("Amount must be non-negative");
+        return new Amount(MinorUnits.fromDecimal(value, exponent), exponent);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return MinorUnits.toDecimal(minorUnits, exponent);
+    }
+}
@@ -0,0 +1,23 @@
+package com.eaglebank.eaglebankdomain.transaction;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
+import lombok.NonNull;
+
+import java.util.Currency;
+
+/**
+ * One deposit or withdrawal within a batch posting.
+ */
+public record BatchItem(
+        @NonNull AccountId accountId,
+        @NonNull TransactionType type,
+        @NonNull Amount amount,
+        @NonNull Currency currency
+) {
+    public BatchItem {
+        if (type != TransactionType.DEPOSIT && type != TransactionType.WITHDRAWAL) {
+            throw new InvalidUserDataException("Batch items must be deposits or withdrawals");
+        }
+    }
+}
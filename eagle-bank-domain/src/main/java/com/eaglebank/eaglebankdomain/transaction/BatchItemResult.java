@@ -0,0 +1,20 @@
+package com.eaglebank.eaglebankdomain.transaction;
+
+/**
+ * Outcome of one batch item: the posted transaction, or why it was rejected.
+ * {@code index} is the item's position in the submitted batch.
+ */
+public record BatchItemResult(int index, Transaction transaction, String error) {
+
+    public static BatchItemResult posted(int index, Transaction transaction) {
+        return new BatchItemResult(index, transaction, null);
+    }
+
+    public static BatchItemResult rejected(int index, String error) {
+        return new BatchItemResult(index, null, error);
+    }
+
+    public boolean isPosted() {
+        return transaction != null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.eaglebank.eaglebankdomain.transaction;
+
+import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import lombok.NonNull;
+
+/**
+ * Client-chosen key identifying one logical transaction request. Keys are
+ * scoped to the caller, so two users can never collide on the same value.
+ */
+public record IdempotencyKey(@NonNull UserId ownerId, String value) {
+    public static final int MAX_LENGTH = 255;
+
+    public IdempotencyKey {
+        if (value == null || value.isBlank() || value.length() > MAX_LENGTH) {
+            throw new InvalidUserDataException("Idempotency key must be 1-" + MAX_LENGTH + " characters");
+        }
+    }
+}
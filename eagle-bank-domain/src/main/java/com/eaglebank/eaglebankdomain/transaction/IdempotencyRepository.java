@@ -0,0 +1,22 @@
+package com.eaglebank.eaglebankdomain.transaction;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface IdempotencyRepository {
+    /**
+     * Returns the transaction first recorded under {@code key}, unless the
+     * record has expired.
+     */
+    Optional<Transaction> find(IdempotencyKey key);
+
+    /**
+     * Records {@code transaction} as the result for {@code key}.
+     *
+     * @throws com.eaglebank.eaglebankdomain.exception.DuplicateRequestException
+     *         if another request already holds the key
+     */
+    void save(IdempotencyKey key, Transaction transaction);
+
+    int deleteExpired(Instant now);
+}
@@ -0,0 +1,57 @@
+package com.eaglebank.eaglebankdomain.transaction;
+
+import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Position in an account's transaction history, ordered newest first by
+ * (timestamp, id). Clients only ever see the encoded form.
+ */
+public record TransactionCursor(Instant timestamp, TransactionId id) {
+    private static final int ENCODED_BYTES = Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+    public TransactionCursor {
+        Objects.requireNonNull(timestamp, "Cursor timestamp cannot be null");
+        Objects.requireNonNull(id, "Cursor id cannot be null");
+    }
+
+    public static TransactionCursor after(Transaction last) {
+        return new TransactionCursor(last.getTimestamp(), last.getId());
+    }
+
+    public String encode() {
+        ByteBuffer buf = ByteBuffer.allocate(ENCODED_BYTES)
+                .putLong(timestamp.getEpochSecond())
+                .putInt(timestamp.getNano())
+                .putLong(id.value().getMostSignificantBits())
+                .putLong(id.value().getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buf.array());
+    }
+
+    public static TransactionCursor decode(String encoded) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(encoded);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidUserDataException("Invalid cursor");
+        }
+        if (bytes.length != ENCODED_BYTES) {
+            throw new InvalidUserDataException("Invalid cursor");
+        }
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        long seconds = buf.getLong();
+        int nanos = buf.getInt();
+        if (nanos < 0 || nanos > 999_999_999) {
+            throw new InvalidUserDataException("Invalid cursor");
+        }
+        return new TransactionCursor(
+                Instant.ofEpochSecond(seconds, nanos),
+                TransactionId.of(new UUID(buf.getLong(), buf.getLong()))
+        );
+    }
+}
@@ -1,9 +1,11 @@
 package com.eaglebank.eaglebankdomain.transaction;
 
+import com.eaglebank.eaglebankdomain.id.UuidV7;
+
 import java.util.Objects;
 import java.util.UUID;
 
 public record TransactionId(UUID value) {
-    public static TransactionId newId()   { return new TransactionId(UUID.randomUUID()); }
+    public static TransactionId newId()   { return new TransactionId(UuidV7.next()); }
     public static TransactionId of(UUID v) { return new TransactionId(Objects.requireNonNull(v)); }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.eaglebank.eaglebankdomain.transaction;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One page of an account's transactions; {@code nextCursor} is null on the
+ * last page.
+ */
+public record TransactionPage(List<Transaction> transactions, TransactionCursor nextCursor) {
+    public TransactionPage {
+        transactions = List.copyOf(Objects.requireNonNull(transactions));
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -4,9 +4,22 @@ import com.eaglebank.eaglebankdomain.account.AccountId;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TransactionRepository {
     Transaction save(Transaction transaction);
+    List<Transaction> saveAll(List<Transaction> transactions);
     Optional<Transaction> findById(TransactionId id);
-    List<Transaction> findByAccount(AccountId accountId);
-}
\ No newline at end of file
+
+    /**
+     * Streams the account's full history, oldest first, without loading it
+     * into memory. Must be consumed inside a transaction and closed afterwards.
+     */
+    Stream<Transaction> streamByAccount(AccountId accountId);
+
+    /**
+     * Returns up to {@code limit} transactions for the account, newest first,
+     * strictly after {@code after} (or from the newest when null).
+     */
+    List<Transaction> findPageByAccount(AccountId accountId, TransactionCursor after, int limit);
+}
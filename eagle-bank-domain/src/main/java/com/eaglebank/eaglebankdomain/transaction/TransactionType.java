@@ -1,3 +1,7 @@
 package com.eaglebank.eaglebankdomain.transaction;
 
-public enum TransactionType { DEPOSIT, WITHDRAWAL }
+/**
+ * A transfer is recorded as a {@code TRANSFER_OUT} on the debited account and
+ * a {@code TRANSFER_IN} on the credited one.
+ */
+public enum TransactionType { DEPOSIT, WITHDRAWAL, TRANSFER_OUT, TRANSFER_IN }
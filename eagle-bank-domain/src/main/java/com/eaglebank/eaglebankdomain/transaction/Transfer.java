@@ -0,0 +1,10 @@
+package com.eaglebank.eaglebankdomain.transaction;
+
+import lombok.NonNull;
+
+/**
+ * Both legs of a transfer between two accounts, which are always written
+ * together.
+ */
+public record Transfer(@NonNull Transaction debit, @NonNull Transaction credit) {
+}
@@ -2,6 +2,7 @@ package com.eaglebank.eaglebankdomain.user;
 
 import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 public record Address(
     String line1,
@@ -9,6 +10,9 @@ public record Address(
     String county,
     String postcode
 ) {
+    private static final Pattern POSTCODE_PATTERN =
+            Pattern.compile("^[A-Z]{1,2}[0-9R][0-9A-Z]? [0-9][A-Z]{2}$");
+
     public Address {
         // Validate line1
         Objects.requireNonNull(line1, "Address line 1 cannot be null");
@@ -43,7 +47,7 @@ public record Address(
         if (trimmedPostcode.isEmpty()) {
             throw new InvalidUserDataException("Postcode cannot be empty");
         }
-        if (!trimmedPostcode.matches("^[A-Z]{1,2}[0-9R][0-9A-Z]? [0-9][A-Z]{2}$")) {
+        if (!POSTCODE_PATTERN.matcher(trimmedPostcode).matches()) {
             throw new InvalidUserDataException("Invalid UK postcode format");
         }
 
@@ -20,4 +20,17 @@ public class DateOfBirth {
         }
         this.value = value;
     }
+
+    private DateOfBirth(LocalDate value, boolean trusted) {
+        this.value = value;
+    }
+
+    /**
+     * A date of birth read back from storage. It was checked when it was
+     * written, and the user has only grown older since, so the age check
+     * and its read of the clock are skipped.
+     */
+    public static DateOfBirth rehydrate(LocalDate value) {
+        return new DateOfBirth(value, true);
+    }
 }
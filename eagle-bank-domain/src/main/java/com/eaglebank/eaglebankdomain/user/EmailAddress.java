@@ -3,6 +3,7 @@ package com.eaglebank.eaglebankdomain.user;
 import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
 import lombok.NonNull;
 
+import java.util.Locale;
 import java.util.Objects;
 import java.util.regex.Pattern;
 
@@ -16,6 +17,11 @@ public record EmailAddress(@NonNull String value) {
         }
     }
 
+    /** The address as stored lookups compare it: case folded. */
+    public String normalized() {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -15,4 +15,13 @@ public class FirstName {
         }
         this.value = value;
     }
+
+    private FirstName(String value, boolean trusted) {
+        this.value = value;
+    }
+
+    /** A name read back from storage, which was checked when it was written. */
+    public static FirstName rehydrate(String value) {
+        return new FirstName(value, true);
+    }
 }
@@ -15,4 +15,13 @@ public class LastName {
         }
         this.value = value;
     }
+
+    private LastName(String value, boolean trusted) {
+        this.value = value;
+    }
+
+    /** A name read back from storage, which was checked when it was written. */
+    public static LastName rehydrate(String value) {
+        return new LastName(value, true);
+    }
 }
@@ -2,9 +2,10 @@ package com.eaglebank.eaglebankdomain.user;
 
 import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 public record PhoneNumber(String value) {
-    private static final String PHONE_PATTERN = "^\\+[1-9]\\d{1,14}$";
+    private static final Pattern PHONE_PATTERN = Pattern.compile("^\\+[1-9]\\d{1,14}$");
     
     public PhoneNumber(String value) {
         this.value = Objects.requireNonNull(value, "Phone number cannot be null");
@@ -13,7 +14,7 @@ public record PhoneNumber(String value) {
             throw new InvalidUserDataException("Phone number cannot be empty");
         }
         
-        if (!value.matches(PHONE_PATTERN)) {
+        if (!PHONE_PATTERN.matcher(value).matches()) {
             throw new InvalidUserDataException(
                 "Phone number must start with '+' followed by 2-15 digits");
         }
@@ -80,5 +80,9 @@ public class User {
         return new User(this.id, this.firstName, this.lastName, this.dob, this.email, this.phoneNumber, newAddr, this.passwordHash);
     }
 
+    public User withPasswordHash(PasswordHash newHash) {
+        return new User(this.id, this.firstName, this.lastName, this.dob, this.email, this.phoneNumber, this.address, newHash);
+    }
+
 
 }
@@ -0,0 +1,18 @@
+package com.eaglebank.eaglebankdomain.user;
+
+import java.util.Objects;
+
+/**
+ * What a login needs to check a password and issue a token: the user's id
+ * and stored hash, without the rest of their profile.
+ */
+public record UserCredentials(UserId userId, PasswordHash passwordHash) {
+    public UserCredentials {
+        Objects.requireNonNull(userId);
+        Objects.requireNonNull(passwordHash);
+    }
+
+    public static UserCredentials of(User user) {
+        return new UserCredentials(user.getId(), user.getPasswordHash());
+    }
+}
@@ -1,5 +1,7 @@
 package com.eaglebank.eaglebankdomain.user;
 
+import com.eaglebank.eaglebankdomain.id.UuidV7;
+
 import java.util.Objects;
 import java.util.UUID;
 
@@ -7,7 +9,7 @@ import java.util.UUID;
 public record UserId(UUID value) {
 
     public static UserId newId() {
-        return new UserId(UUID.randomUUID());
+        return new UserId(UuidV7.next());
     }
 
     public static UserId of(UUID id) {
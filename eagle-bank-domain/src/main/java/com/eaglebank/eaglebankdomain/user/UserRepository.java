@@ -7,4 +7,21 @@ public interface UserRepository {
     Optional<User> findById(UserId id);
     Optional<User> findByEmail(EmailAddress email);
     void delete(User user);
+
+    /**
+     * {@code false} only if no user has this email, so a caller checking an
+     * email is free can skip the lookup. Stores without a cheaper answer
+     * than the lookup itself say {@code true}.
+     */
+    default boolean mightContainEmail(EmailAddress email) {
+        return true;
+    }
+
+    /**
+     * The id and password hash of the user with this email, for logging in.
+     * Stores that can answer without loading the whole user should.
+     */
+    default Optional<UserCredentials> findCredentials(EmailAddress email) {
+        return findByEmail(email).map(UserCredentials::of);
+    }
 }
@@ -0,0 +1,45 @@
+package com.eaglebank.eaglebankdomain.account;
+
+import com.eaglebank.eaglebankdomain.user.UserId;
+import org.junit.jupiter.api.Test;
+
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountOwnershipTest {
+
+    @Test
+    void shouldTakeOwnerAndCurrencyFromAccount() {
+        Account account = Account.create(UserId.newId(), new AccountName("Main"), AccountType.CHECKING);
+
+        AccountOwnership ownership = AccountOwnership.of(account);
+
+        assertEquals(account.getId(), ownership.accountId());
+        assertEquals(account.getOwnerId(), ownership.ownerId());
+        assertEquals(account.getCurrency(), ownership.currency());
+        assertEquals(account.getBalance().exponent(), ownership.exponent());
+    }
+
+    @Test
+    void shouldRecogniseOwner() {
+        UserId owner = UserId.newId();
+        AccountOwnership ownership = new AccountOwnership(AccountId.newId(), owner, Currency.getInstance("GBP"));
+
+        assertTrue(ownership.isOwnedBy(owner));
+        assertFalse(ownership.isOwnedBy(UserId.newId()));
+    }
+
+    @Test
+    void shouldUseCurrencyExponent() {
+        AccountOwnership yen = new AccountOwnership(AccountId.newId(), UserId.newId(), Currency.getInstance("JPY"));
+
+        assertEquals(0, yen.exponent());
+    }
+
+    @Test
+    void shouldRejectMissingParts() {
+        assertThrows(NullPointerException.class,
+                () -> new AccountOwnership(AccountId.newId(), null, Currency.getInstance("GBP")));
+    }
+}
@@ -21,7 +21,7 @@ class AccountTest {
         assertNotNull(account.getId(), "Account ID should be automatically generated");
         assertEquals(ownerId, account.getOwnerId(), "Owner ID should match");
         assertEquals(name, account.getName(), "Account name should match");
-        assertEquals(new BigDecimal("0.00"), account.getBalance().value(),
+        assertEquals(new BigDecimal("0.00"), account.getBalance().toBigDecimal(),
                 "New account should have zero balance");
         assertEquals("123456", account.getSortCode().value(),
                 "Sort code should match bank's code");
@@ -40,7 +40,7 @@ class AccountTest {
         AccountId id = AccountId.newId();
         UserId ownerId = UserId.of(UUID.randomUUID());
         AccountName name = new AccountName("Test Account");
-        Balance balance = new Balance(new BigDecimal("100.00"));
+        Balance balance = Balance.of(new BigDecimal("100.00"), Currency.getInstance("GBP"));
         AccountNumber accountNumber = new AccountNumber("12345678");
         SortCode sortCode = new SortCode("123456");
         AccountType type = AccountType.SAVINGS;
@@ -69,7 +69,7 @@ class AccountTest {
                 new AccountName("Test Account"),
                 AccountType.CHECKING
         );
-        Balance newBalance = new Balance(new BigDecimal("50.00"));
+        Balance newBalance = Balance.of(new BigDecimal("50.00"), Currency.getInstance("GBP"));
 
         Account modified = original.withBalance(newBalance);
 
@@ -87,6 +87,30 @@ class AccountTest {
         assertNotSame(original, modified, "Should create new instance");
     }
 
+    @Test
+    void shouldKeepUpdatedTimestampForDerivedBalance() {
+        Instant updated = Instant.parse("2024-01-01T00:00:00Z");
+        Account original = Account.rehydrate(
+                AccountId.newId(),
+                UserId.of(UUID.randomUUID()),
+                new AccountName("Test Account"),
+                Balance.zero(Currency.getInstance("GBP")),
+                new AccountNumber("01234567"),
+                new SortCode("123456"),
+                AccountType.BUSINESS,
+                Currency.getInstance("GBP"),
+                updated,
+                updated
+        );
+        Balance derived = Balance.of(new BigDecimal("75.00"), Currency.getInstance("GBP"));
+
+        Account modified = original.withDerivedBalance(derived);
+
+        assertEquals(derived, modified.getBalance(), "Balance should be the derived one");
+        assertEquals(updated, modified.getUpdatedTimestamp(), "Updated timestamp should not change");
+        assertEquals(original.getId(), modified.getId(), "Account ID should not change");
+    }
+
     @Test
     void shouldThrowNullPointerExceptionWhenCreatingWithNullOwner() {
         AccountName name = new AccountName("Test Account");
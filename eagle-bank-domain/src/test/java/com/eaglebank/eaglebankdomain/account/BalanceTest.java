@@ -1,25 +1,30 @@
 package com.eaglebank.eaglebankdomain.account;
 
 import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
+import com.eaglebank.eaglebankdomain.transaction.Amount;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.Currency;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class BalanceTest {
 
+    private final Currency gbp = Currency.getInstance("GBP");
+
     @Test
     void shouldCreateValidBalanceWithZero() {
-        Balance balance = new Balance(BigDecimal.ZERO);
-        assertEquals(new BigDecimal("0.00"), balance.value(),
+        Balance balance = Balance.zero(gbp);
+        assertEquals(new BigDecimal("0.00"), balance.toBigDecimal(),
                 "Should accept zero balance with standard scale of 2");
     }
 
     @Test
     void shouldCreateValidBalanceWithPositiveAmount() {
-        Balance balance = new Balance(new BigDecimal("100.00"));
-        assertEquals(new BigDecimal("100.00"), balance.value(),
+        Balance balance = Balance.of(new BigDecimal("100.00"), gbp);
+        assertEquals(new Balance(10000, 2), balance);
+        assertEquals(new BigDecimal("100.00"), balance.toBigDecimal(),
                 "Should accept positive balance");
     }
 
@@ -27,32 +32,37 @@ class BalanceTest {
     void shouldThrowInvalidUserDataExceptionWithNegativeAmount() {
         BigDecimal negativeAmount = new BigDecimal("-1.00");
         InvalidUserDataException ex = assertThrows(InvalidUserDataException.class, () -> {
-            new Balance(negativeAmount);
+            Balance.of(negativeAmount, gbp);
         });
         assertTrue(ex.getMessage().contains("Balance cannot be negative"),
                 "Exception message should mention that negative balance is not allowed");
     }
 
+    @Test
+    void shouldThrowInvalidUserDataExceptionWithNegativeMinorUnits() {
+        assertThrows(InvalidUserDataException.class, () -> new Balance(-1, 2));
+    }
+
     @Test
     void shouldThrowNullPointerExceptionWhenValueIsNull() {
         assertThrows(NullPointerException.class, () -> {
-            new Balance(null);
+            Balance.of(null, gbp);
         }, "Null balance should throw NullPointerException");
     }
 
     @Test
     void shouldHandleLargeBalances() {
         BigDecimal largeAmount = new BigDecimal("999999999999.99");
-        Balance balance = new Balance(largeAmount);
-        assertEquals(largeAmount, balance.value(),
+        Balance balance = Balance.of(largeAmount, gbp);
+        assertEquals(largeAmount, balance.toBigDecimal(),
                 "Should handle large balance values");
     }
 
     @Test
     void shouldImplementEqualsAndHashCodeCorrectly() {
-        Balance balance1 = new Balance(new BigDecimal("100.00"));
-        Balance balance2 = new Balance(new BigDecimal("100.00"));
-        Balance balance3 = new Balance(new BigDecimal("200.00"));
+        Balance balance1 = Balance.of(new BigDecimal("100.00"), gbp);
+        Balance balance2 = Balance.of(new BigDecimal("100.00"), gbp);
+        Balance balance3 = Balance.of(new BigDecimal("200.00"), gbp);
 
         // Test equals
         assertEquals(balance1, balance2, "Same balance amounts should be equal");
@@ -68,8 +78,8 @@ class BalanceTest {
 
     @Test
     void shouldHandleScalePrecision() {
-        Balance balance1 = new Balance(new BigDecimal("100.00"));
-        Balance balance2 = new Balance(new BigDecimal("100.0"));
+        Balance balance1 = Balance.of(new BigDecimal("100.00"), gbp);
+        Balance balance2 = Balance.of(new BigDecimal("100.0"), gbp);
 
         assertEquals(balance1, balance2,
                 "Balances with different scale but same value should be equal");
@@ -77,8 +87,43 @@ class BalanceTest {
 
     @Test
     void shouldAcceptVerySmallPositiveBalances() {
-        Balance balance = new Balance(new BigDecimal("0.01"));
-        assertEquals(new BigDecimal("0.01"), balance.value(),
+        Balance balance = Balance.of(new BigDecimal("0.01"), gbp);
+        assertEquals(new BigDecimal("0.01"), balance.toBigDecimal(),
                 "Should accept small positive balances");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldAddAmount() {
+        Balance balance = new Balance(1000, 2).plus(new Amount(250, 2));
+        assertEquals(new Balance(1250, 2), balance);
+    }
+
+    @Test
+    void shouldSubtractAmountItCovers() {
+        Balance balance = new Balance(1000, 2);
+        assertTrue(balance.covers(new Amount(1000, 2)));
+        assertEquals(new Balance(0, 2), balance.minus(new Amount(1000, 2)));
+    }
+
+    @Test
+    void shouldRefuseToGoBelowZero() {
+        Balance balance = new Balance(1000, 2);
+        assertFalse(balance.covers(new Amount(1001, 2)));
+        InvalidUserDataException ex = assertThrows(InvalidUserDataException.class,
+                () -> balance.minus(new Amount(1001, 2)));
+        assertEquals("Insufficient funds", ex.getMessage());
+    }
+
+    @Test
+    void shouldThrowInvalidUserDataExceptionOnOverflow() {
+        Balance balance = new Balance(Long.MAX_VALUE, 2);
+        assertThrows(InvalidUserDataException.class, () -> balance.plus(new Amount(1, 2)));
+    }
+
+    @Test
+    void shouldRefuseAmountsAtAnotherExponent() {
+        Balance balance = new Balance(1000, 2);
+        assertThrows(IllegalArgumentException.class, () -> balance.plus(new Amount(10, 0)));
+        assertThrows(IllegalArgumentException.class, () -> balance.covers(new Amount(10, 0)));
+    }
+}
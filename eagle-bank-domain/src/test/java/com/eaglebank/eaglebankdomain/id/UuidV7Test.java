@@ -0,0 +1,78 @@
+package com.eaglebank.eaglebankdomain.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void shouldSetVersionAndVariant() {
+        UUID id = UuidV7.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void shouldEmbedMillisecondTimestamp() {
+        long now = 1_700_000_000_123L;
+        UUID id = new UuidV7(() -> now).generate();
+
+        assertEquals(now, id.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void shouldIncreaseWithinOneMillisecond() {
+        UuidV7 generator = new UuidV7(() -> 1_700_000_000_000L);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(generator.generate());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, "ids must be strictly increasing");
+        }
+    }
+
+    @Test
+    void shouldKeepIncreasingWhenClockStepsBack() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        UuidV7 generator = new UuidV7(clock::get);
+        UUID before = generator.generate();
+
+        clock.addAndGet(-5_000);
+        UUID after = generator.generate();
+
+        assertTrue(before.compareTo(after) < 0);
+    }
+
+    @Test
+    void shouldStartNewMillisecondAtZeroSequence() {
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        UuidV7 generator = new UuidV7(clock::get);
+        generator.generate();
+
+        clock.incrementAndGet();
+        UUID id = generator.generate();
+
+        assertEquals(clock.get(), id.getMostSignificantBits() >>> 16);
+        assertEquals(0, id.getMostSignificantBits() & 0xFFF);
+    }
+
+    @Test
+    void shouldBeUniqueUnderConcurrency() {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 100_000).parallel().forEach(i -> ids.add(UuidV7.next()));
+
+        assertEquals(100_000, ids.size());
+    }
+}
@@ -0,0 +1,73 @@
+package com.eaglebank.eaglebankdomain.money;
+
+import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinorUnitsTest {
+
+    @Test
+    void shouldTakeExponentFromCurrency() {
+        assertEquals(2, MinorUnits.exponentOf(Currency.getInstance("GBP")));
+        assertEquals(0, MinorUnits.exponentOf(Currency.getInstance("JPY")));
+        assertEquals(3, MinorUnits.exponentOf(Currency.getInstance("KWD")));
+    }
+
+    @Test
+    void shouldRejectCurrencyWithoutMinorUnit() {
+        assertThrows(InvalidUserDataException.class,
+                () -> MinorUnits.exponentOf(Currency.getInstance("XXX")));
+    }
+
+    @Test
+    void shouldRejectExponentOutOfRange() {
+        assertEquals(MinorUnits.MAX_EXPONENT, MinorUnits.checkExponent(MinorUnits.MAX_EXPONENT));
+        assertThrows(IllegalArgumentException.class, () -> MinorUnits.checkExponent(-1));
+        assertThrows(IllegalArgumentException.class, () -> MinorUnits.checkExponent(MinorUnits.MAX_EXPONENT + 1));
+    }
+
+    @Test
+    void shouldConvertDecimalToMinorUnits() {
+        assertEquals(1250, MinorUnits.fromDecimal(new BigDecimal("12.5"), 2));
+        assertEquals(1250, MinorUnits.fromDecimal(new BigDecimal("12.500"), 2));
+        assertEquals(1200, MinorUnits.fromDecimal(new BigDecimal("1.2E+1"), 2));
+    }
+
+    @Test
+    void shouldRejectTooManyDecimalPlaces() {
+        InvalidUserDataException ex = assertThrows(InvalidUserDataException.class,
+                () -> MinorUnits.fromDecimal(new BigDecimal("12.501"), 2));
+        assertEquals("Amount cannot have more than 2 decimal places", ex.getMessage());
+    }
+
+    @Test
+    void shouldRejectDecimalOutOfRange() {
+        InvalidUserDataException ex = assertThrows(InvalidUserDataException.class,
+                () -> MinorUnits.fromDecimal(new BigDecimal("1E+18"), 2));
+        assertEquals("Amount is out of range", ex.getMessage());
+    }
+
+    @Test
+    void shouldConvertMinorUnitsToDecimal() {
+        assertEquals(new BigDecimal("12.50"), MinorUnits.toDecimal(1250, 2));
+        assertEquals(new BigDecimal("150"), MinorUnits.toDecimal(150, 0));
+    }
+
+    @Test
+    void shouldAddAndSubtractWithOverflowChecks() {
+        assertEquals(3, MinorUnits.add(1, 2));
+        assertEquals(-1, MinorUnits.subtract(1, 2));
+        assertThrows(InvalidUserDataException.class, () -> MinorUnits.add(Long.MAX_VALUE, 1));
+        assertThrows(InvalidUserDataException.class, () -> MinorUnits.subtract(Long.MIN_VALUE, 1));
+    }
+
+    @Test
+    void shouldRequireSameExponent() {
+        assertDoesNotThrow(() -> MinorUnits.requireSameExponent(2, 2));
+        assertThrows(IllegalArgumentException.class, () -> MinorUnits.requireSameExponent(2, 0));
+    }
+}
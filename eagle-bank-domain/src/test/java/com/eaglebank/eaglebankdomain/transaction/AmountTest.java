@@ -4,60 +4,81 @@ import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.Currency;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class AmountTest {
 
+    private final Currency gbp = Currency.getInstance("GBP");
+
     @Test
     void shouldCreateValidAmountWithZero() {
-        Amount amount = new Amount(BigDecimal.ZERO);
-        assertEquals(BigDecimal.ZERO, amount.value(),
-                "Should accept zero amount");
+        Amount amount = Amount.of(BigDecimal.ZERO, gbp);
+        assertEquals(0, amount.minorUnits(), "Should accept zero amount");
+        assertEquals(new BigDecimal("0.00"), amount.toBigDecimal());
     }
 
     @Test
     void shouldCreateValidAmountWithPositiveValue() {
-        Amount amount = new Amount(new BigDecimal("100.00"));
-        assertEquals(new BigDecimal("100.00"), amount.value(),
+        Amount amount = Amount.of(new BigDecimal("100.00"), gbp);
+        assertEquals(10000, amount.minorUnits(), "Should hold the value in pence");
+        assertEquals(2, amount.exponent());
+        assertEquals(new BigDecimal("100.00"), amount.toBigDecimal(),
                 "Should accept positive amount");
     }
 
+    @Test
+    void shouldUseCurrencyExponent() {
+        Amount amount = Amount.of(new BigDecimal("150"), Currency.getInstance("JPY"));
+        assertEquals(new Amount(150, 0), amount);
+    }
+
     @Test
     void shouldThrowInvalidUserDataExceptionWithNegativeAmount() {
         BigDecimal negativeAmount = new BigDecimal("-1.00");
         InvalidUserDataException ex = assertThrows(InvalidUserDataException.class, () -> {
-            new Amount(negativeAmount);
+            Amount.of(negativeAmount, gbp);
         });
         assertTrue(ex.getMessage().contains("Amount must be non-negative"),
                 "Exception message should mention that negative amount is not allowed");
     }
 
+    @Test
+    void shouldThrowInvalidUserDataExceptionWithNegativeMinorUnits() {
+        assertThrows(InvalidUserDataException.class, () -> new Amount(-1, 2));
+    }
+
     @Test
     void shouldThrowInvalidUserDataExceptionWhenValueIsNull() {
         InvalidUserDataException ex = assertThrows(InvalidUserDataException.class, () -> {
-            new Amount(null);
+            Amount.of(null, gbp);
         });
         assertTrue(ex.getMessage().contains("Amount must be non-negative"),
                 "Exception message should mention that amount must be non-negative");
     }
 
+    @Test
+    void shouldThrowInvalidUserDataExceptionWithTooManyDecimalPlaces() {
+        assertThrows(InvalidUserDataException.class, () -> Amount.of(new BigDecimal("1.005"), gbp));
+    }
+
     @Test
     void shouldHandleLargeAmounts() {
         BigDecimal largeAmount = new BigDecimal("999999999999.99");
-        Amount amount = new Amount(largeAmount);
-        assertEquals(largeAmount, amount.value(),
+        Amount amount = Amount.of(largeAmount, gbp);
+        assertEquals(largeAmount, amount.toBigDecimal(),
                 "Should handle large amount values");
     }
 
     @Test
     void shouldImplementEqualsAndHashCodeCorrectly() {
-        Amount amount1 = new Amount(new BigDecimal("100.00"));
-        Amount amount2 = new Amount(new BigDecimal("100.00"));
-        Amount amount3 = new Amount(new BigDecimal("200.00"));
+        Amount amount1 = Amount.of(new BigDecimal("100.00"), gbp);
+        Amount amount2 = Amount.of(new BigDecimal("100"), gbp);
+        Amount amount3 = Amount.of(new BigDecimal("200.00"), gbp);
 
         // Test equals
-        assertEquals(amount1, amount2, "Same amounts should be equal");
+        assertEquals(amount1, amount2, "Same amounts should be equal regardless of scale");
         assertNotEquals(amount1, amount3, "Different amounts should not be equal");
         assertNotEquals(amount1, null, "Amount should not be equal to null");
         assertNotEquals(amount1, new BigDecimal("100.00"),
@@ -70,8 +91,9 @@ class AmountTest {
 
     @Test
     void shouldAcceptVerySmallPositiveAmounts() {
-        Amount amount = new Amount(new BigDecimal("0.01"));
-        assertEquals(new BigDecimal("0.01"), amount.value(),
+        Amount amount = Amount.of(new BigDecimal("0.01"), gbp);
+        assertEquals(1, amount.minorUnits());
+        assertEquals(new BigDecimal("0.01"), amount.toBigDecimal(),
                 "Should accept small positive amounts");
     }
-}
\ No newline at end of file
+}
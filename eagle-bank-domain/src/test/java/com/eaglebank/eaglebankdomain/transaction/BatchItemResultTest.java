@@ -0,0 +1,38 @@
+package com.eaglebank.eaglebankdomain.transaction;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchItemResultTest {
+
+    @Test
+    void shouldCreatePostedResult() {
+        Transaction txn = Transaction.create(
+                AccountId.newId(),
+                TransactionType.DEPOSIT,
+                Amount.of(BigDecimal.TEN, Currency.getInstance("GBP")),
+                Currency.getInstance("GBP")
+        );
+
+        BatchItemResult result = BatchItemResult.posted(3, txn);
+
+        assertTrue(result.isPosted());
+        assertEquals(3, result.index());
+        assertSame(txn, result.transaction());
+        assertNull(result.error());
+    }
+
+    @Test
+    void shouldCreateRejectedResult() {
+        BatchItemResult result = BatchItemResult.rejected(0, "Insufficient funds");
+
+        assertFalse(result.isPosted());
+        assertNull(result.transaction());
+        assertEquals("Insufficient funds", result.error());
+    }
+}
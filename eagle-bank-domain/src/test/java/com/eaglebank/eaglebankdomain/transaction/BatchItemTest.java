@@ -0,0 +1,43 @@
+package com.eaglebank.eaglebankdomain.transaction;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchItemTest {
+
+    private final AccountId accountId = AccountId.newId();
+    private final Amount amount = Amount.of(BigDecimal.ONE, Currency.getInstance("GBP"));
+    private final Currency gbp = Currency.getInstance("GBP");
+
+    @Test
+    void shouldCreateValidItem() {
+        BatchItem item = new BatchItem(accountId, TransactionType.WITHDRAWAL, amount, gbp);
+
+        assertEquals(accountId, item.accountId());
+        assertEquals(TransactionType.WITHDRAWAL, item.type());
+        assertEquals(amount, item.amount());
+        assertEquals(gbp, item.currency());
+    }
+
+    @Test
+    void shouldRejectNullFields() {
+        assertThrows(NullPointerException.class, () -> new BatchItem(null, TransactionType.DEPOSIT, amount, gbp));
+        assertThrows(NullPointerException.class, () -> new BatchItem(accountId, null, amount, gbp));
+        assertThrows(NullPointerException.class, () -> new BatchItem(accountId, TransactionType.DEPOSIT, null, gbp));
+        assertThrows(NullPointerException.class, () -> new BatchItem(accountId, TransactionType.DEPOSIT, amount, null));
+    }
+
+    @Test
+    void shouldRejectTransferLegs() {
+        assertThrows(InvalidUserDataException.class,
+                () -> new BatchItem(accountId, TransactionType.TRANSFER_OUT, amount, gbp));
+        assertThrows(InvalidUserDataException.class,
+                () -> new BatchItem(accountId, TransactionType.TRANSFER_IN, amount, gbp));
+    }
+}
@@ -0,0 +1,52 @@
+package com.eaglebank.eaglebankdomain.transaction;
+
+import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyKeyTest {
+
+    private final UserId owner = UserId.newId();
+
+    @Test
+    void shouldCreateValidKey() {
+        IdempotencyKey key = new IdempotencyKey(owner, "retry-123");
+        assertEquals(owner, key.ownerId());
+        assertEquals("retry-123", key.value());
+    }
+
+    @Test
+    void shouldAcceptMaximumLength() {
+        String value = "k".repeat(IdempotencyKey.MAX_LENGTH);
+        assertEquals(value, new IdempotencyKey(owner, value).value());
+    }
+
+    @Test
+    void shouldThrowInvalidUserDataExceptionWhenBlank() {
+        assertThrows(InvalidUserDataException.class, () -> new IdempotencyKey(owner, "  "));
+    }
+
+    @Test
+    void shouldThrowInvalidUserDataExceptionWhenNull() {
+        assertThrows(InvalidUserDataException.class, () -> new IdempotencyKey(owner, null));
+    }
+
+    @Test
+    void shouldThrowInvalidUserDataExceptionWhenTooLong() {
+        String value = "k".repeat(IdempotencyKey.MAX_LENGTH + 1);
+        assertThrows(InvalidUserDataException.class, () -> new IdempotencyKey(owner, value));
+    }
+
+    @Test
+    void shouldThrowNullPointerExceptionWhenOwnerIsNull() {
+        assertThrows(NullPointerException.class, () -> new IdempotencyKey(null, "k"));
+    }
+
+    @Test
+    void shouldScopeEqualityToOwner() {
+        assertEquals(new IdempotencyKey(owner, "k"), new IdempotencyKey(owner, "k"));
+        assertNotEquals(new IdempotencyKey(owner, "k"), new IdempotencyKey(UserId.newId(), "k"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.eaglebank.eaglebankdomain.transaction;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionCursorTest {
+
+    @Test
+    void shouldRoundTripThroughEncodedForm() {
+        TransactionCursor cursor = new TransactionCursor(
+                Instant.parse("2025-03-01T10:15:30.123456Z"),
+                TransactionId.newId()
+        );
+
+        TransactionCursor decoded = TransactionCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void shouldProduceUrlSafeCursor() {
+        String encoded = new TransactionCursor(Instant.now(), TransactionId.newId()).encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void shouldPointAfterGivenTransaction() {
+        Transaction txn = Transaction.create(
+                AccountId.newId(),
+                TransactionType.DEPOSIT,
+                Amount.of(BigDecimal.TEN, Currency.getInstance("GBP")),
+                Currency.getInstance("GBP")
+        );
+
+        TransactionCursor cursor = TransactionCursor.after(txn);
+
+        assertEquals(txn.getTimestamp(), cursor.timestamp());
+        assertEquals(txn.getId(), cursor.id());
+    }
+
+    @Test
+    void shouldRejectMalformedBase64() {
+        assertThrows(InvalidUserDataException.class, () -> TransactionCursor.decode("not a cursor!"));
+    }
+
+    @Test
+    void shouldRejectWrongLength() {
+        String tooShort = Base64.getUrlEncoder().encodeToString(new byte[4]);
+
+        assertThrows(InvalidUserDataException.class, () -> TransactionCursor.decode(tooShort));
+    }
+
+    @Test
+    void shouldRejectOutOfRangeNanos() {
+        byte[] bytes = new byte[28];
+        bytes[8] = (byte) 0xFF;
+        String encoded = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        assertThrows(InvalidUserDataException.class, () -> TransactionCursor.decode(encoded));
+    }
+
+    @Test
+    void shouldRejectNullFields() {
+        assertThrows(NullPointerException.class, () -> new TransactionCursor(null, TransactionId.newId()));
+        assertThrows(NullPointerException.class, () -> new TransactionCursor(Instant.now(), null));
+    }
+}
@@ -0,0 +1,37 @@
+package com.eaglebank.eaglebankdomain.transaction;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionPageTest {
+
+    @Test
+    void shouldReportMoreWhenCursorPresent() {
+        TransactionPage page = new TransactionPage(
+                List.of(),
+                new TransactionCursor(Instant.now(), TransactionId.newId())
+        );
+
+        assertTrue(page.hasMore());
+    }
+
+    @Test
+    void shouldReportLastPageWhenCursorAbsent() {
+        TransactionPage page = new TransactionPage(List.of(), null);
+
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    void shouldDefensivelyCopyTransactions() {
+        List<Transaction> source = new ArrayList<>();
+        TransactionPage page = new TransactionPage(source, null);
+
+        assertThrows(UnsupportedOperationException.class, () -> page.transactions().add(null));
+    }
+}
@@ -20,7 +20,7 @@ class TransactionTest {
     @BeforeEach
     void setUp() {
         accountId = AccountId.newId();
-        amount = new Amount(new BigDecimal("100.00"));
+        amount = Amount.of(new BigDecimal("100.00"), Currency.getInstance("GBP"));
         type = TransactionType.DEPOSIT;
         currency = Currency.getInstance("GBP");
     }
@@ -164,7 +164,7 @@ class TransactionTest {
 
         transaction.getId().value();
         transaction.getAccountId().value();
-        transaction.getAmount().value();
+        transaction.getAmount().toBigDecimal();
         transaction.getTimestamp();
         transaction.getCurrency();
 
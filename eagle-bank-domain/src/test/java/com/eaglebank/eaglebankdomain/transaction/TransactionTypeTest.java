@@ -8,12 +8,16 @@ class TransactionTypeTest {
 
     @Test
     void shouldHaveCorrectValues() {
-        assertEquals(2, TransactionType.values().length,
-                "Should have exactly two transaction types");
+        assertEquals(4, TransactionType.values().length,
+                "Should have exactly four transaction types");
         assertTrue(hasTransactionType("DEPOSIT"),
                 "Should have DEPOSIT type");
         assertTrue(hasTransactionType("WITHDRAWAL"),
                 "Should have WITHDRAWAL type");
+        assertTrue(hasTransactionType("TRANSFER_OUT"),
+                "Should have TRANSFER_OUT type");
+        assertTrue(hasTransactionType("TRANSFER_IN"),
+                "Should have TRANSFER_IN type");
     }
 
     @Test
@@ -0,0 +1,31 @@
+package com.eaglebank.eaglebankdomain.transaction;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransferTest {
+
+    private final Currency gbp = Currency.getInstance("GBP");
+    private final Amount amount = Amount.of(BigDecimal.TEN, gbp);
+    private final Transaction debit = Transaction.create(AccountId.newId(), TransactionType.TRANSFER_OUT, amount, gbp);
+    private final Transaction credit = Transaction.create(AccountId.newId(), TransactionType.TRANSFER_IN, amount, gbp);
+
+    @Test
+    void shouldHoldBothLegs() {
+        Transfer transfer = new Transfer(debit, credit);
+
+        assertEquals(debit, transfer.debit());
+        assertEquals(credit, transfer.credit());
+    }
+
+    @Test
+    void shouldRejectNullLegs() {
+        assertThrows(NullPointerException.class, () -> new Transfer(null, credit));
+        assertThrows(NullPointerException.class, () -> new Transfer(debit, null));
+    }
+}
@@ -36,4 +36,11 @@ class DateOfBirthTest {
         );
         assertTrue(ex.getMessage().contains("User must be at least 18 years old"));
     }
+
+    @Test
+    void shouldRehydrateStoredValueWithoutAgeCheck() {
+        LocalDate birthday = LocalDate.now().minusYears(17);
+        DateOfBirth dob = DateOfBirth.rehydrate(birthday);
+        assertEquals(birthday, dob.getValue());
+    }
 }
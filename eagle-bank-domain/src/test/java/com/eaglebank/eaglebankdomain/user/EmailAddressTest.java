@@ -13,6 +13,13 @@ class EmailAddressTest {
         assertEquals("alice@example.com", email.value());
     }
 
+    @Test
+    void shouldNormalizeCase() {
+        EmailAddress email = new EmailAddress("Alice@Example.COM");
+        assertEquals("alice@example.com", email.normalized());
+        assertEquals("Alice@Example.COM", email.value());
+    }
+
     @Test
     void shouldThrowInvalidUserDataExceptionWhenEmailMissingAtSymbol() {
         assertThrows(InvalidUserDataException.class, () -> {
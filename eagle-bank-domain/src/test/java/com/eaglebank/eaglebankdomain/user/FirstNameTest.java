@@ -38,4 +38,10 @@ class FirstNameTest {
             new FirstName(null);
         });
     }
+
+    @Test
+    void shouldRehydrateStoredValueWithoutChecking() {
+        FirstName fn = FirstName.rehydrate("Alice");
+        assertEquals("Alice", fn.getValue());
+    }
 }
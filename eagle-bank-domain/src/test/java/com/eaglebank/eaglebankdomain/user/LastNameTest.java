@@ -38,4 +38,10 @@ class LastNameTest {
             new LastName(null);
         });
     }
+
+    @Test
+    void shouldRehydrateStoredValueWithoutChecking() {
+        LastName ln = LastName.rehydrate("Smith");
+        assertEquals("Smith", ln.getValue());
+    }
 }
@@ -0,0 +1,33 @@
+package com.eaglebank.eaglebankdomain.user;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCredentialsTest {
+
+    @Test
+    void shouldTakeIdAndHashFromUser() {
+        User user = User.create(
+                new FirstName("Alice"),
+                new LastName("Smith"),
+                new DateOfBirth(LocalDate.now().minusYears(30)),
+                new EmailAddress("alice@example.com"),
+                new PhoneNumber("+447911123456"),
+                new Address("1 High Street", "London", "Greater London", "SW1A 1AA"),
+                new PasswordHash("HASH"));
+
+        UserCredentials credentials = UserCredentials.of(user);
+
+        assertEquals(user.getId(), credentials.userId());
+        assertEquals(user.getPasswordHash(), credentials.passwordHash());
+    }
+
+    @Test
+    void shouldRejectMissingParts() {
+        assertThrows(NullPointerException.class, () -> new UserCredentials(UserId.newId(), null));
+        assertThrows(NullPointerException.class, () -> new UserCredentials(null, new PasswordHash("HASH")));
+    }
+}
@@ -219,4 +219,17 @@ class UserTest {
         assertEquals(newAddress, updated.getAddress());
         assertEquals(original.getId(), updated.getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void withPasswordHashShouldReturnNewUserWithUpdatedHash() {
+        User original = User.create(fn, ln, dob, email, phoneNumber, address, hash);
+        PasswordHash newHash = new PasswordHash("$2a$12$rehashed");
+
+        User updated = original.withPasswordHash(newHash);
+
+        assertEquals(hash, original.getPasswordHash());
+        assertEquals(newHash, updated.getPasswordHash());
+        assertEquals(original.getId(), updated.getId());
+        assertEquals(original.getEmail(), updated.getEmail());
+    }
+}
@@ -1,10 +1,16 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import api from '../api/axiosClient';
 import { useNavigate } from 'react-router-dom';
 
+const REJECTED_STATUSES = [400, 403, 404, 422];
+
 export default function AccountDetails({ accountId, onAccountDeleted }) {
     const [account, setAccount] = useState(null);
     const [transactions, setTransactions] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
+    // Kept across retries until the server accepts or refuses the request, so
+    // a resubmit after a timeout or 5xx cannot post the same transaction twice.
+    const idempotencyKey = useRef(crypto.randomUUID());
     const [isEditing, setIsEditing] = useState(false);
     const [newName, setNewName] = useState('');
     const [error, setError] = useState(null);
@@ -42,11 +48,18 @@ export default function AccountDetails({ accountId, onAccountDeleted }) {
         return symbols[currencyCode] || currencyCode;
     };
 
+    const isCredit = (transaction) =>
+        transaction.type === 'DEPOSIT' || transaction.type === 'TRANSFER_IN';
+
 
-    const loadTransactions = async () => {
+    const loadTransactions = async (cursor = null) => {
         try {
-            const response = await api.get(`/v1/accounts/${accountId}/transactions`);
-            setTransactions(response.data);
+            const response = await api.get(`/v1/accounts/${accountId}/transactions`, {
+                params: cursor ? { cursor } : {}
+            });
+            const page = response.data;
+            setTransactions(prev => cursor ? [...prev, ...page.transactions] : page.transactions);
+            setNextCursor(page.nextCursor);
         } catch (error) {
             console.error('Failed to load transactions:', error);
         }
@@ -84,13 +97,22 @@ export default function AccountDetails({ accountId, onAccountDeleted }) {
             };
         
             if (validateTransaction(formData)) {
-                await api.post(`/v1/accounts/${accountId}/transactions`, formData);
+                await api.post(`/v1/accounts/${accountId}/transactions`, formData, {
+                    headers: { 'Idempotency-Key': idempotencyKey.current }
+                });
+                idempotencyKey.current = crypto.randomUUID();
                 setIsCreatingTransaction(false);
                 setTransactionForm({ type: 'DEPOSIT', amount: '', currency: account.currency });
                 loadAccount();
                 loadTransactions();
             }
         } catch (error) {
+            // The server has definitively refused this request, so a retry is a
+            // new request. On 409, 5xx or no response the original may still
+            // land, and retrying with the same key keeps it from posting twice.
+            if (REJECTED_STATUSES.includes(error.response?.status)) {
+                idempotencyKey.current = crypto.randomUUID();
+            }
             console.error('Failed to create transaction:', error);
             alert(error.response?.data?.message || error.message);
         }
@@ -231,8 +253,8 @@ export default function AccountDetails({ accountId, onAccountDeleted }) {
                     {transactions.map(transaction => (
                         <div key={transaction.id} className="p-2 border rounded">
                             <div className="flex justify-between">
-                                <span className={transaction.type === 'DEPOSIT' ? 'text-green-600' : 'text-red-600'}>
-                                    {transaction.type === 'DEPOSIT' ? '+' : '-'}
+                                <span className={isCredit(transaction) ? 'text-green-600' : 'text-red-600'}>
+                                    {isCredit(transaction) ? '+' : '-'}
                                     {getCurrencySymbol(transaction.currency)}
                                     {transaction.amount}
                                 </span>
@@ -243,6 +265,15 @@ export default function AccountDetails({ accountId, onAccountDeleted }) {
                         </div>
                     ))}
                 </div>
+
+                {nextCursor && (
+                    <button
+                        onClick={() => loadTransactions(nextCursor)}
+                        className="mt-2 w-full px-4 py-2 bg-gray-600 text-white rounded hover:bg-gray-700"
+                    >
+                        Load more
+                    </button>
+                )}
             </div>
         </div>
     );
@@ -0,0 +1,58 @@
+package com.eaglebank.eaglebanklogic.transaction;
+
+import com.eaglebank.eaglebankdomain.account.Balance;
+import com.eaglebank.eaglebankdomain.transaction.Amount;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One deposit followed by one withdrawal of the same amount against a running
+ * balance, done the way the domain used to (a {@link BigDecimal} add or
+ * subtract, a sign check and a {@code setScale(2, UNNECESSARY)} for every new
+ * balance) and with the {@code long} minor-unit types. The build runs JMH
+ * with the gc profiler, so {@code gc.alloc.rate.norm} gives bytes allocated
+ * per operation alongside the timing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoneyBenchmark {
+
+    @Param({"12.34"})
+    public String amount;
+
+    private BigDecimal decimalAmount;
+    private BigDecimal decimalBalance;
+    private Amount minorAmount;
+    private Balance minorBalance;
+
+    @Setup
+    public void setUp() {
+        Currency gbp = Currency.getInstance("GBP");
+        decimalAmount = new BigDecimal(amount);
+        decimalBalance = new BigDecimal("1000.00");
+        minorAmount = Amount.of(decimalAmount, gbp);
+        minorBalance = Balance.of(decimalBalance, gbp);
+    }
+
+    @Benchmark
+    public BigDecimal depositWithdrawBigDecimal() {
+        BigDecimal deposited = decimalBalance.add(decimalAmount).setScale(2, RoundingMode.UNNECESSARY);
+        BigDecimal withdrawn = deposited.subtract(decimalAmount);
+        if (withdrawn.signum() < 0) {
+            throw new IllegalStateException("Insufficient funds");
+        }
+        decimalBalance = withdrawn.setScale(2, RoundingMode.UNNECESSARY);
+        return decimalBalance;
+    }
+
+    @Benchmark
+    public Balance depositWithdrawMinorUnits() {
+        minorBalance = minorBalance.plus(minorAmount).minus(minorAmount);
+        return minorBalance;
+    }
+}
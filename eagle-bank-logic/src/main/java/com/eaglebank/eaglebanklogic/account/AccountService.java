@@ -32,12 +32,15 @@ public class AccountService {
     }
 
     public Account fetchAccount(AccountId id, UserId callerId) {
-        Account account = repo.findById(id)
+        // Checked against the ownership index first, so a caller probing
+        // other users' accounts never gets one loaded.
+        AccountOwnership ownership = repo.findOwnership(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
-        if (!account.getOwnerId().equals(callerId)) {
+        if (!ownership.isOwnedBy(callerId)) {
             throw new ForbiddenException("Cannot fetch another user’s account");
         }
-        return account;
+        return repo.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
     }
 
     @Transactional
@@ -0,0 +1,23 @@
+package com.eaglebank.eaglebanklogic.ledger;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.function.Supplier;
+
+/**
+ * Default executor: runs the posting on the calling thread, relying on the
+ * database to serialize concurrent writers.
+ */
+public class InlineLedgerExecutor implements LedgerExecutor {
+    private final TransactionOperations tx;
+
+    public InlineLedgerExecutor(TransactionOperations tx) {
+        this.tx = tx;
+    }
+
+    @Override
+    public <T> T execute(AccountId accountId, Supplier<T> work) {
+        return tx.execute(status -> work.get());
+    }
+}
@@ -0,0 +1,8 @@
+package com.eaglebank.eaglebanklogic.ledger;
+
+/** Thrown when an account's ledger shard already has a full queue. */
+public class LedgerBusyException extends RuntimeException {
+    public LedgerBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.eaglebank.eaglebanklogic.ledger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionOperations;
+
+@Configuration
+public class LedgerConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "eaglebank.ledger.executor", havingValue = "sharded")
+    public ShardedLedgerExecutor shardedLedgerExecutor(
+            TransactionOperations tx,
+            @Value("${eaglebank.ledger.shards:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int shards,
+            @Value("${eaglebank.ledger.queue-capacity:10000}") int queueCapacity
+    ) {
+        return new ShardedLedgerExecutor(tx, shards, queueCapacity);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(LedgerExecutor.class)
+    public InlineLedgerExecutor inlineLedgerExecutor(TransactionOperations tx) {
+        return new InlineLedgerExecutor(tx);
+    }
+}
@@ -0,0 +1,13 @@
+package com.eaglebank.eaglebanklogic.ledger;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of ledger work that posts against a single account inside a
+ * database transaction.
+ */
+public interface LedgerExecutor {
+    <T> T execute(AccountId accountId, Supplier<T> work);
+}
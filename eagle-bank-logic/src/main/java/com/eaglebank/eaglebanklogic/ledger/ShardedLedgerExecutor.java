@@ -0,0 +1,112 @@
+package com.eaglebank.eaglebanklogic.ledger;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.exception.ConcurrentUpdateException;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer executor: every account is pinned to one of a fixed number of
+ * shards, and each shard applies its postings one at a time on its own thread.
+ * Posts against a hot account therefore queue in memory instead of piling up
+ * on the account row in the database.
+ *
+ * <p>Another instance, or a batch or transfer on this one, can still post
+ * to the same account at the same moment. Work that fails with
+ * {@link ConcurrentUpdateException} is run again in a new transaction, up
+ * to {@link #MAX_ATTEMPTS} times in all, after a short random pause so the
+ * two sides do not meet on the same sequence number again. The caller
+ * waits out the pause and queues the work afresh, so the shard's thread
+ * goes on with other accounts' postings meanwhile.
+ */
+public class ShardedLedgerExecutor implements LedgerExecutor, AutoCloseable {
+    static final int MAX_ATTEMPTS = 8;
+    private static final long BACKOFF_STEP_MILLIS = 5;
+
+    private final TransactionOperations tx;
+    private final ThreadPoolExecutor[] shards;
+
+    public ShardedLedgerExecutor(TransactionOperations tx, int shardCount, int queueCapacity) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1");
+        }
+        this.tx = tx;
+        this.shards = new ThreadPoolExecutor[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            String name = "ledger-shard-" + i;
+            shards[i] = new ThreadPoolExecutor(
+                    1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(queueCapacity),
+                    r -> {
+                        Thread t = new Thread(r, name);
+                        t.setDaemon(true);
+                        return t;
+                    });
+        }
+    }
+
+    @Override
+    public <T> T execute(AccountId accountId, Supplier<T> work) {
+        ExecutorService shard = shards[shardOf(accountId)];
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return executeOn(shard, work);
+            } catch (ConcurrentUpdateException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    private <T> T executeOn(ExecutorService shard, Supplier<T> work) {
+        CompletableFuture<T> result;
+        try {
+            result = CompletableFuture.supplyAsync(() -> tx.execute(status -> work.get()), shard);
+        } catch (RejectedExecutionException e) {
+            throw new LedgerBusyException("Ledger is busy, please retry");
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(attempt * BACKOFF_STEP_MILLIS + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a posting", e);
+        }
+    }
+
+    int shardOf(AccountId accountId) {
+        return Math.floorMod(accountId.value().hashCode(), shards.length);
+    }
+
+    int queuedOn(AccountId accountId) {
+        return shards[shardOf(accountId)].getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        for (ExecutorService shard : shards) {
+            shard.shutdown();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.eaglebank.eaglebanklogic.transaction;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
+import com.eaglebank.eaglebankdomain.transaction.*;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+@Service
+public class IdempotencyService {
+    private final IdempotencyRepository repo;
+
+    public IdempotencyService(IdempotencyRepository repo) {
+        this.repo = repo;
+    }
+
+    /**
+     * Returns the transaction already created under {@code key}, if any.
+     * Reusing a key for a different request is a client error rather than
+     * a replay.
+     */
+    public Optional<Transaction> replay(IdempotencyKey key,
+                                        AccountId accountId,
+                                        TransactionType type,
+                                        Amount amount) {
+        Optional<Transaction> prior = repo.find(key);
+        prior.ifPresent(txn -> {
+            if (!txn.getAccountId().equals(accountId)
+                    || txn.getType() != type
+                    || !txn.getAmount().equals(amount)) {
+                throw new InvalidUserDataException("Idempotency-Key was already used for a different request");
+            }
+        });
+        return prior;
+    }
+
+    public void record(IdempotencyKey key, Transaction txn) {
+        repo.save(key, txn);
+    }
+}
@@ -2,92 +2,315 @@ package com.eaglebank.eaglebanklogic.transaction;
 
 import com.eaglebank.eaglebankdomain.account.Account;
 import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.account.AccountOwnership;
 import com.eaglebank.eaglebankdomain.account.AccountRepository;
 import com.eaglebank.eaglebankdomain.account.Balance;
 import com.eaglebank.eaglebankdomain.exception.ForbiddenException;
 import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
 import com.eaglebank.eaglebankdomain.exception.ResourceNotFoundException;
+import com.eaglebank.eaglebankdomain.money.MinorUnits;
 import com.eaglebank.eaglebankdomain.transaction.*;
 import com.eaglebank.eaglebankdomain.user.UserId;
+import com.eaglebank.eaglebanklogic.ledger.LedgerExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.*;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class TransactionService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_BATCH_SIZE = 1000;
+
     private final TransactionRepository txnRepo;
     private final AccountRepository accountRepo;
+    private final LedgerExecutor ledger;
+    private final IdempotencyService idempotency;
 
     public TransactionService(TransactionRepository txnRepo,
-                              AccountRepository accountRepo) {
+                              AccountRepository accountRepo,
+                              LedgerExecutor ledger,
+                              IdempotencyService idempotency) {
         this.txnRepo = txnRepo;
         this.accountRepo = accountRepo;
+        this.ledger = ledger;
+        this.idempotency = idempotency;
     }
 
-    @Transactional
-    public Transaction deposit(AccountId accountId, UserId callerId, Amount amount) {
-        Account account = accountRepo.findById(accountId)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
-        if (!account.getOwnerId().equals(callerId)) {
-            throw new ForbiddenException("Cannot deposit into another user's account");
-        }
+    public Transaction deposit(AccountId accountId, UserId callerId, Amount amount, Currency currency) {
+        return deposit(accountId, callerId, amount, currency, null);
+    }
+
+    /**
+     * As {@link #deposit(AccountId, UserId, Amount, Currency)}, but when
+     * {@code key} is given the key is claimed in the same database
+     * transaction as the balance change, and a repeat of the key returns the
+     * first result.
+     */
+    public Transaction deposit(AccountId accountId, UserId callerId, Amount amount, Currency currency,
+                               IdempotencyKey key) {
+        return ledger.execute(accountId, () -> applyDeposit(accountId, callerId, amount, currency, key));
+    }
+
+    public Transaction withdraw(AccountId accountId, UserId callerId, Amount amount, Currency currency) {
+        return withdraw(accountId, callerId, amount, currency, null);
+    }
+
+    public Transaction withdraw(AccountId accountId, UserId callerId, Amount amount, Currency currency,
+                                IdempotencyKey key) {
+        return ledger.execute(accountId, () -> applyWithdrawal(accountId, callerId, amount, currency, key));
+    }
+
+    private Transaction applyDeposit(AccountId accountId, UserId callerId, Amount amount, Currency currency,
+                                     IdempotencyKey key) {
+        AccountOwnership account = authorize(accountId, callerId, "Cannot deposit into another user's account");
+        checkCurrency(account.currency(), currency, amount);
 
         Transaction txn = Transaction.create(
                 accountId,
                 TransactionType.DEPOSIT,
                 amount,
-                account.getCurrency()
+                account.currency()
         );
-        txnRepo.save(txn);
+        if (key != null) {
+            Optional<Transaction> prior = idempotency.replay(key, accountId, TransactionType.DEPOSIT, amount);
+            if (prior.isPresent()) {
+                return prior.get();
+            }
+            idempotency.record(key, txn);
+        }
 
-        Balance newBalance = new Balance(account.getBalance().value().add(amount.value()));
-        accountRepo.save(account.withBalance(newBalance));
+        if (!accountRepo.applyDelta(accountId, amount.minorUnits(), amount.exponent())) {
+            throw new ResourceNotFoundException("Account not found");
+        }
+        txnRepo.save(txn);
 
         return txn;
     }
 
-    @Transactional
-    public Transaction withdraw(AccountId accountId, UserId callerId, Amount amount) {
-        Account account = accountRepo.findById(accountId)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
-        if (!account.getOwnerId().equals(callerId)) {
-            throw new ForbiddenException("Cannot withdraw from another user's account");
-        }
-
-        if (account.getBalance().value().compareTo(amount.value()) < 0) {
-            throw new InvalidUserDataException("Insufficient funds");
-        }
+    private Transaction applyWithdrawal(AccountId accountId, UserId callerId, Amount amount, Currency currency,
+                                        IdempotencyKey key) {
+        AccountOwnership account = authorize(accountId, callerId, "Cannot withdraw from another user's account");
+        checkCurrency(account.currency(), currency, amount);
 
         Transaction txn = Transaction.create(
                 accountId,
                 TransactionType.WITHDRAWAL,
                 amount,
-                account.getCurrency()
+                account.currency()
         );
-        txnRepo.save(txn);
+        if (key != null) {
+            Optional<Transaction> prior = idempotency.replay(key, accountId, TransactionType.WITHDRAWAL, amount);
+            if (prior.isPresent()) {
+                return prior.get();
+            }
+            idempotency.record(key, txn);
+        }
 
-        Balance newBalance = new Balance(account.getBalance().value().subtract(amount.value()));
-        accountRepo.save(account.withBalance(newBalance));
+        // The funds check happens in the UPDATE itself, so concurrent
+        // withdrawals cannot both pass it against the same starting balance.
+        if (!accountRepo.applyDelta(accountId, -amount.minorUnits(), amount.exponent())) {
+            throw new InvalidUserDataException("Insufficient funds");
+        }
+        txnRepo.save(txn);
 
         return txn;
     }
 
-    public List<Transaction> listTransactions(AccountId accountId, UserId callerId) {
-        Account account = accountRepo.findById(accountId)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
-        if (!account.getOwnerId().equals(callerId)) {
-            throw new ForbiddenException("Cannot list transactions on another user's account");
+    /**
+     * Posts many deposits and withdrawals in one database transaction. Items
+     * apply in order, so an earlier deposit can fund a later withdrawal on
+     * the same account. An item that fails a business check is reported and
+     * skipped, and the rest of the batch still posts.
+     */
+    @Transactional
+    public List<BatchItemResult> postBatch(UserId callerId, List<BatchItem> items) {
+        if (items.isEmpty() || items.size() > MAX_BATCH_SIZE) {
+            throw new InvalidUserDataException("Batch must contain between 1 and " + MAX_BATCH_SIZE + " items");
+        }
+
+        Set<AccountId> ids = new HashSet<>();
+        items.forEach(item -> ids.add(item.accountId()));
+        Map<AccountId, Account> accounts = new HashMap<>();
+        for (Account account : accountRepo.findAllByIdForUpdate(ids)) {
+            accounts.put(account.getId(), account);
+        }
+
+        // The rows are locked, so running balances can be kept in memory and
+        // written back once at the end.
+        Map<AccountId, Balance> balances = new LinkedHashMap<>();
+        List<Transaction> posted = new ArrayList<>();
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            BatchItem item = items.get(i);
+            Account account = accounts.get(item.accountId());
+            String rejection = checkBatchItem(item, account, callerId);
+            if (rejection == null) {
+                Balance current = balances.getOrDefault(item.accountId(), account.getBalance());
+                if (item.type() != TransactionType.DEPOSIT && !current.covers(item.amount())) {
+                    rejection = "Insufficient funds";
+                } else {
+                    balances.put(item.accountId(), item.type() == TransactionType.DEPOSIT
+                            ? current.plus(item.amount())
+                            : current.minus(item.amount()));
+                    Transaction txn = Transaction.create(
+                            item.accountId(),
+                            item.type(),
+                            item.amount(),
+                            account.getCurrency()
+                    );
+                    posted.add(txn);
+                    results.add(BatchItemResult.posted(i, txn));
+                    continue;
+                }
+            }
+            results.add(BatchItemResult.rejected(i, rejection));
+        }
+
+        if (!balances.isEmpty()) {
+            List<Account> updated = new ArrayList<>(balances.size());
+            balances.forEach((id, balance) -> updated.add(accounts.get(id).withBalance(balance)));
+            accountRepo.saveAll(updated);
+            txnRepo.saveAll(posted);
         }
-        return txnRepo.findByAccount(accountId);
+        return results;
     }
 
-    public Transaction fetchTransaction(AccountId accountId, TransactionId txnId, UserId callerId) {
-        Account account = accountRepo.findById(accountId)
+    /**
+     * Moves {@code amount} between two of the caller's accounts in one
+     * database transaction. Both rows are locked up front in ascending id
+     * order, so transfers running in opposite directions between the same
+     * pair of accounts queue behind each other instead of deadlocking.
+     */
+    @Transactional
+    public Transfer transfer(AccountId fromId, AccountId toId, UserId callerId, Amount amount, Currency currency) {
+        if (fromId.equals(toId)) {
+            throw new InvalidUserDataException("Cannot transfer to the same account");
+        }
+
+        Map<AccountId, Account> accounts = new HashMap<>();
+        for (Account account : accountRepo.findAllByIdForUpdate(List.of(fromId, toId))) {
+            accounts.put(account.getId(), account);
+        }
+        Account from = accounts.get(fromId);
+        Account to = accounts.get(toId);
+        if (from == null || to == null) {
+            throw new ResourceNotFoundException("Account not found");
+        }
+        if (!from.getOwnerId().equals(callerId) || !to.getOwnerId().equals(callerId)) {
+            throw new ForbiddenException("Cannot transfer between another user's accounts");
+        }
+        if (!from.getCurrency().equals(to.getCurrency())) {
+            throw new InvalidUserDataException("Cannot transfer between accounts in different currencies");
+        }
+        checkCurrency(from.getCurrency(), currency, amount);
+        if (!from.getBalance().covers(amount)) {
+            throw new InvalidUserDataException("Insufficient funds");
+        }
+
+        Transaction debit = Transaction.create(fromId, TransactionType.TRANSFER_OUT, amount, from.getCurrency());
+        Transaction credit = Transaction.create(toId, TransactionType.TRANSFER_IN, amount, to.getCurrency());
+        accountRepo.saveAll(List.of(
+                from.withBalance(from.getBalance().minus(amount)),
+                to.withBalance(to.getBalance().plus(amount))
+        ));
+        txnRepo.saveAll(List.of(debit, credit));
+        return new Transfer(debit, credit);
+    }
+
+    /**
+     * Checks the caller owns the account from its owner and currency alone,
+     * without loading and rehydrating the whole account. The answer may be
+     * cached; postings still fail on a deleted account when the update
+     * finds no row.
+     */
+    private AccountOwnership authorize(AccountId accountId, UserId callerId, String forbidden) {
+        return checkOwner(accountRepo.findOwnership(accountId), callerId, forbidden);
+    }
+
+    /**
+     * As {@link #authorize}, but asks the store itself, so history is not
+     * served for an account deleted on another instance.
+     */
+    private AccountOwnership authorizeRead(AccountId accountId, UserId callerId, String forbidden) {
+        return checkOwner(accountRepo.findStoredOwnership(accountId), callerId, forbidden);
+    }
+
+    private static AccountOwnership checkOwner(Optional<AccountOwnership> found, UserId callerId, String forbidden) {
+        AccountOwnership ownership = found
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
+        if (!ownership.isOwnedBy(callerId)) {
+            throw new ForbiddenException(forbidden);
+        }
+        return ownership;
+    }
+
+    /**
+     * Amounts carry only an exponent, so GBP and USD look alike; the request
+     * currency is compared first and the exponent then checked against it.
+     */
+    private static void checkCurrency(Currency accountCurrency, Currency currency, Amount amount) {
+        if (!accountCurrency.equals(currency) || amount.exponent() != MinorUnits.exponentOf(currency)) {
+            throw new InvalidUserDataException("Transaction currency does not match account currency");
+        }
+    }
+
+    private String checkBatchItem(BatchItem item, Account account, UserId callerId) {
+        if (account == null) {
+            return "Account not found";
+        }
         if (!account.getOwnerId().equals(callerId)) {
-            throw new ForbiddenException("Cannot fetch transaction on another user's account");
+            return "Cannot post to another user's account";
+        }
+        if (!account.getCurrency().equals(item.currency())) {
+            return "Transaction currency does not match account currency";
+        }
+        return null;
+    }
+
+    public TransactionPage listTransactions(AccountId accountId,
+                                            UserId callerId,
+                                            TransactionCursor after,
+                                            int pageSize) {
+        authorizeRead(accountId, callerId, "Cannot list transactions on another user's account");
+
+        int size = Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page follows.
+        List<Transaction> rows = txnRepo.findPageByAccount(accountId, after, size + 1);
+        if (rows.size() <= size) {
+            return new TransactionPage(rows, null);
         }
+        List<Transaction> page = rows.subList(0, size);
+        return new TransactionPage(page, TransactionCursor.after(page.get(size - 1)));
+    }
+
+    /**
+     * Hands every transaction on the account, oldest first, to {@code sink}
+     * as it is read. The sink runs inside the read transaction, so a slow
+     * consumer holds the cursor open rather than buffering rows.
+     */
+    @Transactional(readOnly = true)
+    public void exportTransactions(AccountId accountId, UserId callerId, Consumer<Transaction> sink) {
+        authorizeRead(accountId, callerId, "Cannot export transactions on another user's account");
+
+        try (Stream<Transaction> history = txnRepo.streamByAccount(accountId)) {
+            history.forEach(sink);
+        }
+    }
+
+    public Transaction fetchTransaction(AccountId accountId, TransactionId txnId, UserId callerId) {
+        AccountOwnership account = authorizeRead(accountId, callerId, "Cannot fetch transaction on another user's account");
 
         Transaction txn = txnRepo.findById(txnId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found"));
@@ -96,7 +319,7 @@ public class TransactionService {
             throw new ResourceNotFoundException("Transaction not found for given account");
         }
 
-        if (!txn.getCurrency().equals(account.getCurrency())) {
+        if (!txn.getCurrency().equals(account.currency())) {
             throw new InvalidUserDataException("Transaction currency does not match account currency");
         }
 
@@ -32,7 +32,7 @@ public class UserService {
                           PhoneNumber phoneNumber,
                           Address address,
                           String rawPassword) {
-        if (repo.findByEmail(email).isPresent()) {
+        if (repo.mightContainEmail(email) && repo.findCredentials(email).isPresent()) {
             throw new InvalidUserDataException("Email already in use");
         }
         User u = User.create(fn, ln, dob, email, phoneNumber, address,
@@ -60,9 +60,11 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         if (email.isPresent()) {
-            var existingUser = repo.findByEmail(email.get());
-            if (existingUser.isPresent() && !existingUser.get().getId().equals(id)) {
-                throw new InvalidUserDataException("Email already in use");
+            if (repo.mightContainEmail(email.get())) {
+                var existingUser = repo.findByEmail(email.get());
+                if (existingUser.isPresent() && !existingUser.get().getId().equals(id)) {
+                    throw new InvalidUserDataException("Email already in use");
+                }
             }
             user = user.withEmail(email.get());
         }
@@ -97,7 +99,27 @@ public class UserService {
         repo.delete(user);
     }
 
+    /**
+     * Rehashes the password of a user who has just proved it, if the stored
+     * hash is weaker than the encoder now produces. The user is read again
+     * after hashing so a profile update made meanwhile is not overwritten;
+     * hashing is kept out of any transaction so it holds no connection.
+     */
+    public void upgradePasswordHash(UserCredentials credentials, String rawPassword) {
+        if (!encoder.upgradeEncoding(credentials.passwordHash().value())) {
+            return;
+        }
+        PasswordHash upgraded = new PasswordHash(encoder.encode(rawPassword));
+        repo.findById(credentials.userId())
+                .filter(current -> current.getPasswordHash().equals(credentials.passwordHash()))
+                .ifPresent(current -> repo.save(current.withPasswordHash(upgraded)));
+    }
+
     public Optional<User> findByEmail(EmailAddress email) {
         return repo.findByEmail(email);
     }
+
+    public Optional<UserCredentials> findCredentials(EmailAddress email) {
+        return repo.findCredentials(email);
+    }
 }
\ No newline at end of file
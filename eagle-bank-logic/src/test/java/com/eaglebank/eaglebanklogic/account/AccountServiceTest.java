@@ -42,7 +42,7 @@ class AccountServiceTest {
                 AccountId.newId(),
                 ownerId,
                 accountName,
-                new Balance(BigDecimal.ZERO),
+                Balance.of(BigDecimal.ZERO, Currency.getInstance("GBP")),
                 new AccountNumber("12345678"),
                 new SortCode("123456"),
                 AccountType.CHECKING,
@@ -52,6 +52,8 @@ class AccountServiceTest {
         );
 
         when(repo.save(any(Account.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(repo.findOwnership(existingAccount.getId()))
+                .thenReturn(Optional.of(AccountOwnership.of(existingAccount)));
     }
 
     @Test
@@ -61,7 +63,7 @@ class AccountServiceTest {
         assertNotNull(result.getId(), "Account ID should be generated");
         assertEquals(ownerId, result.getOwnerId(), "Owner ID should match");
         assertEquals(accountName, result.getName(), "Account name should match");
-        assertEquals(BigDecimal.ZERO.setScale(2), result.getBalance().value(),
+        assertEquals(BigDecimal.ZERO.setScale(2), result.getBalance().toBigDecimal(),
                 "New account should have zero balance");
         assertEquals("123456", result.getSortCode().value(),
                 "Sort code should match bank's code");
@@ -81,7 +83,7 @@ class AccountServiceTest {
                         AccountId.newId(),
                         ownerId,
                         new AccountName("Account 1"),
-                        new Balance(BigDecimal.ZERO),
+                        Balance.of(BigDecimal.ZERO, Currency.getInstance("GBP")),
                         new AccountNumber("12345678"),
                         new SortCode("123456"),
                         AccountType.CHECKING,
@@ -93,7 +95,7 @@ class AccountServiceTest {
                         AccountId.newId(),
                         ownerId,
                         new AccountName("Account 2"),
-                        new Balance(BigDecimal.ZERO),
+                        Balance.of(BigDecimal.ZERO, Currency.getInstance("GBP")),
                         new AccountNumber("87654321"),
                         new SortCode("123456"),
                         AccountType.SAVINGS,
@@ -131,7 +133,8 @@ class AccountServiceTest {
         assertThrows(ForbiddenException.class, () ->
                 service.fetchAccount(id, otherUserId)
         );
-        verify(repo).findById(id);
+        verify(repo).findOwnership(id);
+        verify(repo, never()).findById(any());
     }
 
     @Test
@@ -142,7 +145,8 @@ class AccountServiceTest {
         assertThrows(ResourceNotFoundException.class, () ->
                 service.fetchAccount(id, ownerId)
         );
-        verify(repo).findById(id);
+        verify(repo).findOwnership(id);
+        verify(repo, never()).findById(any());
     }
 
     @Test
@@ -174,7 +178,7 @@ class AccountServiceTest {
         assertThrows(ForbiddenException.class, () ->
                 service.updateAccount(id, otherUserId, newName)
         );
-        verify(repo).findById(id);
+        verify(repo, never()).findById(any());
         verify(repo, never()).save(any());
     }
 
@@ -198,7 +202,7 @@ class AccountServiceTest {
         assertThrows(ForbiddenException.class, () ->
                 service.deleteAccount(id, otherUserId)
         );
-        verify(repo).findById(id);
+        verify(repo, never()).findById(any());
         verify(repo, never()).delete(any());
     }
-}
\ No newline at end of file
+}
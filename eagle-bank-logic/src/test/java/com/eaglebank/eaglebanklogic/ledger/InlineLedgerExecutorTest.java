@@ -0,0 +1,20 @@
+package com.eaglebank.eaglebanklogic.ledger;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InlineLedgerExecutorTest {
+
+    @Test
+    void shouldRunWorkOnCallingThread() {
+        InlineLedgerExecutor executor = new InlineLedgerExecutor(TransactionOperations.withoutTransaction());
+        Thread caller = Thread.currentThread();
+
+        Thread ranOn = executor.execute(AccountId.newId(), Thread::currentThread);
+
+        assertEquals(caller, ranOn);
+    }
+}
@@ -0,0 +1,180 @@
+package com.eaglebank.eaglebanklogic.ledger;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.exception.ConcurrentUpdateException;
+import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedLedgerExecutorTest {
+
+    private ShardedLedgerExecutor executor;
+
+    @BeforeEach
+    void init() {
+        executor = new ShardedLedgerExecutor(TransactionOperations.withoutTransaction(), 4, 1_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void shouldAlwaysRouteAnAccountToTheSameShard() {
+        AccountId accountId = AccountId.newId();
+
+        int shard = executor.shardOf(accountId);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(shard, executor.shardOf(accountId));
+        }
+        assertTrue(shard >= 0 && shard < 4);
+    }
+
+    @Test
+    void shouldReturnResultOfWork() {
+        String result = executor.execute(AccountId.newId(), () -> "posted");
+
+        assertEquals("posted", result);
+    }
+
+    @Test
+    void shouldRethrowDomainExceptionsFromWork() {
+        AccountId accountId = AccountId.newId();
+
+        assertThrows(InvalidUserDataException.class, () ->
+                executor.execute(accountId, () -> {
+                    throw new InvalidUserDataException("Insufficient funds");
+                })
+        );
+    }
+
+    @Test
+    void shouldApplyConcurrentPostsToOneAccountSequentially() throws Exception {
+        AccountId accountId = AccountId.newId();
+        long[] balance = {0};
+        ExecutorService clients = Executors.newFixedThreadPool(64);
+        try {
+            List<Future<?>> posts = new ArrayList<>();
+            for (int i = 0; i < 6_400; i++) {
+                posts.add(clients.submit(() -> executor.execute(accountId, () -> balance[0]++)));
+            }
+            for (Future<?> post : posts) {
+                post.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        assertEquals(6_400, executor.execute(accountId, () -> balance[0]));
+    }
+
+    @Test
+    void shouldRunWorkAgainAfterLosingARace() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = executor.execute(AccountId.newId(), () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ConcurrentUpdateException("Account was posted to concurrently, please retry");
+            }
+            return "posted";
+        });
+
+        assertEquals("posted", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void shouldServeOtherPostingsOnTheShardWhileRetrying() throws Exception {
+        AccountId retrying = AccountId.newId();
+        AccountId other = AccountId.newId();
+        CountDownLatch lost = new CountDownLatch(1);
+        AtomicBoolean otherPosted = new AtomicBoolean();
+        ExecutorService clients = Executors.newFixedThreadPool(2);
+        try (ShardedLedgerExecutor single = new ShardedLedgerExecutor(TransactionOperations.withoutTransaction(), 1, 10)) {
+            // Keeps losing until the other account's posting has run, which
+            // it only can if the back-off leaves the shard's thread free.
+            Future<String> retried = clients.submit(() -> single.execute(retrying, () -> {
+                if (!otherPosted.get()) {
+                    lost.countDown();
+                    throw new ConcurrentUpdateException("Account was posted to concurrently, please retry");
+                }
+                return "retried";
+            }));
+            lost.await();
+            Future<Boolean> posted = clients.submit(() -> single.execute(other, () -> otherPosted.getAndSet(true)));
+
+            assertFalse(posted.get());
+            assertEquals("retried", retried.get());
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ConcurrentUpdateException.class, () ->
+                executor.execute(AccountId.newId(), () -> {
+                    attempts.incrementAndGet();
+                    throw new ConcurrentUpdateException("Account was posted to concurrently, please retry");
+                })
+        );
+        assertEquals(ShardedLedgerExecutor.MAX_ATTEMPTS, attempts.get());
+    }
+
+    @Test
+    void shouldReportBusyWhenShardQueueIsFull() throws Exception {
+        AccountId accountId = AccountId.newId();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService clients = Executors.newFixedThreadPool(2);
+        try (ShardedLedgerExecutor tiny = new ShardedLedgerExecutor(TransactionOperations.withoutTransaction(), 1, 1)) {
+            Future<?> blocking = clients.submit(() -> tiny.execute(accountId, () -> {
+                running.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "blocking";
+            }));
+            running.await();
+            Future<?> queued = clients.submit(() -> tiny.execute(accountId, () -> "queued"));
+            while (tiny.queuedOn(accountId) == 0) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(LedgerBusyException.class, () -> tiny.execute(accountId, () -> "rejected"));
+
+            release.countDown();
+            assertEquals("blocking", blocking.get());
+            assertEquals("queued", queued.get());
+        } finally {
+            release.countDown();
+            clients.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidShardCount() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new ShardedLedgerExecutor(TransactionOperations.withoutTransaction(), 0, 1)
+        );
+    }
+}
@@ -0,0 +1,93 @@
+package com.eaglebank.eaglebanklogic.transaction;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
+import com.eaglebank.eaglebankdomain.transaction.*;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRepository repo;
+    private IdempotencyService service;
+
+    private AccountId accountId;
+    private IdempotencyKey key;
+    private Transaction original;
+
+    @BeforeEach
+    void init() {
+        MockitoAnnotations.openMocks(this);
+        service = new IdempotencyService(repo);
+
+        accountId = AccountId.newId();
+        key = new IdempotencyKey(UserId.newId(), "retry-1");
+        original = Transaction.create(
+                accountId,
+                TransactionType.DEPOSIT,
+                Amount.of(new BigDecimal("10.00"), Currency.getInstance("GBP")),
+                Currency.getInstance("GBP")
+        );
+    }
+
+    @Test
+    void shouldReturnEmptyForUnknownKey() {
+        when(repo.find(key)).thenReturn(Optional.empty());
+
+        assertTrue(service.replay(key, accountId, TransactionType.DEPOSIT, Amount.of(BigDecimal.TEN, Currency.getInstance("GBP"))).isEmpty());
+    }
+
+    @Test
+    void shouldReplayMatchingRequestIgnoringAmountScale() {
+        when(repo.find(key)).thenReturn(Optional.of(original));
+
+        Optional<Transaction> result = service.replay(key, accountId, TransactionType.DEPOSIT, Amount.of(BigDecimal.TEN, Currency.getInstance("GBP")));
+
+        assertEquals(Optional.of(original), result);
+    }
+
+    @Test
+    void shouldRejectDifferentAccount() {
+        when(repo.find(key)).thenReturn(Optional.of(original));
+
+        assertThrows(InvalidUserDataException.class, () ->
+                service.replay(key, AccountId.newId(), TransactionType.DEPOSIT, Amount.of(BigDecimal.TEN, Currency.getInstance("GBP")))
+        );
+    }
+
+    @Test
+    void shouldRejectDifferentType() {
+        when(repo.find(key)).thenReturn(Optional.of(original));
+
+        assertThrows(InvalidUserDataException.class, () ->
+                service.replay(key, accountId, TransactionType.WITHDRAWAL, Amount.of(BigDecimal.TEN, Currency.getInstance("GBP")))
+        );
+    }
+
+    @Test
+    void shouldRejectDifferentAmount() {
+        when(repo.find(key)).thenReturn(Optional.of(original));
+
+        assertThrows(InvalidUserDataException.class, () ->
+                service.replay(key, accountId, TransactionType.DEPOSIT, Amount.of(BigDecimal.ONE, Currency.getInstance("GBP")))
+        );
+    }
+
+    @Test
+    void shouldRecordThroughRepository() {
+        service.record(key, original);
+
+        verify(repo).save(key, original);
+    }
+}
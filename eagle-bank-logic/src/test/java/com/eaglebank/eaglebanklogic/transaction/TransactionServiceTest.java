@@ -6,19 +6,28 @@ import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
 import com.eaglebank.eaglebankdomain.exception.ResourceNotFoundException;
 import com.eaglebank.eaglebankdomain.transaction.*;
 import com.eaglebank.eaglebankdomain.user.UserId;
+import com.eaglebank.eaglebanklogic.ledger.InlineLedgerExecutor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Currency;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 class TransactionServiceTest {
@@ -27,6 +36,8 @@ class TransactionServiceTest {
     private TransactionRepository txnRepo;
     @Mock
     private AccountRepository accountRepo;
+    @Mock
+    private IdempotencyRepository idempotencyRepo;
     private TransactionService service;
 
     private UserId ownerId;
@@ -40,7 +51,9 @@ class TransactionServiceTest {
     @BeforeEach
     void init() {
         MockitoAnnotations.openMocks(this);
-        service = new TransactionService(txnRepo, accountRepo);
+        service = new TransactionService(txnRepo, accountRepo,
+                new InlineLedgerExecutor(TransactionOperations.withoutTransaction()),
+                new IdempotencyService(idempotencyRepo));
 
         ownerId = UserId.newId();
         accountId = AccountId.newId();
@@ -48,7 +61,7 @@ class TransactionServiceTest {
                 accountId,
                 ownerId,
                 new AccountName("Test Account"),
-                new Balance(BigDecimal.ZERO),
+                Balance.of(BigDecimal.ZERO, gbp),
                 new AccountNumber("12345678"),
                 new SortCode("123456"),
                 AccountType.SAVINGS,
@@ -56,17 +69,22 @@ class TransactionServiceTest {
                 now,
                 now
         );
-        amount = new Amount(new BigDecimal("100.00"));
+        amount = Amount.of(new BigDecimal("100.00"), gbp);
 
         when(txnRepo.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
         when(accountRepo.save(any(Account.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(accountRepo.applyDelta(any(AccountId.class), anyLong(), anyInt()))
+                .thenReturn(true);
+        // Ownership is answered from findById unless a test stubs it itself.
+        when(accountRepo.findOwnership(any(AccountId.class))).thenCallRealMethod();
+        when(accountRepo.findStoredOwnership(any(AccountId.class))).thenCallRealMethod();
     }
 
     @Test
     void shouldProcessDepositWithCorrectCurrency() {
         when(accountRepo.findById(accountId)).thenReturn(Optional.of(account));
 
-        Transaction result = service.deposit(accountId, ownerId, amount);
+        Transaction result = service.deposit(accountId, ownerId, amount, gbp);
 
         assertNotNull(result.getId());
         assertEquals(accountId, result.getAccountId());
@@ -75,7 +93,7 @@ class TransactionServiceTest {
         assertEquals(gbp, result.getCurrency());
 
         verify(txnRepo).save(any(Transaction.class));
-        verify(accountRepo).save(any(Account.class));
+        verify(accountRepo).applyDelta(accountId, 10000, 2);
     }
 
     @Test
@@ -84,7 +102,7 @@ class TransactionServiceTest {
                 accountId,
                 ownerId,
                 new AccountName("Test Account"),
-                new Balance(new BigDecimal("200.00")),
+                Balance.of(new BigDecimal("200.00"), gbp),
                 new AccountNumber("12345678"),
                 new SortCode("123456"),
                 AccountType.SAVINGS,
@@ -94,7 +112,7 @@ class TransactionServiceTest {
         );
         when(accountRepo.findById(accountId)).thenReturn(Optional.of(accountWithBalance));
 
-        Transaction result = service.withdraw(accountId, ownerId, amount);
+        Transaction result = service.withdraw(accountId, ownerId, amount, gbp);
 
         assertNotNull(result.getId());
         assertEquals(accountId, result.getAccountId());
@@ -103,7 +121,7 @@ class TransactionServiceTest {
         assertEquals(gbp, result.getCurrency());
 
         verify(txnRepo).save(any(Transaction.class));
-        verify(accountRepo).save(any(Account.class));
+        verify(accountRepo).applyDelta(accountId, -10000, 2);
     }
 
     @Test
@@ -138,7 +156,7 @@ class TransactionServiceTest {
     void shouldProcessDepositWhenAccountExists() {
         when(accountRepo.findById(accountId)).thenReturn(Optional.of(account));
 
-        Transaction result = service.deposit(accountId, ownerId, amount);
+        Transaction result = service.deposit(accountId, ownerId, amount, gbp);
 
         assertNotNull(result.getId());
         assertEquals(accountId, result.getAccountId());
@@ -146,7 +164,7 @@ class TransactionServiceTest {
         assertEquals(amount, result.getAmount());
 
         verify(txnRepo).save(any(Transaction.class));
-        verify(accountRepo).save(any(Account.class));
+        verify(accountRepo).applyDelta(accountId, 10000, 2);
     }
 
     @Test
@@ -156,7 +174,7 @@ class TransactionServiceTest {
                 accountId,
                 ownerId,
                 new AccountName("Test Account"),
-                new Balance(initialBalance),
+                Balance.of(initialBalance, gbp),
                 new AccountNumber("12345678"),
                 new SortCode("123456"),
                 AccountType.SAVINGS,
@@ -166,11 +184,10 @@ class TransactionServiceTest {
         );
         when(accountRepo.findById(accountId)).thenReturn(Optional.of(accountWithBalance));
 
-        service.deposit(accountId, ownerId, amount);
+        service.deposit(accountId, ownerId, amount, gbp);
 
-        verify(accountRepo).save(argThat(updatedAccount ->
-                updatedAccount.getBalance().value()
-                        .equals(initialBalance.add(amount.value()))));
+        verify(accountRepo).applyDelta(accountId, 10000, 2);
+        verify(accountRepo, never()).save(any());
     }
 
     @Test
@@ -179,7 +196,7 @@ class TransactionServiceTest {
                 accountId,
                 ownerId,
                 new AccountName("Test Account"),
-                new Balance(new BigDecimal("200.00")),
+                Balance.of(new BigDecimal("200.00"), gbp),
                 new AccountNumber("12345678"),
                 new SortCode("123456"),
                 AccountType.SAVINGS,
@@ -189,7 +206,7 @@ class TransactionServiceTest {
         );
         when(accountRepo.findById(accountId)).thenReturn(Optional.of(accountWithBalance));
 
-        Transaction result = service.withdraw(accountId, ownerId, amount);
+        Transaction result = service.withdraw(accountId, ownerId, amount, gbp);
 
         assertNotNull(result.getId());
         assertEquals(accountId, result.getAccountId());
@@ -197,7 +214,7 @@ class TransactionServiceTest {
         assertEquals(amount, result.getAmount());
 
         verify(txnRepo).save(any(Transaction.class));
-        verify(accountRepo).save(any(Account.class));
+        verify(accountRepo).applyDelta(accountId, -10000, 2);
     }
 
 
@@ -207,7 +224,7 @@ class TransactionServiceTest {
                 accountId,
                 ownerId,
                 new AccountName("Test Account"),
-                new Balance(new BigDecimal("50.00")),
+                Balance.of(new BigDecimal("50.00"), gbp),
                 new AccountNumber("12345678"),
                 new SortCode("123456"),
                 AccountType.SAVINGS,
@@ -216,15 +233,311 @@ class TransactionServiceTest {
                 now
         );
         when(accountRepo.findById(accountId)).thenReturn(Optional.of(accountWithLowBalance));
+        when(accountRepo.applyDelta(accountId, -10000, 2)).thenReturn(false);
 
         assertThrows(InvalidUserDataException.class, () ->
-                service.withdraw(accountId, ownerId, amount)
+                service.withdraw(accountId, ownerId, amount, gbp)
         );
 
         verify(txnRepo, never()).save(any());
         verify(accountRepo, never()).save(any());
     }
 
+    @Test
+    void shouldThrowResourceNotFoundWhenAccountDisappearsBeforeDeposit() {
+        when(accountRepo.findById(accountId)).thenReturn(Optional.of(account));
+        when(accountRepo.applyDelta(accountId, 10000, 2)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () ->
+                service.deposit(accountId, ownerId, amount, gbp)
+        );
+
+        verify(txnRepo, never()).save(any());
+    }
+
+    @Test
+    void shouldRejectAmountInCurrencyWithDifferentExponent() {
+        when(accountRepo.findById(accountId)).thenReturn(Optional.of(account));
+        Amount yen = Amount.of(new BigDecimal("100"), Currency.getInstance("JPY"));
+
+        assertThrows(InvalidUserDataException.class, () ->
+                service.deposit(accountId, ownerId, yen, Currency.getInstance("JPY"))
+        );
+
+        verify(accountRepo, never()).applyDelta(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldRejectDepositInOtherCurrencyWithSameExponent() {
+        when(accountRepo.findById(accountId)).thenReturn(Optional.of(account));
+        Amount dollars = Amount.of(new BigDecimal("100.00"), usd);
+
+        assertThrows(InvalidUserDataException.class, () ->
+                service.deposit(accountId, ownerId, dollars, usd)
+        );
+
+        verify(accountRepo, never()).applyDelta(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldRejectWithdrawalInOtherCurrencyWithSameExponent() {
+        when(accountRepo.findById(accountId)).thenReturn(Optional.of(account));
+
+        assertThrows(InvalidUserDataException.class, () ->
+                service.withdraw(accountId, ownerId, amount, usd)
+        );
+
+        verify(accountRepo, never()).applyDelta(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldClaimIdempotencyKeyBeforeMovingBalance() {
+        when(accountRepo.findById(accountId)).thenReturn(Optional.of(account));
+        IdempotencyKey key = new IdempotencyKey(ownerId, "retry-1");
+
+        Transaction result = service.deposit(accountId, ownerId, amount, gbp, key);
+
+        var inOrder = inOrder(idempotencyRepo, accountRepo, txnRepo);
+        inOrder.verify(idempotencyRepo).save(key, result);
+        inOrder.verify(accountRepo).applyDelta(accountId, 10000, 2);
+        inOrder.verify(txnRepo).save(result);
+    }
+
+    @Test
+    void shouldReplayDepositWithoutMovingBalance() {
+        when(accountRepo.findById(accountId)).thenReturn(Optional.of(account));
+        IdempotencyKey key = new IdempotencyKey(ownerId, "retry-1");
+        Transaction original = Transaction.create(accountId, TransactionType.DEPOSIT, amount, gbp);
+        when(idempotencyRepo.find(key)).thenReturn(Optional.of(original));
+
+        Transaction result = service.deposit(accountId, ownerId, amount, gbp, key);
+
+        assertSame(original, result);
+        verify(idempotencyRepo, never()).save(any(), any());
+        verify(accountRepo, never()).applyDelta(any(), anyLong(), anyInt());
+        verify(txnRepo, never()).save(any());
+    }
+
+    @Test
+    void shouldReplayWithdrawalWithoutMovingBalance() {
+        when(accountRepo.findById(accountId)).thenReturn(Optional.of(account));
+        IdempotencyKey key = new IdempotencyKey(ownerId, "retry-2");
+        Transaction original = Transaction.create(accountId, TransactionType.WITHDRAWAL, amount, gbp);
+        when(idempotencyRepo.find(key)).thenReturn(Optional.of(original));
+
+        Transaction result = service.withdraw(accountId, ownerId, amount, gbp, key);
+
+        assertSame(original, result);
+        verify(accountRepo, never()).applyDelta(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldRejectIdempotencyKeyReusedForDifferentRequest() {
+        when(accountRepo.findById(accountId)).thenReturn(Optional.of(account));
+        IdempotencyKey key = new IdempotencyKey(ownerId, "retry-3");
+        Transaction original = Transaction.create(accountId, TransactionType.DEPOSIT, amount, gbp);
+        when(idempotencyRepo.find(key)).thenReturn(Optional.of(original));
+
+        assertThrows(InvalidUserDataException.class, () ->
+                service.withdraw(accountId, ownerId, amount, gbp, key)
+        );
+        verify(accountRepo, never()).applyDelta(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldNotTouchIdempotencyStoreWithoutKey() {
+        when(accountRepo.findById(accountId)).thenReturn(Optional.of(account));
+
+        service.withdraw(accountId, ownerId, amount, gbp);
+
+        verifyNoInteractions(idempotencyRepo);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldPostBatchInOrderAndWriteOnce() {
+        when(accountRepo.findAllByIdForUpdate(any())).thenReturn(List.of(account));
+        List<BatchItem> items = List.of(
+                new BatchItem(accountId, TransactionType.DEPOSIT, Amount.of(new BigDecimal("30.00"), gbp), gbp),
+                new BatchItem(accountId, TransactionType.WITHDRAWAL, Amount.of(new BigDecimal("20.00"), gbp), gbp),
+                new BatchItem(accountId, TransactionType.WITHDRAWAL, Amount.of(new BigDecimal("20.00"), gbp), gbp),
+                new BatchItem(accountId, TransactionType.DEPOSIT, Amount.of(new BigDecimal("5.00"), gbp), gbp)
+        );
+
+        List<BatchItemResult> results = service.postBatch(ownerId, items);
+
+        assertEquals(List.of(true, true, false, true), results.stream().map(BatchItemResult::isPosted).toList());
+        assertEquals("Insufficient funds", results.get(2).error());
+        assertEquals(2, results.get(2).index());
+
+        ArgumentCaptor<List<Account>> accounts = ArgumentCaptor.forClass(List.class);
+        verify(accountRepo).saveAll(accounts.capture());
+        assertEquals(1, accounts.getValue().size());
+        assertEquals(new Balance(1500, 2), accounts.getValue().get(0).getBalance());
+
+        ArgumentCaptor<List<Transaction>> txns = ArgumentCaptor.forClass(List.class);
+        verify(txnRepo).saveAll(txns.capture());
+        assertEquals(3, txns.getValue().size());
+        verify(accountRepo, never()).applyDelta(any(), anyLong(), anyInt());
+        verify(accountRepo).findAllByIdForUpdate(Set.of(accountId));
+    }
+
+    @Test
+    void shouldRejectBatchItemsFailingChecks() {
+        Account foreign = Account.rehydrate(
+                AccountId.newId(),
+                UserId.newId(),
+                new AccountName("Someone Else"),
+                Balance.of(BigDecimal.ZERO, gbp),
+                new AccountNumber("87654321"),
+                new SortCode("654321"),
+                AccountType.SAVINGS,
+                gbp,
+                now,
+                now
+        );
+        AccountId missing = AccountId.newId();
+        when(accountRepo.findAllByIdForUpdate(any())).thenReturn(List.of(account, foreign));
+        List<BatchItem> items = List.of(
+                new BatchItem(missing, TransactionType.DEPOSIT, amount, gbp),
+                new BatchItem(foreign.getId(), TransactionType.DEPOSIT, amount, gbp),
+                new BatchItem(accountId, TransactionType.DEPOSIT, amount, usd)
+        );
+
+        List<BatchItemResult> results = service.postBatch(ownerId, items);
+
+        assertEquals(List.of(
+                "Account not found",
+                "Cannot post to another user's account",
+                "Transaction currency does not match account currency"
+        ), results.stream().map(BatchItemResult::error).toList());
+        verify(accountRepo, never()).saveAll(any());
+        verify(txnRepo, never()).saveAll(any());
+    }
+
+    private Account ownedAccount(AccountId id, String balance, Currency currency) {
+        return Account.rehydrate(
+                id,
+                ownerId,
+                new AccountName("Transfer Account"),
+                Balance.of(new BigDecimal(balance), currency),
+                new AccountNumber("12345678"),
+                new SortCode("123456"),
+                AccountType.CHECKING,
+                currency,
+                now,
+                now
+        );
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldTransferBetweenOwnAccountsInOneWrite() {
+        AccountId toId = AccountId.newId();
+        Account from = ownedAccount(accountId, "100.00", gbp);
+        Account to = ownedAccount(toId, "5.00", gbp);
+        when(accountRepo.findAllByIdForUpdate(List.of(accountId, toId))).thenReturn(List.of(to, from));
+
+        Transfer transfer = service.transfer(accountId, toId, ownerId, Amount.of(new BigDecimal("40.00"), gbp), gbp);
+
+        assertEquals(TransactionType.TRANSFER_OUT, transfer.debit().getType());
+        assertEquals(accountId, transfer.debit().getAccountId());
+        assertEquals(TransactionType.TRANSFER_IN, transfer.credit().getType());
+        assertEquals(toId, transfer.credit().getAccountId());
+
+        ArgumentCaptor<List<Account>> accounts = ArgumentCaptor.forClass(List.class);
+        verify(accountRepo).saveAll(accounts.capture());
+        assertEquals(new Balance(6000, 2), accounts.getValue().get(0).getBalance());
+        assertEquals(new Balance(4500, 2), accounts.getValue().get(1).getBalance());
+        verify(txnRepo).saveAll(List.of(transfer.debit(), transfer.credit()));
+        verify(accountRepo, never()).applyDelta(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldRejectTransferWithInsufficientFunds() {
+        AccountId toId = AccountId.newId();
+        when(accountRepo.findAllByIdForUpdate(any())).thenReturn(List.of(
+                ownedAccount(accountId, "10.00", gbp),
+                ownedAccount(toId, "0.00", gbp)
+        ));
+
+        InvalidUserDataException ex = assertThrows(InvalidUserDataException.class, () ->
+                service.transfer(accountId, toId, ownerId, Amount.of(new BigDecimal("10.01"), gbp), gbp)
+        );
+
+        assertEquals("Insufficient funds", ex.getMessage());
+        verify(accountRepo, never()).saveAll(any());
+        verify(txnRepo, never()).saveAll(any());
+    }
+
+    @Test
+    void shouldRejectTransferInOtherCurrencyThanAccounts() {
+        AccountId toId = AccountId.newId();
+        when(accountRepo.findAllByIdForUpdate(any())).thenReturn(List.of(
+                ownedAccount(accountId, "100.00", gbp),
+                ownedAccount(toId, "0.00", gbp)
+        ));
+
+        assertThrows(InvalidUserDataException.class, () ->
+                service.transfer(accountId, toId, ownerId, Amount.of(new BigDecimal("10.00"), usd), usd)
+        );
+        verify(accountRepo, never()).saveAll(any());
+    }
+
+    @Test
+    void shouldRejectTransferToSameAccount() {
+        assertThrows(InvalidUserDataException.class, () ->
+                service.transfer(accountId, accountId, ownerId, amount, gbp)
+        );
+        verify(accountRepo, never()).findAllByIdForUpdate(any());
+    }
+
+    @Test
+    void shouldRejectTransferWhenAccountMissing() {
+        AccountId toId = AccountId.newId();
+        when(accountRepo.findAllByIdForUpdate(any())).thenReturn(List.of(ownedAccount(accountId, "100.00", gbp)));
+
+        assertThrows(ResourceNotFoundException.class, () ->
+                service.transfer(accountId, toId, ownerId, amount, gbp)
+        );
+        verify(accountRepo, never()).saveAll(any());
+    }
+
+    @Test
+    void shouldRejectTransferToAnotherUsersAccount() {
+        Account foreign = Account.create(UserId.newId(), new AccountName("Someone Else"), AccountType.SAVINGS);
+        when(accountRepo.findAllByIdForUpdate(any())).thenReturn(List.of(ownedAccount(accountId, "100.00", gbp), foreign));
+
+        assertThrows(ForbiddenException.class, () ->
+                service.transfer(accountId, foreign.getId(), ownerId, amount, gbp)
+        );
+        verify(accountRepo, never()).saveAll(any());
+    }
+
+    @Test
+    void shouldRejectTransferAcrossCurrencies() {
+        AccountId toId = AccountId.newId();
+        when(accountRepo.findAllByIdForUpdate(any())).thenReturn(List.of(
+                ownedAccount(accountId, "100.00", gbp),
+                ownedAccount(toId, "0.00", usd)
+        ));
+
+        assertThrows(InvalidUserDataException.class, () ->
+                service.transfer(accountId, toId, ownerId, amount, gbp)
+        );
+        verify(accountRepo, never()).saveAll(any());
+    }
+
+    @Test
+    void shouldRejectEmptyOrOversizedBatch() {
+        BatchItem item = new BatchItem(accountId, TransactionType.DEPOSIT, amount, gbp);
+        List<BatchItem> oversized = Collections.nCopies(TransactionService.MAX_BATCH_SIZE + 1, item);
+
+        assertThrows(InvalidUserDataException.class, () -> service.postBatch(ownerId, List.of()));
+        assertThrows(InvalidUserDataException.class, () -> service.postBatch(ownerId, oversized));
+        verify(accountRepo, never()).findAllByIdForUpdate(any());
+    }
+
     @Test
     void shouldListTransactionsForAccountOwner() {
         when(accountRepo.findById(accountId)).thenReturn(Optional.of(account));
@@ -232,12 +545,78 @@ class TransactionServiceTest {
                 Transaction.create(accountId, TransactionType.DEPOSIT, amount, gbp),
                 Transaction.create(accountId, TransactionType.WITHDRAWAL, amount, gbp)
         );
-        when(txnRepo.findByAccount(accountId)).thenReturn(transactions);
+        when(txnRepo.findPageByAccount(accountId, null, 11)).thenReturn(transactions);
 
-        List<Transaction> result = service.listTransactions(accountId, ownerId);
+        TransactionPage result = service.listTransactions(accountId, ownerId, null, 10);
 
-        assertEquals(2, result.size());
-        verify(txnRepo).findByAccount(accountId);
+        assertEquals(2, result.transactions().size());
+        assertFalse(result.hasMore());
+        verify(txnRepo).findPageByAccount(accountId, null, 11);
+    }
+
+    @Test
+    void shouldReturnCursorWhenMoreTransactionsFollow() {
+        when(accountRepo.findById(accountId)).thenReturn(Optional.of(account));
+        Transaction newest = Transaction.create(accountId, TransactionType.DEPOSIT, amount, gbp);
+        Transaction older = Transaction.create(accountId, TransactionType.DEPOSIT, amount, gbp);
+        Transaction oldest = Transaction.create(accountId, TransactionType.DEPOSIT, amount, gbp);
+        when(txnRepo.findPageByAccount(accountId, null, 3)).thenReturn(List.of(newest, older, oldest));
+
+        TransactionPage result = service.listTransactions(accountId, ownerId, null, 2);
+
+        assertEquals(List.of(newest, older), result.transactions());
+        assertEquals(TransactionCursor.after(older), result.nextCursor());
+    }
+
+    @Test
+    void shouldPassCursorThroughToRepository() {
+        when(accountRepo.findById(accountId)).thenReturn(Optional.of(account));
+        TransactionCursor cursor = new TransactionCursor(now, TransactionId.newId());
+        when(txnRepo.findPageByAccount(accountId, cursor, 51)).thenReturn(List.of());
+
+        TransactionPage result = service.listTransactions(accountId, ownerId, cursor, 50);
+
+        assertTrue(result.transactions().isEmpty());
+        verify(txnRepo).findPageByAccount(accountId, cursor, 51);
+    }
+
+    @Test
+    void shouldClampPageSize() {
+        when(accountRepo.findById(accountId)).thenReturn(Optional.of(account));
+
+        service.listTransactions(accountId, ownerId, null, 10_000);
+        service.listTransactions(accountId, ownerId, null, 0);
+
+        verify(txnRepo).findPageByAccount(accountId, null, TransactionService.MAX_PAGE_SIZE + 1);
+        verify(txnRepo).findPageByAccount(accountId, null, 2);
+    }
+
+    @Test
+    void shouldExportFullHistoryToSinkAndCloseStream() {
+        when(accountRepo.findById(accountId)).thenReturn(Optional.of(account));
+        Transaction first = Transaction.create(accountId, TransactionType.DEPOSIT, amount, gbp);
+        Transaction second = Transaction.create(accountId, TransactionType.WITHDRAWAL, amount, gbp);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(txnRepo.streamByAccount(accountId))
+                .thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+
+        List<Transaction> exported = new ArrayList<>();
+        service.exportTransactions(accountId, ownerId, exported::add);
+
+        assertEquals(List.of(first, second), exported);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void shouldThrowForbiddenExceptionWhenExportingOtherUsersAccount() {
+        when(accountRepo.findById(accountId)).thenReturn(Optional.of(account));
+        UserId otherUserId = UserId.newId();
+
+        assertThrows(ForbiddenException.class, () ->
+                service.exportTransactions(accountId, otherUserId, t -> fail("nothing should be exported"))
+        );
+
+        verify(txnRepo, never()).streamByAccount(any());
     }
 
     @Test
@@ -259,7 +638,7 @@ class TransactionServiceTest {
         UserId otherUserId = UserId.newId();
 
         assertThrows(ForbiddenException.class, () ->
-                service.deposit(accountId, otherUserId, amount)
+                service.deposit(accountId, otherUserId, amount, gbp)
         );
 
         verify(txnRepo, never()).save(any());
@@ -272,7 +651,7 @@ class TransactionServiceTest {
         UserId otherUserId = UserId.newId();
 
         assertThrows(ForbiddenException.class, () ->
-                service.withdraw(accountId, otherUserId, amount)
+                service.withdraw(accountId, otherUserId, amount, gbp)
         );
 
         verify(txnRepo, never()).save(any());
@@ -284,7 +663,7 @@ class TransactionServiceTest {
         when(accountRepo.findById(accountId)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () ->
-                service.deposit(accountId, ownerId, amount)
+                service.deposit(accountId, ownerId, amount, gbp)
         );
 
         verify(txnRepo, never()).save(any());
@@ -319,10 +698,10 @@ class TransactionServiceTest {
         when(accountRepo.findById(accountId)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () ->
-                service.listTransactions(accountId, ownerId)
+                service.listTransactions(accountId, ownerId, null, TransactionService.DEFAULT_PAGE_SIZE)
         );
 
-        verify(txnRepo, never()).findByAccount(any());
+        verify(txnRepo, never()).findPageByAccount(any(), any(), anyInt());
     }
 
     @Test
@@ -331,10 +710,10 @@ class TransactionServiceTest {
         UserId otherUserId = UserId.newId();
 
         assertThrows(ForbiddenException.class, () ->
-                service.listTransactions(accountId, otherUserId)
+                service.listTransactions(accountId, otherUserId, null, TransactionService.DEFAULT_PAGE_SIZE)
         );
 
-        verify(txnRepo, never()).findByAccount(any());
+        verify(txnRepo, never()).findPageByAccount(any(), any(), anyInt());
     }
 
     @Test
@@ -365,10 +744,10 @@ class TransactionServiceTest {
     @Test
     void shouldThrowResourceNotFoundExceptionWhenAccountDoesNotExistOnWithdrawal() {
         when(accountRepo.findById(accountId)).thenReturn(Optional.empty());
-        Amount withdrawalAmount = new Amount(new BigDecimal("50.00"));
+        Amount withdrawalAmount = Amount.of(new BigDecimal("50.00"), gbp);
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () ->
-                service.withdraw(accountId, ownerId, withdrawalAmount)
+                service.withdraw(accountId, ownerId, withdrawalAmount, gbp)
         );
 
         assertEquals("Account not found", exception.getMessage());
@@ -384,13 +763,14 @@ class TransactionServiceTest {
                 Transaction.create(accountId, TransactionType.DEPOSIT, amount, gbp),
                 Transaction.create(accountId, TransactionType.WITHDRAWAL, amount, gbp)
         );
-        when(txnRepo.findByAccount(accountId)).thenReturn(transactions);
+        when(txnRepo.findPageByAccount(accountId, null, TransactionService.DEFAULT_PAGE_SIZE + 1))
+                .thenReturn(transactions);
 
-        List<Transaction> result = service.listTransactions(accountId, ownerId);
+        TransactionPage result = service.listTransactions(accountId, ownerId, null, TransactionService.DEFAULT_PAGE_SIZE);
 
-        assertEquals(2, result.size());
-        result.forEach(txn -> assertEquals(gbp, txn.getCurrency()));
-        verify(txnRepo).findByAccount(accountId);
+        assertEquals(2, result.transactions().size());
+        result.transactions().forEach(txn -> assertEquals(gbp, txn.getCurrency()));
+        verify(txnRepo).findPageByAccount(accountId, null, TransactionService.DEFAULT_PAGE_SIZE + 1);
     }
 
     @Test
@@ -400,7 +780,7 @@ class TransactionServiceTest {
                 accountId,
                 ownerId,
                 new AccountName("Test Account"),
-                new Balance(initialBalance),
+                Balance.of(initialBalance, gbp),
                 new AccountNumber("12345678"),
                 new SortCode("123456"),
                 AccountType.SAVINGS,
@@ -410,11 +790,50 @@ class TransactionServiceTest {
         );
         when(accountRepo.findById(accountId)).thenReturn(Optional.of(accountWithBalance));
 
-        Transaction result = service.deposit(accountId, ownerId, amount);
+        Transaction result = service.deposit(accountId, ownerId, amount, gbp);
 
         assertEquals(gbp, result.getCurrency());
-        verify(accountRepo).save(argThat(updatedAccount ->
-                updatedAccount.getBalance().value().equals(initialBalance.add(amount.value())) &&
-                        updatedAccount.getCurrency().equals(gbp)));
+        verify(accountRepo).applyDelta(accountId, 10000, 2);
+        verify(accountRepo, never()).save(any());
+    }
+
+    @Test
+    void shouldAuthorizeReadsFromOwnershipWithoutLoadingAccount() {
+        doReturn(Optional.of(AccountOwnership.of(account))).when(accountRepo).findOwnership(accountId);
+        when(txnRepo.findPageByAccount(accountId, null, 51)).thenReturn(List.of());
+        when(txnRepo.streamByAccount(accountId)).thenReturn(Stream.empty());
+
+        service.listTransactions(accountId, ownerId, null, 50);
+        service.exportTransactions(accountId, ownerId, txn -> { });
+        service.deposit(accountId, ownerId, amount, gbp);
+
+        verify(accountRepo, never()).findById(any());
+    }
+
+    @Test
+    void shouldNotServeHistoryOfAccountGoneFromStore() {
+        // A cache still remembers an account another instance deleted.
+        doReturn(Optional.of(AccountOwnership.of(account))).when(accountRepo).findOwnership(accountId);
+        doReturn(Optional.empty()).when(accountRepo).findStoredOwnership(accountId);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> service.listTransactions(accountId, ownerId, null, 50));
+        assertThrows(ResourceNotFoundException.class,
+                () -> service.exportTransactions(accountId, ownerId, txn -> { }));
+        assertThrows(ResourceNotFoundException.class,
+                () -> service.fetchTransaction(accountId, TransactionId.newId(), ownerId));
+
+        verifyNoInteractions(txnRepo);
+    }
+
+    @Test
+    void shouldRefuseNonOwnerFromOwnershipAlone() {
+        doReturn(Optional.of(AccountOwnership.of(account))).when(accountRepo).findOwnership(accountId);
+
+        assertThrows(ForbiddenException.class,
+                () -> service.withdraw(accountId, UserId.newId(), amount, gbp));
+
+        verify(accountRepo, never()).findById(any());
+        verify(accountRepo, never()).applyDelta(any(), anyLong(), anyInt());
     }
-}
\ No newline at end of file
+}
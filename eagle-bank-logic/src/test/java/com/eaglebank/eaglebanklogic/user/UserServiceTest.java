@@ -61,11 +61,13 @@ class UserServiceTest {
 
         existingUser = User.create(fn, ln, dob, email, phoneNumber, address, 
             new PasswordHash(hashedPassword));
+
+        when(userRepository.mightContainEmail(any())).thenReturn(true);
     }
 
     @Test
     void shouldCreateAndSaveUserWithUniqueEmail() {
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+        when(userRepository.findCredentials(email)).thenReturn(Optional.empty());
         when(encoder.encode(rawPassword)).thenReturn(hashedPassword);
         when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
 
@@ -77,22 +79,34 @@ class UserServiceTest {
         assertEquals(phoneNumber, result.getPhoneNumber());
         assertEquals(address, result.getAddress());
 
-        verify(userRepository).findByEmail(email);
+        verify(userRepository).findCredentials(email);
         verify(encoder).encode(rawPassword);
         verify(userRepository).save(result);
     }
 
     @Test
     void shouldThrowInvalidUserDataExceptionWhenUserIsCreatedWithDuplicateEmail() {
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(existingUser));
+        when(userRepository.findCredentials(email)).thenReturn(Optional.of(UserCredentials.of(existingUser)));
 
         assertThrows(InvalidUserDataException.class, () ->
                 service.createUser(fn, ln, dob, email, phoneNumber, address, rawPassword)
         );
-        verify(userRepository).findByEmail(email);
+        verify(userRepository).findCredentials(email);
         verify(userRepository, never()).save(any());
     }
 
+    @Test
+    void shouldSkipLookupWhenEmailIsCertainlyNew() {
+        when(userRepository.mightContainEmail(email)).thenReturn(false);
+        when(encoder.encode(rawPassword)).thenReturn(hashedPassword);
+        when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service.createUser(fn, ln, dob, email, phoneNumber, address, rawPassword);
+
+        verify(userRepository, never()).findCredentials(any());
+        verify(userRepository).save(any(User.class));
+    }
+
     @Test
     void shouldGetUserWhenIdIsProvided() {
         UserId id = existingUser.getId();
@@ -149,6 +163,44 @@ class UserServiceTest {
         verify(userRepository).findByEmail(nonExistentEmail);
     }
 
+    @Test
+    void shouldFindCredentialsByEmail() {
+        UserCredentials credentials = UserCredentials.of(existingUser);
+        when(userRepository.findCredentials(email)).thenReturn(Optional.of(credentials));
+
+        assertEquals(Optional.of(credentials), service.findCredentials(email));
+    }
+
+    @Test
+    void shouldSkipLookupWhenUpdatingToCertainlyNewEmail() {
+        UserId id = existingUser.getId();
+        EmailAddress newEmail = new EmailAddress("alice.new@example.com");
+        when(userRepository.findById(id)).thenReturn(Optional.of(existingUser));
+        when(userRepository.mightContainEmail(newEmail)).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        User result = service.updateUser(id, Optional.empty(), Optional.empty(), Optional.empty(),
+                Optional.of(newEmail), Optional.empty(), Optional.empty());
+
+        assertEquals(newEmail, result.getEmail());
+        verify(userRepository, never()).findByEmail(any());
+    }
+
+    @Test
+    void shouldRejectUpdateToEmailOfAnotherUser() {
+        UserId id = existingUser.getId();
+        EmailAddress taken = new EmailAddress("bob@example.com");
+        when(userRepository.findById(id)).thenReturn(Optional.of(existingUser));
+        User other = User.create(new FirstName("Bob"), ln, dob, taken, phoneNumber, address,
+                new PasswordHash(hashedPassword));
+        when(userRepository.findByEmail(taken)).thenReturn(Optional.of(other));
+
+        assertThrows(InvalidUserDataException.class, () ->
+                service.updateUser(id, Optional.empty(), Optional.empty(), Optional.empty(),
+                        Optional.of(taken), Optional.empty(), Optional.empty()));
+        verify(userRepository, never()).save(any());
+    }
+
     @Test
     void shouldUpdateUserPhoneNumber() {
         UserId id = existingUser.getId();
@@ -265,4 +317,39 @@ class UserServiceTest {
         verify(accountRepository, never()).findByOwner(any());
         verify(userRepository, never()).delete(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRehashPasswordWhenEncoderAsksForUpgrade() {
+        when(encoder.upgradeEncoding(hashedPassword)).thenReturn(true);
+        when(encoder.encode(rawPassword)).thenReturn("REHASHED");
+        when(userRepository.findById(existingUser.getId())).thenReturn(Optional.of(existingUser));
+
+        service.upgradePasswordHash(UserCredentials.of(existingUser), rawPassword);
+
+        verify(userRepository).save(argThat(saved ->
+                saved.getId().equals(existingUser.getId())
+                        && saved.getPasswordHash().equals(new PasswordHash("REHASHED"))));
+    }
+
+    @Test
+    void shouldKeepPasswordHashThatIsCurrent() {
+        when(encoder.upgradeEncoding(hashedPassword)).thenReturn(false);
+
+        service.upgradePasswordHash(UserCredentials.of(existingUser), rawPassword);
+
+        verify(encoder, never()).encode(any());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldNotRehashPasswordChangedSinceLogin() {
+        when(encoder.upgradeEncoding(hashedPassword)).thenReturn(true);
+        when(encoder.encode(rawPassword)).thenReturn("REHASHED");
+        when(userRepository.findById(existingUser.getId()))
+                .thenReturn(Optional.of(existingUser.withPasswordHash(new PasswordHash("CHANGED"))));
+
+        service.upgradePasswordHash(UserCredentials.of(existingUser), rawPassword);
+
+        verify(userRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,95 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import com.eaglebank.eaglebankrepository.BenchmarkPostgres;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deposits from 16 clients into one account whose balance is spread over
+ * {@code stripes} slots, one commit per deposit, with the repository's slot
+ * update and transaction insert. With one stripe every deposit waits for
+ * the previous one's row lock until it commits, as with the plain
+ * {@code accounts.balance} column; with more, deposits landing on
+ * different slots commit side by side. Postgres comes from
+ * {@link BenchmarkPostgres}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class HotAccountDepositBenchmark {
+    private static final String ADD_TO_SLOT = "update balance_slots set balance_minor_units = balance_minor_units + ? "
+            + "where account_id = ? and slot = ? and balance_minor_units + ? >= 0";
+    private static final String INSERT_TRANSACTION = "insert into transactions "
+            + "(id, account_id, type, amount, timestamp, currency) values (?, ?, 'DEPOSIT', 0.01, ?, 'GBP')";
+
+    @Param({"1", "4", "16"})
+    public int stripes;
+
+    private BenchmarkPostgres postgres;
+    private final UUID accountId = UUID.randomUUID();
+
+    @State(Scope.Thread)
+    public static class Client {
+        Connection connection;
+        PreparedStatement addToSlot;
+        PreparedStatement insertTransaction;
+
+        @Setup(Level.Trial)
+        public void open(HotAccountDepositBenchmark benchmark) throws SQLException {
+            connection = benchmark.postgres.connect();
+            connection.setAutoCommit(false);
+            addToSlot = connection.prepareStatement(ADD_TO_SLOT);
+            insertTransaction = connection.prepareStatement(INSERT_TRANSACTION);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void start() throws SQLException {
+        postgres = BenchmarkPostgres.start();
+        try (Connection connection = postgres.connect();
+             Statement ddl = connection.createStatement()) {
+            ddl.execute("create table balance_slots (account_id uuid not null, slot integer not null, "
+                    + "balance_minor_units bigint not null, primary key (account_id, slot))");
+            ddl.execute("create table transactions (id uuid primary key, account_id uuid not null, "
+                    + "type varchar(255) not null, amount numeric(38, 2) not null, "
+                    + "timestamp timestamp(6) with time zone not null, currency varchar(3) not null)");
+            ddl.execute("insert into balance_slots select '" + accountId + "', n, 0 "
+                    + "from generate_series(0, " + (stripes - 1) + ") n");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws SQLException {
+        postgres.close();
+    }
+
+    @Benchmark
+    public int deposit(Client client) throws SQLException {
+        client.addToSlot.setLong(1, 1);
+        client.addToSlot.setObject(2, accountId);
+        client.addToSlot.setInt(3, ThreadLocalRandom.current().nextInt(stripes));
+        client.addToSlot.setLong(4, 1);
+        int updated = client.addToSlot.executeUpdate();
+        client.insertTransaction.setObject(1, UUID.randomUUID());
+        client.insertTransaction.setObject(2, accountId);
+        client.insertTransaction.setObject(3, OffsetDateTime.now(ZoneOffset.UTC));
+        client.insertTransaction.executeUpdate();
+        client.connection.commit();
+        return updated;
+    }
+}
@@ -0,0 +1,156 @@
+package com.eaglebank.eaglebankrepository.transaction;
+
+import com.eaglebank.eaglebankrepository.BenchmarkPostgres;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time-bounded history pages from a plain and a month-partitioned
+ * {@code transactions} table holding the same rows: {@code accounts}
+ * accounts with {@code rowsPerAccount} transactions each, spread evenly
+ * over {@code months} months. Each call reads the page of 20 before a
+ * random cursor for a random account with the repository's keyset query,
+ * so with {@code PARTITIONED} only the partitions up to the cursor's month
+ * are opened. {@code byId} looks one transaction up by id alone, as
+ * {@code findById} does, which no bound on timestamp prunes: on
+ * {@code PARTITIONED} it probes every month's primary key index. Postgres
+ * comes from {@link BenchmarkPostgres}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PartitionedHistoryBenchmark {
+    private static final String PAGE = "select id, account_id, type, amount, timestamp, currency "
+            + "from transactions where account_id = ? and timestamp <= ? "
+            + "and (timestamp < ? or (timestamp = ? and id < ?)) "
+            + "order by timestamp desc, id desc fetch first 20 rows only";
+    private static final String BY_ID = "select id, account_id, type, amount, timestamp, currency "
+            + "from transactions where id = ?";
+    private static final UUID LAST_ID = new UUID(-1L, -1L);
+
+    @Param({"FLAT", "PARTITIONED"})
+    public String layout;
+
+    @Param({"24"})
+    public int months;
+
+    @Param({"2000"})
+    public int accounts;
+
+    @Param({"250"})
+    public int rowsPerAccount;
+
+    private BenchmarkPostgres postgres;
+    private Connection connection;
+    private PreparedStatement page;
+    private PreparedStatement byId;
+    private List<UUID> accountIds;
+    private List<UUID> transactionIds;
+    private OffsetDateTime end;
+    private long spanSeconds;
+
+    @Setup(Level.Trial)
+    public void start() throws SQLException {
+        postgres = BenchmarkPostgres.start();
+        connection = postgres.connect();
+
+        YearMonth first = YearMonth.now(ZoneOffset.UTC).minusMonths(months - 1);
+        end = first.plusMonths(months).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+        spanSeconds = end.toEpochSecond() - first.atDay(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+
+        try (Statement ddl = connection.createStatement()) {
+            boolean partitioned = "PARTITIONED".equals(layout);
+            ddl.execute("create table transactions (id uuid not null, account_id uuid not null, "
+                    + "type varchar(255) not null, amount numeric(38, 2) not null, "
+                    + "timestamp timestamp(6) with time zone not null, currency varchar(3) not null, "
+                    + (partitioned ? "primary key (id, timestamp)) partition by range (timestamp)" : "primary key (id))"));
+            if (partitioned) {
+                for (int i = 0; i < months; i++) {
+                    YearMonth month = first.plusMonths(i);
+                    ddl.execute("create table " + TransactionPartitionMaintainer.partitionName(month)
+                            + " partition of transactions for values from ('" + month.atDay(1)
+                            + " 00:00:00+00') to ('" + month.plusMonths(1).atDay(1) + " 00:00:00+00')");
+                }
+            }
+            ddl.execute("create index ix_transactions_account_id_timestamp_id "
+                    + "on transactions (account_id, timestamp desc, id desc)");
+        }
+
+        try (PreparedStatement seed = connection.prepareStatement("insert into transactions "
+                + "select gen_random_uuid(), a.id, 'DEPOSIT', 1.00, ? - (n * ?) * interval '1 second', 'GBP' "
+                + "from (select gen_random_uuid() as id from generate_series(1, ?)) a, generate_series(1, ?) n")) {
+            seed.setObject(1, end);
+            seed.setLong(2, spanSeconds / rowsPerAccount);
+            seed.setInt(3, accounts);
+            seed.setInt(4, rowsPerAccount);
+            seed.executeUpdate();
+        }
+
+        accountIds = new ArrayList<>();
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("vacuum analyze transactions");
+            try (ResultSet rs = stmt.executeQuery("select distinct account_id from transactions")) {
+                while (rs.next()) {
+                    accountIds.add(rs.getObject(1, UUID.class));
+                }
+            }
+            transactionIds = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery("select id from transactions order by random() limit 10000")) {
+                while (rs.next()) {
+                    transactionIds.add(rs.getObject(1, UUID.class));
+                }
+            }
+        }
+        page = connection.prepareStatement(PAGE);
+        byId = connection.prepareStatement(BY_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws SQLException {
+        connection.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public int pageBeforeCursor() throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        OffsetDateTime cursor = end.minusSeconds(random.nextLong(spanSeconds));
+        page.setObject(1, accountIds.get(random.nextInt(accountIds.size())));
+        page.setObject(2, cursor);
+        page.setObject(3, cursor);
+        page.setObject(4, cursor);
+        page.setObject(5, LAST_ID);
+        int rows = 0;
+        try (ResultSet rs = page.executeQuery()) {
+            while (rs.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public int byId() throws SQLException {
+        byId.setObject(1, transactionIds.get(ThreadLocalRandom.current().nextInt(transactionIds.size())));
+        int rows = 0;
+        try (ResultSet rs = byId.executeQuery()) {
+            while (rs.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,154 @@
+package com.eaglebank.eaglebankrepository.transaction;
+
+import com.eaglebank.eaglebankdomain.id.UuidV7;
+import com.eaglebank.eaglebankrepository.BenchmarkPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.postgresql.PGConnection;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Inserts into a {@code transactions} table that already holds
+ * {@code tableRows} rows keyed the same way, with the primary key and the
+ * history index of the unpartitioned schema. Random v4 keys land anywhere
+ * in the primary key and dirty a different leaf page each time; v7 keys
+ * always extend its right-hand edge. Each call commits one batch of
+ * {@value #BATCH} rows, so the score is rows per second. Every iteration
+ * starts from a checkpoint, so the first change to each page writes a
+ * full-page image to the WAL in both cases; {@code walBytes} counts the
+ * WAL the batches wrote, and the primary key's size is printed at the end
+ * of the trial. Postgres comes from {@link BenchmarkPostgres}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class UuidInsertBenchmark {
+    private static final int BATCH = 1_000;
+    private static final int ACCOUNTS = 2_000;
+    private static final String INSERT = "insert into transactions "
+            + "(id, account_id, type, amount, timestamp, currency) values (?, ?, 'DEPOSIT', 1.00, ?, 'GBP')";
+    private static final String WAL_POSITION = "select pg_current_wal_insert_lsn()::text";
+    private static final String WAL_SINCE = "select pg_wal_lsn_diff(pg_current_wal_insert_lsn(), ?::pg_lsn)::bigint";
+
+    @Param({"RANDOM", "V7"})
+    public String keys;
+
+    @Param({"2000000"})
+    public int tableRows;
+
+    private BenchmarkPostgres postgres;
+    private Connection connection;
+    private PreparedStatement insert;
+    private PreparedStatement walPosition;
+    private PreparedStatement walSince;
+    private Supplier<UUID> generator;
+    private UUID[] accountIds;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Wal {
+        public long walBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        generator = "V7".equals(keys) ? UuidV7::next : UUID::randomUUID;
+        accountIds = new UUID[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds[i] = UUID.randomUUID();
+        }
+        postgres = BenchmarkPostgres.start();
+        connection = postgres.connect();
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("create table transactions (id uuid primary key, account_id uuid not null, "
+                    + "type varchar(255) not null, amount numeric(38, 2) not null, "
+                    + "timestamp timestamp(6) with time zone not null, currency varchar(3) not null)");
+            ddl.execute("create index ix_transactions_account_id_timestamp_id "
+                    + "on transactions (account_id, timestamp desc, id desc)");
+        }
+        seed();
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("vacuum analyze transactions");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement(INSERT);
+        walPosition = connection.prepareStatement(WAL_POSITION);
+        walSince = connection.prepareStatement(WAL_SINCE);
+    }
+
+    /** Loads the existing rows with COPY, oldest first, as they would have arrived. */
+    private void seed() throws Exception {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < tableRows; i++) {
+            rows.append(generator.get()).append('\t')
+                    .append(accountIds[i % ACCOUNTS]).append("\tDEPOSIT\t1.00\t")
+                    .append(now.minusSeconds(tableRows - i)).append("\tGBP\n");
+            if (rows.length() > 8 << 20 || i == tableRows - 1) {
+                connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn("copy transactions from stdin", new StringReader(rows.toString()));
+                rows.setLength(0);
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void checkpoint() throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("checkpoint");
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("select pg_relation_size('transactions_pkey'), "
+                     + "pg_relation_size('ix_transactions_account_id_timestamp_id'), count(*) from transactions")) {
+            rs.next();
+            System.out.printf("%n%s: primary key %,d bytes, history index %,d bytes, %,d rows%n",
+                    keys, rs.getLong(1), rs.getLong(2), rs.getLong(3));
+        }
+        connection.rollback();
+        connection.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void insertBatch(Wal wal) throws SQLException {
+        String before;
+        try (ResultSet rs = walPosition.executeQuery()) {
+            rs.next();
+            before = rs.getString(1);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        for (int i = 0; i < BATCH; i++) {
+            insert.setObject(1, generator.get());
+            insert.setObject(2, accountIds[random.nextInt(ACCOUNTS)]);
+            insert.setObject(3, now);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+        walSince.setString(1, before);
+        try (ResultSet rs = walSince.executeQuery()) {
+            rs.next();
+            wal.walBytes += rs.getLong(1);
+        }
+        connection.commit();
+    }
+}
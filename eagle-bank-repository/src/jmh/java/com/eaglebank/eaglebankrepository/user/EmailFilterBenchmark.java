@@ -0,0 +1,103 @@
+package com.eaglebank.eaglebankrepository.user;
+
+import org.openjdk.jmh.annotations.*;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilding the signup email filter from a {@code users} table of 10
+ * million rows, as {@link UserEmailFilter#rebuild} does: the emails are
+ * streamed in batches of 10,000 into a filter sized for twice as many at a
+ * 1% false positive rate. Each rebuild is timed on its own. At the end of
+ * the trial the last filter is probed with a million emails that were
+ * never stored, and the share it wrongly claims is printed with its size.
+ * {@code POSTGRES} starts Postgres 16 through Testcontainers, so Docker is
+ * needed, and seeding takes a few minutes. {@code MEMORY} puts the same
+ * emails into the filter without a database, which times only the filter
+ * and still gives its false positive rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class EmailFilterBenchmark {
+    private static final int USERS = 10_000_000;
+    private static final int PROBES = 1_000_000;
+
+    @Param({"MEMORY", "POSTGRES"})
+    public String source;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private BloomFilter filter;
+
+    @Setup(Level.Trial)
+    public void start() throws SQLException {
+        if ("MEMORY".equals(source)) {
+            return;
+        }
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("create table users (id uuid primary key, email varchar(255) not null unique)");
+            ddl.execute("insert into users select gen_random_uuid(), 'user' || n || '@example.com' "
+                    + "from generate_series(1, " + USERS + ") n");
+        }
+        // The driver only streams inside a transaction.
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws SQLException {
+        long falsePositives = 0;
+        for (int n = 0; n < PROBES; n++) {
+            if (filter.mightContain("new" + n + "@example.com")) {
+                falsePositives++;
+            }
+        }
+        System.out.printf("%n%,d users: %.3f%% false positives over %,d new emails, %,d MB, %d hashes%n",
+                USERS, 100.0 * falsePositives / PROBES, PROBES, filter.bitSize() / 8 / 1024 / 1024, filter.hashCount());
+        if (postgres != null) {
+            connection.close();
+            postgres.stop();
+        }
+    }
+
+    @Benchmark
+    public BloomFilter rebuild() throws SQLException {
+        if (postgres == null) {
+            BloomFilter next = new BloomFilter(2L * USERS, 0.01);
+            for (int n = 1; n <= USERS; n++) {
+                next.put("user" + n + "@example.com");
+            }
+            filter = next;
+            return next;
+        }
+        try (Statement query = connection.createStatement()) {
+            long count;
+            try (ResultSet rows = query.executeQuery("select count(*) from users")) {
+                rows.next();
+                count = rows.getLong(1);
+            }
+            BloomFilter next = new BloomFilter(2 * count, 0.01);
+            query.setFetchSize(10_000);
+            try (ResultSet emails = query.executeQuery("select email from users")) {
+                while (emails.next()) {
+                    next.put(emails.getString(1).toLowerCase(Locale.ROOT));
+                }
+            }
+            connection.commit();
+            filter = next;
+            return next;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.eaglebank.eaglebankrepository.user;
+
+import com.eaglebank.eaglebankdomain.user.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning a stored user row into a {@link User}. {@code validated} builds
+ * every value through its checking constructor, as reads used to;
+ * {@code toDomain} is the adapter's path, which rehydrates the names and
+ * date of birth without checks and leaves only the precompiled email,
+ * phone and postcode matches. No database is involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserRehydrationBenchmark {
+    private final UserRepositoryAdapter adapter = new UserRepositoryAdapter(null, null);
+    private final UserEntity row = UserEntity.builder()
+            .id(UUID.randomUUID())
+            .firstName("Ada")
+            .lastName("Lovelace")
+            .dateOfBirth(LocalDate.of(1990, 1, 1))
+            .email("ada@example.com")
+            .passwordHash("$2a$10$abcdefghijklmnopqrstuuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ")
+            .phoneNumber("+447700900000")
+            .addressLine1("1 High Street")
+            .addressTown("Town")
+            .addressCounty("County")
+            .addressPostcode("AB1 2CD")
+            .build();
+
+    @Benchmark
+    public User validated() {
+        return User.rehydrate(
+                UserId.of(row.getId()),
+                new FirstName(row.getFirstName()),
+                new LastName(row.getLastName()),
+                new DateOfBirth(row.getDateOfBirth()),
+                new EmailAddress(row.getEmail()),
+                new PhoneNumber(row.getPhoneNumber()),
+                new Address(row.getAddressLine1(), row.getAddressTown(), row.getAddressCounty(), row.getAddressPostcode()),
+                new PasswordHash(row.getPasswordHash()));
+    }
+
+    @Benchmark
+    public User toDomain() {
+        return adapter.toDomain(row);
+    }
+}
@@ -0,0 +1,50 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.account.AccountOwnership;
+import com.eaglebank.eaglebankdomain.account.AccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+// Off with the journal store, which already serves accounts from memory.
+@Configuration
+@ConditionalOnExpression("${eaglebank.account-cache.enabled:false} and '${eaglebank.ledger.store:jpa}' != 'journal'")
+public class AccountCacheConfig {
+
+    @Bean
+    @Primary
+    public CachingAccountRepository cachingAccountRepository(
+            AccountRepositoryAdapter adapter,
+            ObjectProvider<EventSourcedAccountRepository> eventSourced,
+            ObjectProvider<StripedAccountRepository> striped,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${eaglebank.account-cache.maximum-size:10000}") long maximumSize,
+            @Value("${eaglebank.account-cache.ttl:PT5M}") Duration ttl
+    ) {
+        Cache<AccountId, AccountOwnership> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "account-ownership"));
+        // Wrap whichever balance mode is on; each is a decorator over the adapter.
+        AccountRepository balances = eventSourced.getIfAvailable();
+        if (balances == null) {
+            balances = striped.getIfAvailable();
+        }
+        if (balances == null) {
+            balances = adapter;
+        }
+        return new CachingAccountRepository(balances, cache);
+    }
+}
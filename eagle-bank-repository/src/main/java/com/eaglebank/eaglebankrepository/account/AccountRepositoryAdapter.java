@@ -3,7 +3,11 @@ package com.eaglebank.eaglebankrepository.account;
 import com.eaglebank.eaglebankdomain.account.*;
 import com.eaglebank.eaglebankdomain.user.UserId;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Currency;
 import java.util.List;
 import java.util.Optional;
@@ -42,12 +46,41 @@ public class AccountRepositoryAdapter implements AccountRepository {
         jpa.deleteById(account.getId().value());
     }
 
+    @Override
+    public Optional<AccountOwnership> findOwnership(AccountId id) {
+        return jpa.findOwnershipById(id.value())
+                .map(row -> new AccountOwnership(id, UserId.of(row.getUserId()), Currency.getInstance(row.getCurrency())));
+    }
+
+    @Override
+    @Transactional
+    public boolean applyDelta(AccountId id, long deltaMinorUnits, int exponent) {
+        BigDecimal delta = BigDecimal.valueOf(deltaMinorUnits, exponent);
+        return jpa.applyDelta(id.value(), delta, Instant.now()) > 0;
+    }
+
+    @Override
+    public List<Account> findAllByIdForUpdate(Collection<AccountId> ids) {
+        return jpa.findAllByIdForUpdate(ids.stream().map(AccountId::value).toList())
+                .stream()
+                .map(this::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<Account> saveAll(List<Account> accounts) {
+        return jpa.saveAll(accounts.stream().map(this::toEntity).toList())
+                .stream()
+                .map(this::toDomain)
+                .toList();
+    }
+
     private AccountEntity toEntity(Account a) {
         return AccountEntity.builder()
                 .id(a.getId().value())
                 .userId(a.getOwnerId().value())
                 .name(a.getName().value())
-                .balance(a.getBalance().value())
+                .balance(a.getBalance().toBigDecimal())
                 .accountNumber(a.getAccountNumber().value())
                 .sortCode(a.getSortCode().value())
                 .type(a.getType())
@@ -58,15 +91,16 @@ public class AccountRepositoryAdapter implements AccountRepository {
     }
 
     private Account toDomain(AccountEntity e) {
+        Currency currency = Currency.getInstance(e.getCurrency());
         return Account.rehydrate(
                 AccountId.of(e.getId()),
                 UserId.of(e.getUserId()),
                 new AccountName(e.getName()),
-                new Balance(e.getBalance()),
+                Balance.of(e.getBalance(), currency),
                 new AccountNumber(e.getAccountNumber()),
                 new SortCode(e.getSortCode()),
                 e.getType(),
-                Currency.getInstance(e.getCurrency()),
+                currency,
                 e.getCreatedTimestamp(),
                 e.getUpdatedTimestamp()
         );
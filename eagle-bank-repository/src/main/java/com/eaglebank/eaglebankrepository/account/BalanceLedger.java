@@ -0,0 +1,72 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Storage for the event-sourced balance mode: insert-only ledger entries
+ * numbered per account, and the snapshots that let a read skip all but the
+ * latest of them.
+ */
+@Repository
+public class BalanceLedger {
+    private final SpringDataLedgerEntryRepository entries;
+    private final SpringDataBalanceSnapshotRepository snapshots;
+
+    public BalanceLedger(SpringDataLedgerEntryRepository entries, SpringDataBalanceSnapshotRepository snapshots) {
+        this.entries = entries;
+        this.snapshots = snapshots;
+    }
+
+    /**
+     * Reads the latest snapshot and folds in the entries after it. An
+     * account with no snapshot starts from {@code openingMinorUnits} at
+     * sequence 0.
+     */
+    public LedgerPosition position(AccountId accountId, long openingMinorUnits) {
+        UUID id = accountId.value();
+        long sequence = 0;
+        long balance = openingMinorUnits;
+        BalanceSnapshotEntity snapshot = snapshots.findFirstByIdAccountIdOrderByIdSequenceDesc(id).orElse(null);
+        if (snapshot != null) {
+            sequence = snapshot.getId().getSequence();
+            balance = snapshot.getBalanceMinorUnits();
+        }
+        SpringDataLedgerEntryRepository.Tail tail = entries.findTail(id, sequence);
+        return new LedgerPosition(
+                tail.getLastSequence(),
+                Math.addExact(balance, tail.getDeltaMinorUnits()),
+                tail.getEntries()
+        );
+    }
+
+    /**
+     * Inserts and flushes the entry, so a sequence another posting already
+     * took fails here rather than at commit.
+     */
+    public void append(AccountId accountId, long sequence, long deltaMinorUnits) {
+        entries.saveAndFlush(LedgerEntryEntity.builder()
+                .id(new LedgerEntryEntity.Key(accountId.value(), sequence))
+                .deltaMinorUnits(deltaMinorUnits)
+                .createdTimestamp(Instant.now())
+                .build());
+    }
+
+    public void snapshot(AccountId accountId, LedgerPosition position) {
+        snapshots.saveAndFlush(BalanceSnapshotEntity.builder()
+                .id(new BalanceSnapshotEntity.Key(accountId.value(), position.sequence()))
+                .balanceMinorUnits(position.balanceMinorUnits())
+                .createdTimestamp(Instant.now())
+                .build());
+    }
+
+    @Transactional
+    public void deleteAccount(AccountId accountId) {
+        entries.deleteByAccountId(accountId.value());
+        snapshots.deleteByAccountId(accountId.value());
+    }
+}
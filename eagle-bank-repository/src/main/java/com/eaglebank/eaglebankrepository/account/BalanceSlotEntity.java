@@ -0,0 +1,63 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * One share of a striped account's balance. Postings update a single slot
+ * so that they do not all queue on the same row.
+ */
+@Entity
+@Table(name = "balance_slots")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceSlotEntity implements Persistable<BalanceSlotEntity.Key> {
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private long balanceMinorUnits;
+
+    @Transient
+    @Builder.Default
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        @Column(nullable = false)
+        private UUID accountId;
+
+        @Column(nullable = false)
+        private int slot;
+    }
+}
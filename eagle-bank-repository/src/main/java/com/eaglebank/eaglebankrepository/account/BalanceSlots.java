@@ -0,0 +1,85 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Storage for the striped balance mode: the slots that hold the part of a
+ * striped account's balance not kept in {@code accounts.balance}.
+ */
+@Repository
+public class BalanceSlots {
+    private final SpringDataBalanceSlotRepository slots;
+
+    public BalanceSlots(SpringDataBalanceSlotRepository slots) {
+        this.slots = slots;
+    }
+
+    /**
+     * Adds a signed delta to one slot, refusing any change that would take
+     * that slot below zero.
+     *
+     * @return false if the slot does not exist or holds too little
+     */
+    public boolean add(AccountId accountId, int slot, long deltaMinorUnits) {
+        return slots.add(accountId.value(), slot, deltaMinorUnits) == 1;
+    }
+
+    public long sum(AccountId accountId) {
+        return slots.sumByAccountId(accountId.value());
+    }
+
+    /** Sums for the given accounts; accounts without slots are left out. */
+    public Map<AccountId, Long> sums(Collection<AccountId> accountIds) {
+        Map<AccountId, Long> sums = new HashMap<>();
+        if (accountIds.isEmpty()) {
+            return sums;
+        }
+        for (SpringDataBalanceSlotRepository.Total total
+                : slots.sumByAccountIds(accountIds.stream().map(AccountId::value).toList())) {
+            sums.put(AccountId.of(total.getAccountId()), total.getBalanceMinorUnits());
+        }
+        return sums;
+    }
+
+    /**
+     * Write-locks the account's slots until the surrounding transaction
+     * ends.
+     *
+     * @return each slot's balance, in slot order
+     */
+    public Map<Integer, Long> lock(AccountId accountId) {
+        Map<Integer, Long> held = new LinkedHashMap<>();
+        for (BalanceSlotEntity slot : slots.findAllByAccountIdForUpdate(accountId.value())) {
+            held.put(slot.getId().getSlot(), slot.getBalanceMinorUnits());
+        }
+        return held;
+    }
+
+    /** Inserts the given slots empty. */
+    public void create(AccountId accountId, Collection<Integer> numbers) {
+        UUID id = accountId.value();
+        slots.saveAllAndFlush(numbers.stream()
+                .map(slot -> BalanceSlotEntity.builder()
+                        .id(new BalanceSlotEntity.Key(id, slot))
+                        .balanceMinorUnits(0)
+                        .build())
+                .toList());
+    }
+
+    public void clear(AccountId accountId) {
+        slots.clearByAccountId(accountId.value());
+    }
+
+    @Transactional
+    public void deleteAccount(AccountId accountId) {
+        slots.deleteByAccountId(accountId.value());
+    }
+}
@@ -0,0 +1,67 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An account's balance once every ledger entry up to {@code sequence} has
+ * been applied.
+ */
+@Entity
+@Table(name = "balance_snapshots")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceSnapshotEntity implements Persistable<BalanceSnapshotEntity.Key> {
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private long balanceMinorUnits;
+
+    @Column(nullable = false)
+    private Instant createdTimestamp;
+
+    @Transient
+    @Builder.Default
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        @Column(nullable = false)
+        private UUID accountId;
+
+        @Column(nullable = false)
+        private long sequence;
+    }
+}
@@ -0,0 +1,107 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.account.AccountRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes balance snapshots on a background thread, each in its own database
+ * transaction, so postings never wait on them. A request made inside a
+ * transaction is queued once that transaction completes, and requests for
+ * an account that is already queued are dropped. When the queue is full
+ * the request is dropped too; the account's next posting asks again.
+ */
+public class BalanceSnapshotter implements AutoCloseable {
+    private final AccountRepository accounts;
+    private final BalanceLedger ledger;
+    private final TransactionOperations tx;
+    private final Executor executor;
+    private final Set<AccountId> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param accounts the store whose {@code balance} column holds the
+     *                 opening balance, not the event-sourced view
+     */
+    public BalanceSnapshotter(AccountRepository accounts,
+                              BalanceLedger ledger,
+                              TransactionOperations tx,
+                              int queueCapacity) {
+        this(accounts, ledger, tx, new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "balance-snapshotter");
+                    t.setDaemon(true);
+                    return t;
+                }));
+    }
+
+    BalanceSnapshotter(AccountRepository accounts, BalanceLedger ledger, TransactionOperations tx, Executor executor) {
+        this.accounts = accounts;
+        this.ledger = ledger;
+        this.tx = tx;
+        this.executor = executor;
+    }
+
+    public void request(AccountId accountId) {
+        if (!pending.add(accountId)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    submit(accountId);
+                }
+            });
+        } else {
+            submit(accountId);
+        }
+    }
+
+    private void submit(AccountId accountId) {
+        try {
+            executor.execute(() -> run(accountId));
+        } catch (RejectedExecutionException e) {
+            pending.remove(accountId);
+        }
+    }
+
+    private void run(AccountId accountId) {
+        try {
+            tx.executeWithoutResult(status -> snapshot(accountId));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance wrote the snapshot for this sequence first.
+        } finally {
+            pending.remove(accountId);
+        }
+    }
+
+    private void snapshot(AccountId accountId) {
+        accounts.findById(accountId).ifPresent(account -> {
+            LedgerPosition position = ledger.position(accountId, account.getBalance().minorUnits());
+            if (position.entriesSinceSnapshot() > 0) {
+                ledger.snapshot(accountId, position);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdown();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import com.eaglebank.eaglebankdomain.account.*;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-through cache of each account's owner and currency, the part of an
+ * account that never changes once it is opened. Accounts themselves, and
+ * with them balances, are always read from the store. Deleting an account
+ * evicts its entry, and evicts again once the surrounding transaction
+ * completes, so a read racing the delete cannot leave the entry behind.
+ * Deletes on other instances are not seen until the entry expires, so
+ * {@link #findStoredOwnership} skips the cache and drops an entry whose
+ * account is gone.
+ */
+public class CachingAccountRepository implements AccountRepository {
+    private final AccountRepository delegate;
+    private final Cache<AccountId, AccountOwnership> cache;
+
+    public CachingAccountRepository(AccountRepository delegate, Cache<AccountId, AccountOwnership> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Account save(Account account) {
+        return delegate.save(account);
+    }
+
+    @Override
+    public Optional<Account> findById(AccountId id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Account> findByOwner(UserId ownerId) {
+        return delegate.findByOwner(ownerId);
+    }
+
+    @Override
+    public void delete(Account account) {
+        delegate.delete(account);
+        evict(account.getId());
+    }
+
+    @Override
+    public Optional<AccountOwnership> findOwnership(AccountId id) {
+        // Caffeine does not store nulls, so unknown ids are never cached.
+        return Optional.ofNullable(cache.get(id, key -> delegate.findOwnership(key).orElse(null)));
+    }
+
+    @Override
+    public Optional<AccountOwnership> findStoredOwnership(AccountId id) {
+        Optional<AccountOwnership> stored = delegate.findOwnership(id);
+        if (stored.isEmpty()) {
+            cache.invalidate(id);
+        }
+        return stored;
+    }
+
+    @Override
+    public boolean applyDelta(AccountId id, long deltaMinorUnits, int exponent) {
+        return delegate.applyDelta(id, deltaMinorUnits, exponent);
+    }
+
+    @Override
+    public List<Account> findAllByIdForUpdate(Collection<AccountId> ids) {
+        return delegate.findAllByIdForUpdate(ids);
+    }
+
+    @Override
+    public List<Account> saveAll(List<Account> accounts) {
+        return delegate.saveAll(accounts);
+    }
+
+    private void evict(AccountId id) {
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+}
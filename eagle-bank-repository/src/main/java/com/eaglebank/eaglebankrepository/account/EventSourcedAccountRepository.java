@@ -0,0 +1,218 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import com.eaglebank.eaglebankdomain.account.*;
+import com.eaglebank.eaglebankdomain.exception.ConcurrentUpdateException;
+import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps balances as an insert-only ledger instead of a column that every
+ * posting rewrites. A posting appends an entry numbered one past the
+ * account's last, and a balance is read as the latest snapshot plus the
+ * entries after it. Once {@code snapshotEvery} entries have piled up past
+ * the last snapshot the {@link BalanceSnapshotter} writes a new one in the
+ * background, which keeps that read short.
+ *
+ * <p>The {@code accounts.balance} column becomes the opening balance the
+ * ledger starts from, and postings no longer touch the account row. The
+ * primary key on (account, sequence) is the concurrency check: of two
+ * postings that read the same position, only one can append, and the
+ * other fails with {@link ConcurrentUpdateException} instead of overdrawing
+ * the account. The sharded ledger executor, which this mode requires, keeps
+ * postings to one account on one thread per instance and runs a posting
+ * that lost the race again in a new transaction.
+ */
+public class EventSourcedAccountRepository implements AccountRepository {
+    private final AccountRepository delegate;
+    private final BalanceLedger ledger;
+    private final BalanceSnapshotter snapshotter;
+    private final int snapshotEvery;
+
+    /**
+     * @param delegate the store whose {@code balance} column holds the
+     *                 opening balance
+     */
+    public EventSourcedAccountRepository(AccountRepository delegate,
+                                         BalanceLedger ledger,
+                                         BalanceSnapshotter snapshotter,
+                                         int snapshotEvery) {
+        if (snapshotEvery < 1) {
+            throw new IllegalArgumentException("Snapshot interval must be at least 1");
+        }
+        this.delegate = delegate;
+        this.ledger = ledger;
+        this.snapshotter = snapshotter;
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    /**
+     * Writes everything but the balance, which only postings change. A new
+     * account's balance is stored as its opening balance.
+     */
+    @Override
+    @Transactional
+    public Account save(Account account) {
+        Optional<Account> stored = delegate.findById(account.getId());
+        if (stored.isEmpty()) {
+            return delegate.save(account);
+        }
+        Account saved = delegate.save(withBalance(account, stored.get().getBalance().minorUnits()));
+        return derive(saved, position(saved));
+    }
+
+    @Override
+    public Optional<Account> findById(AccountId id) {
+        return delegate.findById(id).map(stored -> derive(stored, position(stored)));
+    }
+
+    @Override
+    public List<Account> findByOwner(UserId ownerId) {
+        return delegate.findByOwner(ownerId)
+                .stream()
+                .map(stored -> derive(stored, position(stored)))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void delete(Account account) {
+        ledger.deleteAccount(account.getId());
+        delegate.delete(account);
+    }
+
+    @Override
+    public Optional<AccountOwnership> findOwnership(AccountId id) {
+        return delegate.findOwnership(id);
+    }
+
+    @Override
+    @Transactional
+    public boolean applyDelta(AccountId id, long deltaMinorUnits, int exponent) {
+        Optional<Account> stored = delegate.findById(id);
+        if (stored.isEmpty()) {
+            return false;
+        }
+        LedgerPosition position = position(stored.get());
+        if (Math.addExact(position.balanceMinorUnits(), deltaMinorUnits) < 0) {
+            return false;
+        }
+        append(id, position, deltaMinorUnits);
+        return true;
+    }
+
+    /**
+     * Locks the account rows as the column-backed store does, so batches and
+     * transfers still queue behind each other, and remembers the balances
+     * handed out for {@link #saveAll} to diff against.
+     */
+    @Override
+    @Transactional
+    public List<Account> findAllByIdForUpdate(Collection<AccountId> ids) {
+        Map<AccountId, Long> observed = observed();
+        List<Account> accounts = new ArrayList<>(ids.size());
+        for (Account stored : delegate.findAllByIdForUpdate(ids)) {
+            Account account = derive(stored, position(stored));
+            observed.put(account.getId(), account.getBalance().minorUnits());
+            accounts.add(account);
+        }
+        return accounts;
+    }
+
+    /**
+     * Appends the difference between each account's balance and the one
+     * {@link #findAllByIdForUpdate} returned for it. Single postings do not
+     * take the row lock, so one may have landed in between; appending the
+     * difference keeps it, and the funds check is made again against the
+     * current position. Only the balance is written; the account row is
+     * left alone.
+     *
+     * @throws InvalidUserDataException if a posting in between left too
+     *         little to cover a withdrawal
+     */
+    @Override
+    @Transactional
+    public List<Account> saveAll(List<Account> accounts) {
+        Map<AccountId, Long> observed = observed();
+        List<Account> saved = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            Optional<Account> stored = delegate.findById(account.getId());
+            if (stored.isEmpty()) {
+                saved.add(delegate.save(account));
+                continue;
+            }
+            LedgerPosition position = position(stored.get());
+            long target = account.getBalance().minorUnits();
+            long delta = target - observed.getOrDefault(account.getId(), position.balanceMinorUnits());
+            long balance = Math.addExact(position.balanceMinorUnits(), delta);
+            if (delta != 0) {
+                if (balance < 0) {
+                    throw new InvalidUserDataException("Insufficient funds");
+                }
+                append(account.getId(), position, delta);
+                observed.put(account.getId(), target);
+            }
+            saved.add(withBalance(stored.get(), balance));
+        }
+        return saved;
+    }
+
+    private LedgerPosition position(Account stored) {
+        LedgerPosition position = ledger.position(stored.getId(), stored.getBalance().minorUnits());
+        if (position.entriesSinceSnapshot() >= snapshotEvery) {
+            snapshotter.request(stored.getId());
+        }
+        return position;
+    }
+
+    private void append(AccountId id, LedgerPosition position, long deltaMinorUnits) {
+        try {
+            ledger.append(id, position.sequence() + 1, deltaMinorUnits);
+        } catch (DataIntegrityViolationException e) {
+            // The only constraint on ledger_entries is the (account, sequence) key.
+            throw new ConcurrentUpdateException("Account was posted to concurrently, please retry");
+        }
+        if (position.entriesSinceSnapshot() + 1 == snapshotEvery) {
+            snapshotter.request(id);
+        }
+    }
+
+    private static Account derive(Account stored, LedgerPosition position) {
+        return withBalance(stored, position.balanceMinorUnits());
+    }
+
+    private static Account withBalance(Account a, long minorUnits) {
+        return a.withDerivedBalance(new Balance(minorUnits, a.getBalance().exponent()));
+    }
+
+    /** Balances handed out by {@link #findAllByIdForUpdate} in the current transaction. */
+    @SuppressWarnings("unchecked")
+    private Map<AccountId, Long> observed() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new HashMap<>();
+        }
+        Map<AccountId, Long> observed = (Map<AccountId, Long>) TransactionSynchronizationManager.getResource(this);
+        if (observed == null) {
+            Map<AccountId, Long> created = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EventSourcedAccountRepository.this);
+                }
+            });
+            observed = created;
+        }
+        return observed;
+    }
+}
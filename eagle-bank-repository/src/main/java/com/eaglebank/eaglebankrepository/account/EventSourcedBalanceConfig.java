@@ -0,0 +1,51 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import com.eaglebank.eaglebankdomain.account.AccountRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.support.TransactionOperations;
+
+@Configuration
+@ConditionalOnProperty(name = "eaglebank.ledger.balances", havingValue = "event-sourced")
+public class EventSourcedBalanceConfig {
+
+    @Bean
+    public BalanceSnapshotter balanceSnapshotter(
+            AccountRepositoryAdapter adapter,
+            BalanceLedger ledger,
+            TransactionOperations transactionOperations,
+            @Value("${eaglebank.ledger.snapshot-queue-capacity:10000}") int queueCapacity
+    ) {
+        return new BalanceSnapshotter(adapter, ledger, transactionOperations, queueCapacity);
+    }
+
+    // Inline, every concurrent posting to an account races for the next
+    // sequence number and all but one fail; the sharded executor queues them
+    // and retries the ones that lose to another instance.
+    @Bean
+    public EventSourcedAccountRepository eventSourcedAccountRepository(
+            AccountRepositoryAdapter adapter,
+            BalanceLedger ledger,
+            BalanceSnapshotter snapshotter,
+            @Value("${eaglebank.ledger.snapshot-every:100}") int snapshotEvery,
+            @Value("${eaglebank.ledger.executor:inline}") String executor
+    ) {
+        if (!"sharded".equals(executor)) {
+            throw new IllegalStateException(
+                    "eaglebank.ledger.balances=event-sourced needs eaglebank.ledger.executor=sharded, not " + executor);
+        }
+        return new EventSourcedAccountRepository(adapter, ledger, snapshotter, snapshotEvery);
+    }
+
+    // With the account cache on, AccountCacheConfig wraps the ledger and is
+    // the primary repository instead.
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "eaglebank.account-cache.enabled", havingValue = "false", matchIfMissing = true)
+    public AccountRepository uncachedAccountRepository(EventSourcedAccountRepository eventSourced) {
+        return eventSourced;
+    }
+}
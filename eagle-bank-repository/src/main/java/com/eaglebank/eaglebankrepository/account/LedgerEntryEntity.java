@@ -0,0 +1,68 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One balance change in the event-sourced ledger, numbered per account.
+ */
+@Entity
+@Table(name = "ledger_entries")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerEntryEntity implements Persistable<LedgerEntryEntity.Key> {
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private long deltaMinorUnits;
+
+    @Column(nullable = false)
+    private Instant createdTimestamp;
+
+    // Must always INSERT: two postings that claim the same sequence number
+    // have to fail on the primary key, not merge into one row.
+    @Transient
+    @Builder.Default
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        @Column(nullable = false)
+        private UUID accountId;
+
+        @Column(nullable = false)
+        private long sequence;
+    }
+}
@@ -0,0 +1,9 @@
+package com.eaglebank.eaglebankrepository.account;
+
+/**
+ * Where an account's ledger stands: the last entry applied, the balance it
+ * leaves, and how many entries were read on top of the latest snapshot to
+ * get there.
+ */
+public record LedgerPosition(long sequence, long balanceMinorUnits, long entriesSinceSnapshot) {
+}
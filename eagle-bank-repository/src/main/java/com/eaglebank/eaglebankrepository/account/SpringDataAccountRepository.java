@@ -1,10 +1,43 @@
 package com.eaglebank.eaglebankrepository.account;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface SpringDataAccountRepository extends JpaRepository<AccountEntity, UUID> {
+
+    /** The columns an ownership check reads. */
+    interface Ownership {
+        UUID getUserId();
+
+        String getCurrency();
+    }
+
     List<AccountEntity> findByUserId(UUID userId);
-}
\ No newline at end of file
+
+    @Query("select a.userId as userId, a.currency as currency from AccountEntity a where a.id = :id")
+    Optional<Ownership> findOwnershipById(@Param("id") UUID id);
+
+    /**
+     * Native so the delta is bound as a plain numeric; the JPQL form makes
+     * Hibernate wrap it in a cast H2 cannot parse.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update accounts set balance = balance + :delta, updated_timestamp = :now " +
+            "where id = :id and balance + :delta >= 0", nativeQuery = true)
+    int applyDelta(@Param("id") UUID id, @Param("delta") BigDecimal delta, @Param("now") Instant now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from AccountEntity a where a.id in :ids order by a.id")
+    List<AccountEntity> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
+}
@@ -0,0 +1,46 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface SpringDataBalanceSlotRepository extends JpaRepository<BalanceSlotEntity, BalanceSlotEntity.Key> {
+
+    /** Sum of one account's slots. */
+    interface Total {
+        UUID getAccountId();
+
+        Long getBalanceMinorUnits();
+    }
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update BalanceSlotEntity s set s.balanceMinorUnits = s.balanceMinorUnits + :delta " +
+            "where s.id.accountId = :accountId and s.id.slot = :slot and s.balanceMinorUnits + :delta >= 0")
+    int add(@Param("accountId") UUID accountId, @Param("slot") int slot, @Param("delta") long delta);
+
+    @Query("select coalesce(sum(s.balanceMinorUnits), 0L) from BalanceSlotEntity s where s.id.accountId = :accountId")
+    long sumByAccountId(@Param("accountId") UUID accountId);
+
+    @Query("select s.id.accountId as accountId, sum(s.balanceMinorUnits) as balanceMinorUnits " +
+            "from BalanceSlotEntity s where s.id.accountId in :accountIds group by s.id.accountId")
+    List<Total> sumByAccountIds(@Param("accountIds") Collection<UUID> accountIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from BalanceSlotEntity s where s.id.accountId = :accountId order by s.id.slot")
+    List<BalanceSlotEntity> findAllByAccountIdForUpdate(@Param("accountId") UUID accountId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update BalanceSlotEntity s set s.balanceMinorUnits = 0 where s.id.accountId = :accountId")
+    int clearByAccountId(@Param("accountId") UUID accountId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from BalanceSlotEntity s where s.id.accountId = :accountId")
+    int deleteByAccountId(@Param("accountId") UUID accountId);
+}
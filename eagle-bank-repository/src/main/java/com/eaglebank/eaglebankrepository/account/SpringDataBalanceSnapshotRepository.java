@@ -0,0 +1,18 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface SpringDataBalanceSnapshotRepository
+        extends JpaRepository<BalanceSnapshotEntity, BalanceSnapshotEntity.Key> {
+    Optional<BalanceSnapshotEntity> findFirstByIdAccountIdOrderByIdSequenceDesc(UUID accountId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from BalanceSnapshotEntity s where s.id.accountId = :accountId")
+    int deleteByAccountId(@Param("accountId") UUID accountId);
+}
@@ -0,0 +1,29 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.UUID;
+
+public interface SpringDataLedgerEntryRepository extends JpaRepository<LedgerEntryEntity, LedgerEntryEntity.Key> {
+
+    /** Sum, last sequence number and count of the entries after {@code after}. */
+    interface Tail {
+        Long getDeltaMinorUnits();
+
+        Long getLastSequence();
+
+        Long getEntries();
+    }
+
+    @Query("select coalesce(sum(e.deltaMinorUnits), 0L) as deltaMinorUnits, " +
+            "coalesce(max(e.id.sequence), :after) as lastSequence, count(e) as entries " +
+            "from LedgerEntryEntity e where e.id.accountId = :accountId and e.id.sequence > :after")
+    Tail findTail(@Param("accountId") UUID accountId, @Param("after") long after);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from LedgerEntryEntity e where e.id.accountId = :accountId")
+    int deleteByAccountId(@Param("accountId") UUID accountId);
+}
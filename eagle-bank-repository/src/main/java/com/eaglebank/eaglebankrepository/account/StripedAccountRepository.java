@@ -0,0 +1,217 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import com.eaglebank.eaglebankdomain.account.*;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Spreads the balance of {@code BUSINESS} accounts over {@code stripes}
+ * slots so that deposits to one busy account do not all queue on its row.
+ * A striped account's balance is {@code accounts.balance} plus the sum of
+ * its slots. A posting updates one slot picked at random, with the funds
+ * check on that slot alone; a withdrawal the slot cannot cover locks the
+ * account row and every slot and borrows from as many as it needs.
+ * Other account types are passed straight through.
+ *
+ * <p>Slots are created the first time an account is posted to, under the
+ * account row lock, so transfers and batches, which hold that lock, see a
+ * fixed set of slots. Postings to a striped account do not update the
+ * account row and so leave its update time alone. Use the inline ledger
+ * executor with this mode; the sharded one runs postings to an account one
+ * at a time, which is exactly what striping is meant to avoid.
+ */
+public class StripedAccountRepository implements AccountRepository {
+    private static final long TYPE_CACHE_SIZE = 100_000;
+
+    private final AccountRepository delegate;
+    private final BalanceSlots slots;
+    private final int stripes;
+    // An account's type never changes, so whether it is striped can be
+    // remembered rather than read on every posting.
+    private final Cache<AccountId, Boolean> striped = Caffeine.newBuilder()
+            .maximumSize(TYPE_CACHE_SIZE)
+            .build();
+
+    /**
+     * @param delegate the store whose {@code balance} column holds the
+     *                 unstriped part of each balance
+     */
+    public StripedAccountRepository(AccountRepository delegate, BalanceSlots slots, int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Stripe count must be at least 1");
+        }
+        this.delegate = delegate;
+        this.slots = slots;
+        this.stripes = stripes;
+    }
+
+    /**
+     * Writes everything but the balance of a striped account, whose column
+     * is kept as it was; the row is locked so a borrowing withdrawal cannot
+     * change it in between.
+     */
+    @Override
+    @Transactional
+    public Account save(Account account) {
+        if (!isBusiness(account)) {
+            return delegate.save(account);
+        }
+        List<Account> stored = delegate.findAllByIdForUpdate(List.of(account.getId()));
+        if (stored.isEmpty()) {
+            return delegate.save(account);
+        }
+        Account saved = delegate.save(withBalance(account, stored.get(0).getBalance().minorUnits()));
+        return withBalance(saved, Math.addExact(saved.getBalance().minorUnits(), slots.sum(saved.getId())));
+    }
+
+    @Override
+    public Optional<Account> findById(AccountId id) {
+        return delegate.findById(id).map(stored -> isBusiness(stored)
+                ? withBalance(stored, Math.addExact(stored.getBalance().minorUnits(), slots.sum(id)))
+                : stored);
+    }
+
+    @Override
+    public List<Account> findByOwner(UserId ownerId) {
+        List<Account> stored = delegate.findByOwner(ownerId);
+        Map<AccountId, Long> sums = slots.sums(stored.stream()
+                .filter(StripedAccountRepository::isBusiness)
+                .map(Account::getId)
+                .toList());
+        return stored.stream()
+                .map(account -> sums.containsKey(account.getId())
+                        ? withBalance(account, Math.addExact(
+                                account.getBalance().minorUnits(), sums.get(account.getId())))
+                        : account)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void delete(Account account) {
+        if (isBusiness(account)) {
+            slots.deleteAccount(account.getId());
+        }
+        delegate.delete(account);
+    }
+
+    @Override
+    public Optional<AccountOwnership> findOwnership(AccountId id) {
+        return delegate.findOwnership(id);
+    }
+
+    @Override
+    @Transactional
+    public boolean applyDelta(AccountId id, long deltaMinorUnits, int exponent) {
+        if (!isStriped(id)) {
+            return delegate.applyDelta(id, deltaMinorUnits, exponent);
+        }
+        int slot = ThreadLocalRandom.current().nextInt(stripes);
+        if (slots.add(id, slot, deltaMinorUnits)) {
+            return true;
+        }
+        return deltaMinorUnits >= 0
+                ? depositIntoNewSlot(id, slot, deltaMinorUnits)
+                : borrow(id, -deltaMinorUnits, exponent);
+    }
+
+    /** Locks the account rows and, for striped accounts, every slot too. */
+    @Override
+    @Transactional
+    public List<Account> findAllByIdForUpdate(Collection<AccountId> ids) {
+        List<Account> accounts = new ArrayList<>(ids.size());
+        for (Account stored : delegate.findAllByIdForUpdate(ids)) {
+            accounts.add(isBusiness(stored)
+                    ? withBalance(stored, Math.addExact(stored.getBalance().minorUnits(), held(stored.getId())))
+                    : stored);
+        }
+        return accounts;
+    }
+
+    /**
+     * Writes each balance to the account row and empties a striped
+     * account's slots. The accounts must have been locked by
+     * {@link #findAllByIdForUpdate} in the same transaction, as batches and
+     * transfers do, or a posting to a slot in between would be lost.
+     */
+    @Override
+    @Transactional
+    public List<Account> saveAll(List<Account> accounts) {
+        accounts.stream()
+                .filter(StripedAccountRepository::isBusiness)
+                .forEach(account -> slots.clear(account.getId()));
+        return delegate.saveAll(accounts);
+    }
+
+    private boolean depositIntoNewSlot(AccountId id, int slot, long deltaMinorUnits) {
+        if (delegate.findAllByIdForUpdate(List.of(id)).isEmpty()) {
+            return false;
+        }
+        Map<Integer, Long> held = slots.lock(id);
+        slots.create(id, IntStream.range(0, stripes).filter(n -> !held.containsKey(n)).boxed().toList());
+        slots.add(id, slot, deltaMinorUnits);
+        return true;
+    }
+
+    private boolean borrow(AccountId id, long amountMinorUnits, int exponent) {
+        List<Account> locked = delegate.findAllByIdForUpdate(List.of(id));
+        if (locked.isEmpty()) {
+            return false;
+        }
+        Map<Integer, Long> held = slots.lock(id);
+        long total = locked.get(0).getBalance().minorUnits();
+        for (long balance : held.values()) {
+            total = Math.addExact(total, balance);
+        }
+        if (total < amountMinorUnits) {
+            return false;
+        }
+        long owed = amountMinorUnits;
+        for (Map.Entry<Integer, Long> slot : held.entrySet()) {
+            long taken = Math.min(slot.getValue(), owed);
+            if (taken > 0) {
+                slots.add(id, slot.getKey(), -taken);
+                owed -= taken;
+            }
+        }
+        if (owed > 0) {
+            // The row is locked and the total covers it, so this cannot fail.
+            delegate.applyDelta(id, -owed, exponent);
+        }
+        return true;
+    }
+
+    private long held(AccountId id) {
+        long sum = 0;
+        for (long balance : slots.lock(id).values()) {
+            sum = Math.addExact(sum, balance);
+        }
+        return sum;
+    }
+
+    private boolean isStriped(AccountId id) {
+        // Unknown accounts are not cached; the delegate reports them missing.
+        Boolean business = striped.get(id, key -> delegate.findById(key)
+                .map(StripedAccountRepository::isBusiness)
+                .orElse(null));
+        return Boolean.TRUE.equals(business);
+    }
+
+    private static boolean isBusiness(Account account) {
+        return account.getType() == AccountType.BUSINESS;
+    }
+
+    private static Account withBalance(Account a, long minorUnits) {
+        return a.withDerivedBalance(new Balance(minorUnits, a.getBalance().exponent()));
+    }
+}
@@ -0,0 +1,31 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import com.eaglebank.eaglebankdomain.account.AccountRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@ConditionalOnProperty(name = "eaglebank.ledger.balances", havingValue = "striped")
+public class StripedBalanceConfig {
+
+    @Bean
+    public StripedAccountRepository stripedAccountRepository(
+            AccountRepositoryAdapter adapter,
+            BalanceSlots slots,
+            @Value("${eaglebank.ledger.stripes:8}") int stripes
+    ) {
+        return new StripedAccountRepository(adapter, slots, stripes);
+    }
+
+    // With the account cache on, AccountCacheConfig wraps the striped
+    // repository and is the primary repository instead.
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "eaglebank.account-cache.enabled", havingValue = "false", matchIfMissing = true)
+    public AccountRepository uncachedAccountRepository(StripedAccountRepository striped) {
+        return striped;
+    }
+}
@@ -0,0 +1,32 @@
+package com.eaglebank.eaglebankrepository.journal;
+
+import com.eaglebank.eaglebankdomain.account.Account;
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.transaction.IdempotencyKey;
+import com.eaglebank.eaglebankdomain.transaction.Transaction;
+
+import java.time.Instant;
+
+/**
+ * One write recorded in the journal. A frame holds every change one
+ * database transaction made, and replay applies them in the same order.
+ */
+interface Change {
+
+    record AccountSaved(Account account) implements Change {
+    }
+
+    record AccountDeleted(AccountId accountId) implements Change {
+    }
+
+    /** A posting's new balance, written instead of the whole account. */
+    record BalanceSet(AccountId accountId, long minorUnits, Instant updatedTimestamp) implements Change {
+    }
+
+    record TransactionSaved(Transaction transaction) implements Change {
+    }
+
+    /** Written in the same frame as the posting it answers for. */
+    record IdempotencyRecorded(IdempotencyKey key, Transaction transaction, Instant expiresAt) implements Change {
+    }
+}
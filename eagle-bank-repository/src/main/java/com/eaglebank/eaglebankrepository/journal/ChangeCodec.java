@@ -0,0 +1,172 @@
+package com.eaglebank.eaglebankrepository.journal;
+
+import com.eaglebank.eaglebankdomain.account.*;
+import com.eaglebank.eaglebankdomain.transaction.Amount;
+import com.eaglebank.eaglebankdomain.transaction.IdempotencyKey;
+import com.eaglebank.eaglebankdomain.transaction.Transaction;
+import com.eaglebank.eaglebankdomain.transaction.TransactionId;
+import com.eaglebank.eaglebankdomain.transaction.TransactionType;
+import com.eaglebank.eaglebankdomain.user.UserId;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Binary form of a frame's changes: a count, then each change as a one-byte
+ * tag followed by its fields. Enums and currencies are written by name so
+ * the format does not depend on declaration order.
+ */
+final class ChangeCodec {
+    private static final byte ACCOUNT_SAVED = 1;
+    private static final byte ACCOUNT_DELETED = 2;
+    private static final byte BALANCE_SET = 3;
+    private static final byte TRANSACTION_SAVED = 4;
+    private static final byte IDEMPOTENCY_RECORDED = 5;
+
+    private ChangeCodec() {
+    }
+
+    static byte[] encode(List<Change> changes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * changes.size());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(changes.size());
+            for (Change change : changes) {
+                write(out, change);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<Change> decode(byte[] frame) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(frame))) {
+            int count = in.readInt();
+            List<Change> changes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                changes.add(read(in));
+            }
+            return changes;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void write(DataOutputStream out, Change change) throws IOException {
+        if (change instanceof Change.AccountSaved saved) {
+            Account a = saved.account();
+            out.writeByte(ACCOUNT_SAVED);
+            writeUuid(out, a.getId().value());
+            writeUuid(out, a.getOwnerId().value());
+            out.writeUTF(a.getName().value());
+            out.writeLong(a.getBalance().minorUnits());
+            out.writeByte(a.getBalance().exponent());
+            out.writeUTF(a.getAccountNumber().value());
+            out.writeUTF(a.getSortCode().value());
+            out.writeUTF(a.getType().name());
+            out.writeUTF(a.getCurrency().getCurrencyCode());
+            writeInstant(out, a.getCreatedTimestamp());
+            writeInstant(out, a.getUpdatedTimestamp());
+        } else if (change instanceof Change.AccountDeleted deleted) {
+            out.writeByte(ACCOUNT_DELETED);
+            writeUuid(out, deleted.accountId().value());
+        } else if (change instanceof Change.BalanceSet balance) {
+            out.writeByte(BALANCE_SET);
+            writeUuid(out, balance.accountId().value());
+            out.writeLong(balance.minorUnits());
+            writeInstant(out, balance.updatedTimestamp());
+        } else if (change instanceof Change.TransactionSaved saved) {
+            out.writeByte(TRANSACTION_SAVED);
+            writeTransaction(out, saved.transaction());
+        } else if (change instanceof Change.IdempotencyRecorded recorded) {
+            out.writeByte(IDEMPOTENCY_RECORDED);
+            writeUuid(out, recorded.key().ownerId().value());
+            out.writeUTF(recorded.key().value());
+            writeTransaction(out, recorded.transaction());
+            writeInstant(out, recorded.expiresAt());
+        } else {
+            throw new IllegalArgumentException("Unknown change " + change);
+        }
+    }
+
+    static Change read(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case ACCOUNT_SAVED:
+                return new Change.AccountSaved(Account.rehydrate(
+                        AccountId.of(readUuid(in)),
+                        UserId.of(readUuid(in)),
+                        new AccountName(in.readUTF()),
+                        new Balance(in.readLong(), in.readByte()),
+                        new AccountNumber(in.readUTF()),
+                        new SortCode(in.readUTF()),
+                        AccountType.valueOf(in.readUTF()),
+                        Currency.getInstance(in.readUTF()),
+                        readInstant(in),
+                        readInstant(in)
+                ));
+            case ACCOUNT_DELETED:
+                return new Change.AccountDeleted(AccountId.of(readUuid(in)));
+            case BALANCE_SET:
+                return new Change.BalanceSet(AccountId.of(readUuid(in)), in.readLong(), readInstant(in));
+            case TRANSACTION_SAVED:
+                return new Change.TransactionSaved(readTransaction(in));
+            case IDEMPOTENCY_RECORDED:
+                return new Change.IdempotencyRecorded(
+                        new IdempotencyKey(UserId.of(readUuid(in)), in.readUTF()),
+                        readTransaction(in),
+                        readInstant(in)
+                );
+            default:
+                throw new IOException("Unknown journal record tag " + tag);
+        }
+    }
+
+    private static void writeTransaction(DataOutputStream out, Transaction t) throws IOException {
+        writeUuid(out, t.getId().value());
+        writeUuid(out, t.getAccountId().value());
+        out.writeUTF(t.getType().name());
+        out.writeLong(t.getAmount().minorUnits());
+        out.writeByte(t.getAmount().exponent());
+        writeInstant(out, t.getTimestamp());
+        out.writeUTF(t.getCurrency().getCurrencyCode());
+    }
+
+    private static Transaction readTransaction(DataInputStream in) throws IOException {
+        return Transaction.rehydrate(
+                TransactionId.of(readUuid(in)),
+                AccountId.of(readUuid(in)),
+                TransactionType.valueOf(in.readUTF()),
+                new Amount(in.readLong(), in.readByte()),
+                readInstant(in),
+                Currency.getInstance(in.readUTF())
+        );
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+        out.writeLong(instant.getEpochSecond());
+        out.writeInt(instant.getNano());
+    }
+
+    static Instant readInstant(DataInputStream in) throws IOException {
+        return Instant.ofEpochSecond(in.readLong(), in.readInt());
+    }
+}
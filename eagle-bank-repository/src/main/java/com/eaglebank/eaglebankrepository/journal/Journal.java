@@ -0,0 +1,287 @@
+package com.eaglebank.eaglebankrepository.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of frames kept in memory-mapped segment files named
+ * {@code journal-NNNNNNNNNN.log}. Each frame is a length, a CRC-32C of the
+ * payload and the payload; a zero length marks the end of a segment.
+ * Segments are created at their full size, so making a frame durable only
+ * needs its pages flushed, never the file's size.
+ *
+ * <p>Appending only copies the frame into the mapping. A caller that needs
+ * it on disk then calls {@link #awaitDurable}: the first waiter flushes the
+ * segment once for every frame appended so far, while later waiters block
+ * and are released by that flush or join the next one. Concurrent commits
+ * therefore share one flush between them.
+ *
+ * <p>On open every segment from the first one asked for is replayed in
+ * order; older ones are left over from a checkpoint and are deleted. A
+ * frame that is cut short or fails its checksum can only be the tail of
+ * the last segment, left by a crash mid-append; it and everything after it
+ * are cleared, and appending resumes in its place.
+ */
+final class Journal implements AutoCloseable {
+    static final int FRAME_HEADER_BYTES = 8;
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentIndex;
+    private int position;
+    private long appended;
+    private long durable;
+    private boolean flushing;
+    private long flushes;
+
+    /**
+     * @param firstSegment the segment replay starts at, as returned by
+     *                     {@link #checkpoint} for the last checkpoint taken
+     * @param replay       receives the payload of every frame from there on,
+     *                     oldest first, before this returns
+     */
+    Journal(Path directory, int segmentBytes, long firstSegment, Consumer<byte[]> replay) throws IOException {
+        if (segmentBytes <= FRAME_HEADER_BYTES) {
+            throw new IllegalArgumentException("Segment size must exceed the frame header");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files
+                    .filter(p -> p.getFileName().toString().startsWith(PREFIX))
+                    .filter(p -> p.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        deleteBefore(firstSegment);
+        segments = segments.stream().filter(p -> indexOf(p) >= firstSegment).toList();
+        if (segments.isEmpty()) {
+            openSegment(firstSegment);
+            return;
+        }
+        for (int i = 0; i < segments.size(); i++) {
+            boolean last = i == segments.size() - 1;
+            Path file = segments.get(i);
+            FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_WRITE, 0, ch.size());
+            int end = replay(map, replay);
+            if (end < 0 && !last) {
+                ch.close();
+                throw new IOException("Corrupt frame inside journal segment " + file);
+            }
+            if (last) {
+                end = end < 0 ? -end - 1 : end;
+                clearFrom(map, end);
+                channel = ch;
+                segment = map;
+                segmentIndex = indexOf(file);
+                position = end;
+            } else {
+                ch.close();
+            }
+        }
+    }
+
+    /**
+     * Replays the frames in {@code map} and returns where the next one
+     * would start, or {@code -(that position) - 1} when a damaged frame was
+     * found there.
+     */
+    private static int replay(MappedByteBuffer map, Consumer<byte[]> replay) {
+        int p = 0;
+        while (p + FRAME_HEADER_BYTES <= map.capacity()) {
+            int length = map.getInt(p);
+            if (length == 0) {
+                return p;
+            }
+            if (length < 0 || length > map.capacity() - p - FRAME_HEADER_BYTES) {
+                return -p - 1;
+            }
+            byte[] payload = new byte[length];
+            map.get(p + FRAME_HEADER_BYTES, payload);
+            if (crc(payload) != map.getInt(p + 4)) {
+                return -p - 1;
+            }
+            replay.accept(payload);
+            p += FRAME_HEADER_BYTES + length;
+        }
+        return p;
+    }
+
+    // The length is written last, so a crash mid-append can leave a frame
+    // that reads as the end of the segment with part of its payload behind
+    // it. Clearing those bytes keeps them from being read as part of a
+    // later, shorter frame.
+    private static void clearFrom(MappedByteBuffer map, int from) {
+        boolean dirty = false;
+        for (int p = from; p < map.capacity(); p++) {
+            if (map.get(p) != 0) {
+                map.put(p, (byte) 0);
+                dirty = true;
+            }
+        }
+        if (dirty) {
+            map.force();
+        }
+    }
+
+    /** Copies one frame into the journal and returns its number, for {@link #awaitDurable}. */
+    long append(byte[] payload) {
+        if (payload.length == 0 || payload.length > segmentBytes - FRAME_HEADER_BYTES) {
+            throw new IllegalArgumentException("Frame of " + payload.length + " bytes does not fit a segment");
+        }
+        int checksum = crc(payload);
+        lock.lock();
+        try {
+            if (position + FRAME_HEADER_BYTES + payload.length > segment.capacity()) {
+                roll();
+            }
+            segment.put(position + FRAME_HEADER_BYTES, payload);
+            segment.putInt(position + 4, checksum);
+            segment.putInt(position, payload.length);
+            position += FRAME_HEADER_BYTES + payload.length;
+            return ++appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns once frame {@code frame} and every frame before it are on disk. */
+    void awaitDurable(long frame) {
+        lock.lock();
+        try {
+            while (durable < frame) {
+                if (flushing) {
+                    flushed.awaitUninterruptibly();
+                    continue;
+                }
+                flushing = true;
+                long target = appended;
+                MappedByteBuffer current = segment;
+                lock.unlock();
+                try {
+                    current.force();
+                } finally {
+                    lock.lock();
+                    flushing = false;
+                    flushed.signalAll();
+                }
+                durable = Math.max(durable, target);
+                flushes++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Number of flushes so far; concurrent commits share them. */
+    long flushes() {
+        lock.lock();
+        try {
+            return flushes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts a new segment for the frames that follow, unless the current
+     * one is still empty, and returns its index. Every frame appended
+     * before is then in an earlier segment and on disk.
+     */
+    long checkpoint() {
+        lock.lock();
+        try {
+            if (position > 0) {
+                roll();
+            }
+            return segmentIndex;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Deletes the segments before {@code index}, once a checkpoint no longer needs them. */
+    void deleteBefore(long index) throws IOException {
+        List<Path> stale;
+        try (Stream<Path> files = Files.list(directory)) {
+            stale = files
+                    .filter(p -> p.getFileName().toString().startsWith(PREFIX))
+                    .filter(p -> p.getFileName().toString().endsWith(SUFFIX))
+                    .filter(p -> indexOf(p) < index)
+                    .toList();
+        }
+        for (Path file : stale) {
+            Files.delete(file);
+        }
+    }
+
+    // Runs under the lock. Earlier segments are flushed before the next is
+    // started, so a waiter only ever has to flush the current one.
+    private void roll() {
+        try {
+            segment.force();
+            channel.close();
+            openSegment(segmentIndex + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void openSegment(long index) throws IOException {
+        Path file = directory.resolve(String.format("%s%010d%s", PREFIX, index, SUFFIX));
+        channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        segmentIndex = index;
+        position = 0;
+        // The new file's directory entry must be on disk before any frame in
+        // it is reported durable.
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+    }
+
+    private static long indexOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            segment.force();
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
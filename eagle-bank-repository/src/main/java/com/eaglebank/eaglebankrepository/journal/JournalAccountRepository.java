@@ -0,0 +1,51 @@
+package com.eaglebank.eaglebankrepository.journal;
+
+import com.eaglebank.eaglebankdomain.account.*;
+import com.eaglebank.eaglebankdomain.user.UserId;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public class JournalAccountRepository implements AccountRepository {
+    private final JournalStore store;
+
+    public JournalAccountRepository(JournalStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Account save(Account account) {
+        return store.saveAccount(account);
+    }
+
+    @Override
+    public Optional<Account> findById(AccountId id) {
+        return store.findAccount(id);
+    }
+
+    @Override
+    public List<Account> findByOwner(UserId ownerId) {
+        return store.findAccountsByOwner(ownerId);
+    }
+
+    @Override
+    public void delete(Account account) {
+        store.deleteAccount(account.getId());
+    }
+
+    @Override
+    public boolean applyDelta(AccountId id, long deltaMinorUnits, int exponent) {
+        return store.applyDelta(id, deltaMinorUnits, exponent).isPresent();
+    }
+
+    @Override
+    public List<Account> findAllByIdForUpdate(Collection<AccountId> ids) {
+        return store.lockAccounts(ids);
+    }
+
+    @Override
+    public List<Account> saveAll(List<Account> accounts) {
+        return store.saveAccounts(accounts);
+    }
+}
@@ -0,0 +1,61 @@
+package com.eaglebank.eaglebankrepository.journal;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Serves accounts, transactions and idempotency keys from the journal
+ * instead of the database. Users stay in the database. The account cache,
+ * the idempotency hot tier, event-sourced balances and the transaction
+ * archive all decorate the JPA adapters and are not used with it.
+ *
+ * <p>The journal lives on the instance's own disk, so only one instance
+ * may run.
+ */
+@Configuration
+@ConditionalOnProperty(name = "eaglebank.ledger.store", havingValue = "journal")
+public class JournalConfig {
+
+    @Bean
+    public JournalStore journalStore(
+            @Value("${eaglebank.ledger.journal.directory}") Path directory,
+            @Value("${eaglebank.ledger.journal.segment-bytes:268435456}") int segmentBytes,
+            @Value("${eaglebank.ledger.journal.checkpoint-transactions:100000}") int checkpointTransactions,
+            @Value("${eaglebank.ledger.journal.max-transactions:1000000}") long maxTransactions,
+            @Value("${eaglebank.replicas:1}") int replicas
+    ) throws IOException {
+        if (replicas > 1) {
+            throw new IllegalStateException("eaglebank.ledger.store=journal needs a single instance, but eaglebank.replicas is "
+                    + replicas);
+        }
+        return new JournalStore(directory, segmentBytes, checkpointTransactions, maxTransactions);
+    }
+
+    @Bean
+    @Primary
+    public JournalAccountRepository journalAccountRepository(JournalStore store) {
+        return new JournalAccountRepository(store);
+    }
+
+    @Bean
+    @Primary
+    public JournalTransactionRepository journalTransactionRepository(JournalStore store) {
+        return new JournalTransactionRepository(store);
+    }
+
+    @Bean
+    @Primary
+    public JournalIdempotencyRepository journalIdempotencyRepository(
+            JournalStore store,
+            @Value("${eaglebank.idempotency.ttl:PT24H}") Duration ttl
+    ) {
+        return new JournalIdempotencyRepository(store, ttl);
+    }
+}
@@ -0,0 +1,38 @@
+package com.eaglebank.eaglebankrepository.journal;
+
+import com.eaglebank.eaglebankdomain.transaction.IdempotencyKey;
+import com.eaglebank.eaglebankdomain.transaction.IdempotencyRepository;
+import com.eaglebank.eaglebankdomain.transaction.Transaction;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Keeps idempotency keys in the journal beside the postings they answer
+ * for, so a key and its posting are durable together.
+ */
+public class JournalIdempotencyRepository implements IdempotencyRepository {
+    private final JournalStore store;
+    private final Duration ttl;
+
+    public JournalIdempotencyRepository(JournalStore store, Duration ttl) {
+        this.store = store;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Optional<Transaction> find(IdempotencyKey key) {
+        return store.findIdempotent(key);
+    }
+
+    @Override
+    public void save(IdempotencyKey key, Transaction transaction) {
+        store.recordIdempotent(key, transaction, Instant.now().plus(ttl));
+    }
+
+    @Override
+    public int deleteExpired(Instant now) {
+        return store.deleteExpiredIdempotency(now);
+    }
+}
@@ -0,0 +1,220 @@
+package com.eaglebank.eaglebankrepository.journal;
+
+import com.eaglebank.eaglebankdomain.account.Account;
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.account.Balance;
+import com.eaglebank.eaglebankdomain.transaction.IdempotencyKey;
+import com.eaglebank.eaglebankdomain.transaction.Transaction;
+import com.eaglebank.eaglebankdomain.transaction.TransactionCursor;
+import com.eaglebank.eaglebankdomain.transaction.TransactionId;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import com.eaglebank.eaglebankrepository.transaction.archive.HistoryOrder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * The committed contents of the journal, rebuilt from the last snapshot
+ * and replay and kept up to date as frames become durable. Accounts and
+ * idempotency records are all held; transactions only since the last
+ * checkpoint, in a window that the next checkpoint moves to the history
+ * segments. While it does, the window it took stays readable here.
+ *
+ * <p>Each account's history is ordered by (timestamp, id), comparing ids
+ * as unsigned bytes the way Postgres does, so pages match the JPA
+ * adapter's.
+ */
+final class JournalState {
+    private final Map<AccountId, Account> accounts = new ConcurrentHashMap<>();
+    private final Map<UserId, Set<AccountId>> owners = new ConcurrentHashMap<>();
+    private final Map<IdempotencyKey, Change.IdempotencyRecorded> idempotency = new ConcurrentHashMap<>();
+    // Readers take window before moving: a checkpoint sets moving before
+    // it replaces window, so no row is missed, only seen twice.
+    private volatile Window window = new Window();
+    private volatile Window moving;
+
+    void apply(Change change) {
+        if (change instanceof Change.AccountSaved saved) {
+            Account account = saved.account();
+            accounts.put(account.getId(), account);
+            owners.computeIfAbsent(account.getOwnerId(), id -> ConcurrentHashMap.newKeySet()).add(account.getId());
+        } else if (change instanceof Change.AccountDeleted deleted) {
+            Account account = accounts.remove(deleted.accountId());
+            Set<AccountId> owned = account == null ? null : owners.get(account.getOwnerId());
+            if (owned != null) {
+                owned.remove(account.getId());
+            }
+        } else if (change instanceof Change.BalanceSet balance) {
+            accounts.computeIfPresent(balance.accountId(), (id, a) -> withBalance(a, balance));
+        } else if (change instanceof Change.TransactionSaved saved) {
+            window.add(saved.transaction());
+        } else if (change instanceof Change.IdempotencyRecorded recorded) {
+            idempotency.put(recorded.key(), recorded);
+        }
+    }
+
+    static Account withBalance(Account a, Change.BalanceSet balance) {
+        return a.withBalance(new Balance(balance.minorUnits(), a.getBalance().exponent()), balance.updatedTimestamp());
+    }
+
+    Optional<Account> account(AccountId id) {
+        return Optional.ofNullable(accounts.get(id));
+    }
+
+    List<Account> accountsOf(UserId ownerId) {
+        return owners.getOrDefault(ownerId, Set.of())
+                .stream()
+                .map(accounts::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /** The transaction, if it is still in memory. */
+    Optional<Transaction> transaction(TransactionId id) {
+        Transaction t = window.transactions.get(id);
+        Window taken = moving;
+        return Optional.ofNullable(t == null && taken != null ? taken.transactions.get(id) : t);
+    }
+
+    /** Transactions in memory: the window, and the one a checkpoint is moving out. */
+    int transactionCount() {
+        int recent = window.transactions.size();
+        Window taken = moving;
+        return recent + (taken == null ? 0 : taken.transactions.size());
+    }
+
+    int windowSize() {
+        return window.transactions.size();
+    }
+
+    /**
+     * Starts a new window and returns the old one, which stays readable
+     * until {@link #moved}. If the last checkpoint failed, its window is
+     * still here and the old one is added to it. Callers must stop commits
+     * meanwhile.
+     */
+    Window takeWindow() {
+        if (moving == null) {
+            moving = window;
+        } else {
+            window.transactions.values().forEach(moving::add);
+        }
+        window = new Window();
+        return moving;
+    }
+
+    /** The window taken is now in the history segments. */
+    void moved() {
+        moving = null;
+    }
+
+    /** Every account and unexpired idempotency record, as changes that rebuild them. */
+    List<Change> snapshot(Instant now) {
+        List<Change> changes = new ArrayList<>(accounts.size() + idempotency.size());
+        accounts.values().forEach(account -> changes.add(new Change.AccountSaved(account)));
+        idempotency.values().stream()
+                .filter(recorded -> recorded.expiresAt().isAfter(now))
+                .forEach(changes::add);
+        return changes;
+    }
+
+    /** The transaction recorded under {@code key}, unless the record has expired by {@code now}. */
+    Optional<Transaction> idempotent(IdempotencyKey key, Instant now) {
+        Change.IdempotencyRecorded recorded = idempotency.get(key);
+        return recorded == null || !recorded.expiresAt().isAfter(now)
+                ? Optional.empty()
+                : Optional.of(recorded.transaction());
+    }
+
+    // Replay brings expired records back until the next purge; lookups
+    // skip them by their expiry either way.
+    int deleteExpired(Instant now) {
+        int removed = 0;
+        for (Map.Entry<IdempotencyKey, Change.IdempotencyRecorded> e : idempotency.entrySet()) {
+            if (!e.getValue().expiresAt().isAfter(now) && idempotency.remove(e.getKey(), e.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /** The account's transactions in memory, oldest first. */
+    Stream<Transaction> history(AccountId accountId) {
+        Stream<Transaction> recent = window.history(accountId);
+        Window taken = moving;
+        return taken == null ? recent : HistoryOrder.merge(List.of(taken.history(accountId), recent));
+    }
+
+    /** Up to {@code limit} of the account's transactions in memory older than {@code after}, newest first. */
+    List<Transaction> page(AccountId accountId, TransactionCursor after, int limit) {
+        List<Transaction> recent = window.page(accountId, after, limit);
+        Window taken = moving;
+        return taken == null
+                ? recent
+                : HistoryOrder.mergePages(List.of(recent, taken.page(accountId, after, limit)), limit);
+    }
+
+    /** Transactions committed between two checkpoints. */
+    static final class Window {
+        private final Map<TransactionId, Transaction> transactions = new ConcurrentHashMap<>();
+        private final Map<AccountId, NavigableMap<HistoryKey, Transaction>> histories = new ConcurrentHashMap<>();
+
+        private void add(Transaction t) {
+            transactions.put(t.getId(), t);
+            histories.computeIfAbsent(t.getAccountId(), id -> new ConcurrentSkipListMap<>())
+                    .put(HistoryKey.of(t.getTimestamp(), t.getId()), t);
+        }
+
+        /** Grouped by account, each in (timestamp, id) order, as history segments are written. */
+        Iterator<Transaction> rows() {
+            return histories.values().stream().flatMap(history -> history.values().stream()).iterator();
+        }
+
+        boolean isEmpty() {
+            return transactions.isEmpty();
+        }
+
+        private Stream<Transaction> history(AccountId accountId) {
+            NavigableMap<HistoryKey, Transaction> history = histories.get(accountId);
+            return history == null ? Stream.empty() : history.values().stream();
+        }
+
+        private List<Transaction> page(AccountId accountId, TransactionCursor after, int limit) {
+            NavigableMap<HistoryKey, Transaction> history = histories.get(accountId);
+            if (history == null) {
+                return List.of();
+            }
+            NavigableMap<HistoryKey, Transaction> before = after == null
+                    ? history
+                    : history.headMap(HistoryKey.of(after.timestamp(), after.id()), false);
+            return before.descendingMap().values().stream().limit(limit).toList();
+        }
+    }
+
+    private record HistoryKey(Instant timestamp, long idHigh, long idLow) implements Comparable<HistoryKey> {
+        static HistoryKey of(Instant timestamp, TransactionId id) {
+            UUID uuid = id.value();
+            return new HistoryKey(timestamp, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        }
+
+        @Override
+        public int compareTo(HistoryKey other) {
+            int c = timestamp.compareTo(other.timestamp);
+            if (c == 0) {
+                c = Long.compareUnsigned(idHigh, other.idHigh);
+            }
+            return c != 0 ? c : Long.compareUnsigned(idLow, other.idLow);
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.eaglebank.eaglebankrepository.journal;
+
+import com.eaglebank.eaglebankdomain.account.Account;
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.account.Balance;
+import com.eaglebank.eaglebankdomain.exception.DuplicateRequestException;
+import com.eaglebank.eaglebankdomain.exception.StorageFullException;
+import com.eaglebank.eaglebankdomain.transaction.IdempotencyKey;
+import com.eaglebank.eaglebankdomain.transaction.Transaction;
+import com.eaglebank.eaglebankdomain.transaction.TransactionCursor;
+import com.eaglebank.eaglebankdomain.transaction.TransactionId;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import com.eaglebank.eaglebankrepository.transaction.archive.HistoryOrder;
+import com.eaglebank.eaglebankrepository.transaction.archive.TransactionArchive;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Accounts and transactions held in memory and persisted to a
+ * {@link Journal}. Writes made inside a Spring transaction are collected
+ * and appended as one frame just before it commits, so a posting's balance
+ * and its transaction record reach disk together or not at all, and the
+ * commit waits for the group flush that covers the frame. Without a
+ * transaction every write is its own frame.
+ *
+ * <p>Writing to an account locks it until the transaction completes, as a
+ * row lock would, so a funds check and the balance it guards cannot
+ * interleave with another writer. Other transactions keep reading the last
+ * committed state; changes become visible once they are durable.
+ *
+ * <p>Idempotency keys are recorded in the same frame as the posting they
+ * answer for, so a replayed posting always finds its key. The frame is
+ * durable before any database transaction around it commits; nothing a
+ * posting writes is left to that commit.
+ *
+ * <p>Accounts and idempotency records are held in memory; transactions
+ * only until {@code checkpointTransactions} have built up. A checkpoint
+ * then runs in the background: it moves them into a history segment under
+ * {@code history/}, indexed by account and by id as the transaction
+ * archive's are, writes a {@link Snapshot} of the accounts and keys, and
+ * deletes the journal segments the snapshot replaces. Reads merge the
+ * transactions in memory with the history segments. Should checkpoints
+ * fall behind, or keep failing, further transactions are refused with
+ * {@link StorageFullException} once {@code maxTransactions} are in memory;
+ * writers racing at the limit may each get one frame past it.
+ */
+public class JournalStore implements AutoCloseable {
+    private final JournalState state = new JournalState();
+    private final Map<AccountId, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private final Map<IdempotencyKey, Unit> claims = new ConcurrentHashMap<>();
+    // Commits hold it shared from append until applied; a checkpoint holds
+    // it alone while it rolls the journal and takes the window, so the two
+    // agree on which frames the snapshot covers.
+    private final ReadWriteLock commits = new ReentrantReadWriteLock();
+    private final AtomicBoolean checkpointing = new AtomicBoolean();
+    private final ExecutorService checkpointer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "journal-checkpoint");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Path directory;
+    private final int checkpointTransactions;
+    private final long maxTransactions;
+    private final TransactionArchive history;
+    private final Journal journal;
+
+    public JournalStore(Path directory, int segmentBytes, int checkpointTransactions, long maxTransactions)
+            throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.checkpointTransactions = checkpointTransactions;
+        this.maxTransactions = maxTransactions;
+        Optional<Snapshot> snapshot = Snapshot.read(directory);
+        this.history = new TransactionArchive(directory.resolve("history"));
+        // A segment the snapshot does not know of was written by a checkpoint
+        // that did not finish; its rows are still in the journal.
+        history.discardAfter(snapshot.map(Snapshot::historyUntil).orElse(Instant.EPOCH));
+        snapshot.ifPresent(s -> s.changes().forEach(state::apply));
+        this.journal = new Journal(directory, segmentBytes, snapshot.map(Snapshot::firstSegment).orElse(0L),
+                frame -> ChangeCodec.decode(frame).forEach(state::apply));
+        if (state.windowSize() >= checkpointTransactions) {
+            checkpoint();
+        }
+    }
+
+    public Account saveAccount(Account account) {
+        return write(unit -> {
+            unit.lock(account.getId());
+            unit.stage(new Change.AccountSaved(account), account.getId(), account);
+            return account;
+        });
+    }
+
+    public Optional<Account> findAccount(AccountId id) {
+        Unit unit = currentUnit();
+        if (unit != null && unit.accounts.containsKey(id)) {
+            return Optional.ofNullable(unit.accounts.get(id));
+        }
+        return state.account(id);
+    }
+
+    public List<Account> findAccountsByOwner(UserId ownerId) {
+        return state.accountsOf(ownerId);
+    }
+
+    public void deleteAccount(AccountId id) {
+        write(unit -> {
+            unit.lock(id);
+            unit.stage(new Change.AccountDeleted(id), id, null);
+            return null;
+        });
+    }
+
+    /**
+     * Locks the account and adds {@code deltaMinorUnits} to its balance,
+     * unless that would take it below zero.
+     */
+    public Optional<Balance> applyDelta(AccountId id, long deltaMinorUnits, int exponent) {
+        return write(unit -> {
+            unit.lock(id);
+            Optional<Account> current = findAccount(id);
+            if (current.isEmpty()) {
+                return Optional.empty();
+            }
+            long balance = Math.addExact(current.get().getBalance().minorUnits(), deltaMinorUnits);
+            if (balance < 0) {
+                return Optional.empty();
+            }
+            Change.BalanceSet change = new Change.BalanceSet(id, balance, Instant.now());
+            unit.stage(change, id, JournalState.withBalance(current.get(), change));
+            return Optional.of(new Balance(balance, exponent));
+        });
+    }
+
+    /** Locks the accounts in ascending id order, so two callers cannot deadlock. */
+    public List<Account> lockAccounts(Collection<AccountId> ids) {
+        return write(unit -> {
+            List<Account> locked = new ArrayList<>(ids.size());
+            ids.stream().distinct().sorted(Comparator.comparing(AccountId::value)).forEach(id -> {
+                unit.lock(id);
+                findAccount(id).ifPresent(locked::add);
+            });
+            return locked;
+        });
+    }
+
+    public List<Account> saveAccounts(List<Account> accounts) {
+        return write(unit -> {
+            accounts.forEach(account -> {
+                unit.lock(account.getId());
+                unit.stage(new Change.AccountSaved(account), account.getId(), account);
+            });
+            return accounts;
+        });
+    }
+
+    /**
+     * Timestamps are kept to the microsecond, as Postgres and the history
+     * segments keep them, so a cursor taken before a checkpoint still
+     * finds its place after it.
+     */
+    public List<Transaction> saveTransactions(List<Transaction> transactions) {
+        return write(unit -> {
+            if ((long) state.transactionCount() + unit.transactions.size() + transactions.size() > maxTransactions) {
+                throw new StorageFullException("Journal holds its limit of " + maxTransactions
+                        + " transactions in memory; checkpoints are not keeping up");
+            }
+            List<Transaction> saved = transactions.stream().map(JournalStore::toMicros).toList();
+            saved.forEach(t -> {
+                unit.changes.add(new Change.TransactionSaved(t));
+                unit.transactions.put(t.getId(), t);
+            });
+            return saved;
+        });
+    }
+
+    private static Transaction toMicros(Transaction t) {
+        Instant timestamp = t.getTimestamp();
+        return timestamp.getNano() % 1_000 == 0 ? t : Transaction.rehydrate(t.getId(), t.getAccountId(), t.getType(),
+                t.getAmount(), timestamp.truncatedTo(ChronoUnit.MICROS), t.getCurrency());
+    }
+
+    public Optional<Transaction> findTransaction(TransactionId id) {
+        Unit unit = currentUnit();
+        if (unit != null && unit.transactions.containsKey(id)) {
+            return Optional.of(unit.transactions.get(id));
+        }
+        return state.transaction(id).or(() -> history.findById(id));
+    }
+
+    /** The transaction recorded under {@code key}, in this transaction or committed and not yet expired. */
+    public Optional<Transaction> findIdempotent(IdempotencyKey key) {
+        Unit unit = currentUnit();
+        if (unit != null && unit.idempotency.containsKey(key)) {
+            return Optional.of(unit.idempotency.get(key));
+        }
+        return state.idempotent(key, Instant.now());
+    }
+
+    /**
+     * Claims {@code key} until the transaction completes and records
+     * {@code transaction} under it.
+     *
+     * @throws DuplicateRequestException if another transaction holds the
+     *         key, or a record under it has not yet expired
+     */
+    public void recordIdempotent(IdempotencyKey key, Transaction transaction, Instant expiresAt) {
+        write(unit -> {
+            unit.claim(key);
+            if (state.idempotent(key, Instant.now()).isPresent()) {
+                throw new DuplicateRequestException("A request with this Idempotency-Key is already in progress");
+            }
+            unit.changes.add(new Change.IdempotencyRecorded(key, transaction, expiresAt));
+            unit.idempotency.put(key, transaction);
+            return null;
+        });
+    }
+
+    public int deleteExpiredIdempotency(Instant now) {
+        return state.deleteExpired(now);
+    }
+
+    public Stream<Transaction> history(AccountId accountId) {
+        Stream<Transaction> recent = state.history(accountId);
+        return HistoryOrder.merge(List.of(history.history(accountId), recent));
+    }
+
+    /**
+     * The history segments are only read when the page is not already full
+     * of transactions newer than all of them.
+     */
+    public List<Transaction> page(AccountId accountId, TransactionCursor after, int limit) {
+        List<Transaction> recent = state.page(accountId, after, limit);
+        if (recent.size() == limit && !recent.get(limit - 1).getTimestamp().isBefore(history.archivedUntil())) {
+            return recent;
+        }
+        return HistoryOrder.mergePages(List.of(recent, history.findPageByAccount(accountId, after, limit)), limit);
+    }
+
+    /**
+     * Moves the transactions in memory to a history segment, snapshots the
+     * accounts and idempotency records, and deletes the journal segments
+     * that are no longer needed. Commits wait only while the journal is
+     * rolled and the window taken; the writing happens alongside them.
+     */
+    synchronized void checkpoint() throws IOException {
+        long firstSegment;
+        JournalState.Window taken;
+        List<Change> snapshot;
+        commits.writeLock().lock();
+        try {
+            firstSegment = journal.checkpoint();
+            taken = state.takeWindow();
+            snapshot = state.snapshot(Instant.now());
+        } finally {
+            commits.writeLock().unlock();
+        }
+        if (!taken.isEmpty()) {
+            Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+            Instant after = history.archivedUntil().plus(1, ChronoUnit.MICROS);
+            history.append(now.isBefore(after) ? after : now, taken.rows());
+        }
+        new Snapshot(firstSegment, history.archivedUntil(), snapshot).write(directory);
+        state.moved();
+        journal.deleteBefore(firstSegment);
+    }
+
+    private void checkpointInBackground() {
+        try {
+            checkpoint();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            checkpointing.set(false);
+        }
+    }
+
+    /** Number of times the journal has been flushed to disk. */
+    public long flushes() {
+        return journal.flushes();
+    }
+
+    private <T> T write(Function<Unit, T> work) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Unit unit = new Unit();
+            try {
+                T result = work.apply(unit);
+                commit(unit);
+                return result;
+            } finally {
+                unit.release();
+            }
+        }
+        Unit unit = currentUnit();
+        if (unit == null) {
+            Unit created = new Unit();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    commit(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(JournalStore.this);
+                    created.release();
+                }
+            });
+            unit = created;
+        }
+        return work.apply(unit);
+    }
+
+    private Unit currentUnit() {
+        return (Unit) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private void commit(Unit unit) {
+        if (unit.changes.isEmpty()) {
+            return;
+        }
+        byte[] frame = ChangeCodec.encode(unit.changes);
+        commits.readLock().lock();
+        try {
+            journal.awaitDurable(journal.append(frame));
+            unit.changes.forEach(state::apply);
+        } finally {
+            commits.readLock().unlock();
+        }
+        unit.changes.clear();
+        if (state.windowSize() >= checkpointTransactions && checkpointing.compareAndSet(false, true)) {
+            checkpointer.execute(this::checkpointInBackground);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        checkpointer.shutdown();
+        try {
+            checkpointer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+    }
+
+    /** The changes and locks of one transaction. */
+    private final class Unit {
+        final List<Change> changes = new ArrayList<>();
+        final Map<AccountId, Account> accounts = new HashMap<>();
+        final Map<TransactionId, Transaction> transactions = new HashMap<>();
+        final Map<IdempotencyKey, Transaction> idempotency = new HashMap<>();
+        final List<ReentrantLock> held = new ArrayList<>();
+        final List<IdempotencyKey> claimed = new ArrayList<>();
+
+        void lock(AccountId id) {
+            ReentrantLock lock = locks.computeIfAbsent(id, key -> new ReentrantLock());
+            lock.lock();
+            held.add(lock);
+        }
+
+        /** {@code account} is what reads in this transaction now see; null once deleted. */
+        void stage(Change change, AccountId id, Account account) {
+            changes.add(change);
+            accounts.put(id, account);
+        }
+
+        void claim(IdempotencyKey key) {
+            Unit holder = claims.putIfAbsent(key, this);
+            if (holder == null) {
+                claimed.add(key);
+            } else if (holder != this) {
+                throw new DuplicateRequestException("A request with this Idempotency-Key is already in progress");
+            }
+        }
+
+        void release() {
+            held.forEach(ReentrantLock::unlock);
+            held.clear();
+            claimed.forEach(key -> claims.remove(key, this));
+            claimed.clear();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.eaglebank.eaglebankrepository.journal;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.transaction.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class JournalTransactionRepository implements TransactionRepository {
+    private final JournalStore store;
+
+    public JournalTransactionRepository(JournalStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        return store.saveTransactions(List.of(transaction)).get(0);
+    }
+
+    @Override
+    public List<Transaction> saveAll(List<Transaction> transactions) {
+        return store.saveTransactions(transactions);
+    }
+
+    @Override
+    public Optional<Transaction> findById(TransactionId id) {
+        return store.findTransaction(id);
+    }
+
+    @Override
+    public Stream<Transaction> streamByAccount(AccountId accountId) {
+        return store.history(accountId);
+    }
+
+    @Override
+    public List<Transaction> findPageByAccount(AccountId accountId, TransactionCursor after, int limit) {
+        return store.page(accountId, after, limit);
+    }
+}
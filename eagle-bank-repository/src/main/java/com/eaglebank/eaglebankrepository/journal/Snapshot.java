@@ -0,0 +1,71 @@
+package com.eaglebank.eaglebankrepository.journal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * What a checkpoint leaves behind in place of the journal before it: every
+ * account and idempotency record as changes to replay, the journal segment
+ * replay continues from, and how far the history segments reach. Written
+ * under a temporary name and renamed once on disk, so a crash part-way
+ * leaves the previous snapshot in place.
+ */
+record Snapshot(long firstSegment, Instant historyUntil, List<Change> changes) {
+    private static final String FILE = "snapshot.dat";
+    private static final int MAGIC = 0x45424a53;
+
+    static Optional<Snapshot> read(Path directory) throws IOException {
+        Path file = directory.resolve(FILE);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a journal snapshot: " + file);
+            }
+            long firstSegment = in.readLong();
+            Instant historyUntil = ChangeCodec.readInstant(in);
+            int count = in.readInt();
+            List<Change> changes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                changes.add(ChangeCodec.read(in));
+            }
+            return Optional.of(new Snapshot(firstSegment, historyUntil, changes));
+        }
+    }
+
+    void write(Path directory) throws IOException {
+        Path target = directory.resolve(FILE);
+        Path partial = directory.resolve(FILE + ".partial");
+        try (FileChannel channel = FileChannel.open(partial, CREATE, WRITE, TRUNCATE_EXISTING);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+            out.writeInt(MAGIC);
+            out.writeLong(firstSegment);
+            ChangeCodec.writeInstant(out, historyUntil);
+            out.writeInt(changes.size());
+            for (Change change : changes) {
+                ChangeCodec.write(out, change);
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        try (FileChannel dir = FileChannel.open(directory, READ)) {
+            dir.force(true);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.eaglebank.eaglebankrepository.transaction;
+
+import com.eaglebank.eaglebankdomain.transaction.IdempotencyKey;
+import com.eaglebank.eaglebankdomain.transaction.IdempotencyRepository;
+import com.eaglebank.eaglebankdomain.transaction.Transaction;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * In-memory hot tier over the idempotency table. A key only enters the
+ * cache once its row has committed, so a rolled-back request can never be
+ * replayed; misses are not cached because the key may be claimed later.
+ */
+public class CachingIdempotencyRepository implements IdempotencyRepository {
+    private final IdempotencyRepository delegate;
+    private final Cache<IdempotencyKey, Transaction> cache;
+
+    public CachingIdempotencyRepository(IdempotencyRepository delegate, Cache<IdempotencyKey, Transaction> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Optional<Transaction> find(IdempotencyKey key) {
+        return Optional.ofNullable(cache.get(key, k -> delegate.find(k).orElse(null)));
+    }
+
+    @Override
+    public void save(IdempotencyKey key, Transaction transaction) {
+        delegate.save(key, transaction);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.put(key, transaction);
+                }
+            });
+        } else {
+            cache.put(key, transaction);
+        }
+    }
+
+    @Override
+    public int deleteExpired(Instant now) {
+        return delegate.deleteExpired(now);
+    }
+}
@@ -0,0 +1,55 @@
+package com.eaglebank.eaglebankrepository.transaction;
+
+import com.eaglebank.eaglebankdomain.transaction.IdempotencyKey;
+import com.eaglebank.eaglebankdomain.transaction.IdempotencyRepository;
+import com.eaglebank.eaglebankdomain.transaction.Transaction;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Configuration
+@EnableScheduling
+public class IdempotencyConfig {
+    private final IdempotencyRepositoryAdapter adapter;
+    private final ObjectProvider<IdempotencyRepository> idempotency;
+
+    public IdempotencyConfig(IdempotencyRepositoryAdapter adapter, ObjectProvider<IdempotencyRepository> idempotency) {
+        this.adapter = adapter;
+        this.idempotency = idempotency;
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnExpression("'${eaglebank.ledger.store:jpa}' != 'journal'")
+    public CachingIdempotencyRepository cachingIdempotencyRepository(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${eaglebank.idempotency.hot-tier.maximum-size:100000}") long maximumSize,
+            @Value("${eaglebank.idempotency.hot-tier.ttl:PT10M}") Duration ttl
+    ) {
+        Cache<IdempotencyKey, Transaction> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "idempotency"));
+        return new CachingIdempotencyRepository(adapter, cache);
+    }
+
+    // Purges whichever store serves the keys: the table, or the journal.
+    @Scheduled(fixedDelayString = "${eaglebank.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        idempotency.getObject().deleteExpired(Instant.now());
+    }
+}
@@ -0,0 +1,79 @@
+package com.eaglebank.eaglebankrepository.transaction;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.exception.DuplicateRequestException;
+import com.eaglebank.eaglebankdomain.transaction.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.Optional;
+
+@Repository
+public class IdempotencyRepositoryAdapter implements IdempotencyRepository {
+    private final SpringDataIdempotencyRepository jpa;
+    private final Duration ttl;
+
+    public IdempotencyRepositoryAdapter(SpringDataIdempotencyRepository jpa,
+                                        @Value("${eaglebank.idempotency.ttl:PT24H}") Duration ttl) {
+        this.jpa = jpa;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Optional<Transaction> find(IdempotencyKey key) {
+        return jpa.findLive(toKey(key), Instant.now())
+                .map(this::toDomain);
+    }
+
+    @Override
+    @Transactional
+    public void save(IdempotencyKey key, Transaction t) {
+        Instant now = Instant.now();
+        IdempotencyEntity.Key id = toKey(key);
+        // An expired row still occupies the primary key until the purge runs.
+        jpa.deleteIfExpired(id, now);
+        try {
+            // Flush so a concurrent holder of the key fails here, before the
+            // caller moves any money, rather than at commit.
+            jpa.saveAndFlush(IdempotencyEntity.builder()
+                    .id(id)
+                    .transactionId(t.getId().value())
+                    .accountId(t.getAccountId().value())
+                    .type(t.getType().name())
+                    .amount(t.getAmount().toBigDecimal())
+                    .timestamp(t.getTimestamp())
+                    .currency(t.getCurrency().getCurrencyCode())
+                    .expiresAt(now.plus(ttl))
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateRequestException("A request with this Idempotency-Key is already in progress");
+        }
+    }
+
+    @Override
+    @Transactional
+    public int deleteExpired(Instant now) {
+        return jpa.deleteExpired(now);
+    }
+
+    private IdempotencyEntity.Key toKey(IdempotencyKey key) {
+        return new IdempotencyEntity.Key(key.ownerId().value(), key.value());
+    }
+
+    private Transaction toDomain(IdempotencyEntity e) {
+        Currency currency = Currency.getInstance(e.getCurrency());
+        return Transaction.rehydrate(
+                TransactionId.of(e.getTransactionId()),
+                AccountId.of(e.getAccountId()),
+                TransactionType.valueOf(e.getType()),
+                Amount.of(e.getAmount(), currency),
+                e.getTimestamp(),
+                currency
+        );
+    }
+}
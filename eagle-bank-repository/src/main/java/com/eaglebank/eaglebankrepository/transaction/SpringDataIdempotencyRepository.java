@@ -0,0 +1,22 @@
+package com.eaglebank.eaglebankrepository.transaction;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface SpringDataIdempotencyRepository extends JpaRepository<IdempotencyEntity, IdempotencyEntity.Key> {
+    @Query("select i from IdempotencyEntity i where i.id = :id and i.expiresAt > :now")
+    Optional<IdempotencyEntity> findLive(@Param("id") IdempotencyEntity.Key id, @Param("now") Instant now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from IdempotencyEntity i where i.id = :id and i.expiresAt <= :now")
+    int deleteIfExpired(@Param("id") IdempotencyEntity.Key id, @Param("now") Instant now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from IdempotencyEntity i where i.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -1,10 +1,58 @@
 package com.eaglebank.eaglebankrepository.transaction;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface SpringDataTransactionRepository extends JpaRepository<TransactionEntity, UUID> {
-    List<TransactionEntity> findByAccountId(UUID accountId);
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from TransactionEntity t where t.accountId = :accountId " +
+            "order by t.timestamp asc, t.id asc")
+    Stream<TransactionEntity> streamByAccountId(@Param("accountId") UUID accountId);
+
+    @Query("select t from TransactionEntity t where t.accountId = :accountId " +
+            "order by t.timestamp desc, t.id desc")
+    List<TransactionEntity> findNewestByAccountId(@Param("accountId") UUID accountId, Pageable page);
+
+    // The extra "t.timestamp <= :timestamp" is implied by the keyset test, but
+    // unlike the OR it lets Postgres prune partitions newer than the cursor.
+    @Query("select t from TransactionEntity t where t.accountId = :accountId " +
+            "and t.timestamp <= :timestamp " +
+            "and (t.timestamp < :timestamp or (t.timestamp = :timestamp and t.id < :id)) " +
+            "order by t.timestamp desc, t.id desc")
+    List<TransactionEntity> findByAccountIdBefore(@Param("accountId") UUID accountId,
+                                                  @Param("timestamp") Instant timestamp,
+                                                  @Param("id") UUID id,
+                                                  Pageable page);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from TransactionEntity t where t.timestamp < :until " +
+            "order by t.accountId, t.timestamp, t.id")
+    Stream<TransactionEntity> streamBefore(@Param("until") Instant until);
+
+    @Query("select min(t.timestamp) from TransactionEntity t")
+    Optional<Instant> findOldestTimestamp();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from TransactionEntity t where t.timestamp < :until")
+    int deleteBefore(@Param("until") Instant until);
 }
@@ -3,11 +3,15 @@ package com.eaglebank.eaglebankrepository.transaction;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -19,7 +23,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class TransactionEntity {
+public class TransactionEntity implements Persistable<UUID> {
     @Id
     private UUID id;
 
@@ -37,4 +41,22 @@ public class TransactionEntity {
 
     @Column(nullable = false, length = 3)
     private String currency;
+
+    // Transactions are insert-only and always carry an assigned id, so without
+    // this Spring Data would issue a SELECT before every INSERT to decide
+    // between persist and merge.
+    @Transient
+    @Builder.Default
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.eaglebank.eaglebankrepository.transaction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of {@code transactions} ahead of the clock:
+ * the current month and the next {@code months-ahead} always exist, so
+ * inserts never land in the default partition. When {@code retain-months}
+ * is set, partitions older than that are detached. Their rows stop being
+ * served, but the table is left in place. The archiver reads only attached
+ * months and drops each through {@link #dropBefore} once it is in a
+ * segment, so with the archive on this is left at 0 or kept at least as
+ * long as the archive's.
+ */
+@Component
+@ConditionalOnProperty(name = "eaglebank.transactions.partitioning.enabled", havingValue = "true")
+public class TransactionPartitionMaintainer {
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern MONTHLY = Pattern.compile("transactions_p(\\d{6})");
+    private static final String PARTITIONS = "select c.relname from pg_inherits i "
+            + "join pg_class c on c.oid = i.inhrelid "
+            + "where i.inhparent = 'transactions'::regclass";
+
+    private final JdbcTemplate jdbc;
+    private final int monthsAhead;
+    private final int retainMonths;
+
+    public TransactionPartitionMaintainer(JdbcTemplate jdbc,
+                                          @Value("${eaglebank.transactions.partitioning.months-ahead:3}") int monthsAhead,
+                                          @Value("${eaglebank.transactions.partitioning.retain-months:0}") int retainMonths) {
+        this.jdbc = jdbc;
+        this.monthsAhead = monthsAhead;
+        this.retainMonths = retainMonths;
+    }
+
+    @Scheduled(fixedDelayString = "${eaglebank.transactions.partitioning.interval:PT6H}")
+    public void maintain() {
+        maintain(YearMonth.now(ZoneOffset.UTC));
+    }
+
+    void maintain(YearMonth current) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            create(current.plusMonths(i));
+        }
+        if (retainMonths > 0) {
+            detachBefore(current.minusMonths(retainMonths));
+        }
+    }
+
+    private void create(YearMonth month) {
+        jdbc.execute("create table if not exists " + partitionName(month)
+                + " partition of transactions for values from ('" + start(month)
+                + "') to ('" + start(month.plusMonths(1)) + "')");
+    }
+
+    private void detachBefore(YearMonth cutoff) {
+        for (String partition : monthsBefore(cutoff)) {
+            jdbc.execute("alter table transactions detach partition " + partition);
+        }
+    }
+
+    /**
+     * Detaches and drops every monthly partition before {@code cutoff}, so
+     * an archived month goes as a whole file rather than row by row.
+     */
+    public void dropBefore(YearMonth cutoff) {
+        for (String partition : monthsBefore(cutoff)) {
+            jdbc.execute("alter table transactions detach partition " + partition);
+            jdbc.execute("drop table " + partition);
+        }
+    }
+
+    private List<String> monthsBefore(YearMonth cutoff) {
+        List<String> months = new ArrayList<>();
+        for (String partition : jdbc.queryForList(PARTITIONS, String.class)) {
+            Matcher matcher = MONTHLY.matcher(partition);
+            if (matcher.matches() && YearMonth.parse(matcher.group(1), SUFFIX).isBefore(cutoff)) {
+                months.add(partition);
+            }
+        }
+        return months;
+    }
+
+    static String partitionName(YearMonth month) {
+        return "transactions_p" + month.format(SUFFIX);
+    }
+
+    private static String start(YearMonth month) {
+        return month.atDay(1) + " 00:00:00+00";
+    }
+}
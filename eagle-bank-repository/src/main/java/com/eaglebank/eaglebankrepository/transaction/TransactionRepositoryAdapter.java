@@ -2,18 +2,25 @@ package com.eaglebank.eaglebankrepository.transaction;
 
 import com.eaglebank.eaglebankdomain.account.AccountId;
 import com.eaglebank.eaglebankdomain.transaction.*;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Currency;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public class TransactionRepositoryAdapter implements TransactionRepository {
     private final SpringDataTransactionRepository jpa;
+    private final EntityManager em;
 
-    public TransactionRepositoryAdapter(SpringDataTransactionRepository jpa) {
+    public TransactionRepositoryAdapter(SpringDataTransactionRepository jpa, EntityManager em) {
         this.jpa = jpa;
+        this.em = em;
     }
 
     @Override
@@ -23,6 +30,16 @@ public class TransactionRepositoryAdapter implements TransactionRepository {
         return toDomain(saved);
     }
 
+    @Override
+    public List<Transaction> saveAll(List<Transaction> txns) {
+        // Ids are assigned up front, so Hibernate can group these inserts
+        // into JDBC batches of hibernate.jdbc.batch_size.
+        return jpa.saveAll(txns.stream().map(this::toEntity).toList())
+                .stream()
+                .map(this::toDomain)
+                .toList();
+    }
+
     @Override
     public Optional<Transaction> findById(TransactionId id) {
         return jpa.findById(id.value())
@@ -30,32 +47,70 @@ public class TransactionRepositoryAdapter implements TransactionRepository {
     }
 
     @Override
-    public List<Transaction> findByAccount(AccountId accountId) {
-        return jpa.findByAccountId(accountId.value())
-                .stream()
+    public Stream<Transaction> streamByAccount(AccountId accountId) {
+        // Detach each row once mapped so the persistence context does not
+        // grow with the size of the history.
+        return jpa.streamByAccountId(accountId.value())
+                .map(e -> {
+                    Transaction t = toDomain(e);
+                    em.detach(e);
+                    return t;
+                });
+    }
+
+    @Override
+    public List<Transaction> findPageByAccount(AccountId accountId, TransactionCursor after, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        List<TransactionEntity> rows = after == null
+                ? jpa.findNewestByAccountId(accountId.value(), page)
+                : jpa.findByAccountIdBefore(accountId.value(), after.timestamp(), after.id().value(), page);
+        return rows.stream()
                 .map(this::toDomain)
                 .toList();
     }
 
+    /**
+     * Rows older than {@code until}, grouped by account and oldest first
+     * within each, for the archiver. Must be consumed inside a transaction.
+     */
+    public Stream<Transaction> streamBefore(Instant until) {
+        return jpa.streamBefore(until)
+                .map(e -> {
+                    Transaction t = toDomain(e);
+                    em.detach(e);
+                    return t;
+                });
+    }
+
+    public Optional<Instant> findOldestTimestamp() {
+        return jpa.findOldestTimestamp();
+    }
+
+    @Transactional
+    public int deleteBefore(Instant until) {
+        return jpa.deleteBefore(until);
+    }
+
     private TransactionEntity toEntity(Transaction t) {
         return TransactionEntity.builder()
                 .id(t.getId().value())
                 .accountId(t.getAccountId().value())
                 .type(t.getType().name())
-                .amount(t.getAmount().value())
+                .amount(t.getAmount().toBigDecimal())
                 .timestamp(t.getTimestamp())
                 .currency(t.getCurrency().getCurrencyCode())  // Add this line
                 .build();
     }
 
     private Transaction toDomain(TransactionEntity e) {
+        Currency currency = Currency.getInstance(e.getCurrency());
         return Transaction.rehydrate(
                 TransactionId.of(e.getId()),
                 AccountId.of(e.getAccountId()),
                 TransactionType.valueOf(e.getType()),
-                new Amount(e.getAmount()),
+                Amount.of(e.getAmount(), currency),
                 e.getTimestamp(),
-                Currency.getInstance(e.getCurrency())
+                currency
         );
     }
 }
\ No newline at end of file
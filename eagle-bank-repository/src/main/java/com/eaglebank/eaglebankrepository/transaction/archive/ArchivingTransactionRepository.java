@@ -0,0 +1,67 @@
+package com.eaglebank.eaglebankrepository.transaction.archive;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.transaction.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Serves transactions from the table and, for anything older than
+ * {@link TransactionArchive#archivedUntil()}, from the archive, so callers
+ * see one history. The table is always read first: a row the archiver
+ * deletes in the meantime is by then in the archive, and a row present in
+ * both is only taken from the archive.
+ */
+public class ArchivingTransactionRepository implements TransactionRepository {
+    private final TransactionRepository delegate;
+    private final TransactionArchive archive;
+
+    public ArchivingTransactionRepository(TransactionRepository delegate, TransactionArchive archive) {
+        this.delegate = delegate;
+        this.archive = archive;
+    }
+
+    @Override
+    public Transaction save(Transaction transaction) {
+        return delegate.save(transaction);
+    }
+
+    @Override
+    public List<Transaction> saveAll(List<Transaction> transactions) {
+        return delegate.saveAll(transactions);
+    }
+
+    @Override
+    public Optional<Transaction> findById(TransactionId id) {
+        return delegate.findById(id).or(() -> archive.findById(id));
+    }
+
+    @Override
+    public Stream<Transaction> streamByAccount(AccountId accountId) {
+        Stream<Transaction> hot = delegate.streamByAccount(accountId);
+        Instant until = archive.archivedUntil();
+        return Stream.concat(
+                archive.history(accountId),
+                hot.filter(t -> !t.getTimestamp().isBefore(until)));
+    }
+
+    @Override
+    public List<Transaction> findPageByAccount(AccountId accountId, TransactionCursor after, int limit) {
+        List<Transaction> hot = delegate.findPageByAccount(accountId, after, limit);
+        Instant until = archive.archivedUntil();
+        List<Transaction> page = new ArrayList<>(limit);
+        for (Transaction t : hot) {
+            if (!t.getTimestamp().isBefore(until)) {
+                page.add(t);
+            }
+        }
+        if (page.size() < limit) {
+            page.addAll(archive.findPageByAccount(accountId, after, limit - page.size()));
+        }
+        return page;
+    }
+}
@@ -0,0 +1,97 @@
+package com.eaglebank.eaglebankrepository.transaction.archive;
+
+import com.eaglebank.eaglebankdomain.transaction.Transaction;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The order an account's history is read in: (timestamp, id), comparing
+ * ids as unsigned bytes the way Postgres does, so every store pages the
+ * same way. Merges histories read from several places, keeping a row
+ * found in more than one of them once.
+ */
+public final class HistoryOrder {
+    public static final Comparator<Transaction> OLDEST_FIRST = Comparator
+            .comparing(Transaction::getTimestamp)
+            .thenComparing((a, b) -> SegmentFormat.compare(a.getId().value(), b.getId().value()));
+
+    private HistoryOrder() {
+    }
+
+    /** Merges pages that are each newest first into one of at most {@code limit} rows. */
+    public static List<Transaction> mergePages(List<List<Transaction>> pages, int limit) {
+        List<Transaction> all = new ArrayList<>();
+        pages.forEach(all::addAll);
+        all.sort(OLDEST_FIRST.reversed());
+        List<Transaction> page = new ArrayList<>(Math.min(limit, all.size()));
+        for (Transaction t : all) {
+            if (page.size() == limit) {
+                break;
+            }
+            if (page.isEmpty() || !page.get(page.size() - 1).getId().equals(t.getId())) {
+                page.add(t);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Merges histories that are each oldest first. Rows are pulled from the
+     * sources only as the result is consumed, and closing it closes them.
+     */
+    public static Stream<Transaction> merge(List<Stream<Transaction>> histories) {
+        if (histories.size() == 1) {
+            return histories.get(0);
+        }
+        Iterator<Transaction> merged = new Merged(histories.stream().map(Stream::iterator).toList());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false)
+                .onClose(() -> histories.forEach(Stream::close));
+    }
+
+    private static final class Merged implements Iterator<Transaction> {
+        private final PriorityQueue<Head> heads = new PriorityQueue<>((a, b) -> OLDEST_FIRST.compare(a.row, b.row));
+        private Transaction last;
+
+        Merged(List<Iterator<Transaction>> sources) {
+            sources.forEach(this::advance);
+        }
+
+        private void advance(Iterator<Transaction> source) {
+            if (source.hasNext()) {
+                heads.add(new Head(source.next(), source));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            // A row held twice sorts next to itself, so only the first is kept.
+            while (!heads.isEmpty() && last != null && heads.peek().row.getId().equals(last.getId())) {
+                advance(heads.poll().source);
+            }
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public Transaction next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Head head = heads.poll();
+            advance(head.source);
+            last = head.row;
+            return last;
+        }
+
+        private record Head(Transaction row, Iterator<Transaction> source) {
+        }
+    }
+}
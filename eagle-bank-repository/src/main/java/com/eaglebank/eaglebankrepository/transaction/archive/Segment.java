@@ -0,0 +1,329 @@
+package com.eaglebank.eaglebankrepository.transaction.archive;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.transaction.Amount;
+import com.eaglebank.eaglebankdomain.transaction.Transaction;
+import com.eaglebank.eaglebankdomain.transaction.TransactionCursor;
+import com.eaglebank.eaglebankdomain.transaction.TransactionId;
+import com.eaglebank.eaglebankdomain.transaction.TransactionType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.eaglebank.eaglebankrepository.transaction.archive.SegmentFormat.*;
+
+/**
+ * A memory-mapped, read-only segment. Only absolute reads are used on the
+ * mapping, so one instance serves any number of threads, and the pages of
+ * a segment nobody reads never leave the disk.
+ */
+final class Segment {
+    private final ByteBuffer buffer;
+    private final Instant until;
+    private final int rows;
+    private final int runs;
+    private final TransactionType[] types;
+    private final Currency[] currencies;
+    private final int[] exponents;
+    private final int runsAt;
+    private final int runIndexAt;
+    private final int idsAt;
+    private final int idIndexAt;
+    private final int typeCodesAt;
+    private final int currencyCodesAt;
+    private final int timestampsAt;
+    private final int amountsAt;
+    private final int checkpointsAt;
+
+    private Segment(ByteBuffer buffer) {
+        this.buffer = buffer;
+        until = fromMicros(buffer.getLong(16));
+        rows = buffer.getInt(24);
+        runs = buffer.getInt(28);
+        int typesAt = buffer.getInt(32);
+        int currenciesAt = buffer.getInt(36);
+        runsAt = buffer.getInt(40);
+        runIndexAt = buffer.getInt(44);
+        idsAt = buffer.getInt(48);
+        idIndexAt = buffer.getInt(52);
+        typeCodesAt = buffer.getInt(56);
+        currencyCodesAt = buffer.getInt(60);
+        timestampsAt = buffer.getInt(64);
+        amountsAt = buffer.getInt(68);
+        checkpointsAt = buffer.getInt(72);
+
+        types = new TransactionType[buffer.get(typesAt) & 0xFF];
+        int at = typesAt + 1;
+        for (int i = 0; i < types.length; i++) {
+            byte[] name = new byte[buffer.get(at)];
+            buffer.get(at + 1, name);
+            types[i] = TransactionType.valueOf(new String(name, StandardCharsets.US_ASCII));
+            at += 1 + name.length;
+        }
+
+        currencies = new Currency[buffer.get(currenciesAt) & 0xFF];
+        exponents = new int[currencies.length];
+        for (int i = 0; i < currencies.length; i++) {
+            byte[] code = new byte[3];
+            buffer.get(currenciesAt + 1 + 4 * i, code);
+            currencies[i] = Currency.getInstance(new String(code, StandardCharsets.US_ASCII));
+            exponents[i] = buffer.get(currenciesAt + 4 + 4 * i);
+        }
+    }
+
+    static Segment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file)) {
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.limit() < HEADER_BYTES || mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+                throw new IOException("Not a transaction segment: " + file);
+            }
+            return new Segment(mapped);
+        }
+    }
+
+    Instant until() {
+        return until;
+    }
+
+    /**
+     * The account's rows in this segment, oldest first, decoded one at a
+     * time as the stream is consumed.
+     */
+    Stream<Transaction> history(AccountId accountId) {
+        int run = runOf(accountId);
+        if (run < 0) {
+            return Stream.empty();
+        }
+        int first = firstRow(run);
+        Rows rows = new Rows(run, first, first + rowCount(run));
+        return StreamSupport.stream(Spliterators.spliterator(rows, rowCount(run),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+    }
+
+    /**
+     * Up to {@code limit} of the account's rows older than {@code after},
+     * newest first. Only the rows returned are decoded: the cursor is found
+     * from the checkpoints and at most one checkpoint interval of
+     * timestamps.
+     */
+    List<Transaction> pageBefore(AccountId accountId, TransactionCursor after, int limit) {
+        int run = runOf(accountId);
+        if (run < 0 || limit <= 0) {
+            return List.of();
+        }
+        int first = firstRow(run);
+        int end = after == null ? first + rowCount(run) : seek(run, after);
+        int start = Math.max(first, end - limit);
+        List<Transaction> page = new ArrayList<>(end - start);
+        new Rows(run, start, end).forEachRemaining(page::add);
+        return page.reversed();
+    }
+
+    Optional<Transaction> findById(TransactionId id) {
+        int found = search(rows, i -> id(buffer.getInt(idIndexAt + Integer.BYTES * i)), id.value());
+        if (found < 0) {
+            return Optional.empty();
+        }
+        int row = buffer.getInt(idIndexAt + Integer.BYTES * found);
+        return Optional.of(new Rows(runContaining(row), row, row + 1).next());
+    }
+
+    private int runOf(AccountId accountId) {
+        int found = search(runs, i -> account(buffer.getInt(runIndexAt + Integer.BYTES * i)), accountId.value());
+        return found < 0 ? -1 : buffer.getInt(runIndexAt + Integer.BYTES * found);
+    }
+
+    /** The first row of the run at or after the cursor. */
+    private int seek(int run, TransactionCursor cursor) {
+        int first = firstRow(run);
+        int end = first + rowCount(run);
+        int row = first;
+        long micros = 0;
+        Varints timestamps = new Varints(timestampsAt + buffer.getInt(runsAt + RUN_BYTES * run + 24));
+        int checkpoint = lastCheckpointBefore(first, end, cursor);
+        if (checkpoint >= 0) {
+            row = checkpoint * CHECKPOINT_ROWS;
+            timestamps = new Varints(timestampsAt + buffer.getInt(checkpointsAt + CHECKPOINT_BYTES * checkpoint + 8));
+            micros = buffer.getLong(checkpointsAt + CHECKPOINT_BYTES * checkpoint)
+                    - new Varints(timestamps.position).next();
+        }
+        for (; row < end; row++) {
+            micros += timestamps.next();
+            if (!isBefore(micros, id(row), cursor)) {
+                return row;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * The last checkpoint inside rows {@code [first, end)} whose row sorts
+     * before the cursor, or -1 if there is none.
+     */
+    private int lastCheckpointBefore(int first, int end, TransactionCursor cursor) {
+        int low = (first + CHECKPOINT_ROWS - 1) / CHECKPOINT_ROWS;
+        int high = (end - 1) / CHECKPOINT_ROWS;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long micros = buffer.getLong(checkpointsAt + CHECKPOINT_BYTES * mid);
+            if (isBefore(micros, id(mid * CHECKPOINT_ROWS), cursor)) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private static boolean isBefore(long micros, UUID id, TransactionCursor cursor) {
+        int order = fromMicros(micros).compareTo(cursor.timestamp());
+        return order < 0 || order == 0 && compare(id, cursor.id().value()) < 0;
+    }
+
+    private int firstRow(int run) {
+        return buffer.getInt(runsAt + RUN_BYTES * run + 16);
+    }
+
+    private int rowCount(int run) {
+        return buffer.getInt(runsAt + RUN_BYTES * run + 20);
+    }
+
+    /** The run holding a row: runs are laid out in row order. */
+    private int runContaining(int row) {
+        int low = 0;
+        int high = runs - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (firstRow(mid) <= row) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private UUID account(int run) {
+        int at = runsAt + RUN_BYTES * run;
+        return new UUID(buffer.getLong(at), buffer.getLong(at + 8));
+    }
+
+    private UUID id(int row) {
+        int at = idsAt + ID_BYTES * row;
+        return new UUID(buffer.getLong(at), buffer.getLong(at + 8));
+    }
+
+    private static int search(int size, IntFunction<UUID> keyAt, UUID key) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int order = compare(keyAt.apply(mid), key);
+            if (order < 0) {
+                low = mid + 1;
+            } else if (order > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decodes rows {@code [from, to)} of one run in order. Decoding starts
+     * at the checkpoint at or before {@code from}, or at the start of the
+     * run, and skips forward without building the rows in between.
+     */
+    private final class Rows implements Iterator<Transaction> {
+        private final AccountId accountId;
+        private final int to;
+        private Varints timestamps;
+        private Varints amounts;
+        private long micros;
+        private int row;
+
+        Rows(int run, int from, int to) {
+            int at = runsAt + RUN_BYTES * run;
+            this.accountId = AccountId.of(account(run));
+            this.to = to;
+            row = firstRow(run);
+            timestamps = new Varints(timestampsAt + buffer.getInt(at + 24));
+            amounts = new Varints(amountsAt + buffer.getInt(at + 28));
+            int checkpoint = from / CHECKPOINT_ROWS;
+            if (checkpoint * CHECKPOINT_ROWS > row) {
+                int c = checkpointsAt + CHECKPOINT_BYTES * checkpoint;
+                row = checkpoint * CHECKPOINT_ROWS;
+                timestamps = new Varints(timestampsAt + buffer.getInt(c + 8));
+                amounts = new Varints(amountsAt + buffer.getInt(c + 12));
+                micros = buffer.getLong(c) - new Varints(timestamps.position).next();
+            }
+            for (; row < from; row++) {
+                micros += timestamps.next();
+                amounts.next();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return row < to;
+        }
+
+        @Override
+        public Transaction next() {
+            if (row >= to) {
+                throw new NoSuchElementException();
+            }
+            micros += timestamps.next();
+            int currency = buffer.get(currencyCodesAt + row) & 0xFF;
+            Transaction t = Transaction.rehydrate(
+                    TransactionId.of(id(row)),
+                    accountId,
+                    types[buffer.get(typeCodesAt + row) & 0xFF],
+                    new Amount(amounts.next(), exponents[currency]),
+                    fromMicros(micros),
+                    currencies[currency]
+            );
+            row++;
+            return t;
+        }
+    }
+
+    private final class Varints {
+        private int position;
+
+        Varints(int position) {
+            this.position = position;
+        }
+
+        long next() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(position++);
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
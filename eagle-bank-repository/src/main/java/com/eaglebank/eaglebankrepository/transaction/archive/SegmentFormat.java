@@ -0,0 +1,58 @@
+package com.eaglebank.eaglebankrepository.transaction.archive;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Layout of an archive segment. All numbers are big-endian.
+ *
+ * <pre>
+ * header       MAGIC, VERSION, from, until (epoch micros), row count,
+ *              run count, then the offset of every section below
+ * types        count byte, then per entry a length byte and ASCII name
+ * currencies   count byte, then per entry 3 ASCII bytes and the exponent
+ * runs         per account, in row order: id, first row, row count and the
+ *              offsets of its first timestamp and amount
+ * run index    run numbers sorted by account id
+ * ids          16 bytes per row
+ * id index     row numbers sorted by transaction id
+ * type codes   1 byte per row, into types
+ * currencies   1 byte per row, into the currency dictionary
+ * timestamps   varints per run: the first in epoch micros, then deltas
+ * amounts      varints of minor units
+ * checkpoints  for every {@link #CHECKPOINT_ROWS}-th row: its timestamp in
+ *              epoch micros and the offsets of its timestamp and amount
+ * </pre>
+ *
+ * Rows of one account are contiguous and in (timestamp, id) order, so a
+ * history is one run decoded front to back, and a page can start decoding
+ * at the checkpoint just before its cursor.
+ */
+final class SegmentFormat {
+    static final int MAGIC = 0x45425453;
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 32 + 11 * Integer.BYTES;
+    static final int RUN_BYTES = 32;
+    static final int ID_BYTES = 16;
+    static final int CHECKPOINT_ROWS = 64;
+    static final int CHECKPOINT_BYTES = 16;
+    static final int MAX_DICTIONARY = 255;
+
+    private SegmentFormat() {
+    }
+
+    static long toMicros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    static Instant fromMicros(long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+
+    /** Orders ids byte-wise, as Postgres does, rather than by signed halves. */
+    static int compare(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,283 @@
+package com.eaglebank.eaglebankrepository.transaction.archive;
+
+import com.eaglebank.eaglebankdomain.transaction.Amount;
+import com.eaglebank.eaglebankdomain.transaction.Transaction;
+import com.eaglebank.eaglebankdomain.transaction.TransactionType;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.IntBinaryOperator;
+
+import static com.eaglebank.eaglebankrepository.transaction.archive.SegmentFormat.*;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Writes one segment as its rows arrive. Each column is streamed to a
+ * spill file beside the segment, and once the row count and column sizes
+ * are known the spill files are copied in behind the header, so a month
+ * is never held in memory; only the two sorted indexes take a row number
+ * per row. Rows must arrive grouped by account and in (timestamp, id)
+ * order within each account, as the archiver's query returns them.
+ */
+final class SegmentWriter implements Closeable {
+    private final Map<TransactionType, Integer> types = new LinkedHashMap<>();
+    private final Map<String, Integer> currencies = new LinkedHashMap<>();
+    private final List<Column> columns = new ArrayList<>();
+    private final Column runs;
+    private final Column ids;
+    private final Column typeCodes;
+    private final Column currencyCodes;
+    private final Column timestamps;
+    private final Column amounts;
+    private final Column checkpoints;
+    private UUID account;
+    private int runFirstRow;
+    private int runTimestampOffset;
+    private int runAmountOffset;
+    private int runCount;
+    private int rows;
+    private long previousMicros;
+
+    private SegmentWriter(Path file) throws IOException {
+        try {
+            runs = column(file, "runs");
+            ids = column(file, "ids");
+            typeCodes = column(file, "types");
+            currencyCodes = column(file, "currencies");
+            timestamps = column(file, "timestamps");
+            amounts = column(file, "amounts");
+            checkpoints = column(file, "checkpoints");
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    static void write(Path file, Instant from, Instant until, Iterator<Transaction> rows) throws IOException {
+        try (SegmentWriter writer = new SegmentWriter(file)) {
+            while (rows.hasNext()) {
+                writer.add(rows.next());
+            }
+            writer.writeTo(file, from, until);
+        }
+    }
+
+    private Column column(Path file, String name) throws IOException {
+        Column column = new Column(file.resolveSibling(file.getFileName() + "." + name));
+        columns.add(column);
+        return column;
+    }
+
+    private void add(Transaction t) throws IOException {
+        UUID accountId = t.getAccountId().value();
+        long micros = toMicros(t.getTimestamp());
+        if (!accountId.equals(account)) {
+            endRun();
+            account = accountId;
+            runFirstRow = rows;
+            runTimestampOffset = timestamps.size();
+            runAmountOffset = amounts.size();
+            previousMicros = 0;
+        } else if (micros < previousMicros) {
+            throw new IllegalArgumentException("Rows for account " + accountId + " are not in time order");
+        }
+        if (rows % CHECKPOINT_ROWS == 0) {
+            checkpoints.out.writeLong(micros);
+            checkpoints.out.writeLong((long) timestamps.size() << 32 | amounts.size());
+        }
+        writeVarLong(timestamps.out, micros - previousMicros);
+        previousMicros = micros;
+
+        ids.out.writeLong(t.getId().value().getMostSignificantBits());
+        ids.out.writeLong(t.getId().value().getLeastSignificantBits());
+
+        Amount amount = t.getAmount();
+        typeCodes.out.write(code(types, t.getType()));
+        currencyCodes.out.write(code(currencies, t.getCurrency().getCurrencyCode() + amount.exponent()));
+        writeVarLong(amounts.out, amount.minorUnits());
+        rows++;
+    }
+
+    private void endRun() throws IOException {
+        if (account == null) {
+            return;
+        }
+        runs.out.writeLong(account.getMostSignificantBits());
+        runs.out.writeLong(account.getLeastSignificantBits());
+        runs.out.writeInt(runFirstRow);
+        runs.out.writeInt(rows - runFirstRow);
+        runs.out.writeInt(runTimestampOffset);
+        runs.out.writeInt(runAmountOffset);
+        runCount++;
+    }
+
+    private static <K> int code(Map<K, Integer> dictionary, K key) {
+        Integer code = dictionary.get(key);
+        if (code == null) {
+            if (dictionary.size() == MAX_DICTIONARY) {
+                throw new IllegalArgumentException("More than " + MAX_DICTIONARY + " distinct values");
+            }
+            code = dictionary.size();
+            dictionary.put(key, code);
+        }
+        return code;
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private void writeTo(Path file, Instant from, Instant until) throws IOException {
+        endRun();
+        for (Column column : columns) {
+            column.out.close();
+        }
+        int[] runIndex = sortedByKey(runs.file, runCount, RUN_BYTES, true);
+        int[] idIndex = sortedByKey(ids.file, rows, ID_BYTES, false);
+
+        int typesBytes = 1;
+        for (TransactionType type : types.keySet()) {
+            typesBytes += 1 + type.name().length();
+        }
+        int currenciesAt = HEADER_BYTES + typesBytes;
+        int runsAt = currenciesAt + 1 + 4 * currencies.size();
+        int runIndexAt = runsAt + runs.size();
+        int idsAt = runIndexAt + Integer.BYTES * runCount;
+        int idIndexAt = idsAt + ids.size();
+        int typeCodesAt = idIndexAt + Integer.BYTES * rows;
+        int currencyCodesAt = typeCodesAt + typeCodes.size();
+        int timestampsAt = currencyCodesAt + currencyCodes.size();
+        int amountsAt = timestampsAt + timestamps.size();
+        int checkpointsAt = amountsAt + amounts.size();
+
+        try (FileChannel channel = FileChannel.open(file, CREATE, WRITE, TRUNCATE_EXISTING);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(toMicros(from));
+            out.writeLong(toMicros(until));
+            out.writeInt(rows);
+            out.writeInt(runCount);
+            for (int offset : new int[]{HEADER_BYTES, currenciesAt, runsAt, runIndexAt, idsAt,
+                    idIndexAt, typeCodesAt, currencyCodesAt, timestampsAt, amountsAt, checkpointsAt}) {
+                out.writeInt(offset);
+            }
+
+            out.writeByte(types.size());
+            for (TransactionType type : types.keySet()) {
+                byte[] name = type.name().getBytes(StandardCharsets.US_ASCII);
+                out.writeByte(name.length);
+                out.write(name);
+            }
+            out.writeByte(currencies.size());
+            for (String currency : currencies.keySet()) {
+                out.write(currency.substring(0, 3).getBytes(StandardCharsets.US_ASCII));
+                out.writeByte(Integer.parseInt(currency.substring(3)));
+            }
+
+            Files.copy(runs.file, out);
+            for (int run : runIndex) {
+                out.writeInt(run);
+            }
+            Files.copy(ids.file, out);
+            for (int row : idIndex) {
+                out.writeInt(row);
+            }
+            for (Column column : List.of(typeCodes, currencyCodes, timestamps, amounts, checkpoints)) {
+                Files.copy(column.file, out);
+            }
+            out.flush();
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Record numbers of a spilled column sorted by the 16-byte id each
+     * record starts with. Run records name each account once, so with
+     * {@code unique} a repeat means the rows of that account were split.
+     */
+    private static int[] sortedByKey(Path file, int count, int stride, boolean unique) throws IOException {
+        ByteBuffer keys;
+        try (FileChannel channel = FileChannel.open(file)) {
+            keys = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        IntBinaryOperator order = (a, b) -> {
+            int high = Long.compareUnsigned(keys.getLong(stride * a), keys.getLong(stride * b));
+            return high != 0 ? high : Long.compareUnsigned(keys.getLong(stride * a + 8), keys.getLong(stride * b + 8));
+        };
+        int[] sorted = sortedBy(count, order);
+        for (int i = 1; unique && i < count; i++) {
+            if (order.applyAsInt(sorted[i - 1], sorted[i]) == 0) {
+                int at = stride * sorted[i];
+                throw new IllegalArgumentException("Rows for account "
+                        + new UUID(keys.getLong(at), keys.getLong(at + 8)) + " are not contiguous");
+            }
+        }
+        return sorted;
+    }
+
+    /** A stable bottom-up merge sort of {@code 0..count-1}, on primitive arrays. */
+    private static int[] sortedBy(int count, IntBinaryOperator order) {
+        int[] positions = new int[count];
+        int[] merged = new int[count];
+        Arrays.setAll(positions, i -> i);
+        for (int width = 1; width < count; width *= 2) {
+            for (int low = 0; low < count - width; low += 2 * width) {
+                int mid = low + width;
+                int high = Math.min(low + 2 * width, count);
+                int left = low;
+                int right = mid;
+                int to = low;
+                while (left < mid && right < high) {
+                    merged[to++] = order.applyAsInt(positions[right], positions[left]) < 0
+                            ? positions[right++] : positions[left++];
+                }
+                while (left < mid) {
+                    merged[to++] = positions[left++];
+                }
+                while (right < high) {
+                    merged[to++] = positions[right++];
+                }
+                System.arraycopy(merged, low, positions, low, high - low);
+            }
+        }
+        return positions;
+    }
+
+    /** Deletes the spill files; the segment itself is left to the caller. */
+    @Override
+    public void close() throws IOException {
+        for (Column column : columns) {
+            column.out.close();
+            Files.deleteIfExists(column.file);
+        }
+    }
+
+    private static final class Column {
+        private final Path file;
+        private final DataOutputStream out;
+
+        Column(Path file) throws IOException {
+            this.file = file;
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        }
+
+        int size() {
+            return out.size();
+        }
+    }
+}
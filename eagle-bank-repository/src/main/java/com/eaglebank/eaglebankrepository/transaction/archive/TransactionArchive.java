@@ -0,0 +1,138 @@
+package com.eaglebank.eaglebankrepository.transaction.archive;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.transaction.Transaction;
+import com.eaglebank.eaglebankdomain.transaction.TransactionCursor;
+import com.eaglebank.eaglebankdomain.transaction.TransactionId;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Transactions moved out of the table, as read-only segment files in one
+ * directory. Each segment covers the time range after the previous one,
+ * so everything before {@link #archivedUntil()} is held here. Every row
+ * of a segment is older than its end, but the journal may write a row
+ * into a later segment than its timestamp falls in, when it committed
+ * after the earlier one was written; reads merge across segments rather
+ * than taking them one after another.
+ *
+ * <p>Appends are serialised; readers work on whichever list of segments
+ * was current when they started and never block.
+ */
+public class TransactionArchive {
+    private static final String EXTENSION = ".seg";
+
+    private final Path directory;
+    private volatile List<Segment> segments;
+
+    public TransactionArchive(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        List<Segment> found = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : files) {
+                found.add(Segment.open(file));
+            }
+        }
+        found.sort(Comparator.comparing(Segment::until));
+        segments = List.copyOf(found);
+    }
+
+    private Path fileOf(Instant until) {
+        return directory.resolve(String.format("transactions-%019d%s", SegmentFormat.toMicros(until), EXTENSION));
+    }
+
+    public Instant archivedUntil() {
+        List<Segment> current = segments;
+        return current.isEmpty() ? Instant.EPOCH : current.get(current.size() - 1).until();
+    }
+
+    public Optional<Transaction> findById(TransactionId id) {
+        for (Segment segment : segments) {
+            Optional<Transaction> found = segment.findById(id);
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Every archived row of the account, oldest first. Rows are decoded as
+     * the stream is consumed, so memory stays flat however long the history.
+     */
+    public Stream<Transaction> history(AccountId accountId) {
+        return HistoryOrder.merge(segments.stream().map(segment -> segment.history(accountId)).toList());
+    }
+
+    /**
+     * Up to {@code limit} archived rows older than {@code after}, newest
+     * first. Segments are read newest first until the page is full and
+     * its oldest row is no older than the next segment's end.
+     */
+    public List<Transaction> findPageByAccount(AccountId accountId, TransactionCursor after, int limit) {
+        List<Segment> current = segments;
+        List<Transaction> page = List.of();
+        for (int s = current.size() - 1; s >= 0; s--) {
+            Segment segment = current.get(s);
+            if (page.size() == limit && !page.get(limit - 1).getTimestamp().isBefore(segment.until())) {
+                break;
+            }
+            page = HistoryOrder.mergePages(List.of(page, segment.pageBefore(accountId, after, limit)), limit);
+        }
+        return page;
+    }
+
+    /**
+     * Writes the rows as a new segment covering {@link #archivedUntil()} up
+     * to {@code until}. The file only appears under its final name once it
+     * is complete and on disk, and the rename is on disk before this
+     * returns, so the caller may then delete its own copy of the rows.
+     */
+    public synchronized void append(Instant until, Iterator<Transaction> rows) throws IOException {
+        Instant from = archivedUntil();
+        if (!until.isAfter(from)) {
+            throw new IllegalArgumentException("Archive already covers " + until);
+        }
+        Path target = fileOf(until);
+        Path partial = directory.resolve(target.getFileName() + ".partial");
+        SegmentWriter.write(partial, from, until, rows);
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+
+        List<Segment> next = new ArrayList<>(segments);
+        next.add(Segment.open(target));
+        segments = List.copyOf(next);
+    }
+
+    /**
+     * Deletes the segments that end after {@code until}, for a writer that
+     * crashed after appending a segment but before recording that it had.
+     * Only for use before any reader has started.
+     */
+    public synchronized void discardAfter(Instant until) throws IOException {
+        List<Segment> kept = new ArrayList<>();
+        for (Segment segment : segments) {
+            if (segment.until().isAfter(until)) {
+                Files.delete(fileOf(segment.until()));
+            } else {
+                kept.add(segment);
+            }
+        }
+        segments = List.copyOf(kept);
+    }
+}
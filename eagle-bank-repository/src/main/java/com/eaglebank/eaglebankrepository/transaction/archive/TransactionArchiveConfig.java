@@ -0,0 +1,62 @@
+package com.eaglebank.eaglebankrepository.transaction.archive;
+
+import com.eaglebank.eaglebankrepository.transaction.TransactionPartitionMaintainer;
+import com.eaglebank.eaglebankrepository.transaction.TransactionRepositoryAdapter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Segments live in a directory on the instance's own disk, and only that
+ * instance's archiver writes them and its readers see them. Another replica
+ * would archive the same rows into its own directory and delete them from
+ * the table, so startup is refused unless the deployment runs one instance.
+ * The archiver only sees attached months, so it also refuses a partition
+ * {@code retain-months} that would detach months before it archives them.
+ */
+@Configuration
+@ConditionalOnProperty(name = "eaglebank.archive.enabled", havingValue = "true")
+public class TransactionArchiveConfig {
+
+    @Bean
+    public TransactionArchive transactionArchive(@Value("${eaglebank.archive.directory}") Path directory,
+                                                 @Value("${eaglebank.replicas:1}") int replicas)
+            throws IOException {
+        if (replicas > 1) {
+            throw new IllegalStateException("eaglebank.archive.enabled needs a single instance, but eaglebank.replicas is "
+                    + replicas);
+        }
+        return new TransactionArchive(directory);
+    }
+
+    @Bean
+    @Primary
+    public ArchivingTransactionRepository archivingTransactionRepository(TransactionRepositoryAdapter adapter,
+                                                                         TransactionArchive archive) {
+        return new ArchivingTransactionRepository(adapter, archive);
+    }
+
+    @Bean
+    public TransactionArchiver transactionArchiver(TransactionRepositoryAdapter adapter,
+                                                   ObjectProvider<TransactionPartitionMaintainer> partitions,
+                                                   TransactionArchive archive,
+                                                   TransactionOperations transactionOperations,
+                                                   @Value("${eaglebank.archive.retain-months:12}") int retainMonths,
+                                                   @Value("${eaglebank.transactions.partitioning.retain-months:0}")
+                                                   int partitionRetainMonths) {
+        TransactionPartitionMaintainer maintainer = partitions.getIfAvailable();
+        if (maintainer != null && partitionRetainMonths > 0 && partitionRetainMonths < retainMonths) {
+            throw new IllegalStateException("eaglebank.transactions.partitioning.retain-months is "
+                    + partitionRetainMonths + ", so months would be detached before eaglebank.archive.retain-months ("
+                    + retainMonths + ") archives them");
+        }
+        return new TransactionArchiver(adapter, maintainer, archive, transactionOperations, retainMonths);
+    }
+}
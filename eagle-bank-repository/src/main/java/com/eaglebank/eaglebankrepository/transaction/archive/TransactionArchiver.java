@@ -0,0 +1,81 @@
+package com.eaglebank.eaglebankrepository.transaction.archive;
+
+import com.eaglebank.eaglebankdomain.transaction.Transaction;
+import com.eaglebank.eaglebankrepository.transaction.TransactionPartitionMaintainer;
+import com.eaglebank.eaglebankrepository.transaction.TransactionRepositoryAdapter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Moves transactions older than the last {@code retain-months} whole UTC
+ * months from the table into the archive, one calendar month per segment.
+ * A segment is complete before its rows leave the table; if a run dies in
+ * between, the next one removes them first. On Postgres the month's
+ * partition is detached and dropped, and the DELETE that follows only has
+ * stray rows in the default partition left to find; on H2, which has no
+ * partitions, the DELETE does it all.
+ */
+public class TransactionArchiver {
+    private final TransactionRepositoryAdapter table;
+    private final TransactionPartitionMaintainer partitions;
+    private final TransactionArchive archive;
+    private final TransactionOperations transactions;
+    private final int retainMonths;
+
+    /** {@code partitions} is null when the table is not partitioned. */
+    public TransactionArchiver(TransactionRepositoryAdapter table,
+                               TransactionPartitionMaintainer partitions,
+                               TransactionArchive archive,
+                               TransactionOperations transactions,
+                               int retainMonths) {
+        this.table = table;
+        this.partitions = partitions;
+        this.archive = archive;
+        this.transactions = transactions;
+        this.retainMonths = retainMonths;
+    }
+
+    @Scheduled(fixedDelayString = "${eaglebank.archive.interval:PT6H}")
+    public void archive() {
+        archive(YearMonth.now(ZoneOffset.UTC));
+    }
+
+    void archive(YearMonth current) {
+        Instant cutoff = start(current.minusMonths(retainMonths));
+        release(archive.archivedUntil());
+        Optional<Instant> oldest = table.findOldestTimestamp();
+        while (oldest.isPresent() && oldest.get().isBefore(cutoff)) {
+            Instant until = start(YearMonth.from(oldest.get().atZone(ZoneOffset.UTC)).plusMonths(1));
+            transactions.executeWithoutResult(status -> writeSegment(until));
+            release(until);
+            oldest = table.findOldestTimestamp();
+        }
+    }
+
+    private void writeSegment(Instant until) {
+        try (Stream<Transaction> rows = table.streamBefore(until)) {
+            archive.append(until, rows.iterator());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void release(Instant until) {
+        if (partitions != null) {
+            partitions.dropBefore(YearMonth.from(until.atZone(ZoneOffset.UTC)));
+        }
+        table.deleteBefore(until);
+    }
+
+    private static Instant start(YearMonth month) {
+        return month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+}
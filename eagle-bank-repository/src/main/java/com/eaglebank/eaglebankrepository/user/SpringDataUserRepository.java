@@ -1,10 +1,36 @@
 package com.eaglebank.eaglebankrepository.user;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface SpringDataUserRepository
         extends JpaRepository<UserEntity, UUID> {
-    Optional<UserEntity> findByEmail(String email);
-}
\ No newline at end of file
+    // upper(email) is indexed on Postgres (V6), so these are index lookups.
+    Optional<UserEntity> findByEmailIgnoreCase(String email);
+
+    @Query("select u.id as id, u.passwordHash as passwordHash from UserEntity u "
+            + "where upper(u.email) = upper(:email)")
+    Optional<Credentials> findCredentialsByEmail(@Param("email") String email);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "10000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u.email from UserEntity u")
+    Stream<String> streamEmails();
+
+    interface Credentials {
+        UUID getId();
+        String getPasswordHash();
+    }
+}
@@ -0,0 +1,64 @@
+package com.eaglebank.eaglebankrepository.user;
+
+import com.eaglebank.eaglebankdomain.user.EmailAddress;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Which emails may belong to a user, so a signup with a new one, nearly
+ * every signup, need not look it up. Built by streaming the emails in
+ * {@code users} at startup and again every {@code rebuild-interval}; in
+ * between, emails saved through this instance are added. Emails freed by
+ * an update or deletion stay in until the next rebuild, and ones saved
+ * through another instance are missing until then, which is why the
+ * unique index on email, not this filter, has the final say.
+ */
+@Component
+public class UserEmailFilter {
+    // Headroom for signups between rebuilds without losing accuracy.
+    private static final long GROWTH_FACTOR = 2;
+    private static final long MINIMUM_CAPACITY = 1_000_000;
+
+    private final SpringDataUserRepository jpa;
+    private final double falsePositiveRate;
+    // Emails being saved go into the filter being built, so none are lost
+    // while the table is streamed.
+    private volatile BloomFilter filling;
+    private volatile BloomFilter built;
+
+    public UserEmailFilter(SpringDataUserRepository jpa,
+                           @Value("${eaglebank.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.jpa = jpa;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @Scheduled(fixedDelayString = "${eaglebank.email-filter.rebuild-interval:PT6H}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        BloomFilter next = new BloomFilter(Math.max(MINIMUM_CAPACITY, GROWTH_FACTOR * jpa.count()), falsePositiveRate);
+        filling = next;
+        try (Stream<String> emails = jpa.streamEmails()) {
+            // As EmailAddress.normalized, without validating every row again.
+            emails.forEach(email -> next.put(email.toLowerCase(Locale.ROOT)));
+        }
+        built = next;
+    }
+
+    public void add(EmailAddress email) {
+        BloomFilter current = filling;
+        if (current != null) {
+            current.put(email.normalized());
+        }
+    }
+
+    /** {@code false} only if no user has this email; always {@code true} before the first build. */
+    public boolean mightContain(EmailAddress email) {
+        BloomFilter current = built;
+        return current == null || current.mightContain(email.normalized());
+    }
+}
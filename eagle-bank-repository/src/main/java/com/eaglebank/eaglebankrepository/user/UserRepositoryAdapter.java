@@ -1,22 +1,42 @@
 package com.eaglebank.eaglebankrepository.user;
 
 import com.eaglebank.eaglebankdomain.user.*;
+import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Repository;
 
+import java.util.Locale;
 import java.util.Optional;
 
 @Repository
 public class UserRepositoryAdapter implements UserRepository {
+    private static final String UNIQUE_EMAIL = "uk_users_email";
+    private static final String UNIQUE_UPPER_EMAIL = "ux_users_upper_email";
+
     private final SpringDataUserRepository jpa;
+    private final UserEmailFilter emails;
 
-    public UserRepositoryAdapter(SpringDataUserRepository jpa) {
+    public UserRepositoryAdapter(SpringDataUserRepository jpa, UserEmailFilter emails) {
         this.jpa = jpa;
+        this.emails = emails;
     }
 
     @Override
     public User save(User user) {
         UserEntity entity = toEntity(user);
-        UserEntity saved = jpa.save(entity);
+        UserEntity saved;
+        try {
+            // Flush so an email taken meanwhile, or one the filter did not
+            // know about, fails here rather than at commit.
+            saved = jpa.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            if (violatesUniqueEmail(e)) {
+                throw new InvalidUserDataException("Email already in use");
+            }
+            throw e;
+        }
+        emails.add(user.getEmail());
         return toDomain(saved);
     }
 
@@ -27,7 +47,39 @@ public class UserRepositoryAdapter implements UserRepository {
 
     @Override
     public Optional<User> findByEmail(EmailAddress email) {
-        return jpa.findByEmail(email.value()).map(this::toDomain);
+        return jpa.findByEmailIgnoreCase(email.value()).map(this::toDomain);
+    }
+
+    @Override
+    public boolean mightContainEmail(EmailAddress email) {
+        return emails.mightContain(email);
+    }
+
+    /**
+     * Two columns through the upper(email) index on Postgres. Not cached:
+     * changes made on another instance would not reach the cache here, and
+     * checking each hit against the row costs as much as the lookup.
+     */
+    @Override
+    public Optional<UserCredentials> findCredentials(EmailAddress email) {
+        return jpa.findCredentialsByEmail(email.normalized()).map(UserRepositoryAdapter::toCredentials);
+    }
+
+    // uk_users_email is the baseline unique constraint; ux_users_upper_email
+    // the case-insensitive index Postgres adds (V6). Some databases report
+    // the name qualified or decorated, so it is matched as a substring.
+    private static boolean violatesUniqueEmail(DataIntegrityViolationException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                String name = violation.getConstraintName().toLowerCase(Locale.ROOT);
+                return name.contains(UNIQUE_EMAIL) || name.contains(UNIQUE_UPPER_EMAIL);
+            }
+        }
+        return false;
+    }
+
+    private static UserCredentials toCredentials(SpringDataUserRepository.Credentials row) {
+        return new UserCredentials(UserId.of(row.getId()), new PasswordHash(row.getPasswordHash()));
     }
 
     @Override
@@ -51,12 +103,12 @@ public class UserRepositoryAdapter implements UserRepository {
                 .build();
     }
 
-    private User toDomain(UserEntity entity) {
+    User toDomain(UserEntity entity) {
         return User.rehydrate(
                 UserId.of(entity.getId()),
-                new FirstName(entity.getFirstName()),
-                new LastName(entity.getLastName()),
-                new DateOfBirth(entity.getDateOfBirth()),
+                FirstName.rehydrate(entity.getFirstName()),
+                LastName.rehydrate(entity.getLastName()),
+                DateOfBirth.rehydrate(entity.getDateOfBirth()),
                 new EmailAddress(entity.getEmail()),
                 new PhoneNumber(entity.getPhoneNumber()),
                 new Address(
@@ -0,0 +1,57 @@
+-- The schema as Hibernate generated it from the entities before migrations
+-- were introduced. Databases created that way are baselined at version 1
+-- and start from V2.
+
+create table users (
+    id               uuid         not null,
+    first_name       varchar(50)  not null,
+    last_name        varchar(50)  not null,
+    date_of_birth    date         not null,
+    email            varchar(255) not null,
+    password_hash    varchar(255) not null,
+    phone_number     varchar(255) not null,
+    address_line1    varchar(100) not null,
+    address_town     varchar(50)  not null,
+    address_county   varchar(50)  not null,
+    address_postcode varchar(8)   not null,
+    primary key (id),
+    constraint uk_users_email unique (email)
+);
+
+create table accounts (
+    id                uuid                        not null,
+    user_id           uuid                        not null,
+    name              varchar(255)                not null,
+    balance           numeric(38, 2)              not null,
+    account_number    varchar(8)                  not null,
+    sort_code         varchar(6)                  not null,
+    type              varchar(255)                not null,
+    currency          varchar(3)                  not null,
+    created_timestamp timestamp(6) with time zone not null,
+    updated_timestamp timestamp(6) with time zone not null,
+    primary key (id),
+    constraint ck_accounts_type check (type in ('CHECKING', 'SAVINGS', 'BUSINESS'))
+);
+
+create table transactions (
+    id         uuid                        not null,
+    account_id uuid                        not null,
+    type       varchar(255)                not null,
+    amount     numeric(38, 2)              not null,
+    timestamp  timestamp(6) with time zone not null,
+    currency   varchar(3)                  not null,
+    primary key (id)
+);
+
+create table idempotency_keys (
+    owner_id        uuid                        not null,
+    idempotency_key varchar(255)                not null,
+    transaction_id  uuid                        not null,
+    account_id      uuid                        not null,
+    type            varchar(255)                not null,
+    amount          numeric(38, 2)              not null,
+    timestamp       timestamp(6) with time zone not null,
+    currency        varchar(3)                  not null,
+    expires_at      timestamp(6) with time zone not null,
+    primary key (owner_id, idempotency_key)
+);
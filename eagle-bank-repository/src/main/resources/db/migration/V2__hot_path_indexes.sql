@@ -0,0 +1,11 @@
+-- AccountRepository.findByOwner: every account listing and ownership check.
+create index ix_accounts_user_id on accounts (user_id);
+
+-- Transaction history is read newest first and paged by (timestamp, id)
+-- keyset, so the index hands rows back in exactly that order and a page
+-- stops after `limit` entries. The statement export walks it backwards.
+create index ix_transactions_account_id_timestamp_id
+    on transactions (account_id, timestamp desc, id desc);
+
+-- IdempotencyRepository.deleteExpired: the scheduled purge.
+create index ix_idempotency_keys_expires_at on idempotency_keys (expires_at);
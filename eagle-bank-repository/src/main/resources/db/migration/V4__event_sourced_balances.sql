@@ -0,0 +1,19 @@
+-- Used only when eaglebank.ledger.balances=event-sourced. Both tables are
+-- insert-only; the primary keys double as the index for reading an
+-- account's latest snapshot and the entries after it.
+
+create table ledger_entries (
+    account_id         uuid                        not null,
+    sequence           bigint                      not null,
+    delta_minor_units  bigint                      not null,
+    created_timestamp  timestamp(6) with time zone not null,
+    primary key (account_id, sequence)
+);
+
+create table balance_snapshots (
+    account_id          uuid                        not null,
+    sequence            bigint                      not null,
+    balance_minor_units bigint                      not null,
+    created_timestamp   timestamp(6) with time zone not null,
+    primary key (account_id, sequence)
+);
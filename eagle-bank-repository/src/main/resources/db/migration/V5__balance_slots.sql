@@ -0,0 +1,10 @@
+-- Used only when eaglebank.ledger.balances=striped. A striped account's
+-- balance is accounts.balance plus the sum of its slots; the primary key
+-- serves both the single-slot updates and the per-account sums.
+
+create table balance_slots (
+    account_id          uuid    not null,
+    slot                integer not null,
+    balance_minor_units bigint  not null,
+    primary key (account_id, slot)
+);
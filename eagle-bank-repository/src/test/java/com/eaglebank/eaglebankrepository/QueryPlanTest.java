@@ -0,0 +1,207 @@
+package com.eaglebank.eaglebankrepository;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.account.AccountRepository;
+import com.eaglebank.eaglebankdomain.transaction.*;
+import com.eaglebank.eaglebankdomain.user.EmailAddress;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import com.eaglebank.eaglebankdomain.user.UserRepository;
+import com.eaglebank.eaglebankrepository.account.BalanceLedger;
+import com.eaglebank.eaglebankrepository.account.BalanceSlots;
+import com.eaglebank.eaglebankrepository.transaction.IdempotencyRepositoryAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every repository query against a seeded Postgres, then asks the
+ * planner how it would execute each recorded statement. Sequential scans
+ * are disabled for the session, so one only appears in a plan when no
+ * index can serve the query at all.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.eaglebank.eaglebankrepository.RecordingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = TestConfig.class)
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanTest {
+
+    // EXPLAIN (GENERIC_PLAN) needs Postgres 16.
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    private static final Currency GBP = Currency.getInstance("GBP");
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private AccountRepository accounts;
+
+    @Autowired
+    private TransactionRepository transactions;
+
+    @Autowired
+    private IdempotencyRepositoryAdapter idempotencyKeys;
+
+    @Autowired
+    private BalanceLedger ledger;
+
+    @Autowired
+    private BalanceSlots slots;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void seed() {
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("insert into users (id, first_name, last_name, date_of_birth, email, password_hash, "
+                + "phone_number, address_line1, address_town, address_county, address_postcode) "
+                + "select gen_random_uuid(), 'Seed', 'User', date '1990-01-01', 'seed' || n || '@example.com', "
+                + "'hash', '+447700900000', '1 High Street', 'Town', 'County', 'AB1 2CD' "
+                + "from generate_series(1, 2000) n");
+        jdbc.update("insert into accounts (id, user_id, name, balance, account_number, sort_code, type, "
+                + "currency, created_timestamp, updated_timestamp) "
+                + "select gen_random_uuid(), u.id, 'Seed', 100.00, '01234567', '102030', 'CHECKING', 'GBP', "
+                + "now(), now() from users u, generate_series(1, 5)");
+        jdbc.update("insert into transactions (id, account_id, type, amount, timestamp, currency) "
+                + "select gen_random_uuid(), a.id, 'DEPOSIT', 1.00, now() - n * interval '1 minute', 'GBP' "
+                + "from accounts a, generate_series(1, 10) n");
+        jdbc.update("insert into idempotency_keys (owner_id, idempotency_key, transaction_id, account_id, "
+                + "type, amount, timestamp, currency, expires_at) "
+                + "select gen_random_uuid(), 'seed-' || n, gen_random_uuid(), gen_random_uuid(), 'DEPOSIT', "
+                + "1.00, now(), 'GBP', now() + (n - 10000) * interval '1 second' "
+                + "from generate_series(1, 20000) n");
+        jdbc.execute("analyze");
+        RecordingStatementInspector.drain();
+    }
+
+    @Test
+    void userQueriesShouldUseIndexes() {
+        users.findById(UserId.newId());
+        users.findByEmail(new EmailAddress("seed42@example.com"));
+        users.findCredentials(new EmailAddress("Seed43@example.com"));
+
+        assertNoSequentialScans(3);
+    }
+
+    @Test
+    void accountQueriesShouldUseIndexes() {
+        accounts.findById(AccountId.newId());
+        accounts.findByOwner(UserId.newId());
+        accounts.findAllByIdForUpdate(List.of(AccountId.newId(), AccountId.newId()));
+        accounts.applyDelta(AccountId.newId(), 100, 2);
+        accounts.findOwnership(AccountId.newId());
+
+        assertNoSequentialScans(5);
+    }
+
+    @Test
+    void transactionQueriesShouldUseIndexes() {
+        AccountId accountId = AccountId.newId();
+        transactions.findById(TransactionId.newId());
+        transactions.findPageByAccount(accountId, null, 20);
+        transactions.findPageByAccount(accountId, new TransactionCursor(Instant.now(), TransactionId.newId()), 20);
+        try (Stream<Transaction> history = transactions.streamByAccount(accountId)) {
+            history.toList();
+        }
+
+        assertNoSequentialScans(4);
+    }
+
+    @Test
+    void idempotencyQueriesShouldUseIndexes() {
+        IdempotencyKey key = new IdempotencyKey(UserId.newId(), "plan-check");
+        idempotencyKeys.find(key);
+        idempotencyKeys.save(key, Transaction.create(AccountId.newId(), TransactionType.DEPOSIT,
+                Amount.of(new BigDecimal("1.00"), GBP), GBP));
+        idempotencyKeys.deleteExpired(Instant.now());
+
+        assertNoSequentialScans(3);
+    }
+
+    @Test
+    void ledgerQueriesShouldUseIndexes() {
+        AccountId accountId = AccountId.newId();
+        ledger.position(accountId, 0);
+        ledger.deleteAccount(accountId);
+
+        assertNoSequentialScans(4);
+    }
+
+    @Test
+    void slotQueriesShouldUseIndexes() {
+        AccountId accountId = AccountId.newId();
+        slots.add(accountId, 3, 100);
+        slots.sum(accountId);
+        slots.sums(List.of(accountId));
+        slots.lock(accountId);
+        slots.clear(accountId);
+        slots.deleteAccount(accountId);
+
+        assertNoSequentialScans(6);
+    }
+
+    private void assertNoSequentialScans(int expectedQueries) {
+        List<String> queries = RecordingStatementInspector.drain().stream()
+                .filter(QueryPlanTest::readsRows)
+                .toList();
+        assertThat(queries).hasSize(expectedQueries);
+
+        jdbc.execute("set local enable_seqscan = off");
+        for (String sql : queries) {
+            String plan = jdbc.queryForObject("explain (generic_plan, format json) " + numbered(sql), String.class);
+            assertThat(plan)
+                    .as("plan for %s", sql)
+                    .doesNotContain("\"Node Type\": \"Seq Scan\"");
+        }
+    }
+
+    private static boolean readsRows(String sql) {
+        String verb = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return verb.startsWith("select") || verb.startsWith("update") || verb.startsWith("delete");
+    }
+
+    // GENERIC_PLAN takes $n placeholders where JDBC uses ?.
+    private static String numbered(String sql) {
+        StringBuilder out = new StringBuilder(sql.length() + 8);
+        int n = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                out.append('$').append(++n);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
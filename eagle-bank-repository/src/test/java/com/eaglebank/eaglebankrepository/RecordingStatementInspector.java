@@ -0,0 +1,31 @@
+package com.eaglebank.eaglebankrepository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps every statement Hibernate sends so a test can look at the SQL the
+ * repositories really run. Hibernate creates the instance itself, so the
+ * record is static.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.add(sql);
+        }
+        return sql;
+    }
+
+    public static List<String> drain() {
+        synchronized (STATEMENTS) {
+            List<String> recorded = List.copyOf(STATEMENTS);
+            STATEMENTS.clear();
+            return recorded;
+        }
+    }
+}
@@ -33,7 +33,7 @@ class AccountRepositoryAdapterTest {
         );
         Account saved = repo.save(account);
         assertThat(saved.getName().value()).isEqualTo("Test Account");
-        assertThat(saved.getBalance().value()).isEqualTo(new BigDecimal("0.00"));
+        assertThat(saved.getBalance().toBigDecimal()).isEqualTo(new BigDecimal("0.00"));
         assertThat(saved.getType()).isEqualTo(AccountType.SAVINGS);
         assertThat(saved.getCurrency()).isEqualTo(Currency.getInstance("GBP"));
 
@@ -74,7 +74,7 @@ class AccountRepositoryAdapterTest {
                 original.getId(),
                 original.getOwnerId(),
                 new AccountName("Updated Name"),
-                new Balance(new BigDecimal("100.00")),
+                Balance.of(new BigDecimal("100.00"), Currency.getInstance("GBP")),
                 original.getAccountNumber(),
                 original.getSortCode(),
                 AccountType.SAVINGS,
@@ -87,7 +87,7 @@ class AccountRepositoryAdapterTest {
         Optional<Account> fetched = repo.findById(original.getId());
         assertThat(fetched).isPresent();
         assertThat(fetched.get().getName().value()).isEqualTo("Updated Name");
-        assertThat(fetched.get().getBalance().value())
+        assertThat(fetched.get().getBalance().toBigDecimal())
                 .isEqualByComparingTo(new BigDecimal("100.00"));
         assertThat(fetched.get().getType()).isEqualTo(AccountType.SAVINGS);
     }
@@ -97,7 +97,7 @@ class AccountRepositoryAdapterTest {
         AccountId id = AccountId.of(UUID.randomUUID());
         UserId ownerId = UserId.of(UUID.randomUUID());
         AccountName name = new AccountName("Test Account");
-        Balance balance = new Balance(new BigDecimal("123.45"));
+        Balance balance = Balance.of(new BigDecimal("123.45"), Currency.getInstance("GBP"));
         AccountNumber accountNumber = new AccountNumber("12345678");
         SortCode sortCode = new SortCode("123456");
         AccountType type = AccountType.BUSINESS;
@@ -111,7 +111,7 @@ class AccountRepositoryAdapterTest {
         assertThat(saved.getId()).isEqualTo(id);
         assertThat(saved.getOwnerId()).isEqualTo(ownerId);
         assertThat(saved.getName().value()).isEqualTo(name.value());
-        assertThat(saved.getBalance().value()).isEqualByComparingTo(balance.value());
+        assertThat(saved.getBalance()).isEqualTo(balance);
         assertThat(saved.getAccountNumber().value()).isEqualTo(accountNumber.value());
         assertThat(saved.getSortCode().value()).isEqualTo(sortCode.value());
         assertThat(saved.getType()).isEqualTo(type);
@@ -125,7 +125,7 @@ class AccountRepositoryAdapterTest {
         assertThat(fetchedAccount.getId()).isEqualTo(id);
         assertThat(fetchedAccount.getOwnerId()).isEqualTo(ownerId);
         assertThat(fetchedAccount.getName().value()).isEqualTo(name.value());
-        assertThat(fetchedAccount.getBalance().value()).isEqualByComparingTo(balance.value());
+        assertThat(fetchedAccount.getBalance()).isEqualTo(balance);
         assertThat(fetchedAccount.getAccountNumber().value()).isEqualTo(accountNumber.value());
         assertThat(fetchedAccount.getSortCode().value()).isEqualTo(sortCode.value());
         assertThat(fetchedAccount.getType()).isEqualTo(type);
@@ -146,6 +146,40 @@ class AccountRepositoryAdapterTest {
         assertThat(fetched).isEmpty();
     }
 
+    @Test
+    void shouldFindOwnershipWithoutLoadingAccount() {
+        Account account = repo.save(
+                Account.create(UserId.newId(), new AccountName("Owned"), AccountType.CHECKING)
+        );
+
+        Optional<AccountOwnership> ownership = repo.findOwnership(account.getId());
+
+        assertThat(ownership).contains(AccountOwnership.of(account));
+        assertThat(repo.findOwnership(account.getId())).isEqualTo(ownership);
+    }
+
+    @Test
+    void shouldForgetOwnershipOfDeletedAccount() {
+        Account account = repo.save(
+                Account.create(UserId.newId(), new AccountName("To Delete"), AccountType.CHECKING)
+        );
+        assertThat(repo.findOwnership(account.getId())).isPresent();
+
+        repo.delete(account);
+
+        assertThat(repo.findOwnership(account.getId())).isEmpty();
+    }
+
+    @Test
+    void shouldFindOwnershipOfAccountCreatedAfterMiss() {
+        Account account = Account.create(UserId.newId(), new AccountName("Later"), AccountType.CHECKING);
+        assertThat(repo.findOwnership(account.getId())).isEmpty();
+
+        repo.save(account);
+
+        assertThat(repo.findOwnership(account.getId())).contains(AccountOwnership.of(account));
+    }
+
     @Test
     void shouldReturnEmptyOptionalForNonExistentId() {
         Optional<Account> result = repo.findById(AccountId.newId());
@@ -157,4 +191,80 @@ class AccountRepositoryAdapterTest {
         List<Account> accounts = repo.findByOwner(UserId.newId());
         assertThat(accounts).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldApplyPositiveDelta() {
+        Account account = repo.save(
+                Account.create(UserId.newId(), new AccountName("Delta"), AccountType.CHECKING)
+        );
+
+        assertThat(repo.applyDelta(account.getId(), 2550, 2)).isTrue();
+
+        assertThat(repo.findById(account.getId()).get().getBalance().toBigDecimal())
+                .isEqualByComparingTo(new BigDecimal("25.50"));
+    }
+
+    @Test
+    void shouldApplyNegativeDeltaWhenFundsAreSufficient() {
+        Account account = repo.save(
+                Account.create(UserId.newId(), new AccountName("Delta"), AccountType.CHECKING)
+        );
+        repo.applyDelta(account.getId(), 10000, 2);
+
+        assertThat(repo.applyDelta(account.getId(), -10000, 2)).isTrue();
+
+        assertThat(repo.findById(account.getId()).get().getBalance().toBigDecimal())
+                .isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    void shouldRefuseDeltaThatWouldOverdraw() {
+        Account account = repo.save(
+                Account.create(UserId.newId(), new AccountName("Delta"), AccountType.CHECKING)
+        );
+        repo.applyDelta(account.getId(), 1000, 2);
+
+        assertThat(repo.applyDelta(account.getId(), -1001, 2)).isFalse();
+
+        assertThat(repo.findById(account.getId()).get().getBalance().toBigDecimal())
+                .isEqualByComparingTo(new BigDecimal("10.00"));
+    }
+
+    @Test
+    void shouldRefuseDeltaToMissingAccount() {
+        assertThat(repo.applyDelta(AccountId.newId(), 100, 2)).isFalse();
+    }
+
+    @Test
+    void shouldLoadAccountsForUpdateInIdOrderSkippingUnknownIds() {
+        Instant now = Instant.now();
+        AccountId high = AccountId.of(new UUID(0, 2));
+        AccountId low = AccountId.of(new UUID(0, 1));
+        for (AccountId id : List.of(high, low)) {
+            repo.save(Account.rehydrate(id, UserId.newId(), new AccountName("Locked"),
+                    Balance.of(BigDecimal.ZERO, Currency.getInstance("GBP")), new AccountNumber("12345678"),
+                    new SortCode("123456"), AccountType.CHECKING, Currency.getInstance("GBP"), now, now));
+        }
+
+        List<Account> locked = repo.findAllByIdForUpdate(List.of(high, AccountId.newId(), low));
+
+        assertThat(locked).extracting(Account::getId).containsExactly(low, high);
+    }
+
+    @Test
+    void shouldSaveAllAccounts() {
+        Account first = repo.save(Account.create(UserId.newId(), new AccountName("First"), AccountType.CHECKING));
+        Account second = repo.save(Account.create(UserId.newId(), new AccountName("Second"), AccountType.SAVINGS));
+
+        List<Account> saved = repo.saveAll(List.of(
+                first.withBalance(Balance.of(new BigDecimal("10.00"), Currency.getInstance("GBP"))),
+                second.withBalance(Balance.of(new BigDecimal("20.00"), Currency.getInstance("GBP")))
+        ));
+
+        assertThat(saved).hasSize(2);
+        assertThat(repo.findById(first.getId()).get().getBalance().toBigDecimal())
+                .isEqualByComparingTo("10.00");
+        assertThat(repo.findById(second.getId()).get().getBalance().toBigDecimal())
+                .isEqualByComparingTo("20.00");
+    }
+}
@@ -0,0 +1,87 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankrepository.TestConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ContextConfiguration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ContextConfiguration(classes = TestConfig.class)
+class BalanceLedgerTest {
+
+    @Autowired
+    private BalanceLedger ledger;
+
+    @Autowired
+    private SpringDataLedgerEntryRepository entries;
+
+    @Autowired
+    private SpringDataBalanceSnapshotRepository snapshots;
+
+    private final AccountId accountId = AccountId.newId();
+
+    @Test
+    void shouldStartFromOpeningBalance() {
+        assertThat(ledger.position(accountId, 5000)).isEqualTo(new LedgerPosition(0, 5000, 0));
+    }
+
+    @Test
+    void shouldFoldEntriesIntoOpeningBalance() {
+        ledger.append(accountId, 1, 1000);
+        ledger.append(accountId, 2, -300);
+        ledger.append(AccountId.newId(), 1, 99);
+
+        assertThat(ledger.position(accountId, 5000)).isEqualTo(new LedgerPosition(2, 5700, 2));
+    }
+
+    @Test
+    void shouldReadOnlyEntriesAfterLatestSnapshot() {
+        ledger.append(accountId, 1, 1000);
+        ledger.append(accountId, 2, 2000);
+        ledger.snapshot(accountId, new LedgerPosition(1, 1000, 1));
+        ledger.snapshot(accountId, new LedgerPosition(2, 3000, 1));
+        ledger.append(accountId, 3, -500);
+
+        // The opening balance no longer counts once a snapshot exists.
+        assertThat(ledger.position(accountId, 999_999)).isEqualTo(new LedgerPosition(3, 2500, 1));
+    }
+
+    @Test
+    void shouldRejectSecondEntryWithSameSequence() {
+        ledger.append(accountId, 1, 1000);
+
+        assertThatThrownBy(() -> {
+            ledger.append(accountId, 1, 2000);
+            entries.flush();
+        })
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void shouldRejectSecondSnapshotAtSameSequence() {
+        ledger.snapshot(accountId, new LedgerPosition(1, 1000, 1));
+
+        assertThatThrownBy(() -> ledger.snapshot(accountId, new LedgerPosition(1, 1000, 1)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void shouldDeleteAccountHistory() {
+        AccountId other = AccountId.newId();
+        ledger.append(accountId, 1, 1000);
+        ledger.snapshot(accountId, new LedgerPosition(1, 1000, 1));
+        ledger.append(other, 1, 50);
+
+        ledger.deleteAccount(accountId);
+
+        assertThat(ledger.position(accountId, 0)).isEqualTo(new LedgerPosition(0, 0, 0));
+        assertThat(ledger.position(other, 0)).isEqualTo(new LedgerPosition(1, 50, 1));
+        assertThat(snapshots.count()).isZero();
+    }
+}
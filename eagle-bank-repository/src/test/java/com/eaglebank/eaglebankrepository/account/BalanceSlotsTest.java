@@ -0,0 +1,86 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankrepository.TestConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ContextConfiguration(classes = TestConfig.class)
+class BalanceSlotsTest {
+
+    @Autowired
+    private BalanceSlots slots;
+
+    @Autowired
+    private SpringDataBalanceSlotRepository repository;
+
+    private final AccountId accountId = AccountId.newId();
+
+    @Test
+    void shouldNotAddToMissingSlot() {
+        assertThat(slots.add(accountId, 0, 100)).isFalse();
+        assertThat(slots.sum(accountId)).isZero();
+    }
+
+    @Test
+    void shouldAddToOneSlot() {
+        slots.create(accountId, List.of(0, 1, 2));
+
+        assertThat(slots.add(accountId, 1, 700)).isTrue();
+        assertThat(slots.add(accountId, 2, 300)).isTrue();
+
+        assertThat(slots.sum(accountId)).isEqualTo(1000);
+        assertThat(slots.lock(accountId)).containsExactly(Map.entry(0, 0L), Map.entry(1, 700L), Map.entry(2, 300L));
+    }
+
+    @Test
+    void shouldRefuseToTakeSlotBelowZero() {
+        slots.create(accountId, List.of(0, 1));
+        slots.add(accountId, 0, 500);
+        slots.add(accountId, 1, 500);
+
+        assertThat(slots.add(accountId, 0, -501)).isFalse();
+        assertThat(slots.add(accountId, 0, -500)).isTrue();
+        assertThat(slots.sum(accountId)).isEqualTo(500);
+    }
+
+    @Test
+    void shouldSumPerAccount() {
+        AccountId other = AccountId.newId();
+        AccountId unstriped = AccountId.newId();
+        slots.create(accountId, List.of(0, 1));
+        slots.create(other, List.of(0));
+        slots.add(accountId, 0, 100);
+        slots.add(accountId, 1, 200);
+        slots.add(other, 0, 50);
+
+        assertThat(slots.sums(List.of(accountId, other, unstriped)))
+                .containsOnly(Map.entry(accountId, 300L), Map.entry(other, 50L));
+        assertThat(slots.sums(List.of())).isEmpty();
+    }
+
+    @Test
+    void shouldClearAndDeleteOneAccountOnly() {
+        AccountId other = AccountId.newId();
+        slots.create(accountId, List.of(0, 1));
+        slots.create(other, List.of(0));
+        slots.add(accountId, 0, 100);
+        slots.add(other, 0, 50);
+
+        slots.clear(accountId);
+        assertThat(slots.lock(accountId)).containsOnlyKeys(0, 1).allSatisfy((slot, balance) -> assertThat(balance).isZero());
+
+        slots.deleteAccount(accountId);
+        assertThat(slots.lock(accountId)).isEmpty();
+        assertThat(slots.sum(other)).isEqualTo(50);
+        assertThat(repository.count()).isEqualTo(1);
+    }
+}
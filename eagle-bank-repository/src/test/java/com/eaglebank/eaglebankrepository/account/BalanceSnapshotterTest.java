@@ -0,0 +1,156 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import com.eaglebank.eaglebankdomain.account.*;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BalanceSnapshotterTest {
+
+    private final List<Runnable> queued = new ArrayList<>();
+    private AccountRepository accounts;
+    private BalanceLedger ledger;
+    private BalanceSnapshotter snapshotter;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        accounts = mock(AccountRepository.class);
+        ledger = mock(BalanceLedger.class);
+        snapshotter = new BalanceSnapshotter(accounts, ledger, TransactionOperations.withoutTransaction(),
+                (Executor) queued::add);
+        account = Account.create(UserId.newId(), new AccountName("Hot"), AccountType.BUSINESS)
+                .withBalance(new Balance(5000, 2));
+        when(accounts.findById(account.getId())).thenReturn(Optional.of(account));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void drain() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    @Test
+    void shouldSnapshotFromOpeningBalance() {
+        LedgerPosition position = new LedgerPosition(100, 9000, 100);
+        when(ledger.position(account.getId(), 5000)).thenReturn(position);
+
+        snapshotter.request(account.getId());
+        drain();
+
+        verify(ledger).snapshot(account.getId(), position);
+    }
+
+    @Test
+    void shouldSkipAccountAlreadySnapshotted() {
+        when(ledger.position(account.getId(), 5000)).thenReturn(new LedgerPosition(100, 9000, 0));
+
+        snapshotter.request(account.getId());
+        drain();
+
+        verify(ledger, never()).snapshot(any(), any());
+    }
+
+    @Test
+    void shouldSkipDeletedAccount() {
+        AccountId gone = AccountId.newId();
+        when(accounts.findById(gone)).thenReturn(Optional.empty());
+
+        snapshotter.request(gone);
+        drain();
+
+        verifyNoInteractions(ledger);
+    }
+
+    @Test
+    void shouldQueueEachAccountOnceUntilItRuns() {
+        when(ledger.position(account.getId(), 5000)).thenReturn(new LedgerPosition(1, 5001, 1));
+
+        snapshotter.request(account.getId());
+        snapshotter.request(account.getId());
+        assertThat(queued).hasSize(1);
+
+        drain();
+        snapshotter.request(account.getId());
+        assertThat(queued).hasSize(1);
+    }
+
+    @Test
+    void shouldWaitForSurroundingTransactionToComplete() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        snapshotter.request(account.getId());
+        assertThat(queued).isEmpty();
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertThat(queued).hasSize(1);
+    }
+
+    @Test
+    void shouldDropRequestWhenQueueIsFull() {
+        AtomicInteger attempts = new AtomicInteger();
+        BalanceSnapshotter full = new BalanceSnapshotter(accounts, ledger, TransactionOperations.withoutTransaction(),
+                task -> {
+                    attempts.incrementAndGet();
+                    throw new RejectedExecutionException();
+                });
+
+        full.request(account.getId());
+        full.request(account.getId());
+
+        // The rejected request was not left pending, so the second got through.
+        assertThat(attempts).hasValue(2);
+        verifyNoInteractions(ledger);
+        assertThatCode(full::close).doesNotThrowAnyException();
+    }
+
+    @Test
+    void shouldIgnoreSnapshotWrittenByAnotherInstance() {
+        LedgerPosition position = new LedgerPosition(100, 9000, 100);
+        when(ledger.position(account.getId(), 5000)).thenReturn(position);
+        doThrow(new DataIntegrityViolationException("duplicate")).when(ledger).snapshot(account.getId(), position);
+
+        snapshotter.request(account.getId());
+        assertThatCode(this::drain).doesNotThrowAnyException();
+
+        snapshotter.request(account.getId());
+        assertThat(queued).hasSize(1);
+    }
+
+    @Test
+    void shouldFinishQueuedSnapshotsOnClose() {
+        BalanceSnapshotter threaded = new BalanceSnapshotter(accounts, ledger,
+                TransactionOperations.withoutTransaction(), 1);
+        when(ledger.position(account.getId(), 5000)).thenReturn(new LedgerPosition(1, 5001, 1));
+
+        threaded.request(account.getId());
+        threaded.close();
+
+        verify(ledger, timeout(1000)).snapshot(account.getId(), new LedgerPosition(1, 5001, 1));
+    }
+}
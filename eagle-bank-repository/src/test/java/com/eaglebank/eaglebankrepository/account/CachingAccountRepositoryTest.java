@@ -0,0 +1,154 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import com.eaglebank.eaglebankdomain.account.*;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class CachingAccountRepositoryTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private AccountRepository delegate;
+    private Cache<AccountId, AccountOwnership> cache;
+    private CachingAccountRepository repo;
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(AccountRepository.class);
+        cache = Caffeine.newBuilder()
+                .maximumSize(100)
+                .expireAfterWrite(Duration.ofMinutes(5))
+                .ticker(nanos::get)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        repo = new CachingAccountRepository(delegate, cache);
+        account = Account.create(UserId.newId(), new AccountName("Cached"), AccountType.SAVINGS);
+        when(delegate.findOwnership(account.getId())).thenReturn(Optional.of(AccountOwnership.of(account)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldServeRepeatOwnershipReadsFromCache() {
+        assertThat(repo.findOwnership(account.getId())).contains(AccountOwnership.of(account));
+        assertThat(repo.findOwnership(account.getId())).contains(AccountOwnership.of(account));
+
+        verify(delegate, times(1)).findOwnership(account.getId());
+        verify(delegate, never()).findById(any());
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAlwaysReadAccountsFromDelegate() {
+        Account credited = account.withBalance(new Balance(1000, 2));
+        when(delegate.findById(account.getId())).thenReturn(Optional.of(account), Optional.of(credited));
+
+        assertThat(repo.findById(account.getId())).contains(account);
+        assertThat(repo.findById(account.getId())).contains(credited);
+
+        verify(delegate, times(2)).findById(account.getId());
+        assertThat(cache.estimatedSize()).isZero();
+    }
+
+    @Test
+    void shouldNotCacheMissingAccounts() {
+        AccountId unknown = AccountId.newId();
+        when(delegate.findOwnership(unknown)).thenReturn(Optional.empty());
+
+        assertThat(repo.findOwnership(unknown)).isEmpty();
+        assertThat(repo.findOwnership(unknown)).isEmpty();
+
+        verify(delegate, times(2)).findOwnership(unknown);
+    }
+
+    @Test
+    void shouldReloadAfterTtl() {
+        repo.findOwnership(account.getId());
+        nanos.addAndGet(Duration.ofMinutes(6).toNanos());
+        repo.findOwnership(account.getId());
+
+        verify(delegate, times(2)).findOwnership(account.getId());
+    }
+
+    @Test
+    void shouldKeepOwnershipAcrossBalanceChanges() {
+        when(delegate.applyDelta(account.getId(), 1000, 2)).thenReturn(true);
+        repo.findOwnership(account.getId());
+
+        assertThat(repo.applyDelta(account.getId(), 1000, 2)).isTrue();
+        assertThat(cache.getIfPresent(account.getId())).isEqualTo(AccountOwnership.of(account));
+    }
+
+    @Test
+    void shouldConfirmStoredOwnershipPastTheCache() {
+        repo.findOwnership(account.getId());
+        // Deleted on another instance; this one's entry has not expired.
+        when(delegate.findOwnership(account.getId())).thenReturn(Optional.empty());
+
+        assertThat(repo.findStoredOwnership(account.getId())).isEmpty();
+
+        verify(delegate, times(2)).findOwnership(account.getId());
+        assertThat(cache.getIfPresent(account.getId())).isNull();
+    }
+
+    @Test
+    void shouldEvictOnDelete() {
+        repo.findOwnership(account.getId());
+
+        repo.delete(account);
+
+        verify(delegate).delete(account);
+        assertThat(cache.getIfPresent(account.getId())).isNull();
+    }
+
+    @Test
+    void shouldEvictAgainWhenTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        repo.delete(account);
+        // A concurrent reader repopulates the entry before the delete commits.
+        repo.findOwnership(account.getId());
+        assertThat(cache.getIfPresent(account.getId())).isNotNull();
+
+        List<TransactionSynchronization> syncs = TransactionSynchronizationManager.getSynchronizations();
+        syncs.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(cache.getIfPresent(account.getId())).isNull();
+    }
+
+    @Test
+    void shouldBypassCacheWhenLockingForUpdate() {
+        when(delegate.findAllByIdForUpdate(List.of(account.getId()))).thenReturn(List.of(account));
+
+        assertThat(repo.findAllByIdForUpdate(List.of(account.getId()))).containsExactly(account);
+        verify(delegate).findAllByIdForUpdate(List.of(account.getId()));
+    }
+
+    @Test
+    void shouldDelegateFindByOwner() {
+        when(delegate.findByOwner(account.getOwnerId())).thenReturn(List.of(account));
+
+        assertThat(repo.findByOwner(account.getOwnerId())).containsExactly(account);
+    }
+}
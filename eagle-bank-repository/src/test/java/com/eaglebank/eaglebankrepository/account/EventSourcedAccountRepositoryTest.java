@@ -0,0 +1,251 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import com.eaglebank.eaglebankdomain.account.*;
+import com.eaglebank.eaglebankdomain.exception.ConcurrentUpdateException;
+import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EventSourcedAccountRepositoryTest {
+
+    private AccountRepository delegate;
+    private MemoryLedger ledger;
+    private BalanceSnapshotter snapshotter;
+    private EventSourcedAccountRepository repo;
+    private Account stored;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(AccountRepository.class);
+        ledger = new MemoryLedger();
+        snapshotter = mock(BalanceSnapshotter.class);
+        repo = new EventSourcedAccountRepository(delegate, ledger, snapshotter, 3);
+        stored = Account.create(UserId.newId(), new AccountName("Merchant"), AccountType.BUSINESS)
+                .withBalance(new Balance(5000, 2));
+        when(delegate.findById(stored.getId())).thenReturn(Optional.of(stored));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(repo);
+    }
+
+    private long balance(AccountId id) {
+        return repo.findById(id).orElseThrow().getBalance().minorUnits();
+    }
+
+    @Test
+    void shouldRejectNonPositiveSnapshotInterval() {
+        assertThatThrownBy(() -> new EventSourcedAccountRepository(delegate, ledger, snapshotter, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldDeriveBalanceFromOpeningBalanceAndEntries() {
+        assertThat(repo.applyDelta(stored.getId(), 1000, 2)).isTrue();
+        assertThat(repo.applyDelta(stored.getId(), -2500, 2)).isTrue();
+
+        Account found = repo.findById(stored.getId()).orElseThrow();
+        assertThat(found.getBalance()).isEqualTo(new Balance(3500, 2));
+        assertThat(found.getUpdatedTimestamp()).isEqualTo(stored.getUpdatedTimestamp());
+        assertThat(ledger.entries.get(stored.getId())).containsExactly(1000L, -2500L);
+    }
+
+    @Test
+    void shouldReportPostingThatLostTheSequenceToAnother() {
+        BalanceLedger taken = new MemoryLedger() {
+            @Override
+            public void append(AccountId accountId, long sequence, long deltaMinorUnits) {
+                throw new DataIntegrityViolationException("duplicate key (account_id, sequence)");
+            }
+        };
+        EventSourcedAccountRepository racing = new EventSourcedAccountRepository(delegate, taken, snapshotter, 3);
+
+        assertThatThrownBy(() -> racing.applyDelta(stored.getId(), 1000, 2))
+                .isInstanceOf(ConcurrentUpdateException.class);
+    }
+
+    @Test
+    void shouldNotWriteAccountRowWhenPosting() {
+        repo.applyDelta(stored.getId(), 1000, 2);
+
+        verify(delegate, never()).save(any());
+        verify(delegate, never()).applyDelta(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldRefuseWithdrawalBeyondBalance() {
+        assertThat(repo.applyDelta(stored.getId(), -5001, 2)).isFalse();
+
+        assertThat(ledger.entries).isEmpty();
+        assertThat(balance(stored.getId())).isEqualTo(5000);
+    }
+
+    @Test
+    void shouldReturnEmptyForUnknownAccount() {
+        AccountId unknown = AccountId.newId();
+        when(delegate.findById(unknown)).thenReturn(Optional.empty());
+
+        assertThat(repo.applyDelta(unknown, 1000, 2)).isFalse();
+        assertThat(repo.findById(unknown)).isEmpty();
+        assertThat(ledger.entries).isEmpty();
+    }
+
+    @Test
+    void shouldRequestSnapshotEverySnapshotIntervalPostings() {
+        repo.applyDelta(stored.getId(), 1, 2);
+        repo.applyDelta(stored.getId(), 1, 2);
+        verify(snapshotter, never()).request(any());
+
+        repo.applyDelta(stored.getId(), 1, 2);
+        verify(snapshotter, times(1)).request(stored.getId());
+
+        // A reader that still finds the tail that long asks again.
+        repo.findById(stored.getId());
+        verify(snapshotter, times(2)).request(stored.getId());
+    }
+
+    @Test
+    void shouldKeepOpeningBalanceWhenSavingOtherChanges() {
+        repo.applyDelta(stored.getId(), 1000, 2);
+        Account renamed = repo.findById(stored.getId()).orElseThrow().withName(new AccountName("Renamed"));
+        when(delegate.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Account saved = repo.save(renamed);
+
+        ArgumentCaptor<Account> written = ArgumentCaptor.forClass(Account.class);
+        verify(delegate).save(written.capture());
+        assertThat(written.getValue().getName().value()).isEqualTo("Renamed");
+        assertThat(written.getValue().getBalance()).isEqualTo(new Balance(5000, 2));
+        assertThat(saved.getBalance()).isEqualTo(new Balance(6000, 2));
+    }
+
+    @Test
+    void shouldStoreNewAccountBalanceAsOpeningBalance() {
+        Account created = Account.create(UserId.newId(), new AccountName("New"), AccountType.SAVINGS);
+        when(delegate.findById(created.getId())).thenReturn(Optional.empty());
+        when(delegate.save(created)).thenReturn(created);
+
+        assertThat(repo.save(created)).isSameAs(created);
+    }
+
+    @Test
+    void shouldDeriveBalancesForOwner() {
+        repo.applyDelta(stored.getId(), 700, 2);
+        when(delegate.findByOwner(stored.getOwnerId())).thenReturn(List.of(stored));
+
+        assertThat(repo.findByOwner(stored.getOwnerId()))
+                .extracting(Account::getBalance)
+                .containsExactly(new Balance(5700, 2));
+    }
+
+    @Test
+    void shouldDeleteLedgerWithAccount() {
+        repo.applyDelta(stored.getId(), 700, 2);
+
+        repo.delete(stored);
+
+        verify(delegate).delete(stored);
+        assertThat(ledger.entries).doesNotContainKey(stored.getId());
+    }
+
+    @Test
+    void shouldAppendDifferenceFromLockedBalance() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(delegate.findAllByIdForUpdate(List.of(stored.getId()))).thenReturn(List.of(stored));
+
+        Account locked = repo.findAllByIdForUpdate(List.of(stored.getId())).get(0);
+        // A single posting does not take the row lock and lands in between.
+        repo.applyDelta(stored.getId(), 1000, 2);
+        List<Account> saved = repo.saveAll(List.of(locked.withBalance(new Balance(4000, 2))));
+
+        assertThat(saved).extracting(Account::getBalance).containsExactly(new Balance(5000, 2));
+        assertThat(ledger.entries.get(stored.getId())).containsExactly(1000L, -1000L);
+        verify(delegate, never()).saveAll(any());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertThat(TransactionSynchronizationManager.getResource(repo)).isNull();
+    }
+
+    @Test
+    void shouldFailBatchWhenPostingInBetweenLeftTooLittle() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(delegate.findAllByIdForUpdate(List.of(stored.getId()))).thenReturn(List.of(stored));
+
+        Account locked = repo.findAllByIdForUpdate(List.of(stored.getId())).get(0);
+        repo.applyDelta(stored.getId(), -5000, 2);
+
+        assertThatThrownBy(() -> repo.saveAll(List.of(locked.withBalance(new Balance(1000, 2)))))
+                .isInstanceOf(InvalidUserDataException.class)
+                .hasMessage("Insufficient funds");
+    }
+
+    @Test
+    void shouldDiffAgainstCurrentBalanceOutsideTransaction() {
+        repo.applyDelta(stored.getId(), 1000, 2);
+
+        repo.saveAll(List.of(stored.withBalance(new Balance(6000, 2))));
+        assertThat(ledger.entries.get(stored.getId())).containsExactly(1000L);
+
+        repo.saveAll(List.of(stored.withBalance(new Balance(6500, 2))));
+        assertThat(ledger.entries.get(stored.getId())).containsExactly(1000L, 500L);
+    }
+
+    @Test
+    void shouldSaveUnknownAccountsDirectly() {
+        Account created = Account.create(UserId.newId(), new AccountName("New"), AccountType.SAVINGS);
+        when(delegate.findById(created.getId())).thenReturn(Optional.empty());
+        when(delegate.save(created)).thenReturn(created);
+
+        assertThat(repo.saveAll(List.of(created))).containsExactly(created);
+    }
+
+    /** Entries per account, with no snapshots, in place of the JPA-backed ledger. */
+    private static class MemoryLedger extends BalanceLedger {
+        final Map<AccountId, List<Long>> entries = new HashMap<>();
+
+        MemoryLedger() {
+            super(null, null);
+        }
+
+        @Override
+        public LedgerPosition position(AccountId accountId, long openingMinorUnits) {
+            List<Long> deltas = entries.getOrDefault(accountId, List.of());
+            long balance = openingMinorUnits + deltas.stream().mapToLong(Long::longValue).sum();
+            return new LedgerPosition(deltas.size(), balance, deltas.size());
+        }
+
+        @Override
+        public void append(AccountId accountId, long sequence, long deltaMinorUnits) {
+            List<Long> deltas = entries.computeIfAbsent(accountId, id -> new ArrayList<>());
+            assertThat(sequence).isEqualTo(deltas.size() + 1);
+            deltas.add(deltaMinorUnits);
+        }
+
+        @Override
+        public void deleteAccount(AccountId accountId) {
+            entries.remove(accountId);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class EventSourcedBalanceConfigTest {
+
+    @Test
+    void shouldWireLedgerAroundTheAdapter() {
+        EventSourcedBalanceConfig config = new EventSourcedBalanceConfig();
+        AccountRepositoryAdapter adapter = mock(AccountRepositoryAdapter.class);
+        BalanceLedger ledger = mock(BalanceLedger.class);
+
+        try (BalanceSnapshotter snapshotter = config.balanceSnapshotter(
+                adapter, ledger, TransactionOperations.withoutTransaction(), 100)) {
+            EventSourcedAccountRepository eventSourced =
+                    config.eventSourcedAccountRepository(adapter, ledger, snapshotter, 100, "sharded");
+
+            assertThat(config.uncachedAccountRepository(eventSourced)).isSameAs(eventSourced);
+        }
+    }
+
+    @Test
+    void shouldRefuseToStartWithTheInlineExecutor() {
+        EventSourcedBalanceConfig config = new EventSourcedBalanceConfig();
+
+        assertThatThrownBy(() -> config.eventSourcedAccountRepository(
+                mock(AccountRepositoryAdapter.class), mock(BalanceLedger.class), mock(BalanceSnapshotter.class), 100, "inline"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("eaglebank.ledger.executor=sharded");
+    }
+}
@@ -0,0 +1,237 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import com.eaglebank.eaglebankdomain.account.*;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class StripedAccountRepositoryTest {
+
+    private AccountRepository delegate;
+    private MemorySlots slots;
+    private StripedAccountRepository repo;
+    private Account stored;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(AccountRepository.class);
+        slots = new MemorySlots();
+        repo = new StripedAccountRepository(delegate, slots, 4);
+        stored = Account.create(UserId.newId(), new AccountName("Merchant"), AccountType.BUSINESS)
+                .withBalance(new Balance(5000, 2));
+        when(delegate.findById(stored.getId())).thenReturn(Optional.of(stored));
+        when(delegate.findAllByIdForUpdate(List.of(stored.getId()))).thenReturn(List.of(stored));
+    }
+
+    private long balance(AccountId id) {
+        return repo.findById(id).orElseThrow().getBalance().minorUnits();
+    }
+
+    @Test
+    void shouldRejectNonPositiveStripeCount() {
+        assertThatThrownBy(() -> new StripedAccountRepository(delegate, slots, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldPassOtherAccountTypesThrough() {
+        Account checking = Account.create(UserId.newId(), new AccountName("Personal"), AccountType.CHECKING);
+        when(delegate.findById(checking.getId())).thenReturn(Optional.of(checking));
+        when(delegate.applyDelta(checking.getId(), 1000, 2)).thenReturn(true);
+
+        assertThat(repo.applyDelta(checking.getId(), 1000, 2)).isTrue();
+        assertThat(repo.findById(checking.getId())).containsSame(checking);
+        assertThat(slots.accounts).isEmpty();
+    }
+
+    @Test
+    void shouldCreateSlotsOnFirstDepositUnderRowLock() {
+        assertThat(repo.applyDelta(stored.getId(), 1000, 2)).isTrue();
+
+        verify(delegate).findAllByIdForUpdate(List.of(stored.getId()));
+        verify(delegate, never()).applyDelta(any(), anyLong(), anyInt());
+        assertThat(slots.accounts.get(stored.getId())).containsOnlyKeys(0, 1, 2, 3);
+        assertThat(balance(stored.getId())).isEqualTo(6000);
+    }
+
+    @Test
+    void shouldSpreadDepositsOverSlots() {
+        for (int i = 0; i < 200; i++) {
+            repo.applyDelta(stored.getId(), 1, 2);
+        }
+
+        assertThat(slots.accounts.get(stored.getId()).values()).allSatisfy(slot -> assertThat(slot).isPositive());
+        assertThat(balance(stored.getId())).isEqualTo(5200);
+        verify(delegate, never()).save(any());
+    }
+
+    @Test
+    void shouldTakeWithdrawalFromOneSlotThatCoversIt() {
+        slots.fill(stored.getId(), 100, 100, 100, 100);
+
+        assertThat(repo.applyDelta(stored.getId(), -100, 2)).isTrue();
+        assertThat(balance(stored.getId())).isEqualTo(5300);
+
+        assertThat(slots.accounts.get(stored.getId()).values()).containsOnly(0L, 100L);
+        verify(delegate, never()).findAllByIdForUpdate(any());
+    }
+
+    @Test
+    void shouldBorrowAcrossSlotsAndColumn() {
+        slots.fill(stored.getId(), 100, 100, 0, 0);
+
+        assertThat(repo.applyDelta(stored.getId(), -5150, 2)).isTrue();
+
+        assertThat(slots.accounts.get(stored.getId()).values()).containsOnly(0L);
+        verify(delegate).applyDelta(stored.getId(), -4950, 2);
+    }
+
+    @Test
+    void shouldRefuseWithdrawalBeyondTotal() {
+        slots.fill(stored.getId(), 100, 100, 0, 0);
+
+        assertThat(repo.applyDelta(stored.getId(), -5201, 2)).isFalse();
+
+        assertThat(slots.sum(stored.getId())).isEqualTo(200);
+        verify(delegate, never()).applyDelta(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldReturnEmptyForUnknownAccount() {
+        AccountId unknown = AccountId.newId();
+        when(delegate.findById(unknown)).thenReturn(Optional.empty());
+        when(delegate.applyDelta(unknown, 1000, 2)).thenReturn(false);
+
+        assertThat(repo.applyDelta(unknown, 1000, 2)).isFalse();
+        assertThat(repo.findById(unknown)).isEmpty();
+        assertThat(slots.accounts).isEmpty();
+    }
+
+    @Test
+    void shouldSumSlotsForOwner() {
+        Account savings = Account.create(stored.getOwnerId(), new AccountName("Savings"), AccountType.SAVINGS);
+        slots.fill(stored.getId(), 300, 400);
+        when(delegate.findByOwner(stored.getOwnerId())).thenReturn(List.of(stored, savings));
+
+        assertThat(repo.findByOwner(stored.getOwnerId()))
+                .extracting(Account::getBalance)
+                .containsExactly(new Balance(5700, 2), savings.getBalance());
+    }
+
+    @Test
+    void shouldKeepColumnWhenSavingOtherChanges() {
+        slots.fill(stored.getId(), 1000);
+        Account renamed = repo.findById(stored.getId()).orElseThrow().withName(new AccountName("Renamed"));
+        when(delegate.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Account saved = repo.save(renamed);
+
+        ArgumentCaptor<Account> written = ArgumentCaptor.forClass(Account.class);
+        verify(delegate).save(written.capture());
+        assertThat(written.getValue().getName().value()).isEqualTo("Renamed");
+        assertThat(written.getValue().getBalance()).isEqualTo(new Balance(5000, 2));
+        assertThat(saved.getBalance()).isEqualTo(new Balance(6000, 2));
+    }
+
+    @Test
+    void shouldFoldSlotsIntoColumnWhenSavingLockedAccount() {
+        slots.fill(stored.getId(), 250, 250);
+        when(delegate.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Account locked = repo.findAllByIdForUpdate(List.of(stored.getId())).get(0);
+        assertThat(locked.getBalance()).isEqualTo(new Balance(5500, 2));
+        assertThat(slots.locked).containsExactly(stored.getId());
+
+        List<Account> saved = repo.saveAll(List.of(locked.withBalance(new Balance(4500, 2))));
+
+        assertThat(saved).extracting(Account::getBalance).containsExactly(new Balance(4500, 2));
+        assertThat(slots.sum(stored.getId())).isZero();
+        verify(delegate).saveAll(List.of(saved.get(0)));
+    }
+
+    @Test
+    void shouldDeleteSlotsWithAccount() {
+        slots.fill(stored.getId(), 100);
+
+        repo.delete(stored);
+
+        verify(delegate).delete(stored);
+        assertThat(slots.accounts).doesNotContainKey(stored.getId());
+    }
+
+    /** Slot balances per account, in place of the JPA-backed slots. */
+    private static final class MemorySlots extends BalanceSlots {
+        final Map<AccountId, TreeMap<Integer, Long>> accounts = new HashMap<>();
+        final List<AccountId> locked = new ArrayList<>();
+
+        MemorySlots() {
+            super(null);
+        }
+
+        void fill(AccountId accountId, long... balances) {
+            TreeMap<Integer, Long> held = accounts.computeIfAbsent(accountId, id -> new TreeMap<>());
+            for (int slot = 0; slot < balances.length; slot++) {
+                held.put(slot, balances[slot]);
+            }
+        }
+
+        @Override
+        public boolean add(AccountId accountId, int slot, long deltaMinorUnits) {
+            TreeMap<Integer, Long> held = accounts.get(accountId);
+            if (held == null || !held.containsKey(slot) || held.get(slot) + deltaMinorUnits < 0) {
+                return false;
+            }
+            held.merge(slot, deltaMinorUnits, Long::sum);
+            return true;
+        }
+
+        @Override
+        public long sum(AccountId accountId) {
+            return accounts.getOrDefault(accountId, new TreeMap<>()).values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        @Override
+        public Map<AccountId, Long> sums(Collection<AccountId> accountIds) {
+            Map<AccountId, Long> sums = new HashMap<>();
+            accountIds.stream().filter(accounts::containsKey).forEach(id -> sums.put(id, sum(id)));
+            return sums;
+        }
+
+        @Override
+        public Map<Integer, Long> lock(AccountId accountId) {
+            locked.add(accountId);
+            return new LinkedHashMap<>(accounts.getOrDefault(accountId, new TreeMap<>()));
+        }
+
+        @Override
+        public void create(AccountId accountId, Collection<Integer> numbers) {
+            TreeMap<Integer, Long> held = accounts.computeIfAbsent(accountId, id -> new TreeMap<>());
+            numbers.forEach(slot -> assertThat(held.put(slot, 0L)).isNull());
+        }
+
+        @Override
+        public void clear(AccountId accountId) {
+            accounts.get(accountId).replaceAll((slot, balance) -> 0L);
+        }
+
+        @Override
+        public void deleteAccount(AccountId accountId) {
+            accounts.remove(accountId);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.eaglebank.eaglebankrepository.account;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class StripedBalanceConfigTest {
+
+    @Test
+    void shouldWireSlotsAroundTheAdapter() {
+        StripedBalanceConfig config = new StripedBalanceConfig();
+
+        StripedAccountRepository striped = config.stripedAccountRepository(
+                mock(AccountRepositoryAdapter.class), mock(BalanceSlots.class), 8);
+
+        assertThat(config.uncachedAccountRepository(striped)).isSameAs(striped);
+    }
+}
@@ -0,0 +1,89 @@
+package com.eaglebank.eaglebankrepository.journal;
+
+import com.eaglebank.eaglebankdomain.account.*;
+import com.eaglebank.eaglebankdomain.transaction.Amount;
+import com.eaglebank.eaglebankdomain.transaction.IdempotencyKey;
+import com.eaglebank.eaglebankdomain.transaction.Transaction;
+import com.eaglebank.eaglebankdomain.transaction.TransactionType;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ChangeCodecTest {
+
+    @Test
+    void shouldRoundTripEveryChange() {
+        Account account = Account.create(UserId.newId(), new AccountName("Journal"), AccountType.BUSINESS)
+                .withBalance(new Balance(123_456, 2));
+        Transaction txn = Transaction.create(account.getId(), TransactionType.TRANSFER_IN,
+                new Amount(995, 2), Currency.getInstance("GBP"));
+        Instant updated = Instant.ofEpochSecond(1_700_000_000L, 123_456_789);
+
+        List<Change> decoded = ChangeCodec.decode(ChangeCodec.encode(List.of(
+                new Change.AccountSaved(account),
+                new Change.BalanceSet(account.getId(), 42, updated),
+                new Change.TransactionSaved(txn),
+                new Change.AccountDeleted(account.getId())
+        )));
+
+        assertThat(decoded).hasSize(4);
+        Account restored = ((Change.AccountSaved) decoded.get(0)).account();
+        assertThat(restored.getId()).isEqualTo(account.getId());
+        assertThat(restored.getOwnerId()).isEqualTo(account.getOwnerId());
+        assertThat(restored.getName()).isEqualTo(account.getName());
+        assertThat(restored.getBalance()).isEqualTo(account.getBalance());
+        assertThat(restored.getAccountNumber()).isEqualTo(account.getAccountNumber());
+        assertThat(restored.getSortCode()).isEqualTo(account.getSortCode());
+        assertThat(restored.getType()).isEqualTo(AccountType.BUSINESS);
+        assertThat(restored.getCurrency()).isEqualTo(account.getCurrency());
+        assertThat(restored.getCreatedTimestamp()).isEqualTo(account.getCreatedTimestamp());
+        assertThat(restored.getUpdatedTimestamp()).isEqualTo(account.getUpdatedTimestamp());
+        assertThat(decoded.get(1)).isEqualTo(new Change.BalanceSet(account.getId(), 42, updated));
+        Transaction restoredTxn = ((Change.TransactionSaved) decoded.get(2)).transaction();
+        assertThat(restoredTxn.getId()).isEqualTo(txn.getId());
+        assertThat(restoredTxn.getAccountId()).isEqualTo(txn.getAccountId());
+        assertThat(restoredTxn.getType()).isEqualTo(TransactionType.TRANSFER_IN);
+        assertThat(restoredTxn.getAmount()).isEqualTo(txn.getAmount());
+        assertThat(restoredTxn.getTimestamp()).isEqualTo(txn.getTimestamp());
+        assertThat(restoredTxn.getCurrency()).isEqualTo(txn.getCurrency());
+        assertThat(decoded.get(3)).isEqualTo(new Change.AccountDeleted(account.getId()));
+    }
+
+    @Test
+    void shouldRoundTripIdempotencyRecord() {
+        Transaction txn = Transaction.create(AccountId.newId(),
+                TransactionType.DEPOSIT, new Amount(500, 2), Currency.getInstance("GBP"));
+        IdempotencyKey key = new IdempotencyKey(UserId.newId(), "req-1");
+        Instant expiresAt = Instant.ofEpochSecond(1_700_086_400L, 5);
+
+        Change.IdempotencyRecorded decoded = (Change.IdempotencyRecorded) ChangeCodec.decode(
+                ChangeCodec.encode(List.of(new Change.IdempotencyRecorded(key, txn, expiresAt)))).get(0);
+
+        assertThat(decoded.key()).isEqualTo(key);
+        assertThat(decoded.transaction().getId()).isEqualTo(txn.getId());
+        assertThat(decoded.transaction().getAmount()).isEqualTo(txn.getAmount());
+        assertThat(decoded.expiresAt()).isEqualTo(expiresAt);
+    }
+
+    @Test
+    void shouldRejectUnknownChange() {
+        assertThatThrownBy(() -> ChangeCodec.encode(List.of(new Change() {
+        }))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRejectUnknownTagAndTruncatedFrame() {
+        assertThatThrownBy(() -> ChangeCodec.decode(new byte[]{0, 0, 0, 1, 9}))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("tag 9");
+        assertThatThrownBy(() -> ChangeCodec.decode(new byte[]{0, 0, 0, 1, 2, 0}))
+                .isInstanceOf(UncheckedIOException.class);
+    }
+}
@@ -0,0 +1,53 @@
+package com.eaglebank.eaglebankrepository.journal;
+
+import com.eaglebank.eaglebankdomain.account.*;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JournalAccountRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private JournalStore store;
+    private AccountRepository repo;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new JournalStore(dir, 1 << 16, 100, 1_000);
+        repo = new JournalAccountRepository(store);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void shouldStoreAccountsInTheJournal() {
+        UserId ownerId = UserId.newId();
+        Account first = repo.save(Account.create(ownerId, new AccountName("First"), AccountType.CHECKING));
+        Account second = Account.create(ownerId, new AccountName("Second"), AccountType.SAVINGS);
+
+        repo.saveAll(List.of(first.withBalance(new Balance(700, 2)), second));
+
+        assertThat(repo.findById(first.getId()).orElseThrow().getBalance()).isEqualTo(new Balance(700, 2));
+        assertThat(repo.findByOwner(ownerId)).hasSize(2);
+        assertThat(repo.applyDelta(first.getId(), -200, 2)).isTrue();
+        assertThat(repo.findById(first.getId()).orElseThrow().getBalance()).isEqualTo(new Balance(500, 2));
+        assertThat(repo.findAllByIdForUpdate(List.of(first.getId(), second.getId()))).hasSize(2);
+
+        repo.delete(second);
+
+        assertThat(repo.findById(second.getId())).isEmpty();
+    }
+}
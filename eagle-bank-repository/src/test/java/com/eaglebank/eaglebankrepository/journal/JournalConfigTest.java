@@ -0,0 +1,35 @@
+package com.eaglebank.eaglebankrepository.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JournalConfigTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldServeBothRepositoriesFromOneStore() throws IOException {
+        JournalConfig config = new JournalConfig();
+
+        try (JournalStore store = config.journalStore(dir.resolve("journal"), 1 << 16, 100, 1_000, 1)) {
+            assertThat(config.journalAccountRepository(store)).isNotNull();
+            assertThat(config.journalTransactionRepository(store)).isNotNull();
+            assertThat(config.journalIdempotencyRepository(store, Duration.ofHours(24))).isNotNull();
+        }
+    }
+
+    @Test
+    void shouldRefuseToStartWithMoreThanOneReplica() {
+        assertThatThrownBy(() -> new JournalConfig().journalStore(dir.resolve("journal"), 1 << 16, 100, 1_000, 2))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("eaglebank.replicas is 2");
+    }
+}
@@ -0,0 +1,343 @@
+package com.eaglebank.eaglebankrepository.journal;
+
+import com.eaglebank.eaglebankdomain.account.*;
+import com.eaglebank.eaglebankdomain.exception.DuplicateRequestException;
+import com.eaglebank.eaglebankdomain.exception.StorageFullException;
+import com.eaglebank.eaglebankdomain.transaction.Amount;
+import com.eaglebank.eaglebankdomain.transaction.IdempotencyKey;
+import com.eaglebank.eaglebankdomain.transaction.Transaction;
+import com.eaglebank.eaglebankdomain.transaction.TransactionCursor;
+import com.eaglebank.eaglebankdomain.transaction.TransactionId;
+import com.eaglebank.eaglebankdomain.transaction.TransactionType;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import com.eaglebank.eaglebankrepository.transaction.archive.TransactionArchive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JournalStoreTest {
+    private static final Currency GBP = Currency.getInstance("GBP");
+
+    @TempDir
+    Path dir;
+
+    private JournalStore store;
+    private Account account;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new JournalStore(dir, 1 << 16, 100, 1_000);
+        account = store.saveAccount(Account.create(UserId.newId(), new AccountName("Journal"), AccountType.CHECKING)
+                .withBalance(new Balance(10_000, 2)));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(store);
+        store.close();
+    }
+
+    private JournalStore reopen() throws IOException {
+        store.close();
+        store = new JournalStore(dir, 1 << 16, 100, 1_000);
+        return store;
+    }
+
+    private static void complete(int status) {
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        }
+        TransactionSynchronizationUtils.triggerAfterCompletion(status);
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private Transaction deposit(long minorUnits, Instant at) {
+        return Transaction.rehydrate(TransactionId.newId(), account.getId(), TransactionType.DEPOSIT,
+                new Amount(minorUnits, 2), at, GBP);
+    }
+
+    @Test
+    void shouldRecoverAccountsAndTransactionsOnReopen() throws IOException {
+        Transaction txn = deposit(2500, Instant.now());
+        store.applyDelta(account.getId(), 2500, 2);
+        store.saveTransactions(List.of(txn));
+
+        reopen();
+
+        assertThat(store.findAccount(account.getId()).orElseThrow().getBalance()).isEqualTo(new Balance(12_500, 2));
+        assertThat(store.findTransaction(txn.getId())).isPresent();
+        assertThat(store.findAccountsByOwner(account.getOwnerId())).extracting(Account::getId)
+                .containsExactly(account.getId());
+    }
+
+    @Test
+    void shouldRefuseOverdraftAndUnknownAccount() {
+        assertThat(store.applyDelta(account.getId(), -10_001, 2)).isEmpty();
+        assertThat(store.applyDelta(AccountId.newId(), 100, 2)).isEmpty();
+        assertThat(store.applyDelta(account.getId(), -10_000, 2)).contains(new Balance(0, 2));
+    }
+
+    @Test
+    void shouldWriteTransactionAsOneFrameAtCommit() throws IOException {
+        long before = store.flushes();
+        TransactionSynchronizationManager.initSynchronization();
+        Transaction txn = deposit(500, Instant.now());
+
+        assertThat(store.applyDelta(account.getId(), 500, 2)).contains(new Balance(10_500, 2));
+        store.saveTransactions(List.of(txn));
+        // Visible inside the transaction, not yet on disk.
+        assertThat(store.findAccount(account.getId()).orElseThrow().getBalance()).isEqualTo(new Balance(10_500, 2));
+        assertThat(store.findTransaction(txn.getId())).isPresent();
+        assertThat(store.flushes()).isEqualTo(before);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(store.flushes()).isEqualTo(before + 1);
+        assertThat(reopen().findAccount(account.getId()).orElseThrow().getBalance())
+                .isEqualTo(new Balance(10_500, 2));
+        assertThat(store.findTransaction(txn.getId())).isPresent();
+    }
+
+    @Test
+    void shouldDiscardRolledBackChanges() throws IOException {
+        TransactionSynchronizationManager.initSynchronization();
+        store.applyDelta(account.getId(), 500, 2);
+        store.saveTransactions(List.of(deposit(500, Instant.now())));
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(store.findAccount(account.getId()).orElseThrow().getBalance()).isEqualTo(new Balance(10_000, 2));
+        assertThat(reopen().findAccount(account.getId()).orElseThrow().getBalance())
+                .isEqualTo(new Balance(10_000, 2));
+    }
+
+    @Test
+    void shouldHoldAccountLockUntilTransactionCompletes() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        store.applyDelta(account.getId(), -4000, 2);
+
+        CompletableFuture<Optional<Balance>> other =
+                CompletableFuture.supplyAsync(() -> store.applyDelta(account.getId(), -4000, 2));
+        Thread.sleep(100);
+        assertThat(other).isNotDone();
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(other.get(5, TimeUnit.SECONDS)).contains(new Balance(2000, 2));
+    }
+
+    @Test
+    void shouldLockAccountsAndSaveThemTogether() {
+        Account second = store.saveAccount(Account.create(account.getOwnerId(), new AccountName("Second"),
+                AccountType.SAVINGS));
+        TransactionSynchronizationManager.initSynchronization();
+
+        List<Account> locked = store.lockAccounts(List.of(second.getId(), account.getId(), AccountId.newId()));
+        assertThat(locked).extracting(Account::getId).containsExactlyInAnyOrder(account.getId(), second.getId());
+        store.saveAccounts(List.of(
+                account.withBalance(new Balance(9000, 2)),
+                second.withBalance(new Balance(1000, 2))));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(store.findAccount(second.getId()).orElseThrow().getBalance()).isEqualTo(new Balance(1000, 2));
+        assertThat(store.findAccount(account.getId()).orElseThrow().getBalance()).isEqualTo(new Balance(9000, 2));
+    }
+
+    @Test
+    void shouldForgetDeletedAccount() throws IOException {
+        store.deleteAccount(account.getId());
+        store.deleteAccount(AccountId.newId());
+
+        assertThat(store.findAccount(account.getId())).isEmpty();
+        assertThat(store.findAccountsByOwner(account.getOwnerId())).isEmpty();
+        assertThat(reopen().findAccount(account.getId())).isEmpty();
+    }
+
+    @Test
+    void shouldSeeOwnDeletionInsideTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        store.deleteAccount(account.getId());
+
+        assertThat(store.findAccount(account.getId())).isEmpty();
+        assertThat(store.applyDelta(account.getId(), 100, 2)).isEmpty();
+    }
+
+    @Test
+    void shouldPageHistoryNewestFirstInPostgresIdOrder() {
+        Instant at = Instant.parse("2024-01-01T00:00:00Z");
+        // Same timestamp; the first id sorts lower as unsigned bytes but
+        // higher under UUID.compareTo.
+        Transaction low = Transaction.rehydrate(TransactionId.of(new UUID(0x7000000000000000L, 1)),
+                account.getId(), TransactionType.DEPOSIT, new Amount(1, 2), at, GBP);
+        Transaction high = Transaction.rehydrate(TransactionId.of(new UUID(0x8000000000000000L, 1)),
+                account.getId(), TransactionType.DEPOSIT, new Amount(2, 2), at, GBP);
+        Transaction older = deposit(3, at.minusSeconds(1));
+        Transaction newer = deposit(4, at.plusSeconds(1));
+        store.saveTransactions(List.of(high, newer, older, low));
+
+        assertThat(store.page(account.getId(), null, 3)).containsExactly(newer, high, low);
+        assertThat(store.page(account.getId(), TransactionCursor.after(high), 10)).containsExactly(low, older);
+        assertThat(store.page(AccountId.newId(), null, 10)).isEmpty();
+        assertThat(store.history(account.getId())).containsExactly(older, low, high, newer);
+        assertThat(store.history(AccountId.newId())).isEmpty();
+    }
+
+    @Test
+    void shouldRecordIdempotencyKeyInThePostingsFrame() throws IOException {
+        IdempotencyKey key = new IdempotencyKey(account.getOwnerId(), "req-1");
+        Transaction txn = deposit(500, Instant.now());
+        long before = store.flushes();
+        TransactionSynchronizationManager.initSynchronization();
+
+        store.recordIdempotent(key, txn, Instant.now().plusSeconds(60));
+        store.applyDelta(account.getId(), 500, 2);
+        store.saveTransactions(List.of(txn));
+        assertThat(store.findIdempotent(key)).contains(txn);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(store.flushes()).isEqualTo(before + 1);
+        assertThat(reopen().findIdempotent(key)).map(Transaction::getId).contains(txn.getId());
+    }
+
+    @Test
+    void shouldRefuseKeyHeldByAnotherTransaction() throws Exception {
+        IdempotencyKey key = new IdempotencyKey(account.getOwnerId(), "req-1");
+        TransactionSynchronizationManager.initSynchronization();
+        store.recordIdempotent(key, deposit(500, Instant.now()), Instant.now().plusSeconds(60));
+
+        CompletableFuture<Void> other = CompletableFuture.runAsync(
+                () -> store.recordIdempotent(key, deposit(500, Instant.now()), Instant.now().plusSeconds(60)));
+
+        assertThatThrownBy(() -> other.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(DuplicateRequestException.class);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(store.findIdempotent(key)).isEmpty();
+        store.recordIdempotent(key, deposit(500, Instant.now()), Instant.now().plusSeconds(60));
+        assertThatThrownBy(() -> store.recordIdempotent(key, deposit(500, Instant.now()), Instant.now().plusSeconds(60)))
+                .isInstanceOf(DuplicateRequestException.class);
+    }
+
+    @Test
+    void shouldForgetExpiredIdempotencyKeys() {
+        IdempotencyKey key = new IdempotencyKey(account.getOwnerId(), "req-1");
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        store.recordIdempotent(key, deposit(500, Instant.now()), expiresAt);
+
+        assertThat(store.deleteExpiredIdempotency(expiresAt.minusSeconds(1))).isZero();
+        assertThat(store.deleteExpiredIdempotency(expiresAt)).isEqualTo(1);
+        assertThat(store.findIdempotent(key)).isEmpty();
+    }
+
+    @Test
+    void shouldRefuseTransactionsPastTheLimit() throws IOException {
+        store.close();
+        store = new JournalStore(dir.resolve("small"), 1 << 16, 100, 2);
+        store.saveTransactions(List.of(deposit(1, Instant.now()), deposit(2, Instant.now())));
+
+        assertThatThrownBy(() -> store.saveTransactions(List.of(deposit(3, Instant.now()))))
+                .isInstanceOf(StorageFullException.class);
+    }
+
+    @Test
+    void shouldServeHistoryFromSegmentsAfterCheckpoint() throws IOException {
+        Transaction older = deposit(1, Instant.parse("2024-01-01T00:00:00.123456789Z"));
+        Transaction newer = deposit(2, Instant.parse("2024-01-02T00:00:00Z"));
+        store.applyDelta(account.getId(), 3, 2);
+        List<Transaction> saved = store.saveTransactions(List.of(older, newer));
+        TransactionCursor cursor = TransactionCursor.after(store.page(account.getId(), null, 1).get(0));
+
+        store.checkpoint();
+        Transaction latest = deposit(3, Instant.parse("2024-01-03T00:00:00Z"));
+        store.saveTransactions(List.of(latest));
+
+        assertThat(saved.get(0).getTimestamp()).isEqualTo(Instant.parse("2024-01-01T00:00:00.123456Z"));
+        assertThat(store.findTransaction(older.getId())).get().usingRecursiveComparison().isEqualTo(saved.get(0));
+        assertThat(store.page(account.getId(), null, 2)).extracting(Transaction::getId)
+                .containsExactly(latest.getId(), newer.getId());
+        assertThat(store.page(account.getId(), cursor, 10)).extracting(Transaction::getId)
+                .containsExactly(older.getId());
+        assertThat(store.history(account.getId())).extracting(Transaction::getId)
+                .containsExactly(older.getId(), newer.getId(), latest.getId());
+
+        reopen();
+
+        assertThat(store.findAccount(account.getId()).orElseThrow().getBalance()).isEqualTo(new Balance(10_003, 2));
+        assertThat(store.history(account.getId())).extracting(Transaction::getId)
+                .containsExactly(older.getId(), newer.getId(), latest.getId());
+        assertThat(journalSegments()).containsExactly("journal-0000000001.log");
+    }
+
+    @Test
+    void shouldKeepIdempotencyKeysThroughCheckpoint() throws IOException {
+        IdempotencyKey key = new IdempotencyKey(account.getOwnerId(), "req-1");
+        Transaction txn = deposit(500, Instant.now());
+        store.recordIdempotent(key, txn, Instant.now().plusSeconds(60));
+
+        store.checkpoint();
+
+        assertThat(reopen().findIdempotent(key)).map(Transaction::getId).contains(txn.getId());
+        assertThatThrownBy(() -> store.recordIdempotent(key, txn, Instant.now().plusSeconds(60)))
+                .isInstanceOf(DuplicateRequestException.class);
+    }
+
+    @Test
+    void shouldCheckpointInTheBackgroundOnceTheWindowFills() throws Exception {
+        store.close();
+        store = new JournalStore(dir, 1 << 16, 2, 1_000);
+        Transaction first = deposit(1, Instant.now());
+        store.saveTransactions(List.of(first, deposit(2, Instant.now())));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Files.exists(dir.resolve("snapshot.dat")) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(dir.resolve("snapshot.dat")).exists();
+        assertThat(store.findTransaction(first.getId())).isPresent();
+        assertThat(store.history(account.getId())).hasSize(2);
+    }
+
+    @Test
+    void shouldDiscardHistoryOfACheckpointThatDidNotFinish() throws IOException {
+        Transaction txn = deposit(1, Instant.parse("2024-01-01T00:00:00Z"));
+        store.saveTransactions(List.of(txn));
+        store.close();
+        // As if a checkpoint wrote its segment and stopped before the snapshot.
+        new TransactionArchive(dir.resolve("history")).append(Instant.now(), List.of(txn).iterator());
+
+        store = new JournalStore(dir, 1 << 16, 100, 1_000);
+
+        assertThat(store.history(account.getId())).extracting(Transaction::getId).containsExactly(txn.getId());
+        try (Stream<Path> files = Files.list(dir.resolve("history"))) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private List<String> journalSegments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString()).filter(name -> name.startsWith("journal-")).toList();
+        }
+    }
+}
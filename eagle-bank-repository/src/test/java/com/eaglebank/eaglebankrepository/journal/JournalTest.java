@@ -0,0 +1,189 @@
+package com.eaglebank.eaglebankrepository.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JournalTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<String> replayed = new ArrayList<>();
+
+    private Journal open(int segmentBytes) throws IOException {
+        return open(segmentBytes, 0);
+    }
+
+    private Journal open(int segmentBytes, long firstSegment) throws IOException {
+        replayed.clear();
+        return new Journal(dir, segmentBytes, firstSegment,
+                payload -> replayed.add(new String(payload, StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    @Test
+    void shouldReplayFramesInOrderAfterReopen() throws IOException {
+        try (Journal journal = open(1024)) {
+            journal.awaitDurable(journal.append(bytes("first")));
+            journal.awaitDurable(journal.append(bytes("second")));
+        }
+
+        try (Journal journal = open(1024)) {
+            assertThat(replayed).containsExactly("first", "second");
+            journal.awaitDurable(journal.append(bytes("third")));
+        }
+
+        open(1024).close();
+        assertThat(replayed).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    void shouldReplayFromTheCheckpointAndDeleteWhatCameBefore() throws IOException {
+        long first;
+        try (Journal journal = open(1024)) {
+            journal.awaitDurable(journal.append(bytes("before")));
+            first = journal.checkpoint();
+            assertThat(journal.checkpoint()).isEqualTo(first);
+            journal.awaitDurable(journal.append(bytes("after")));
+        }
+        assertThat(segments()).hasSize(2);
+
+        open(1024, first).close();
+
+        assertThat(replayed).containsExactly("after");
+        assertThat(segments()).extracting(p -> p.getFileName().toString())
+                .containsExactly("journal-0000000001.log");
+    }
+
+    @Test
+    void shouldShareOneFlushBetweenFramesAppendedBeforeIt() throws IOException {
+        try (Journal journal = open(1024)) {
+            long first = journal.append(bytes("a"));
+            journal.append(bytes("b"));
+            long third = journal.append(bytes("c"));
+
+            journal.awaitDurable(third);
+            journal.awaitDurable(first);
+
+            assertThat(journal.flushes()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldRollToNextSegmentWhenFrameDoesNotFit() throws IOException {
+        try (Journal journal = open(32)) {
+            for (int i = 0; i < 5; i++) {
+                journal.awaitDurable(journal.append(bytes("frame-" + i)));
+            }
+        }
+
+        assertThat(segments()).extracting(p -> p.getFileName().toString())
+                .contains("journal-0000000000.log", "journal-0000000001.log");
+        open(32).close();
+        assertThat(replayed).containsExactly("frame-0", "frame-1", "frame-2", "frame-3", "frame-4");
+    }
+
+    @Test
+    void shouldRejectFrameLargerThanSegment() throws IOException {
+        try (Journal journal = open(32)) {
+            assertThatThrownBy(() -> journal.append(new byte[25]))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> journal.append(new byte[0]))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThatThrownBy(() -> open(Journal.FRAME_HEADER_BYTES))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldDropTornTailAndResumeInItsPlace() throws IOException {
+        try (Journal journal = open(1024)) {
+            journal.awaitDurable(journal.append(bytes("kept")));
+            journal.awaitDurable(journal.append(bytes("torn-frame")));
+        }
+        // Damage the second frame's payload as a crash mid-append would.
+        int secondPayload = Journal.FRAME_HEADER_BYTES + 4 + Journal.FRAME_HEADER_BYTES;
+        overwrite(segments().get(0), secondPayload, bytes("X"));
+
+        try (Journal journal = open(1024)) {
+            assertThat(replayed).containsExactly("kept");
+            journal.awaitDurable(journal.append(bytes("next")));
+        }
+
+        open(1024).close();
+        assertThat(replayed).containsExactly("kept", "next");
+    }
+
+    @Test
+    void shouldClearPartialPayloadLeftBehindAnUnwrittenLength() throws IOException {
+        try (Journal journal = open(1024)) {
+            journal.awaitDurable(journal.append(bytes("kept")));
+        }
+        // A payload copied in before the crash, with its length never written.
+        overwrite(segments().get(0), 12 + Journal.FRAME_HEADER_BYTES, bytes("leftover-payload"));
+
+        try (Journal journal = open(1024)) {
+            journal.awaitDurable(journal.append(bytes("x")));
+        }
+
+        open(1024).close();
+        assertThat(replayed).containsExactly("kept", "x");
+        byte[] tail = new byte[16];
+        ByteBuffer.wrap(Files.readAllBytes(segments().get(0))).get(12 + Journal.FRAME_HEADER_BYTES + 1, tail);
+        assertThat(tail).containsOnly(0);
+    }
+
+    @Test
+    void shouldRefuseDamageBeforeTheLastSegment() throws IOException {
+        try (Journal journal = open(32)) {
+            for (int i = 0; i < 3; i++) {
+                journal.awaitDurable(journal.append(bytes("frame-" + i)));
+            }
+        }
+        overwrite(segments().get(0), Journal.FRAME_HEADER_BYTES, bytes("X"));
+
+        assertThatThrownBy(() -> open(32))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("journal-0000000000.log");
+    }
+
+    @Test
+    void shouldTreatImpossibleLengthAsDamage() throws IOException {
+        try (Journal journal = open(1024)) {
+            journal.awaitDurable(journal.append(bytes("kept")));
+        }
+        overwrite(segments().get(0), 12, ByteBuffer.allocate(4).putInt(-7).array());
+
+        open(1024).close();
+        assertThat(replayed).containsExactly("kept");
+    }
+
+    private static void overwrite(Path file, int position, byte[] data) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.wrap(data), position);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.eaglebank.eaglebankrepository.journal;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.transaction.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Currency;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JournalTransactionRepositoryTest {
+    private static final Currency GBP = Currency.getInstance("GBP");
+
+    @TempDir
+    Path dir;
+
+    private JournalStore store;
+    private TransactionRepository repo;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new JournalStore(dir, 1 << 16, 100, 1_000);
+        repo = new JournalTransactionRepository(store);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Test
+    void shouldStoreTransactionsInTheJournal() {
+        AccountId accountId = AccountId.newId();
+        Transaction first = repo.save(Transaction.create(accountId, TransactionType.DEPOSIT, new Amount(100, 2), GBP));
+        Transaction second = repo.saveAll(List.of(
+                Transaction.create(accountId, TransactionType.WITHDRAWAL, new Amount(50, 2), GBP))).get(0);
+
+        assertThat(repo.findById(first.getId())).containsSame(first);
+        assertThat(repo.findPageByAccount(accountId, null, 1)).containsExactly(second);
+        try (Stream<Transaction> history = repo.streamByAccount(accountId)) {
+            assertThat(history).containsExactly(first, second);
+        }
+    }
+}
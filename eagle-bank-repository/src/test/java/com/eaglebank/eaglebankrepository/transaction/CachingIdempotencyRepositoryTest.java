@@ -0,0 +1,108 @@
+package com.eaglebank.eaglebankrepository.transaction;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.transaction.*;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class CachingIdempotencyRepositoryTest {
+
+    private IdempotencyRepository delegate;
+    private Cache<IdempotencyKey, Transaction> cache;
+    private CachingIdempotencyRepository repo;
+    private IdempotencyKey key;
+    private Transaction txn;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(IdempotencyRepository.class);
+        cache = Caffeine.newBuilder().maximumSize(100).build();
+        repo = new CachingIdempotencyRepository(delegate, cache);
+        key = new IdempotencyKey(UserId.newId(), "retry-1");
+        txn = Transaction.create(
+                AccountId.newId(),
+                TransactionType.DEPOSIT,
+                Amount.of(BigDecimal.TEN, Currency.getInstance("GBP")),
+                Currency.getInstance("GBP")
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldServeRepeatLookupsFromHotTier() {
+        when(delegate.find(key)).thenReturn(Optional.of(txn));
+
+        assertThat(repo.find(key)).contains(txn);
+        assertThat(repo.find(key)).contains(txn);
+
+        verify(delegate, times(1)).find(key);
+    }
+
+    @Test
+    void shouldNotCacheMisses() {
+        when(delegate.find(key)).thenReturn(Optional.empty());
+
+        assertThat(repo.find(key)).isEmpty();
+        assertThat(repo.find(key)).isEmpty();
+
+        verify(delegate, times(2)).find(key);
+    }
+
+    @Test
+    void shouldCacheImmediatelyOutsideTransaction() {
+        repo.save(key, txn);
+
+        verify(delegate).save(key, txn);
+        assertThat(cache.getIfPresent(key)).isSameAs(txn);
+    }
+
+    @Test
+    void shouldCacheOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        repo.save(key, txn);
+        assertThat(cache.getIfPresent(key)).isNull();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(cache.getIfPresent(key)).isSameAs(txn);
+    }
+
+    @Test
+    void shouldNotCacheRolledBackClaims() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        repo.save(key, txn);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(cache.getIfPresent(key)).isNull();
+    }
+
+    @Test
+    void shouldDelegatePurge() {
+        Instant now = Instant.now();
+        when(delegate.deleteExpired(now)).thenReturn(3);
+
+        assertThat(repo.deleteExpired(now)).isEqualTo(3);
+    }
+}
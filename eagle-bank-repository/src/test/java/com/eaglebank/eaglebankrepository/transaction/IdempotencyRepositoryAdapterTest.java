@@ -0,0 +1,98 @@
+package com.eaglebank.eaglebankrepository.transaction;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.exception.DuplicateRequestException;
+import com.eaglebank.eaglebankdomain.transaction.*;
+import com.eaglebank.eaglebankdomain.user.UserId;
+import com.eaglebank.eaglebankrepository.TestConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ContextConfiguration(classes = TestConfig.class)
+class IdempotencyRepositoryAdapterTest {
+
+    @Autowired
+    private IdempotencyRepositoryAdapter repo;
+
+    @Autowired
+    private SpringDataIdempotencyRepository jpa;
+
+    private Transaction deposit() {
+        return Transaction.create(
+                AccountId.newId(),
+                TransactionType.DEPOSIT,
+                Amount.of(new BigDecimal("25.00"), Currency.getInstance("GBP")),
+                Currency.getInstance("GBP")
+        );
+    }
+
+    @Test
+    void shouldSaveAndFindTransactionByKey() {
+        IdempotencyKey key = new IdempotencyKey(UserId.newId(), "retry-1");
+        Transaction txn = deposit();
+
+        repo.save(key, txn);
+
+        Optional<Transaction> found = repo.find(key);
+        assertThat(found).isPresent();
+        assertThat(found.get().getId()).isEqualTo(txn.getId());
+        assertThat(found.get().getAccountId()).isEqualTo(txn.getAccountId());
+        assertThat(found.get().getType()).isEqualTo(TransactionType.DEPOSIT);
+        assertThat(found.get().getAmount().toBigDecimal()).isEqualByComparingTo("25.00");
+        assertThat(found.get().getTimestamp()).isEqualTo(txn.getTimestamp());
+        assertThat(found.get().getCurrency()).isEqualTo(txn.getCurrency());
+    }
+
+    @Test
+    void shouldScopeKeysToOwner() {
+        IdempotencyKey key = new IdempotencyKey(UserId.newId(), "shared");
+        repo.save(key, deposit());
+
+        assertThat(repo.find(new IdempotencyKey(UserId.newId(), "shared"))).isEmpty();
+    }
+
+    @Test
+    void shouldRejectSecondClaimOnSameKey() {
+        IdempotencyKey key = new IdempotencyKey(UserId.newId(), "retry-2");
+        repo.save(key, deposit());
+
+        assertThatThrownBy(() -> repo.save(key, deposit()))
+                .isInstanceOf(DuplicateRequestException.class);
+    }
+
+    @Test
+    void shouldIgnoreAndReplaceExpiredRecords() {
+        IdempotencyRepositoryAdapter expired = new IdempotencyRepositoryAdapter(jpa, Duration.ofSeconds(-1));
+        IdempotencyKey key = new IdempotencyKey(UserId.newId(), "retry-3");
+        expired.save(key, deposit());
+
+        assertThat(repo.find(key)).isEmpty();
+
+        Transaction fresh = deposit();
+        repo.save(key, fresh);
+        assertThat(repo.find(key)).map(Transaction::getId).contains(fresh.getId());
+    }
+
+    @Test
+    void shouldDeleteOnlyExpiredRecords() {
+        IdempotencyRepositoryAdapter expired = new IdempotencyRepositoryAdapter(jpa, Duration.ofSeconds(-1));
+        expired.save(new IdempotencyKey(UserId.newId(), "old"), deposit());
+        IdempotencyKey live = new IdempotencyKey(UserId.newId(), "live");
+        repo.save(live, deposit());
+
+        assertThat(repo.deleteExpired(Instant.now())).isEqualTo(1);
+        assertThat(repo.find(live)).isPresent();
+    }
+}
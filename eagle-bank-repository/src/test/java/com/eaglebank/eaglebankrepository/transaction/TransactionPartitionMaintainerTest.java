@@ -0,0 +1,84 @@
+package com.eaglebank.eaglebankrepository.transaction;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TransactionPartitionMaintainerTest {
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = mock(JdbcTemplate.class);
+    }
+
+    @Test
+    void shouldCreateCurrentAndUpcomingMonths() {
+        new TransactionPartitionMaintainer(jdbc, 2, 0).maintain(YearMonth.of(2026, 11));
+
+        verify(jdbc).execute("create table if not exists transactions_p202611 partition of transactions "
+                + "for values from ('2026-11-01 00:00:00+00') to ('2026-12-01 00:00:00+00')");
+        verify(jdbc).execute("create table if not exists transactions_p202612 partition of transactions "
+                + "for values from ('2026-12-01 00:00:00+00') to ('2027-01-01 00:00:00+00')");
+        verify(jdbc).execute("create table if not exists transactions_p202701 partition of transactions "
+                + "for values from ('2027-01-01 00:00:00+00') to ('2027-02-01 00:00:00+00')");
+        verifyNoMoreInteractions(jdbc);
+    }
+
+    @Test
+    void shouldDetachMonthsOlderThanRetention() {
+        when(jdbc.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                "transactions_default",
+                "transactions_p202508",
+                "transactions_p202509",
+                "transactions_p202510",
+                "transactions_p202611"));
+
+        new TransactionPartitionMaintainer(jdbc, 0, 12).maintain(YearMonth.of(2026, 10));
+
+        verify(jdbc).execute("alter table transactions detach partition transactions_p202508");
+        verify(jdbc).execute("alter table transactions detach partition transactions_p202509");
+        verify(jdbc, never()).execute("alter table transactions detach partition transactions_p202510");
+        verify(jdbc, never()).execute(contains("detach partition transactions_default"));
+    }
+
+    @Test
+    void shouldDropArchivedMonths() {
+        when(jdbc.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                "transactions_default",
+                "transactions_p202401",
+                "transactions_p202402"));
+
+        new TransactionPartitionMaintainer(jdbc, 0, 0).dropBefore(YearMonth.of(2024, 2));
+
+        var inOrder = inOrder(jdbc);
+        inOrder.verify(jdbc).execute("alter table transactions detach partition transactions_p202401");
+        inOrder.verify(jdbc).execute("drop table transactions_p202401");
+        verify(jdbc, never()).execute(contains("transactions_p202402"));
+        verify(jdbc, never()).execute(contains("transactions_default"));
+    }
+
+    @Test
+    void shouldUseTheCurrentUtcMonthByDefault() {
+        new TransactionPartitionMaintainer(jdbc, 0, 0).maintain();
+
+        verify(jdbc).execute(contains(TransactionPartitionMaintainer.partitionName(YearMonth.now(ZoneOffset.UTC))));
+    }
+
+    @Test
+    void shouldNameMonthlyPartitions() {
+        assertThat(TransactionPartitionMaintainer.partitionName(YearMonth.of(2027, 3)))
+                .isEqualTo("transactions_p202703");
+    }
+}
@@ -14,6 +14,7 @@ import java.util.Currency;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -24,39 +25,67 @@ class TransactionRepositoryAdapterTest {
     @Autowired
     private TransactionRepository repo;
 
+    @Autowired
+    private TransactionRepositoryAdapter adapter;
+
+    private List<Transaction> history(AccountId accountId) {
+        try (Stream<Transaction> stream = repo.streamByAccount(accountId)) {
+            return stream.toList();
+        }
+    }
+
     @Test
     void shouldSaveAndFindTransactionById() {
         Transaction txn = Transaction.create(
                 AccountId.newId(),
                 TransactionType.DEPOSIT,
-                new Amount(new BigDecimal("100.00")),
+                Amount.of(new BigDecimal("100.00"), Currency.getInstance("GBP")),
                 Currency.getInstance("GBP")
         );
         Transaction saved = repo.save(txn);
 
-        assertThat(saved.getAmount().value())
+        assertThat(saved.getAmount().toBigDecimal())
                 .isEqualByComparingTo(new BigDecimal("100.00"));
         assertThat(saved.getType()).isEqualTo(TransactionType.DEPOSIT);
 
         Optional<Transaction> fetched = repo.findById(saved.getId());
         assertThat(fetched).isPresent();
-        assertThat(fetched.get().getAmount().value())
+        assertThat(fetched.get().getAmount().toBigDecimal())
                 .isEqualByComparingTo(new BigDecimal("100.00"));
     }
 
+    @Test
+    void shouldSaveAllTransactions() {
+        AccountId accountId = AccountId.newId();
+        List<Transaction> batch = List.of(
+                Transaction.create(accountId, TransactionType.DEPOSIT,
+                        Amount.of(new BigDecimal("1.00"), Currency.getInstance("GBP")), Currency.getInstance("GBP")),
+                Transaction.create(accountId, TransactionType.DEPOSIT,
+                        Amount.of(new BigDecimal("2.00"), Currency.getInstance("GBP")), Currency.getInstance("GBP")),
+                Transaction.create(accountId, TransactionType.WITHDRAWAL,
+                        Amount.of(new BigDecimal("0.50"), Currency.getInstance("GBP")), Currency.getInstance("GBP"))
+        );
+
+        List<Transaction> saved = repo.saveAll(batch);
+
+        assertThat(saved).extracting(Transaction::getId)
+                .containsExactlyElementsOf(batch.stream().map(Transaction::getId).toList());
+        assertThat(history(accountId)).hasSize(3);
+    }
+
     @Test
     void shouldFindTransactionsByAccount() {
         AccountId accountId = AccountId.newId();
         Transaction deposit = Transaction.create(
                 accountId,
                 TransactionType.DEPOSIT,
-                new Amount(new BigDecimal("100.00")),
+                Amount.of(new BigDecimal("100.00"), Currency.getInstance("GBP")),
                 Currency.getInstance("GBP")
         );
         Transaction withdrawal = Transaction.create(
                 accountId,
                 TransactionType.WITHDRAWAL,
-                new Amount(new BigDecimal("50.00")),
+                Amount.of(new BigDecimal("50.00"), Currency.getInstance("GBP")),
                 Currency.getInstance("GBP")
 
         );
@@ -67,15 +96,15 @@ class TransactionRepositoryAdapterTest {
         repo.save(Transaction.create(
                 AccountId.newId(),
                 TransactionType.DEPOSIT,
-                new Amount(new BigDecimal("75.00")),
+                Amount.of(new BigDecimal("75.00"), Currency.getInstance("GBP")),
                 Currency.getInstance("GBP")
 
         ));
 
-        List<Transaction> accountTxns = repo.findByAccount(accountId);
+        List<Transaction> accountTxns = history(accountId);
         assertThat(accountTxns).hasSize(2);
         assertThat(accountTxns)
-                .extracting(t -> t.getAmount().value())
+                .extracting(t -> t.getAmount().toBigDecimal())
                 .containsExactlyInAnyOrder(
                         new BigDecimal("100.00"),
                         new BigDecimal("50.00")
@@ -86,7 +115,7 @@ class TransactionRepositoryAdapterTest {
     void shouldPreserveAllTransactionFields() {
         TransactionId id = TransactionId.of(UUID.randomUUID());
         AccountId accountId = AccountId.of(UUID.randomUUID());
-        Amount amount = new Amount(new BigDecimal("123.45"));
+        Amount amount = Amount.of(new BigDecimal("123.45"), Currency.getInstance("GBP"));
         Instant timestamp = Instant.now();
         Currency currency = Currency.getInstance("GBP");
 
@@ -103,7 +132,7 @@ class TransactionRepositoryAdapterTest {
         assertThat(saved.getId()).isEqualTo(id);
         assertThat(saved.getAccountId()).isEqualTo(accountId);
         assertThat(saved.getType()).isEqualTo(TransactionType.WITHDRAWAL);
-        assertThat(saved.getAmount().value()).isEqualByComparingTo(amount.value());
+        assertThat(saved.getAmount()).isEqualTo(amount);
         assertThat(saved.getTimestamp()).isEqualTo(timestamp);
 
         Optional<Transaction> fetched = repo.findById(id);
@@ -112,7 +141,7 @@ class TransactionRepositoryAdapterTest {
         assertThat(fetchedTxn.getId()).isEqualTo(id);
         assertThat(fetchedTxn.getAccountId()).isEqualTo(accountId);
         assertThat(fetchedTxn.getType()).isEqualTo(TransactionType.WITHDRAWAL);
-        assertThat(fetchedTxn.getAmount().value()).isEqualByComparingTo(amount.value());
+        assertThat(fetchedTxn.getAmount()).isEqualTo(amount);
         assertThat(fetchedTxn.getTimestamp()).isEqualTo(timestamp);
     }
 
@@ -124,7 +153,7 @@ class TransactionRepositoryAdapterTest {
 
     @Test
     void shouldReturnEmptyListWhenNoTransactionsForAccount() {
-        List<Transaction> transactions = repo.findByAccount(AccountId.newId());
+        List<Transaction> transactions = history(AccountId.newId());
         assertThat(transactions).isEmpty();
     }
 
@@ -134,20 +163,20 @@ class TransactionRepositoryAdapterTest {
         Transaction deposit = Transaction.create(
                 accountId,
                 TransactionType.DEPOSIT,
-                new Amount(new BigDecimal("200.00")),
+                Amount.of(new BigDecimal("200.00"), Currency.getInstance("GBP")),
                 Currency.getInstance("GBP")
         );
         Transaction withdrawal = Transaction.create(
                 accountId,
                 TransactionType.WITHDRAWAL,
-                new Amount(new BigDecimal("150.00")),
+                Amount.of(new BigDecimal("150.00"), Currency.getInstance("GBP")),
                 Currency.getInstance("GBP")
         );
 
         repo.save(deposit);
         repo.save(withdrawal);
 
-        List<Transaction> transactions = repo.findByAccount(accountId);
+        List<Transaction> transactions = history(accountId);
         assertThat(transactions)
                 .extracting(Transaction::getType)
                 .containsExactlyInAnyOrder(
@@ -162,13 +191,13 @@ class TransactionRepositoryAdapterTest {
         Transaction first = Transaction.create(
                 accountId,
                 TransactionType.DEPOSIT,
-                new Amount(new BigDecimal("100.00")),
+                Amount.of(new BigDecimal("100.00"), Currency.getInstance("GBP")),
                 Currency.getInstance("GBP")
         );
         Transaction second = Transaction.create(
                 accountId,
                 TransactionType.WITHDRAWAL,
-                new Amount(new BigDecimal("50.00")),
+                Amount.of(new BigDecimal("50.00"), Currency.getInstance("GBP")),
                 Currency.getInstance("GBP")
         );
 
@@ -182,9 +211,119 @@ class TransactionRepositoryAdapterTest {
         repo.save(first);
         repo.save(second);
 
-        List<Transaction> transactions = repo.findByAccount(accountId);
+        List<Transaction> transactions = history(accountId);
         assertThat(transactions)
                 .extracting(Transaction::getTimestamp)
                 .isSorted();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldStreamHistoryOldestFirstWithIdTieBreak() {
+        AccountId accountId = AccountId.newId();
+        Instant same = Instant.parse("2025-01-01T00:00:00Z");
+        TransactionId low = TransactionId.of(new UUID(0, 1));
+        TransactionId high = TransactionId.of(new UUID(0, 2));
+        for (TransactionId id : List.of(high, low)) {
+            repo.save(Transaction.rehydrate(
+                    id,
+                    accountId,
+                    TransactionType.DEPOSIT,
+                    Amount.of(BigDecimal.ONE, Currency.getInstance("GBP")),
+                    same,
+                    Currency.getInstance("GBP")
+            ));
+        }
+        Transaction earliest = repo.save(Transaction.rehydrate(
+                TransactionId.newId(),
+                accountId,
+                TransactionType.WITHDRAWAL,
+                Amount.of(BigDecimal.ONE, Currency.getInstance("GBP")),
+                same.minusSeconds(60),
+                Currency.getInstance("GBP")
+        ));
+
+        assertThat(history(accountId))
+                .extracting(Transaction::getId)
+                .containsExactly(earliest.getId(), low, high);
+    }
+
+    @Test
+    void shouldPageThroughTransactionsNewestFirst() {
+        AccountId accountId = AccountId.newId();
+        Instant base = Instant.parse("2025-01-01T00:00:00Z");
+        for (int i = 0; i < 5; i++) {
+            repo.save(Transaction.rehydrate(
+                    TransactionId.newId(),
+                    accountId,
+                    TransactionType.DEPOSIT,
+                    Amount.of(BigDecimal.valueOf(i), Currency.getInstance("GBP")),
+                    base.plusSeconds(i),
+                    Currency.getInstance("GBP")
+            ));
+        }
+        repo.save(Transaction.create(
+                AccountId.newId(),
+                TransactionType.DEPOSIT,
+                Amount.of(BigDecimal.ONE, Currency.getInstance("GBP")),
+                Currency.getInstance("GBP")
+        ));
+
+        List<Transaction> first = repo.findPageByAccount(accountId, null, 2);
+        List<Transaction> second = repo.findPageByAccount(accountId, TransactionCursor.after(first.get(1)), 2);
+        List<Transaction> third = repo.findPageByAccount(accountId, TransactionCursor.after(second.get(1)), 2);
+
+        assertThat(first).extracting(t -> t.getAmount().toBigDecimal().intValue()).containsExactly(4, 3);
+        assertThat(second).extracting(t -> t.getAmount().toBigDecimal().intValue()).containsExactly(2, 1);
+        assertThat(third).extracting(t -> t.getAmount().toBigDecimal().intValue()).containsExactly(0);
+    }
+
+    @Test
+    void shouldBreakTimestampTiesById() {
+        AccountId accountId = AccountId.newId();
+        Instant sameInstant = Instant.parse("2025-01-01T00:00:00Z");
+        for (int i = 0; i < 4; i++) {
+            repo.save(Transaction.rehydrate(
+                    TransactionId.newId(),
+                    accountId,
+                    TransactionType.DEPOSIT,
+                    Amount.of(BigDecimal.ONE, Currency.getInstance("GBP")),
+                    sameInstant,
+                    Currency.getInstance("GBP")
+            ));
+        }
+
+        List<Transaction> first = repo.findPageByAccount(accountId, null, 3);
+        List<Transaction> rest = repo.findPageByAccount(accountId, TransactionCursor.after(first.get(2)), 3);
+
+        assertThat(first).hasSize(3);
+        assertThat(rest).hasSize(1);
+        assertThat(first).extracting(Transaction::getId).doesNotContain(rest.get(0).getId());
+    }
+
+    @Test
+    void shouldHandOldRowsToTheArchiverAndDeleteThem() {
+        Instant cutoff = Instant.parse("2024-02-01T00:00:00Z");
+        AccountId first = AccountId.of(new UUID(0, 1));
+        AccountId second = AccountId.of(new UUID(0, 2));
+        List<Transaction> old = List.of(
+                Transaction.rehydrate(TransactionId.newId(), second, TransactionType.DEPOSIT,
+                        Amount.of(BigDecimal.ONE, Currency.getInstance("GBP")), cutoff.minusSeconds(30), Currency.getInstance("GBP")),
+                Transaction.rehydrate(TransactionId.newId(), first, TransactionType.DEPOSIT,
+                        Amount.of(BigDecimal.ONE, Currency.getInstance("GBP")), cutoff.minusSeconds(20), Currency.getInstance("GBP")),
+                Transaction.rehydrate(TransactionId.newId(), second, TransactionType.DEPOSIT,
+                        Amount.of(BigDecimal.ONE, Currency.getInstance("GBP")), cutoff.minusSeconds(10), Currency.getInstance("GBP")));
+        Transaction recent = Transaction.rehydrate(TransactionId.newId(), first, TransactionType.DEPOSIT,
+                Amount.of(BigDecimal.ONE, Currency.getInstance("GBP")), cutoff.plusSeconds(10), Currency.getInstance("GBP"));
+        repo.saveAll(old);
+        repo.save(recent);
+
+        assertThat(adapter.findOldestTimestamp()).contains(cutoff.minusSeconds(30));
+        try (Stream<Transaction> rows = adapter.streamBefore(cutoff)) {
+            assertThat(rows).extracting(Transaction::getId)
+                    .containsExactly(old.get(1).getId(), old.get(0).getId(), old.get(2).getId());
+        }
+
+        assertThat(adapter.deleteBefore(cutoff)).isEqualTo(3);
+        assertThat(adapter.findOldestTimestamp()).contains(recent.getTimestamp());
+    }
+}
@@ -0,0 +1,95 @@
+package com.eaglebank.eaglebankrepository.transaction.archive;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.transaction.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ArchivingTransactionRepositoryTest {
+
+    private static final Instant ARCHIVED_UNTIL = Instant.parse("2024-02-01T00:00:00Z");
+    private static final Currency GBP = Currency.getInstance("GBP");
+
+    @TempDir
+    Path dir;
+
+    private TransactionRepository delegate;
+    private ArchivingTransactionRepository repo;
+    private AccountId accountId;
+    private Transaction archived;
+    private Transaction hot;
+
+    private Transaction row(Instant timestamp) {
+        return Transaction.rehydrate(TransactionId.newId(), accountId, TransactionType.DEPOSIT,
+                new Amount(100, 2), timestamp, GBP);
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        delegate = mock(TransactionRepository.class);
+        accountId = AccountId.newId();
+        archived = row(ARCHIVED_UNTIL.minusSeconds(60));
+        hot = row(ARCHIVED_UNTIL.plusSeconds(60));
+        TransactionArchive archive = new TransactionArchive(dir);
+        archive.append(ARCHIVED_UNTIL, List.of(archived).iterator());
+        repo = new ArchivingTransactionRepository(delegate, archive);
+    }
+
+    @Test
+    void shouldWriteToTheTable() {
+        when(delegate.save(hot)).thenReturn(hot);
+        when(delegate.saveAll(List.of(hot))).thenReturn(List.of(hot));
+
+        assertThat(repo.save(hot)).isSameAs(hot);
+        assertThat(repo.saveAll(List.of(hot))).containsExactly(hot);
+    }
+
+    @Test
+    void shouldFindByIdInTableThenArchive() {
+        when(delegate.findById(hot.getId())).thenReturn(Optional.of(hot));
+        when(delegate.findById(archived.getId())).thenReturn(Optional.empty());
+
+        assertThat(repo.findById(hot.getId())).containsSame(hot);
+        assertThat(repo.findById(archived.getId())).get()
+                .extracting(Transaction::getId).isEqualTo(archived.getId());
+        assertThat(repo.findById(TransactionId.newId())).isEmpty();
+    }
+
+    @Test
+    void shouldStreamArchiveBeforeTable() {
+        when(delegate.streamByAccount(accountId)).thenReturn(Stream.of(archived, hot));
+
+        try (Stream<Transaction> history = repo.streamByAccount(accountId)) {
+            assertThat(history).extracting(Transaction::getId)
+                    .containsExactly(archived.getId(), hot.getId());
+        }
+    }
+
+    @Test
+    void shouldFillPageFromArchive() {
+        when(delegate.findPageByAccount(accountId, null, 2)).thenReturn(List.of(hot, archived));
+
+        assertThat(repo.findPageByAccount(accountId, null, 2)).extracting(Transaction::getId)
+                .containsExactly(hot.getId(), archived.getId());
+    }
+
+    @Test
+    void shouldNotReadArchiveForFullPage() {
+        Transaction newer = row(ARCHIVED_UNTIL.plusSeconds(120));
+        when(delegate.findPageByAccount(accountId, null, 2)).thenReturn(List.of(newer, hot));
+
+        assertThat(repo.findPageByAccount(accountId, null, 2)).containsExactly(newer, hot);
+    }
+}
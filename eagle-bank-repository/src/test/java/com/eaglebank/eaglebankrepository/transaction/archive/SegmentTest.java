@@ -0,0 +1,223 @@
+package com.eaglebank.eaglebankrepository.transaction.archive;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.transaction.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SegmentTest {
+
+    private static final Instant FROM = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant UNTIL = Instant.parse("2024-02-01T00:00:00Z");
+    private static final Currency GBP = Currency.getInstance("GBP");
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    @TempDir
+    Path dir;
+
+    private static Transaction row(AccountId accountId, TransactionType type, Amount amount,
+                                   Instant timestamp, Currency currency) {
+        return Transaction.rehydrate(TransactionId.newId(), accountId, type, amount, timestamp, currency);
+    }
+
+    private Segment write(List<Transaction> rows) throws IOException {
+        Path file = dir.resolve("segment.seg");
+        SegmentWriter.write(file, FROM, UNTIL, rows.iterator());
+        return Segment.open(file);
+    }
+
+    @Test
+    void shouldReadBackEveryColumn() throws IOException {
+        AccountId pounds = AccountId.newId();
+        AccountId yen = AccountId.newId();
+        List<Transaction> rows = List.of(
+                row(pounds, TransactionType.DEPOSIT, new Amount(1250, 2), FROM.plusSeconds(1), GBP),
+                row(pounds, TransactionType.TRANSFER_OUT, new Amount(99, 2), FROM.plusSeconds(60).plusNanos(123_000), GBP),
+                row(pounds, TransactionType.WITHDRAWAL, new Amount(Long.MAX_VALUE, 2), FROM.plusSeconds(60).plusNanos(123_000), GBP),
+                row(yen, TransactionType.TRANSFER_IN, new Amount(5000, 0), FROM.plusSeconds(5), JPY)
+        );
+
+        Segment segment = write(rows);
+
+        assertThat(segment.until()).isEqualTo(UNTIL);
+        assertThat(segment.history(pounds)).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(rows.subList(0, 3));
+        assertThat(segment.history(yen)).usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(rows.get(3));
+        for (Transaction t : rows) {
+            assertThat(segment.findById(t.getId())).get().usingRecursiveComparison().isEqualTo(t);
+        }
+    }
+
+    @Test
+    void shouldFindRowsAcrossManyAccounts() throws IOException {
+        List<Transaction> rows = new ArrayList<>();
+        for (int a = 0; a < 300; a++) {
+            AccountId accountId = AccountId.of(UUID.randomUUID());
+            for (int i = 0; i < 5; i++) {
+                rows.add(row(accountId, TransactionType.DEPOSIT, new Amount(a * 10L + i, 2), FROM.plusSeconds(a + i), GBP));
+            }
+        }
+
+        Segment segment = write(rows);
+
+        for (Transaction t : rows) {
+            assertThat(segment.findById(t.getId())).get().usingRecursiveComparison().isEqualTo(t);
+        }
+        assertThat(segment.history(rows.get(750).getAccountId())).hasSize(5);
+    }
+
+    @Test
+    void shouldPageBackwardsFromAnyCursor() throws IOException {
+        List<Transaction> rows = new ArrayList<>();
+        // A short run first, so the long run does not start on a checkpoint.
+        rows.add(row(AccountId.newId(), TransactionType.DEPOSIT, new Amount(1, 2), FROM, GBP));
+        AccountId accountId = AccountId.newId();
+        for (int i = 0; i < 500; i++) {
+            rows.add(row(accountId, TransactionType.DEPOSIT, new Amount(i, 2), FROM.plusSeconds(i / 3), GBP));
+        }
+        List<Transaction> history = sorted(rows.subList(1, rows.size()));
+        Segment segment = write(concat(rows.subList(0, 1), history));
+
+        assertThat(segment.pageBefore(accountId, null, 3)).extracting(Transaction::getId).containsExactly(
+                history.get(499).getId(), history.get(498).getId(), history.get(497).getId());
+        for (int i : new int[]{0, 1, 62, 63, 64, 65, 127, 128, 300, 499}) {
+            TransactionCursor cursor = TransactionCursor.after(history.get(i));
+            assertThat(segment.pageBefore(accountId, cursor, 70)).usingRecursiveFieldByFieldElementComparator()
+                    .containsExactlyElementsOf(history.subList(Math.max(0, i - 70), i).reversed());
+        }
+    }
+
+    @Test
+    void shouldLeaveOnlyTheSegmentBehind() throws IOException {
+        AccountId accountId = AccountId.newId();
+        List<Transaction> rows = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            rows.add(row(accountId, TransactionType.DEPOSIT, new Amount(i, 2), FROM.plusSeconds(i), GBP));
+        }
+
+        write(rows);
+
+        try (var files = Files.list(dir)) {
+            assertThat(files).containsExactly(dir.resolve("segment.seg"));
+        }
+    }
+
+    private static List<Transaction> sorted(List<Transaction> rows) {
+        List<Transaction> copy = new ArrayList<>(rows);
+        copy.sort(Comparator.comparing(Transaction::getTimestamp)
+                .thenComparing((a, b) -> SegmentFormat.compare(a.getId().value(), b.getId().value())));
+        return copy;
+    }
+
+    private static List<Transaction> concat(List<Transaction> first, List<Transaction> second) {
+        List<Transaction> all = new ArrayList<>(first);
+        all.addAll(second);
+        return all;
+    }
+
+    @Test
+    void shouldMissUnknownIdsAndAccounts() throws IOException {
+        Segment segment = write(List.of(
+                row(AccountId.newId(), TransactionType.DEPOSIT, new Amount(1, 2), FROM, GBP)));
+
+        assertThat(segment.findById(TransactionId.newId())).isEmpty();
+        assertThat(segment.history(AccountId.newId())).isEmpty();
+    }
+
+    @Test
+    void shouldWriteEmptySegment() throws IOException {
+        Segment segment = write(List.of());
+
+        assertThat(segment.until()).isEqualTo(UNTIL);
+        assertThat(segment.findById(TransactionId.newId())).isEmpty();
+        assertThat(segment.history(AccountId.newId())).isEmpty();
+    }
+
+    @Test
+    void shouldRejectInterleavedAccounts() {
+        AccountId first = AccountId.newId();
+        AccountId second = AccountId.newId();
+        List<Transaction> rows = List.of(
+                row(first, TransactionType.DEPOSIT, new Amount(1, 2), FROM, GBP),
+                row(second, TransactionType.DEPOSIT, new Amount(1, 2), FROM, GBP),
+                row(first, TransactionType.DEPOSIT, new Amount(1, 2), FROM.plusSeconds(1), GBP));
+
+        assertThatThrownBy(() -> write(rows))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not contiguous");
+        assertThat(dir).isEmptyDirectory();
+    }
+
+    @Test
+    void shouldRejectRowsOutOfTimeOrder() {
+        AccountId accountId = AccountId.newId();
+        List<Transaction> rows = List.of(
+                row(accountId, TransactionType.DEPOSIT, new Amount(1, 2), FROM.plusSeconds(1), GBP),
+                row(accountId, TransactionType.DEPOSIT, new Amount(1, 2), FROM, GBP));
+
+        assertThatThrownBy(() -> write(rows))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not in time order");
+    }
+
+    @Test
+    void shouldRejectMoreCurrenciesThanTheDictionaryHolds() {
+        List<Transaction> rows = new ArrayList<>();
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            for (int exponent = 0; exponent <= 2; exponent++) {
+                rows.add(row(AccountId.newId(), TransactionType.DEPOSIT, new Amount(1, exponent), FROM, currency));
+            }
+        }
+        assertThat(rows).hasSizeGreaterThan(SegmentFormat.MAX_DICTIONARY);
+
+        assertThatThrownBy(() -> write(rows))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("distinct values");
+    }
+
+    @Test
+    void shouldRejectFilesThatAreNotSegments() throws IOException {
+        Path empty = Files.write(dir.resolve("empty.seg"), new byte[0]);
+        Path other = Files.write(dir.resolve("other.seg"), new byte[SegmentFormat.HEADER_BYTES]);
+
+        assertThatThrownBy(() -> Segment.open(empty)).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> Segment.open(other)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void shouldRejectOtherVersions() throws IOException {
+        Path file = dir.resolve("future.seg");
+        SegmentWriter.write(file, FROM, UNTIL, List.<Transaction>of().iterator());
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[7] = (byte) (SegmentFormat.VERSION + 1);
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> Segment.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Not a transaction segment");
+    }
+
+    @Test
+    void shouldCompareIdsAsUnsignedBytes() {
+        UUID low = new UUID(0x7FFFFFFFFFFFFFFFL, 0);
+        UUID high = new UUID(0x8000000000000000L, 0);
+
+        assertThat(SegmentFormat.compare(low, high)).isNegative();
+        assertThat(SegmentFormat.compare(new UUID(1, 2), new UUID(1, -1))).isNegative();
+        assertThat(SegmentFormat.compare(high, high)).isZero();
+    }
+}
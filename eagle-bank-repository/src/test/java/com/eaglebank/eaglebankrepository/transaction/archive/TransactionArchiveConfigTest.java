@@ -0,0 +1,66 @@
+package com.eaglebank.eaglebankrepository.transaction.archive;
+
+import com.eaglebank.eaglebankrepository.transaction.TransactionPartitionMaintainer;
+import com.eaglebank.eaglebankrepository.transaction.TransactionRepositoryAdapter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TransactionArchiveConfigTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldWireArchiveAroundTheAdapter() throws IOException {
+        TransactionArchiveConfig config = new TransactionArchiveConfig();
+        TransactionRepositoryAdapter adapter = mock(TransactionRepositoryAdapter.class);
+
+        TransactionArchive archive = config.transactionArchive(dir.resolve("segments"), 1);
+
+        assertThat(archive.archivedUntil()).isEqualTo(Instant.EPOCH);
+        assertThat(config.archivingTransactionRepository(adapter, archive)).isNotNull();
+        assertThat(config.transactionArchiver(adapter, partitions(null), archive,
+                TransactionOperations.withoutTransaction(), 12, 0)).isNotNull();
+    }
+
+    @Test
+    void shouldRefuseToLetPartitionsDetachBeforeTheyAreArchived() throws IOException {
+        TransactionArchiveConfig config = new TransactionArchiveConfig();
+        TransactionArchive archive = config.transactionArchive(dir.resolve("segments"), 1);
+        ObjectProvider<TransactionPartitionMaintainer> partitions = partitions(mock(TransactionPartitionMaintainer.class));
+
+        assertThatThrownBy(() -> config.transactionArchiver(mock(TransactionRepositoryAdapter.class), partitions,
+                archive, TransactionOperations.withoutTransaction(), 12, 6))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("retain-months is 6");
+        assertThat(config.transactionArchiver(mock(TransactionRepositoryAdapter.class), partitions,
+                archive, TransactionOperations.withoutTransaction(), 12, 12)).isNotNull();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<TransactionPartitionMaintainer> partitions(TransactionPartitionMaintainer maintainer) {
+        ObjectProvider<TransactionPartitionMaintainer> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(maintainer);
+        return provider;
+    }
+
+    @Test
+    void shouldRefuseToArchiveOnMoreThanOneReplica() {
+        TransactionArchiveConfig config = new TransactionArchiveConfig();
+
+        assertThatThrownBy(() -> config.transactionArchive(dir.resolve("segments"), 2))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("eaglebank.replicas is 2");
+    }
+}
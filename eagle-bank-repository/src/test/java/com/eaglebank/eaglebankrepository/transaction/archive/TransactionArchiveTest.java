@@ -0,0 +1,152 @@
+package com.eaglebank.eaglebankrepository.transaction.archive;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.transaction.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionArchiveTest {
+
+    private static final Instant JANUARY = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant FEBRUARY = Instant.parse("2024-02-01T00:00:00Z");
+    private static final Instant MARCH = Instant.parse("2024-03-01T00:00:00Z");
+    private static final Currency GBP = Currency.getInstance("GBP");
+
+    @TempDir
+    Path dir;
+
+    private AccountId accountId;
+    private Transaction january;
+    private Transaction february;
+
+    private Transaction row(Instant timestamp) {
+        return Transaction.rehydrate(TransactionId.newId(), accountId, TransactionType.DEPOSIT,
+                new Amount(100, 2), timestamp, GBP);
+    }
+
+    @BeforeEach
+    void setUp() {
+        accountId = AccountId.newId();
+        january = row(JANUARY.plusSeconds(10));
+        february = row(FEBRUARY.plusSeconds(10));
+    }
+
+    @Test
+    void shouldStartEmpty() throws IOException {
+        TransactionArchive archive = new TransactionArchive(dir.resolve("archive"));
+
+        assertThat(archive.archivedUntil()).isEqualTo(Instant.EPOCH);
+        assertThat(archive.findById(january.getId())).isEmpty();
+        assertThat(archive.history(accountId)).isEmpty();
+        assertThat(archive.findPageByAccount(accountId, null, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldAppendSegmentsAndReadAcrossThem() throws IOException {
+        TransactionArchive archive = new TransactionArchive(dir);
+
+        archive.append(FEBRUARY, List.of(january).iterator());
+        archive.append(MARCH, List.of(february).iterator());
+
+        assertThat(archive.archivedUntil()).isEqualTo(MARCH);
+        assertThat(archive.findById(january.getId())).get().usingRecursiveComparison().isEqualTo(january);
+        assertThat(archive.findById(february.getId())).get().usingRecursiveComparison().isEqualTo(february);
+        assertThat(archive.history(accountId)).extracting(Transaction::getId)
+                .containsExactly(january.getId(), february.getId());
+    }
+
+    @Test
+    void shouldReopenExistingSegments() throws IOException {
+        TransactionArchive archive = new TransactionArchive(dir);
+        archive.append(FEBRUARY, List.of(january).iterator());
+        archive.append(MARCH, List.of(february).iterator());
+        Files.write(dir.resolve("unfinished.seg.partial"), new byte[3]);
+
+        TransactionArchive reopened = new TransactionArchive(dir);
+
+        assertThat(reopened.archivedUntil()).isEqualTo(MARCH);
+        assertThat(reopened.history(accountId)).hasSize(2);
+    }
+
+    @Test
+    void shouldPageNewestFirstBeforeTheCursor() throws IOException {
+        Transaction later = row(FEBRUARY.plusSeconds(20));
+        TransactionArchive archive = new TransactionArchive(dir);
+        archive.append(FEBRUARY, List.of(january).iterator());
+        archive.append(MARCH, List.of(february, later).iterator());
+
+        assertThat(archive.findPageByAccount(accountId, null, 2)).extracting(Transaction::getId)
+                .containsExactly(later.getId(), february.getId());
+        assertThat(archive.findPageByAccount(accountId, TransactionCursor.after(february), 5))
+                .extracting(Transaction::getId)
+                .containsExactly(january.getId());
+    }
+
+    @Test
+    void shouldBreakTimestampTiesById() throws IOException {
+        Instant instant = FEBRUARY.plusSeconds(30);
+        Transaction low = Transaction.rehydrate(TransactionId.of(new UUID(1, 1)), accountId,
+                TransactionType.DEPOSIT, new Amount(1, 2), instant, GBP);
+        Transaction high = Transaction.rehydrate(TransactionId.of(new UUID(1, 2)), accountId,
+                TransactionType.DEPOSIT, new Amount(1, 2), instant, GBP);
+        TransactionArchive archive = new TransactionArchive(dir);
+        archive.append(MARCH, List.of(low, high).iterator());
+
+        assertThat(archive.findPageByAccount(accountId, TransactionCursor.after(high), 5))
+                .extracting(Transaction::getId)
+                .containsExactly(low.getId());
+    }
+
+    @Test
+    void shouldMergeARowWrittenAfterItsOwnRange() throws IOException {
+        // Committed after January's segment was written, so it lands in
+        // February's although it is older than January's end.
+        Transaction late = row(JANUARY.plusSeconds(20));
+        TransactionArchive archive = new TransactionArchive(dir);
+        archive.append(FEBRUARY, List.of(january).iterator());
+        archive.append(MARCH, List.of(late, february).iterator());
+
+        assertThat(archive.history(accountId)).extracting(Transaction::getId)
+                .containsExactly(january.getId(), late.getId(), february.getId());
+        assertThat(archive.findPageByAccount(accountId, null, 2)).extracting(Transaction::getId)
+                .containsExactly(february.getId(), late.getId());
+        assertThat(archive.findPageByAccount(accountId, TransactionCursor.after(february), 2))
+                .extracting(Transaction::getId)
+                .containsExactly(late.getId(), january.getId());
+    }
+
+    @Test
+    void shouldDiscardSegmentsEndingAfter() throws IOException {
+        TransactionArchive archive = new TransactionArchive(dir);
+        archive.append(FEBRUARY, List.of(january).iterator());
+        archive.append(MARCH, List.of(february).iterator());
+
+        archive.discardAfter(FEBRUARY);
+
+        assertThat(archive.archivedUntil()).isEqualTo(FEBRUARY);
+        assertThat(archive.findById(february.getId())).isEmpty();
+        assertThat(new TransactionArchive(dir).history(accountId)).extracting(Transaction::getId)
+                .containsExactly(january.getId());
+    }
+
+    @Test
+    void shouldRejectRangesItAlreadyCovers() throws IOException {
+        TransactionArchive archive = new TransactionArchive(dir);
+        archive.append(MARCH, List.<Transaction>of().iterator());
+
+        assertThatThrownBy(() -> archive.append(FEBRUARY, List.<Transaction>of().iterator()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,130 @@
+package com.eaglebank.eaglebankrepository.transaction.archive;
+
+import com.eaglebank.eaglebankdomain.account.AccountId;
+import com.eaglebank.eaglebankdomain.transaction.*;
+import com.eaglebank.eaglebankrepository.transaction.TransactionPartitionMaintainer;
+import com.eaglebank.eaglebankrepository.transaction.TransactionRepositoryAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Currency;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TransactionArchiverTest {
+
+    private static final Instant JANUARY = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant FEBRUARY = Instant.parse("2024-02-01T00:00:00Z");
+    private static final Instant MARCH = Instant.parse("2024-03-01T00:00:00Z");
+    private static final Currency GBP = Currency.getInstance("GBP");
+
+    @TempDir
+    Path dir;
+
+    private TransactionRepositoryAdapter table;
+    private TransactionArchive archive;
+    private Transaction january;
+    private Transaction february;
+
+    private static Transaction row(Instant timestamp) {
+        return Transaction.rehydrate(TransactionId.newId(), AccountId.newId(), TransactionType.DEPOSIT,
+                new Amount(100, 2), timestamp, GBP);
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        table = mock(TransactionRepositoryAdapter.class);
+        archive = new TransactionArchive(dir);
+        january = row(JANUARY.plusSeconds(5));
+        february = row(FEBRUARY.plusSeconds(5));
+    }
+
+    private TransactionArchiver archiver(TransactionArchive archive, int retainMonths) {
+        return new TransactionArchiver(table, null, archive, TransactionOperations.withoutTransaction(), retainMonths);
+    }
+
+    @Test
+    void shouldArchiveOneMonthPerSegmentUpToTheCutoff() {
+        when(table.findOldestTimestamp()).thenReturn(
+                Optional.of(january.getTimestamp()),
+                Optional.of(february.getTimestamp()),
+                Optional.of(MARCH.plusSeconds(5)));
+        when(table.streamBefore(FEBRUARY)).thenReturn(Stream.of(january));
+        when(table.streamBefore(MARCH)).thenReturn(Stream.of(february));
+
+        archiver(archive, 2).archive(YearMonth.of(2024, 5));
+
+        assertThat(archive.archivedUntil()).isEqualTo(MARCH);
+        assertThat(archive.findById(january.getId())).isPresent();
+        assertThat(archive.findById(february.getId())).isPresent();
+        verify(table).deleteBefore(Instant.EPOCH);
+        verify(table).deleteBefore(FEBRUARY);
+        verify(table).deleteBefore(MARCH);
+    }
+
+    @Test
+    void shouldDropEachArchivedMonthsPartition() {
+        TransactionPartitionMaintainer partitions = mock(TransactionPartitionMaintainer.class);
+        when(table.findOldestTimestamp()).thenReturn(
+                Optional.of(january.getTimestamp()),
+                Optional.of(MARCH.plusSeconds(5)));
+        when(table.streamBefore(FEBRUARY)).thenReturn(Stream.of(january));
+
+        new TransactionArchiver(table, partitions, archive, TransactionOperations.withoutTransaction(), 2)
+                .archive(YearMonth.of(2024, 5));
+
+        assertThat(archive.findById(january.getId())).isPresent();
+        var inOrder = inOrder(partitions, table);
+        inOrder.verify(partitions).dropBefore(YearMonth.of(1970, 1));
+        inOrder.verify(table).deleteBefore(Instant.EPOCH);
+        inOrder.verify(partitions).dropBefore(YearMonth.of(2024, 2));
+        inOrder.verify(table).deleteBefore(FEBRUARY);
+    }
+
+    @Test
+    void shouldKeepTheRetentionWindow() {
+        when(table.findOldestTimestamp()).thenReturn(Optional.of(february.getTimestamp()));
+
+        archiver(archive, 3).archive(YearMonth.of(2024, 5));
+
+        assertThat(archive.archivedUntil()).isEqualTo(Instant.EPOCH);
+        verify(table, never()).streamBefore(any());
+    }
+
+    @Test
+    void shouldDoNothingWithAnEmptyTable() {
+        when(table.findOldestTimestamp()).thenReturn(Optional.empty());
+
+        archiver(archive, 0).archive();
+
+        verify(table).deleteBefore(Instant.EPOCH);
+        verify(table, never()).streamBefore(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldKeepRowsWhenTheSegmentCannotBeWritten() throws IOException {
+        TransactionArchive failing = mock(TransactionArchive.class);
+        when(failing.archivedUntil()).thenReturn(Instant.EPOCH);
+        doThrow(new IOException("disk full")).when(failing).append(any(Instant.class), any(Iterator.class));
+        when(table.findOldestTimestamp()).thenReturn(Optional.of(january.getTimestamp()));
+        when(table.streamBefore(FEBRUARY)).thenReturn(Stream.of(january));
+
+        assertThatThrownBy(() -> archiver(failing, 1).archive(YearMonth.of(2024, 5)))
+                .isInstanceOf(UncheckedIOException.class);
+        verify(table, never()).deleteBefore(FEBRUARY);
+    }
+}
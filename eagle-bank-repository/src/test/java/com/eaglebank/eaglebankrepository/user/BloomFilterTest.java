@@ -0,0 +1,53 @@
+package com.eaglebank.eaglebankrepository.user;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    @Test
+    void shouldAlwaysFindWhatWasPut() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(n -> filter.put("user" + n + "@example.com"));
+
+        assertThat(IntStream.range(0, 10_000))
+                .allMatch(n -> filter.mightContain("user" + n + "@example.com"));
+    }
+
+    @Test
+    void shouldKeepFalsePositivesNearTheRateItWasSizedFor() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(n -> filter.put("user" + n + "@example.com"));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(n -> filter.mightContain("other" + n + "@example.com"))
+                .count();
+
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void shouldSizeForRate() {
+        BloomFilter filter = new BloomFilter(1_000_000, 0.01);
+
+        // About 9.6 bits and 7 hashes per entry at 1%.
+        assertThat(filter.bitSize()).isBetween(9_500_000L, 9_700_000L);
+        assertThat(filter.hashCount()).isEqualTo(7);
+    }
+
+    @Test
+    void shouldStartEmpty() {
+        assertThat(new BloomFilter(100, 0.01).mightContain("alice@example.com")).isFalse();
+    }
+
+    @Test
+    void shouldRejectBadSizing() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
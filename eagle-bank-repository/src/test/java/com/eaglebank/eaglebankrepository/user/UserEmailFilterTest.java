@@ -0,0 +1,54 @@
+package com.eaglebank.eaglebankrepository.user;
+
+import com.eaglebank.eaglebankdomain.user.EmailAddress;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class UserEmailFilterTest {
+
+    private SpringDataUserRepository jpa;
+    private UserEmailFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jpa = mock(SpringDataUserRepository.class);
+        filter = new UserEmailFilter(jpa, 0.01);
+    }
+
+    @Test
+    void shouldAnswerMaybeBeforeFirstBuild() {
+        filter.add(new EmailAddress("alice@example.com"));
+
+        assertThat(filter.mightContain(new EmailAddress("nobody@example.com"))).isTrue();
+    }
+
+    @Test
+    void shouldBuildFromStoredEmailsIgnoringCase() {
+        when(jpa.count()).thenReturn(2L);
+        when(jpa.streamEmails()).thenReturn(Stream.of("Alice@Example.com", "bob@example.com"));
+
+        filter.rebuild();
+
+        assertThat(filter.mightContain(new EmailAddress("alice@example.com"))).isTrue();
+        assertThat(filter.mightContain(new EmailAddress("BOB@example.com"))).isTrue();
+        assertThat(filter.mightContain(new EmailAddress("nobody@example.com"))).isFalse();
+    }
+
+    @Test
+    void shouldKeepEmailsSavedWhileRebuilding() {
+        when(jpa.count()).thenReturn(1L);
+        when(jpa.streamEmails()).thenAnswer(invocation -> {
+            filter.add(new EmailAddress("carol@example.com"));
+            return Stream.of("alice@example.com");
+        });
+
+        filter.rebuild();
+
+        assertThat(filter.mightContain(new EmailAddress("carol@example.com"))).isTrue();
+    }
+}
@@ -1,16 +1,19 @@
 package com.eaglebank.eaglebankrepository.user;
 
+import com.eaglebank.eaglebankdomain.exception.InvalidUserDataException;
 import com.eaglebank.eaglebankdomain.user.*;
 import com.eaglebank.eaglebankrepository.TestConfig;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ContextConfiguration;
 
 import java.time.LocalDate;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 @ContextConfiguration(classes = TestConfig.class)
@@ -19,6 +22,9 @@ class UserRepositoryAdapterTest {
     @Autowired
     private UserRepository repo;
 
+    @Autowired
+    private UserEmailFilter emailFilter;
+
     private User createValidUser() {
         return User.create(
                 new FirstName("Bob"),
@@ -70,6 +76,82 @@ class UserRepositoryAdapterTest {
         assertThat(fetched.get().getAddress().line1()).isEqualTo("123 High Street");
     }
 
+    @Test
+    void shouldFindByEmailIgnoringCase() {
+        repo.save(createValidUser());
+
+        assertThat(repo.findByEmail(new EmailAddress("Bob@Example.com"))).isPresent();
+    }
+
+    @Test
+    void shouldFindCredentialsIgnoringCase() {
+        User saved = repo.save(createValidUser().withEmail(new EmailAddress("carol@example.com")));
+
+        Optional<UserCredentials> credentials = repo.findCredentials(new EmailAddress("CAROL@example.com"));
+
+        assertThat(credentials).contains(new UserCredentials(saved.getId(), new PasswordHash("HASH")));
+        assertThat(repo.findCredentials(new EmailAddress("nobody@example.com"))).isEmpty();
+    }
+
+    @Test
+    void shouldReadCredentialsFromTheCurrentRow() {
+        EmailAddress email = new EmailAddress("dave@example.com");
+        User saved = repo.save(createValidUser().withEmail(email));
+        UserCredentials before = repo.findCredentials(email).orElseThrow();
+        assertThat(repo.findCredentials(email)).contains(before);
+
+        // As another instance would.
+        User rehashed = repo.save(saved.withPasswordHash(new PasswordHash("REHASHED")));
+        assertThat(repo.findCredentials(email).orElseThrow().passwordHash()).isEqualTo(new PasswordHash("REHASHED"));
+
+        User moved = repo.save(rehashed.withEmail(new EmailAddress("dave.new@example.com")));
+        assertThat(repo.findCredentials(email)).isEmpty();
+
+        EmailAddress newEmail = new EmailAddress("dave.new@example.com");
+        assertThat(repo.findCredentials(newEmail)).isPresent();
+        repo.delete(moved);
+        assertThat(repo.findCredentials(newEmail)).isEmpty();
+    }
+
+    @Test
+    void shouldRejectEmailAlreadyTaken() {
+        repo.save(createValidUser());
+
+        assertThatThrownBy(() -> repo.save(createValidUser()))
+                .isInstanceOf(InvalidUserDataException.class)
+                .hasMessage("Email already in use");
+    }
+
+    @Test
+    void shouldNotBlameTheEmailForOtherViolations() {
+        User tooLong = User.rehydrate(
+                UserId.newId(),
+                FirstName.rehydrate("Bob"),
+                // Longer than the column's 50 characters.
+                LastName.rehydrate("J".repeat(60)),
+                DateOfBirth.rehydrate(LocalDate.now().minusYears(25)),
+                new EmailAddress("grace@example.com"),
+                new PhoneNumber("+447911123456"),
+                new Address("123 High Street", "London", "Greater London", "SW1A 1AA"),
+                new PasswordHash("HASH")
+        );
+
+        assertThatThrownBy(() -> repo.save(tooLong))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void shouldKnowEmailsFromTableAndLaterSaves() {
+        repo.save(createValidUser().withEmail(new EmailAddress("erin@example.com")));
+
+        emailFilter.rebuild();
+        repo.save(createValidUser().withEmail(new EmailAddress("frank@example.com")));
+
+        assertThat(repo.mightContainEmail(new EmailAddress("Erin@example.com"))).isTrue();
+        assertThat(repo.mightContainEmail(new EmailAddress("frank@example.com"))).isTrue();
+        assertThat(repo.mightContainEmail(new EmailAddress("nobody@example.com"))).isFalse();
+    }
+
     @Test
     void shouldDeleteUser() {
         User u = createValidUser();